@@ -4,12 +4,14 @@ import com.avaya.jvm.hotspot.share.classfile.BootClassLoader;
 import com.avaya.jvm.hotspot.share.oops.InstanceKlass;
 import com.avaya.jvm.hotspot.share.oops.MethodInfo;
 import com.avaya.jvm.hotspot.share.prims.JavaNativeInterface;
+import com.avaya.jvm.hotspot.share.runtime.Arguments;
 import com.avaya.jvm.hotspot.share.runtime.JavaThread;
 import com.avaya.jvm.hotspot.share.runtime.Threads;
 
 public class App {
 
     public static void main(String[] args) throws Throwable {
+        Arguments.parse(args);
         InstanceKlass klass = BootClassLoader.loadKlass("com.avaya.jvm.example.HelloWorld");
         MethodInfo main = JavaNativeInterface.getMain(klass);
 
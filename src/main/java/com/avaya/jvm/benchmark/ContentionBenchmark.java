@@ -0,0 +1,144 @@
+package com.avaya.jvm.benchmark;
+
+import com.avaya.jvm.hotspot.share.classfile.BootClassLoader;
+import com.avaya.jvm.hotspot.share.oops.FieldInfo;
+import com.avaya.jvm.hotspot.share.oops.InstanceKlass;
+import com.avaya.jvm.hotspot.share.oops.InstanceOop;
+import com.avaya.jvm.hotspot.share.oops.MethodInfo;
+import com.avaya.jvm.hotspot.share.prims.JavaNativeInterface;
+import com.avaya.jvm.hotspot.share.runtime.JavaThread;
+import com.avaya.jvm.hotspot.share.runtime.ObjectSynchronizer;
+import com.avaya.jvm.hotspot.share.runtime.Threads;
+import com.avaya.jvm.hotspot.share.utilities.ValueType;
+import com.sun.management.ThreadMXBean;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Guest lock contention, from 1 to N guest threads.
+ * <p>
+ * Runs the workloads of {@code Contention} with 1, 2, 4, ... up to N guest threads at
+ * once, each a JavaThread on its own host thread, all on the same objects. For each run
+ * it reports the wall time, the synchronized blocks entered per second, the CPU time of
+ * all threads (time spent spinning shows here) and how many locks were inflated. The
+ * result of every run is checked.
+ * <p>
+ * Usage: {@code ContentionBenchmark [max threads]}
+ */
+public class ContentionBenchmark {
+
+    private static final String CONTENTION = "com.avaya.jvm.example.Contention";
+    private static final int ROUNDS = 3;
+    private static final int WARMUP_ROUNDS = 10;
+    private static final int INCREMENTS = 20000;
+    private static final int HANDOFFS = 1000;
+
+    private static final ThreadMXBean THREAD_MX_BEAN = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    public static void main(String[] args) throws Throwable {
+        int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        InstanceKlass klass = BootClassLoader.loadKlass(CONTENTION);
+        String[] workloads = {"increment", "handoff"};
+
+        // warm up the host JIT on every path, contended or not
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            for (String workload : workloads) {
+                measure(klass, workload, 1 + round % maxThreads);
+            }
+        }
+
+        System.out.printf("%-10s %8s %10s %14s %10s %11s%n", "workload", "threads", "ms", "blocks/s", "cpu ms", "inflations");
+        for (String workload : workloads) {
+            for (int threads = 1; threads <= maxThreads; threads *= 2) {
+                Run best = null;
+                for (int round = 0; round < ROUNDS; round++) {
+                    Run run = measure(klass, workload, threads);
+                    if (best == null || run.nanos < best.nanos) {
+                        best = run;
+                    }
+                }
+                // two blocks per handoff
+                long blocks = (long) threads * (workload.equals("increment") ? INCREMENTS : 2 * HANDOFFS);
+                System.out.printf("%-10s %8d %10.1f %14.0f %10.1f %11d%n", workload, threads, best.nanos / 1e6,
+                        blocks / (best.nanos / 1e9), best.cpuNanos / 1e6, best.inflations);
+            }
+        }
+    }
+
+    // one run of the workload on fresh objects, checking its result
+    private static Run measure(InstanceKlass klass, String workload, int threads) throws Throwable {
+        InstanceOop counter = new InstanceOop(BootClassLoader.loadKlass("com.avaya.jvm.example.SharedCounter"));
+        InstanceOop mailbox = new InstanceOop(BootClassLoader.loadKlass("com.avaya.jvm.example.Mailbox"));
+        setStatic(klass, "counter", "Lcom/avaya/jvm/example/SharedCounter;", counter);
+        setStatic(klass, "mailbox", "Lcom/avaya/jvm/example/Mailbox;", mailbox);
+        long inflations = ObjectSynchronizer.getInflations();
+        Run run = run(klass.findMethod(workload, "()V"), threads);
+        run.inflations = ObjectSynchronizer.getInflations() - inflations;
+
+        long expected = workload.equals("increment") ? (long) threads * INCREMENTS : (long) threads * HANDOFFS * (HANDOFFS - 1) / 2;
+        long actual = workload.equals("increment") ? getLong(counter, "value") : getLong(mailbox, "total");
+        if (actual != expected) {
+            throw new IllegalStateException(workload + " with " + threads + " threads: " + actual + ", expected " + expected);
+        }
+        return run;
+    }
+
+    private static class Run {
+        long nanos;
+        long cpuNanos;
+        long inflations;
+    }
+
+    private static Run run(MethodInfo method, int threads) throws Throwable {
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicLong cpuNanos = new AtomicLong();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Thread> hostThreads = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            JavaThread thread = new JavaThread();
+            Threads.addThread(thread);
+            hostThreads.add(new Thread(() -> {
+                Threads.setCurrentThread(thread);
+                try {
+                    start.await();
+                    JavaNativeInterface.callStaticMethod(method);
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    cpuNanos.addAndGet(THREAD_MX_BEAN.getCurrentThreadCpuTime());
+                    Threads.removeThread(thread);
+                }
+            }));
+        }
+        for (Thread hostThread : hostThreads) {
+            hostThread.start();
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread hostThread : hostThreads) {
+            hostThread.join();
+        }
+        Run run = new Run();
+        run.nanos = System.nanoTime() - begin;
+        run.cpuNanos = cpuNanos.get();
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+        return run;
+    }
+
+    private static void setStatic(InstanceKlass klass, String name, String descriptor, Object value) {
+        FieldInfo field = klass.findField(name, descriptor);
+        klass.getStaticFields().getReferences()[field.getOffset()] = value;
+    }
+
+    private static long getLong(InstanceOop oop, String name) {
+        FieldInfo field = oop.getKlass().findField(name, "J");
+        return oop.getRawField(ValueType.T_LONG, field.getOffset());
+    }
+}
@@ -0,0 +1,129 @@
+package com.avaya.jvm.benchmark;
+
+import com.avaya.jvm.hotspot.share.classfile.BootClassLoader;
+import com.avaya.jvm.hotspot.share.interpreter.InlineCache;
+import com.avaya.jvm.hotspot.share.memory.ArrayArena;
+import com.avaya.jvm.hotspot.share.oops.AttributeInfo;
+import com.avaya.jvm.hotspot.share.oops.CodeAttribute;
+import com.avaya.jvm.hotspot.share.oops.InstanceKlass;
+import com.avaya.jvm.hotspot.share.oops.MethodInfo;
+import com.avaya.jvm.hotspot.share.prims.JavaNativeInterface;
+import com.avaya.jvm.hotspot.share.runtime.Arguments;
+import com.avaya.jvm.hotspot.share.runtime.JavaThread;
+import com.avaya.jvm.hotspot.share.runtime.Threads;
+import com.sun.management.ThreadMXBean;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Throughput harness for the bytecode interpreter.
+ * <p>
+ * Runs the static workloads of {@code HelloWorld} and {@code Benchmark} through
+ * {@link JavaNativeInterface#callStaticMethod(MethodInfo)} and reports the average
+ * time per call, and the bytes allocated on the host heap per call. Guest output is
+ * discarded while measuring. Afterwards the state of every virtual and interface call
+ * site of {@code Benchmark} that has run is printed, with its counters under
+ * {@code -XX:+ProfileInlineCaches}, and the off-heap array memory with
+ * {@code -XX:+UseOffHeapArrays}.
+ * <p>
+ * Usage: {@code InterpreterBenchmark [VM options] [iterations]}, e.g. {@code -XX:-UseIntrinsics}
+ * to measure calls into the JRE without intrinsics.
+ */
+public class InterpreterBenchmark {
+
+    private static final String HELLO_WORLD = "com.avaya.jvm.example.HelloWorld";
+    private static final String[] HELLO_WORLD_WORKLOADS = {
+            "intCal", "longCal", "floatCal", "doubleCal", "intBit", "longBit",
+            "intCompare", "otherCompare", "initArray", "printRet", "switchCase",
+            "objectFields", "great", "wideIINC", "typeCheckExample"
+    };
+
+    private static final String BENCHMARK = "com.avaya.jvm.example.Benchmark";
+    private static final String[] BENCHMARK_WORKLOADS = {
+            "arithmetic", "arrays", "fields", "wideFields", "narrowFields", "calls", "recursion", "dispatch", "megamorphic", "interfaces", "logging", "lambdas", "guestLambdas", "concat", "intrinsics", "buffers", "bigArrays", "matrix"
+    };
+
+    private static final ThreadMXBean THREAD_MX_BEAN = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    public static void main(String[] args) throws Throwable {
+        Arguments.parse(args);
+        int iterations = 200;
+        for (String arg : args) {
+            if (!arg.startsWith("-")) {
+                iterations = Integer.parseInt(arg);
+            }
+        }
+
+        JavaThread thread = new JavaThread();
+        Threads.addThread(thread);
+        Threads.setCurrentThread(thread);
+
+        PrintStream console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            console.printf("%-20s %12s %14s %12s%n", "workload", "us/call", "calls/s", "heap KB/call");
+            long helloWorld = run(console, HELLO_WORLD, HELLO_WORLD_WORKLOADS, iterations);
+            long benchmark = run(console, BENCHMARK, BENCHMARK_WORKLOADS, iterations);
+            console.printf("%-20s %12.1f%n", "HelloWorld total", helloWorld / 1000.0 / iterations);
+            console.printf("%-20s %12.1f%n", "Benchmark total", benchmark / 1000.0 / iterations);
+            printInlineCaches(console, BootClassLoader.loadKlass(BENCHMARK));
+            if (Arguments.isUseOffHeapArrays()) {
+                console.println();
+                console.printf("off-heap arrays: %d KB allocated, %d KB reserved%n", ArrayArena.getAllocatedBytes() / 1024, ArrayArena.getReservedBytes() / 1024);
+            }
+        } finally {
+            System.setOut(console);
+        }
+    }
+
+    private static long run(PrintStream console, String className, String[] workloads, int iterations) throws Throwable {
+        InstanceKlass klass = BootClassLoader.loadKlass(className);
+        long total = 0;
+        for (String name : workloads) {
+            MethodInfo method = findMethod(klass, name);
+            // warm up the host JIT before measuring
+            for (int i = 0; i < iterations; i++) {
+                JavaNativeInterface.callStaticMethod(method);
+            }
+            long allocated = THREAD_MX_BEAN.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                JavaNativeInterface.callStaticMethod(method);
+            }
+            long elapsed = System.nanoTime() - start;
+            allocated = THREAD_MX_BEAN.getCurrentThreadAllocatedBytes() - allocated;
+            total += elapsed;
+            double micros = elapsed / 1000.0 / iterations;
+            console.printf("%-20s %12.1f %14.0f %12.1f%n", name, micros, 1_000_000 / micros, allocated / 1024.0 / iterations);
+        }
+        return total;
+    }
+
+    private static void printInlineCaches(PrintStream console, InstanceKlass klass) {
+        console.println();
+        console.println("inline caches of " + klass.getName());
+        for (MethodInfo method : klass.getMethods()) {
+            for (AttributeInfo attr : method.getAttributes()) {
+                if (attr instanceof CodeAttribute code) {
+                    for (InlineCache inlineCache : code.getDecodedCode().getInlineCaches()) {
+                        // sites calling into the JRE never reach the cache
+                        if (!inlineCache.getState().equals("clean")) {
+                            console.println("  " + inlineCache);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static MethodInfo findMethod(InstanceKlass klass, String name) {
+        for (MethodInfo method : klass.getMethods()) {
+            if (method.getName().equals(name)) {
+                return method;
+            }
+        }
+        throw new IllegalArgumentException("No workload named " + name);
+    }
+}
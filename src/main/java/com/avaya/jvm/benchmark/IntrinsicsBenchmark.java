@@ -0,0 +1,98 @@
+package com.avaya.jvm.benchmark;
+
+import com.avaya.jvm.hotspot.share.classfile.BootClassLoader;
+import com.avaya.jvm.hotspot.share.oops.InstanceKlass;
+import com.avaya.jvm.hotspot.share.oops.MethodInfo;
+import com.avaya.jvm.hotspot.share.prims.Intrinsic;
+import com.avaya.jvm.hotspot.share.prims.Intrinsics;
+import com.avaya.jvm.hotspot.share.prims.NativeMethodBinding;
+import com.avaya.jvm.hotspot.share.runtime.JavaStack;
+import com.avaya.jvm.hotspot.share.runtime.OperandStack;
+
+import java.util.function.Consumer;
+
+/**
+ * Per-call cost of a JRE method called from guest code, through its intrinsic and
+ * through the MethodHandle the interpreter binds when there is none.
+ * <p>
+ * Each case pushes the arguments onto a real operand stack, calls the method and drops
+ * the result, the work of one INVOKE* after resolution. The best of several rounds is
+ * reported in nanoseconds per call.
+ * <p>
+ * Usage: {@code IntrinsicsBenchmark [calls per round]}
+ */
+public class IntrinsicsBenchmark {
+
+    private static final int ROUNDS = 5;
+
+    private record Case(String className, String methodName, String descriptor, Consumer<OperandStack> arguments) {
+    }
+
+    public static void main(String[] args) throws Throwable {
+        int calls = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+
+        String text = "intrinsic";
+        StringBuilder builder = new StringBuilder();
+        Case[] cases = {
+                new Case("java/lang/Math", "max", "(II)I", stack -> {
+                    stack.pushInt(3);
+                    stack.pushInt(7);
+                }),
+                new Case("java/lang/Math", "sqrt", "(D)D", stack -> stack.pushDouble(2.0)),
+                new Case("java/lang/String", "length", "()I", stack -> stack.pushRef(text)),
+                new Case("java/lang/String", "charAt", "(I)C", stack -> {
+                    stack.pushRef(text);
+                    stack.pushInt(4);
+                }),
+                new Case("java/lang/String", "equals", "(Ljava/lang/Object;)Z", stack -> {
+                    stack.pushRef(text);
+                    stack.pushRef("intrinsic");
+                }),
+                new Case("java/lang/System", "nanoTime", "()J", stack -> {
+                }),
+                new Case("java/lang/Integer", "valueOf", "(I)Ljava/lang/Integer;", stack -> stack.pushInt(42)),
+                new Case("java/lang/StringBuilder", "append", "(C)Ljava/lang/StringBuilder;", stack -> {
+                    builder.setLength(0);
+                    stack.pushRef(builder);
+                    stack.pushInt('x');
+                }),
+        };
+
+        // a frame of any guest method gives the calls an operand stack
+        InstanceKlass klass = BootClassLoader.loadKlass("com.avaya.jvm.example.Benchmark");
+        MethodInfo frameMethod = klass.findMethod("intrinsics", "()V");
+        OperandStack stack = new JavaStack().push(frameMethod.getEntry()).getOperandStack();
+
+        System.out.printf("%-34s %14s %14s %8s%n", "method", "binding ns", "intrinsic ns", "speedup");
+        for (Case c : cases) {
+            Intrinsic intrinsic = Intrinsics.lookup(c.className(), c.methodName(), c.descriptor());
+            NativeMethodBinding binding = NativeMethodBinding.bind(Class.forName(c.className().replace('/', '.')), c.methodName(), c.descriptor());
+            double bindingNanos = measure(calls, stack, c.arguments(), binding::invoke);
+            double intrinsicNanos = measure(calls, stack, c.arguments(), intrinsic::invoke);
+            System.out.printf("%-34s %14.1f %14.1f %7.1fx%n", c.className().substring(c.className().lastIndexOf('/') + 1) + "." + c.methodName() + c.descriptor().substring(0, c.descriptor().indexOf(')') + 1),
+                    bindingNanos, intrinsicNanos, bindingNanos / intrinsicNanos);
+        }
+    }
+
+    private interface Call {
+        void invoke(OperandStack stack) throws Throwable;
+    }
+
+    private static double measure(int calls, OperandStack stack, Consumer<OperandStack> arguments, Call call) throws Throwable {
+        double best = Double.MAX_VALUE;
+        // the first round warms up the host JIT
+        for (int round = 0; round <= ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < calls; i++) {
+                arguments.accept(stack);
+                call.invoke(stack);
+                stack.clear();
+            }
+            long elapsed = System.nanoTime() - start;
+            if (round > 0) {
+                best = Math.min(best, (double) elapsed / calls);
+            }
+        }
+        return best;
+    }
+}
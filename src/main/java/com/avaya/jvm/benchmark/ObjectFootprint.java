@@ -0,0 +1,51 @@
+package com.avaya.jvm.benchmark;
+
+import com.avaya.jvm.hotspot.share.classfile.BootClassLoader;
+import com.avaya.jvm.hotspot.share.oops.FieldLayout;
+import com.avaya.jvm.hotspot.share.oops.InstanceKlass;
+import com.avaya.jvm.hotspot.share.oops.InstanceOop;
+import com.sun.management.ThreadMXBean;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Host heap footprint of guest objects.
+ * <p>
+ * For each class, prints its field layout (instance fields, bytes of primitive fields,
+ * references) and the host bytes allocated per {@link InstanceOop}, measured by creating
+ * many objects and keeping them alive so the host JIT cannot drop them. The last round
+ * of several is reported, after the host has warmed up.
+ * <p>
+ * Usage: {@code ObjectFootprint [objects per class]}
+ */
+public class ObjectFootprint {
+
+    private static final int ROUNDS = 3;
+
+    private static final String[] CLASSES = {
+            "com.avaya.jvm.example.LinearScorer", "com.avaya.jvm.example.Counter", "com.avaya.jvm.example.Square",
+            "com.avaya.jvm.example.Pixel", "com.avaya.jvm.example.Voxel", "com.avaya.jvm.example.Particle"
+    };
+
+    private static final ThreadMXBean THREAD_MX_BEAN = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    public static void main(String[] args) throws Throwable {
+        int objects = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        Object[] live = new Object[objects];
+        System.out.printf("%-14s %8s %16s %12s %14s%n", "class", "fields", "primitive bytes", "references", "bytes/object");
+        for (String className : CLASSES) {
+            InstanceKlass klass = BootClassLoader.loadKlass(className);
+            FieldLayout layout = klass.getInstanceLayout();
+            long bytes = 0;
+            for (int round = 0; round < ROUNDS; round++) {
+                long allocated = THREAD_MX_BEAN.getCurrentThreadAllocatedBytes();
+                for (int i = 0; i < objects; i++) {
+                    live[i] = new InstanceOop(klass);
+                }
+                bytes = THREAD_MX_BEAN.getCurrentThreadAllocatedBytes() - allocated;
+            }
+            System.out.printf("%-14s %8d %16d %12d %14.1f%n", className.substring(className.lastIndexOf('.') + 1),
+                    layout.getTypes().length, layout.getPrimitiveBytes(), layout.getReferenceCount(), (double) bytes / objects);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.avaya.jvm.benchmark;
+
+import com.avaya.jvm.hotspot.share.classfile.BootClassLoader;
+import com.avaya.jvm.hotspot.share.oops.FieldInfo;
+import com.avaya.jvm.hotspot.share.oops.InstanceKlass;
+import com.avaya.jvm.hotspot.share.oops.InstanceOop;
+import com.avaya.jvm.hotspot.share.prims.JavaNativeInterface;
+import com.avaya.jvm.hotspot.share.runtime.Arguments;
+import com.avaya.jvm.hotspot.share.runtime.JavaThread;
+import com.avaya.jvm.hotspot.share.runtime.Threads;
+import com.avaya.jvm.hotspot.share.utilities.ValueType;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+
+/**
+ * Guest threads started by the guest, from 1 to N at once.
+ * <p>
+ * Runs the workloads of {@code Spawn} with 1, 4, 16, ... up to N guest threads, each
+ * started with {@code Thread.start()} in guest code and joined by it. {@code blocking}
+ * threads sleep, so its time is mostly the cost of creating, starting and joining
+ * threads; {@code computing} splits a fixed amount of work between them. For each run it
+ * reports the wall time, the guest threads completed per second and the peak number of
+ * live platform threads of the host, which virtual threads do not count in. The result
+ * of every run is checked.
+ * <p>
+ * Usage: {@code ThreadScalingBenchmark [max threads] [VM options]}, e.g.
+ * {@code -XX:+UseVirtualThreads} to run the guest threads on virtual threads.
+ */
+public class ThreadScalingBenchmark {
+
+    private static final String SPAWN = "com.avaya.jvm.example.Spawn";
+    private static final int ROUNDS = 3;
+    private static final int SLEEP_MILLIS = 10;
+    private static final int NUMBERS = 20000;
+
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+    public static void main(String[] args) throws Throwable {
+        int maxThreads = args.length > 0 && !args[0].startsWith("-") ? Integer.parseInt(args[0]) : 1024;
+        Arguments.parse(args);
+        InstanceKlass klass = BootClassLoader.loadKlass(SPAWN);
+        JavaThread thread = new JavaThread();
+        Threads.addThread(thread);
+        Threads.setCurrentThread(thread);
+        long expectedSteps = collatzSteps(1, NUMBERS);
+
+        // warm up the host JIT and load the classes
+        for (int round = 0; round < ROUNDS; round++) {
+            measure(klass, "blocking", 4, expectedSteps);
+            measure(klass, "computing", 4, expectedSteps);
+        }
+
+        System.out.println("guest threads on " + (Threads.isVirtualThreads() ? "virtual" : "platform") + " threads");
+        System.out.printf("%-10s %8s %10s %14s %13s%n", "workload", "threads", "ms", "threads/s", "host threads");
+        for (String workload : new String[]{"blocking", "computing"}) {
+            for (int threads = 1; threads <= maxThreads; threads *= 4) {
+                long best = Long.MAX_VALUE;
+                int peak = 0;
+                for (int round = 0; round < ROUNDS; round++) {
+                    long baseline = THREAD_MX_BEAN.getThreadCount();
+                    THREAD_MX_BEAN.resetPeakThreadCount();
+                    long nanos = measure(klass, workload, threads, expectedSteps);
+                    best = Math.min(best, nanos);
+                    peak = Math.max(peak, (int) (THREAD_MX_BEAN.getPeakThreadCount() - baseline));
+                }
+                System.out.printf("%-10s %8d %10.1f %14.0f %13d%n", workload, threads, best / 1e6, threads / (best / 1e9), peak);
+            }
+        }
+    }
+
+    // one run of the workload with a fresh tally, checking its result
+    private static long measure(InstanceKlass klass, String workload, int threads, long expectedSteps) throws Throwable {
+        InstanceOop tally = new InstanceOop(BootClassLoader.loadKlass("com.avaya.jvm.example.Tally"));
+        setStatic(klass, "tally", "Lcom/avaya/jvm/example/Tally;", tally);
+        FieldInfo threadsField = klass.findField("threads", "I");
+        // an int is one word of the static primitives
+        klass.getStaticFields().getPrimitives()[threadsField.getOffset() / 4] = threads;
+
+        long begin = System.nanoTime();
+        JavaNativeInterface.callStaticMethod(klass.findMethod(workload, "()V"));
+        long nanos = System.nanoTime() - begin;
+
+        if (workload.equals("blocking")) {
+            FieldInfo done = tally.getKlass().findField("done", "I");
+            long actual = tally.getRawField(ValueType.T_INT, done.getOffset());
+            if (actual != threads) {
+                throw new IllegalStateException("blocking with " + threads + " threads: " + actual + " done");
+            }
+        } else {
+            FieldInfo steps = klass.findField("steps", "J");
+            long actual = getStaticLong(klass, steps);
+            if (actual != expectedSteps) {
+                throw new IllegalStateException("computing with " + threads + " threads: " + actual + ", expected " + expectedSteps);
+            }
+        }
+        return nanos;
+    }
+
+    private static void setStatic(InstanceKlass klass, String name, String descriptor, Object value) {
+        FieldInfo field = klass.findField(name, descriptor);
+        klass.getStaticFields().getReferences()[field.getOffset()] = value;
+    }
+
+    private static long getStaticLong(InstanceKlass klass, FieldInfo field) {
+        int[] words = klass.getStaticFields().getPrimitives();
+        int word = field.getOffset() / 4;
+        return (words[word] & 0xFFFFFFFFL) | ((long) words[word + 1] << 32);
+    }
+
+    // the host's answer for the computing workload
+    private static long collatzSteps(int from, int to) {
+        long total = 0;
+        for (int n = from; n < to; n++) {
+            for (long x = n; x != 1; total++) {
+                x = (x & 1) == 0 ? x >> 1 : 3 * x + 1;
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,443 @@
+package com.avaya.jvm.example;
+
+import java.util.Arrays;
+import java.util.function.IntSupplier;
+
+class Counter {
+    public int value = 0;
+
+    public void add(int delta) {
+        value += delta;
+    }
+}
+
+class Particle {
+    public int id;
+    public int x;
+    public int y;
+    public int z;
+    public int vx;
+    public int vy;
+    public int vz;
+    public long age;
+    public double mass = 1.0;
+    public int charge;
+}
+
+class Pixel {
+    public byte red;
+    public byte green;
+    public byte blue;
+    public boolean visible;
+    public short depth;
+    public char tag;
+    public Pixel next;
+}
+
+class Voxel extends Pixel {
+    public byte layer;
+    public long id;
+    public float density;
+}
+
+class Shape {
+    public int side = 2;
+
+    public int area() {
+        return 0;
+    }
+
+    public int perimeter() {
+        return 0;
+    }
+
+    public int sides() {
+        return 0;
+    }
+
+    public int weight() {
+        return area() + sides();
+    }
+}
+
+class Square extends Shape {
+    public int area() {
+        return side * side;
+    }
+
+    public int perimeter() {
+        return 4 * side;
+    }
+
+    public int sides() {
+        return 4;
+    }
+}
+
+interface Scorer {
+    int score(int x);
+
+    default int bonus(int x) {
+        return score(x) + 1;
+    }
+}
+
+interface Ranked extends Scorer {
+    int rank();
+}
+
+interface IntMapper {
+    int map(int value);
+}
+
+class LinearScorer implements Ranked {
+    public int score(int x) {
+        return x * 2;
+    }
+
+    public int rank() {
+        return 1;
+    }
+}
+
+class SquareScorer extends Shape implements Ranked {
+    public int score(int x) {
+        return x * x % 97;
+    }
+
+    public int bonus(int x) {
+        return score(x) + 2;
+    }
+
+    public int rank() {
+        return 2;
+    }
+}
+
+class Triangle extends Shape {
+    public int area() {
+        return side * side / 2;
+    }
+
+    public int sides() {
+        return 3;
+    }
+}
+
+class Pentagon extends Shape {
+    public int area() {
+        return side * side * 172 / 100;
+    }
+
+    public int sides() {
+        return 5;
+    }
+}
+
+class Hexagon extends Shape {
+    public int area() {
+        return side * side * 260 / 100;
+    }
+
+    public int perimeter() {
+        return 6 * side;
+    }
+
+    public int sides() {
+        return 6;
+    }
+}
+
+/**
+ * Guest workloads driven by {@code com.avaya.jvm.benchmark.InterpreterBenchmark}.
+ * <p>
+ * Each kernel is a static no-argument method, so the harness can call it directly
+ * through the interpreter. Every kernel prints its result once, which keeps the work
+ * observable when run through {@code App}.
+ */
+public class Benchmark {
+
+    public static void main(String[] args) {
+        arithmetic();
+        arrays();
+        fields();
+        wideFields();
+        narrowFields();
+        calls();
+        recursion();
+        dispatch();
+        megamorphic();
+        interfaces();
+        logging();
+        lambdas();
+        guestLambdas();
+        concat();
+        intrinsics();
+        buffers();
+        bigArrays();
+        matrix();
+    }
+
+    public static void arithmetic() {
+        int sum = 0;
+        long acc = 1;
+        double d = 0.0;
+        for (int i = 0; i < 10000; i++) {
+            sum += (i * 31) ^ (i >> 2);
+            sum %= 1000003;
+            acc = acc * 3 + i;
+            d += i * 0.5;
+        }
+        System.out.println(sum);
+        System.out.println(acc);
+        System.out.println(d);
+    }
+
+    public static void arrays() {
+        int[] data = new int[1000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = i * 7;
+        }
+        int total = 0;
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < data.length; i++) {
+                total += data[i];
+            }
+        }
+        System.out.println(total);
+    }
+
+    public static void fields() {
+        Counter counter = new Counter();
+        for (int i = 0; i < 2000; i++) {
+            counter.value = counter.value + 1;
+            counter.add(i);
+        }
+        System.out.println(counter.value);
+    }
+
+    public static void wideFields() {
+        Particle p = new Particle();
+        p.vx = 1;
+        p.vy = 2;
+        p.vz = 3;
+        for (int i = 0; i < 1000; i++) {
+            p.x += p.vx;
+            p.y += p.vy;
+            p.z += p.vz;
+            p.age++;
+            p.charge = p.charge ^ i;
+        }
+        System.out.println(p.x + p.y + p.z + p.charge);
+        System.out.println(p.age);
+    }
+
+    public static void narrowFields() {
+        Pixel head = null;
+        for (int i = 0; i < 300; i++) {
+            Pixel p = i % 3 == 0 ? new Voxel() : new Pixel();
+            p.red = (byte) i;
+            p.green = (byte) (i * 7);
+            p.blue = (byte) -i;
+            p.visible = i % 2 == 0;
+            p.depth = (short) (i * 300);
+            p.tag = (char) ('a' + i % 26);
+            if (p instanceof Voxel v) {
+                v.layer = (byte) (i / 3);
+                v.id = i * 1_000_000_007L;
+                v.density = i * 0.25f;
+            }
+            p.next = head;
+            head = p;
+        }
+        long total = 0;
+        for (Pixel p = head; p != null; p = p.next) {
+            total += p.red + p.green + p.blue + p.depth + p.tag + (p.visible ? 1 : 0);
+            if (p instanceof Voxel v) {
+                total += v.layer + v.id + (long) v.density;
+            }
+        }
+        System.out.println(total);
+    }
+
+    public static void calls() {
+        int sum = 0;
+        for (int i = 0; i < 2000; i++) {
+            sum = add(sum, i);
+        }
+        Counter counter = new Counter();
+        for (int i = 0; i < 2000; i++) {
+            counter.add(1);
+        }
+        System.out.println(sum);
+        System.out.println(counter.value);
+    }
+
+    public static void dispatch() {
+        Shape[] shapes = {new Square(), new Triangle(), new Shape()};
+        int total = 0;
+        for (int i = 0; i < 2000; i++) {
+            Shape shape = shapes[i % 3];
+            total += shape.area() + shape.perimeter() + shape.weight();
+        }
+        System.out.println(total);
+    }
+
+    public static void megamorphic() {
+        Shape[] shapes = {new Square(), new Triangle(), new Shape(), new Pentagon(), new Hexagon(), new SquareScorer()};
+        int total = 0;
+        for (int i = 0; i < 2000; i++) {
+            Shape shape = shapes[i % 6];
+            total += shape.area() + shape.sides();
+        }
+        System.out.println(total);
+    }
+
+    public static void interfaces() {
+        Ranked[] scorers = {new LinearScorer(), new SquareScorer()};
+        int total = 0;
+        for (int i = 0; i < 2000; i++) {
+            Ranked scorer = scorers[i & 1];
+            total += scorer.score(i) + scorer.bonus(i) + scorer.rank();
+        }
+        System.out.println(total);
+    }
+
+    public static void logging() {
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            System.out.println(i);
+            System.out.println("tick");
+            line.append(i).append(' ');
+        }
+        System.out.println(line.toString());
+    }
+
+    public static void lambdas() {
+        int total = 0;
+        for (int i = 0; i < 500; i++) {
+            int captured = i;
+            IntSupplier supplier = () -> captured * 2;
+            total += supplier.getAsInt();
+        }
+        System.out.println(total);
+    }
+
+    public static void guestLambdas() {
+        int[] data = new int[100];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = i;
+        }
+        int total = 0;
+        for (int round = 0; round < 20; round++) {
+            int offset = round;
+            total += sum(data, value -> value * 2 + offset);
+        }
+        System.out.println(total);
+    }
+
+    public static int sum(int[] data, IntMapper mapper) {
+        int total = 0;
+        for (int i = 0; i < data.length; i++) {
+            total += mapper.map(data[i]);
+        }
+        return total;
+    }
+
+    public static void concat() {
+        int length = 0;
+        for (int i = 0; i < 200; i++) {
+            String message = "request " + i + " took " + (i * 3L) + "ms, status=" + (i % 2 == 0) + " user=" + "guest";
+            length += message.length();
+        }
+        System.out.println(length);
+    }
+
+    public static void intrinsics() {
+        String text = "intrinsic";
+        StringBuilder builder = new StringBuilder();
+        long total = 0;
+        for (int i = 0; i < 500; i++) {
+            total += Math.max(i, 250) + Math.abs(i - 250) + text.length() + text.charAt(i % 9);
+            if (text.equals("intrinsic")) {
+                total += Integer.valueOf(i & 127).hashCode();
+            }
+            builder.append(i % 10);
+        }
+        System.out.println(total + builder.length());
+    }
+
+    public static void buffers() {
+        int[] ring = new int[1024];
+        int[] chunk = new int[256];
+        long total = 0;
+        for (int round = 0; round < 20; round++) {
+            Arrays.fill(chunk, round);
+            System.arraycopy(chunk, 0, ring, (round * 256) % 1024, chunk.length);
+            int[] snapshot = Arrays.copyOf(ring, 1536);
+            total += snapshot[round * 37 % 1024] + snapshot.length;
+        }
+        System.out.println(total);
+    }
+
+    public static void bigArrays() {
+        long total = 0;
+        for (int round = 0; round < 8; round++) {
+            double[] samples = new double[8192];
+            for (int i = 0; i < samples.length; i += 16) {
+                samples[i] = i * 0.5;
+            }
+            long[] histogram = new long[4096];
+            for (int i = 0; i < samples.length; i += 16) {
+                histogram[i & 4095]++;
+            }
+            total += histogram.length + (long) samples[round * 16];
+        }
+        System.out.println(total);
+    }
+
+    public static void matrix() {
+        int n = 24;
+        int[][] a = new int[n][n];
+        int[][] b = new int[n][n];
+        int[][] c = new int[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                a[i][j] = i + j;
+                b[i][j] = i - j;
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                int sum = 0;
+                for (int k = 0; k < n; k++) {
+                    sum += a[i][k] * b[k][j];
+                }
+                c[i][j] = sum;
+            }
+        }
+        long trace = 0;
+        for (int i = 0; i < n; i++) {
+            trace += c[i][i];
+        }
+        System.out.println(trace);
+    }
+
+    public static void recursion() {
+        System.out.println(fib(15));
+    }
+
+    public static int add(int a, int b) {
+        return a + b;
+    }
+
+    public static int fib(int n) {
+        int result;
+        if (n < 2) {
+            result = n;
+        } else {
+            result = fib(n - 1) + fib(n - 2);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,71 @@
+package com.avaya.jvm.example;
+
+class SharedCounter {
+    public long value;
+}
+
+class Mailbox {
+    public int item;
+    public boolean full;
+    public long total;
+}
+
+/**
+ * Guest workloads driven by {@code com.avaya.jvm.benchmark.ContentionBenchmark}, run by
+ * several guest threads at once on the same objects.
+ * <p>
+ * The harness sets {@code counter} and {@code mailbox} before each run. {@code increment}
+ * contends for one lock; in {@code handoff}, every thread puts an item into a one-slot
+ * mailbox and then takes one out, waiting on the mailbox while it is full or empty.
+ */
+public class Contention {
+    public static final int INCREMENTS = 20000;
+    public static final int HANDOFFS = 1000;
+
+    public static SharedCounter counter;
+    public static Mailbox mailbox;
+
+    public static void main(String[] args) throws InterruptedException {
+        counter = new SharedCounter();
+        mailbox = new Mailbox();
+        increment();
+        handoff();
+        System.out.println(counter.value);
+        System.out.println(mailbox.total);
+    }
+
+    public static void increment() {
+        SharedCounter shared = counter;
+        for (int i = 0; i < INCREMENTS; i++) {
+            synchronized (shared) {
+                shared.value++;
+            }
+        }
+    }
+
+    public static void handoff() throws InterruptedException {
+        Mailbox box = mailbox;
+        long sum = 0;
+        for (int i = 0; i < HANDOFFS; i++) {
+            synchronized (box) {
+                while (box.full) {
+                    box.wait();
+                }
+                box.item = i;
+                box.full = true;
+                box.notifyAll();
+            }
+            synchronized (box) {
+                while (!box.full) {
+                    box.wait();
+                }
+                sum += box.item;
+                box.full = false;
+                box.notifyAll();
+            }
+        }
+        synchronized (box) {
+            box.total += sum;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.avaya.jvm.example;
+
+class Tally {
+    public int done;
+}
+
+class Sleeper implements Runnable {
+    private final Tally tally;
+
+    Sleeper(Tally tally) {
+        this.tally = tally;
+    }
+
+    // block for a while, then count itself
+    public void run() {
+        try {
+            Thread.sleep(Spawn.SLEEP_MILLIS);
+        } catch (InterruptedException e) {
+            return;
+        }
+        synchronized (tally) {
+            tally.done++;
+        }
+    }
+}
+
+/**
+ * Guest workloads driven by {@code com.avaya.jvm.benchmark.ThreadScalingBenchmark}, which
+ * start {@code threads} guest threads and join them all.
+ * <p>
+ * The harness sets {@code threads} and {@code tally} before each run. In {@code blocking}
+ * every thread sleeps, then counts itself in the tally, so the threads spend their time
+ * blocked. In {@code computing} they split the Collatz steps of [1, NUMBERS) between them,
+ * the sum is left in {@code steps}.
+ */
+public class Spawn {
+    public static final int SLEEP_MILLIS = 10;
+    public static final int NUMBERS = 20000;
+
+    public static int threads;
+    public static Tally tally;
+    public static long steps;
+
+    public static void main(String[] args) throws InterruptedException {
+        threads = 100;
+        tally = new Tally();
+        blocking();
+        computing();
+        System.out.println(tally.done);
+        System.out.println(steps);
+    }
+
+    public static void blocking() throws InterruptedException {
+        Thread[] started = new Thread[threads];
+        for (int i = 0; i < started.length; i++) {
+            started[i] = new Thread(new Sleeper(tally));
+            started[i].start();
+        }
+        for (Thread thread : started) {
+            thread.join();
+        }
+    }
+
+    public static void computing() throws InterruptedException {
+        Worker[] workers = new Worker[threads];
+        Thread[] started = new Thread[threads];
+        int chunk = NUMBERS / threads;
+        for (int i = 0; i < threads; i++) {
+            int from = Math.max(1, i * chunk);
+            int to = i == threads - 1 ? NUMBERS : (i + 1) * chunk;
+            workers[i] = new Worker(from, to);
+            started[i] = new Thread(workers[i]);
+            started[i].start();
+        }
+        long total = 0;
+        for (int i = 0; i < threads; i++) {
+            started[i].join();
+            total += workers[i].steps;
+        }
+        steps = total;
+    }
+}
@@ -0,0 +1,28 @@
+package com.avaya.jvm.example;
+
+/**
+ * A range of numbers whose Collatz steps one guest thread adds up, see {@link Workers}.
+ */
+class Worker implements Runnable {
+    private final int from;
+    private final int to;
+    public long steps;
+
+    Worker(int from, int to) {
+        this.from = from;
+        this.to = to;
+    }
+
+    // total Collatz steps of the numbers in [from, to)
+    public void run() {
+        long total = 0;
+        for (int n = from; n < to; n++) {
+            long x = n;
+            while (x != 1) {
+                x = (x & 1) == 0 ? x >> 1 : 3 * x + 1;
+                total++;
+            }
+        }
+        steps = total;
+    }
+}
@@ -0,0 +1,35 @@
+package com.avaya.jvm.example;
+
+/**
+ * A guest workload split across guest threads: each Worker is started with
+ * {@code new Thread(worker).start()} and runs in the interpreter on a thread of its own.
+ * The workers share nothing until they are joined, so the work scales with the cores.
+ */
+public class Workers {
+    public static final int NUMBERS = 100000;
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println(run(1));
+        System.out.println(run(4));
+    }
+
+    // the total steps of [1, NUMBERS), split into equal ranges for that many threads
+    public static long run(int threads) throws InterruptedException {
+        Worker[] workers = new Worker[threads];
+        Thread[] started = new Thread[threads];
+        int chunk = NUMBERS / threads;
+        for (int i = 0; i < threads; i++) {
+            int from = Math.max(1, i * chunk);
+            int to = i == threads - 1 ? NUMBERS : (i + 1) * chunk;
+            workers[i] = new Worker(from, to);
+            started[i] = new Thread(workers[i], "worker-" + i);
+            started[i].start();
+        }
+        long total = 0;
+        for (int i = 0; i < threads; i++) {
+            started[i].join();
+            total += workers[i].steps;
+        }
+        return total;
+    }
+}
@@ -7,31 +7,68 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Loads guest classes from the directories of the search path, target/classes unless
+ * {@link #setSearchPath} says otherwise.
+ * <p>
+ * Guest threads load classes concurrently, and NEW looks its class up here every time.
+ * A class is parsed and linked under the lock of the loader, then published in
+ * {@code linkedKlasses}, which is read without locking. Linking loads the superclass
+ * and interfaces on the same thread, and the lock is reentrant.
+ */
 public class BootClassLoader {
 
+    private static volatile String[] searchPath = {"target/classes/"};
+
+    // every class parsed, including those being linked; guarded by the loader
     private static final Map<String, InstanceKlass> classLoaderData = new HashMap<>();
+    private static final Map<String, InstanceKlass> linkedKlasses = new ConcurrentHashMap<>();
+
+    /**
+     * Set the directories classes are looked up in, in order, e.g. to add the guest
+     * programs of the tests. Classes already loaded stay loaded.
+     */
+    public static void setSearchPath(String... directories){
+        if (directories.length == 0){
+            throw new IllegalArgumentException("empty search path");
+        }
+        String[] path = new String[directories.length];
+        for (int i = 0; i < directories.length; i++){
+            path[i] = directories[i].endsWith("/") ? directories[i] : directories[i] + "/";
+        }
+        searchPath = path;
+    }
 
     public static InstanceKlass loadKlass(String name) throws IOException {
         return loadKlass(name, true);
     }
 
     public static InstanceKlass loadKlass(String name, boolean resolve) throws IOException {
-        InstanceKlass klass = findLoadedKlass(name);
+        InstanceKlass klass = linkedKlasses.get(name);
         if (klass != null){
             return klass;
         }
+        return loadKlassSlow(name, resolve);
+    }
 
-        klass = readAndParse(name);
+    private static synchronized InstanceKlass loadKlassSlow(String name, boolean resolve) throws IOException {
+        InstanceKlass klass = findLoadedKlass(name);
+        if (klass == null){
+            klass = readAndParse(name);
+        }
 
         if (resolve){
-            // TODO: implement symbol reference resolution (constant pool resolution)
+            // constant pool entries are resolved on first use, see InterpreterRuntime
+            klass.link();
+            linkedKlasses.put(name, klass);
         }
 
         return klass;
     }
 
-    public static InstanceKlass findLoadedKlass(String name){
+    public static synchronized InstanceKlass findLoadedKlass(String name){
         return classLoaderData.get(name);
     }
 
@@ -48,9 +85,14 @@ public class BootClassLoader {
     }
 
     private static String toFilePath(String name){
-        String searchPath = "target/classes/";
         String suffix = ".class";
         String tmpName = name.replace('.', '/');
-        return searchPath + tmpName + suffix;
+        String[] path = searchPath;
+        for (String directory : path){
+            if (Files.exists(Path.of(directory + tmpName + suffix))){
+                return directory + tmpName + suffix;
+            }
+        }
+        return path[0] + tmpName + suffix;
     }
 }
@@ -133,6 +133,7 @@ public class ClassFileParser {
         ConstantPool cp = klass.getConstantPool();
         for (int i = 0; i < fieldsCount; i++){
             FieldInfo fieldInfoEntry = new FieldInfo();
+            fieldInfoEntry.setHolder(klass);
             fieldInfoEntry.setAccessFlags(dis.readUnsignedShort());
             fieldInfoEntry.setNameIndex(dis.readUnsignedShort());
             fieldInfoEntry.setDescriptorIndex(dis.readUnsignedShort());
@@ -143,7 +144,6 @@ public class ClassFileParser {
             fieldInfoEntry.setAttributes(attributes);
             fields.add(fieldInfoEntry);
         }
-        klass.setStaticFields(new FieldArray(klass, true));
     }
 
     private static void parseMethodInfo(int methodsCount, List<MethodInfo> methods, DataInputStream dis, ConstantPool cp, InstanceKlass klass) throws IOException {
@@ -3,12 +3,13 @@ package com.avaya.jvm.hotspot.share.interpreter;
 import com.avaya.jvm.hotspot.share.memory.StackObj;
 import lombok.Getter;
 
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
-
 /**
  * Base bytecode stream class.
  * Responsible only for traversing a byte array, without method or CodeAttribute context.
+ * <p>
+ * The interpreter does not read raw bytecodes; methods are executed from the
+ * {@link DecodedCode} produced by {@link BytecodeDecoder} at link time. This stream is
+ * used by the decoder itself and by tooling.
  */
 @Getter
 public class BaseBytecodeStream extends StackObj {
@@ -35,7 +36,9 @@ public class BaseBytecodeStream extends StackObj {
 
     public int getU4(){
         ensureAvailable(4);
-        int value = ByteBuffer.wrap(codes, index, 4).order(ByteOrder.BIG_ENDIAN).getInt();
+        // big-endian, as every multi-byte operand in a class file
+        int value = ((codes[index] & 0xFF) << 24) | ((codes[index + 1] & 0xFF) << 16)
+                | ((codes[index + 2] & 0xFF) << 8) | (codes[index + 3] & 0xFF);
         index += 4;
         return value;
     }
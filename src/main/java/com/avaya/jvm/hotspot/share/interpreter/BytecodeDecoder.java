@@ -0,0 +1,201 @@
+package com.avaya.jvm.hotspot.share.interpreter;
+
+import com.avaya.jvm.hotspot.share.oops.CodeAttribute;
+
+import java.util.Arrays;
+
+/**
+ * Turns the raw bytecodes of a CodeAttribute into a {@link DecodedCode}.
+ * <p>
+ * Runs once per method when its class is linked, so the interpreter never has to
+ * parse operands, skip switch padding or compute branch offsets while executing.
+ * Branch operands are first emitted as target bci and patched to pc once every
+ * instruction has been placed.
+ * <p>
+ * INVOKEVIRTUAL and INVOKEINTERFACE get a second operand, the index of their call site's
+ * {@link InlineCache}.
+ */
+public class BytecodeDecoder {
+
+    private final BaseBytecodeStream bcs;
+    private final int[] code;
+    private final int[] bciAt;
+    private final int[] pcAt;
+    // positions in code[] that still hold a target bci
+    private int[] fixups = new int[16];
+    private int fixupCount;
+    private int pc;
+    // bci of each INVOKEVIRTUAL/INVOKEINTERFACE, indexed by call site
+    private int[] callSites = new int[4];
+    private int callSiteCount;
+
+    private BytecodeDecoder(byte[] codes) {
+        this.bcs = new BaseBytecodeStream(codes);
+        // every instruction needs at least as many bytes as it takes ints
+        this.code = new int[codes.length];
+        this.bciAt = new int[codes.length];
+        this.pcAt = new int[codes.length];
+        Arrays.fill(pcAt, -1);
+    }
+
+    public static DecodedCode decode(CodeAttribute codeAttribute) {
+        BytecodeDecoder decoder = new BytecodeDecoder(codeAttribute.getCode().getCodes());
+        decoder.decodeAll();
+        return new DecodedCode(Arrays.copyOf(decoder.code, decoder.pc),
+                Arrays.copyOf(decoder.bciAt, decoder.pc), decoder.pcAt,
+                Arrays.copyOf(decoder.callSites, decoder.callSiteCount), codeAttribute);
+    }
+
+    private void decodeAll() {
+        while (!bcs.end()){
+            int bci = bcs.getIndex();
+            int start = pc;
+            pcAt[bci] = pc;
+            decodeInstruction(bci, Bytecodes.fromOpcode(bcs.getU1()));
+            Arrays.fill(bciAt, start, pc, bci);
+        }
+        for (int i = 0; i < fixupCount; i++){
+            int slot = fixups[i];
+            int target = code[slot];
+            if (target < 0 || target >= pcAt.length || pcAt[target] < 0){
+                throw new IllegalStateException("Branch to invalid bci " + target);
+            }
+            code[slot] = pcAt[target];
+        }
+    }
+
+    private void decodeInstruction(int bci, Bytecodes bytecode) {
+        switch (bytecode){
+            // index into the constant pool or the local variables
+            case LDC, ILOAD, LLOAD, FLOAD, DLOAD, ALOAD,
+                 ISTORE, LSTORE, FSTORE, DSTORE, ASTORE, RET, NEWARRAY -> {
+                emit(bytecode);
+                emit(bcs.getU1());
+            }
+            case LDC_W -> {
+                emit(Bytecodes.LDC);
+                emit(bcs.getU2());
+            }
+            case LDC2_W, GETSTATIC, PUTSTATIC, GETFIELD, PUTFIELD,
+                 INVOKESPECIAL, INVOKESTATIC,
+                 NEW, ANEWARRAY, CHECKCAST, INSTANCEOF -> {
+                emit(bytecode);
+                emit(bcs.getU2());
+            }
+            case INVOKEVIRTUAL -> {
+                emit(bytecode);
+                emit(bcs.getU2());
+                emitCallSite(bci);
+            }
+            case BIPUSH -> {
+                emit(bytecode);
+                emit((byte) bcs.getU1());
+            }
+            case SIPUSH -> {
+                emit(bytecode);
+                emit((short) bcs.getU2());
+            }
+            case IINC -> {
+                emit(bytecode);
+                emit(bcs.getU1());
+                emit((byte) bcs.getU1());
+            }
+            case IFEQ, IFNE, IFLT, IFGE, IFGT, IFLE,
+                 IF_ICMPEQ, IF_ICMPNE, IF_ICMPLT, IF_ICMPGE, IF_ICMPGT, IF_ICMPLE,
+                 IF_ACMPEQ, IF_ACMPNE, GOTO, JSR, IFNULL, IFNONNULL -> {
+                emit(bytecode);
+                emitTarget(bci + (short) bcs.getU2());
+            }
+            case GOTO_W -> {
+                emit(Bytecodes.GOTO);
+                emitTarget(bci + bcs.getU4());
+            }
+            case JSR_W -> {
+                emit(Bytecodes.JSR);
+                emitTarget(bci + bcs.getU4());
+            }
+            case TABLESWITCH -> {
+                skipPadding();
+                emit(bytecode);
+                emitTarget(bci + bcs.getU4());
+                int low = bcs.getU4();
+                int high = bcs.getU4();
+                emit(low);
+                emit(high);
+                for (int i = low; i <= high; i++){
+                    emitTarget(bci + bcs.getU4());
+                }
+            }
+            case LOOKUPSWITCH -> {
+                // the pairs are sorted by match, so the interpreter can binary search them
+                skipPadding();
+                emit(bytecode);
+                emitTarget(bci + bcs.getU4());
+                int npairs = bcs.getU4();
+                emit(npairs);
+                for (int i = 0; i < npairs; i++){
+                    emit(bcs.getU4());
+                    emitTarget(bci + bcs.getU4());
+                }
+            }
+            case INVOKEINTERFACE -> {
+                // count and the zero byte are redundant with the descriptor
+                emit(bytecode);
+                emit(bcs.getU2());
+                emitCallSite(bci);
+                bcs.getU1();
+                bcs.getU1();
+            }
+            case INVOKEDYNAMIC -> {
+                emit(bytecode);
+                emit(bcs.getU2());
+                bcs.getU2();
+            }
+            case MULTIANEWARRAY -> {
+                emit(bytecode);
+                emit(bcs.getU2());
+                emit(bcs.getU1());
+            }
+            case WIDE -> {
+                Bytecodes modified = Bytecodes.fromOpcode(bcs.getU1());
+                emit(modified);
+                emit(bcs.getU2());
+                if (modified == Bytecodes.IINC){
+                    emit((short) bcs.getU2());
+                }
+            }
+            case ILLEGAL -> throw new IllegalStateException("Illegal bytecode at bci " + bci);
+            default -> emit(bytecode);
+        }
+    }
+
+    private void skipPadding() {
+        while (bcs.getIndex() % 4 != 0){
+            bcs.getU1();
+        }
+    }
+
+    private void emit(Bytecodes bytecode) {
+        code[pc++] = bytecode.getOpcode();
+    }
+
+    private void emit(int value) {
+        code[pc++] = value;
+    }
+
+    private void emitCallSite(int bci) {
+        if (callSiteCount == callSites.length){
+            callSites = Arrays.copyOf(callSites, callSiteCount * 2);
+        }
+        callSites[callSiteCount] = bci;
+        emit(callSiteCount++);
+    }
+
+    private void emitTarget(int targetBci) {
+        if (fixupCount == fixups.length){
+            fixups = Arrays.copyOf(fixups, fixupCount * 2);
+        }
+        fixups[fixupCount++] = pc;
+        emit(targetBci);
+    }
+}
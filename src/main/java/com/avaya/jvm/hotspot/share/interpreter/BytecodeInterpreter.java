@@ -2,1899 +2,1349 @@ package com.avaya.jvm.hotspot.share.interpreter;
 
 import com.avaya.jvm.hotspot.share.classfile.BootClassLoader;
 import com.avaya.jvm.hotspot.share.oops.*;
+import com.avaya.jvm.hotspot.share.prims.HostLambda;
+import com.avaya.jvm.hotspot.share.prims.Intrinsic;
+import com.avaya.jvm.hotspot.share.runtime.HostMonitorTable;
+import com.avaya.jvm.hotspot.share.runtime.JavaStack;
 import com.avaya.jvm.hotspot.share.runtime.JavaThread;
 import com.avaya.jvm.hotspot.share.runtime.JavaVFrame;
+import com.avaya.jvm.hotspot.share.runtime.LocalVariableArray;
+import com.avaya.jvm.hotspot.share.runtime.ObjectSynchronizer;
+import com.avaya.jvm.hotspot.share.runtime.OperandStack;
+import com.avaya.jvm.hotspot.share.utilities.MemberAccessFlags;
 import com.avaya.jvm.hotspot.share.utilities.ValueType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.lang.reflect.Array;
-import java.lang.reflect.Field;
-import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.ReentrantLock;
 
+import static com.avaya.jvm.hotspot.share.interpreter.InterpreterRuntime.*;
 import static com.avaya.jvm.hotspot.share.prims.JavaNativeInterface.*;
 
 /*
  * See details in:
  * https://docs.oracle.com/javase/specs/jvms/se8/html/jvms-6.html
+ *
+ * The dispatch loop in run() is deliberately kept small: every switch arm is a single
+ * statement that either touches the operand stack directly or calls a short handler
+ * below. A single method holding all 200 handlers is far beyond the host JVM's
+ * huge-method limit (8000 bytes of bytecode), so it would never be JIT-compiled.
+ *
+ * Methods are executed from their DecodedCode (see BytecodeDecoder): operands are
+ * read with code[pc++] and branches load the target pc directly.
+ *
+ * Guest calls do not recurse on the host stack. An invoke saves the caller's pc in its
+ * frame and pushes the callee onto the thread's JavaStack, a return pops it, and the
+ * outer loop of run() then reloads the state of whichever frame is on top. An exception
+ * that is not handled in a frame pops it and is looked up again at the caller's invoke.
+ * Guest stack depth is bounded by -Xss only (see JavaStack and Arguments).
  */
 public class BytecodeInterpreter {
     private static final Logger logger = LoggerFactory.getLogger(BytecodeInterpreter.class);
-    private static final ConcurrentHashMap<Object, ReentrantLock> monitorTable = new ConcurrentHashMap<>();
-
-    public static void run(JavaThread thread, BytecodeStream bytecodeStream) throws Throwable {
-        JavaVFrame frame = (JavaVFrame) thread.getStack().peek();
-        ConstantPool constantPool = bytecodeStream.getKlass().getConstantPool();
-        bytecodeStream.resetIndex();
-        boolean isWide = false;
-        while (!bytecodeStream.end()){
-            switch (Bytecodes.fromOpcode(bytecodeStream.getU1())){
-                // 0, do nothing
-                case NOP -> {
-                    logger.debug("NOP >> ");
-                }
-                // 1, push null onto the operand stack
-                case ACONST_NULL -> {
-                    logger.debug("ACONST_NULL >> ");
-                    frame.getOperandStack().pushRef(null);
-                }
-                // 2, push constant -1 onto the operand stack
-                case ICONST_M1 -> {
-                    logger.debug("ICONST_M1 >> ");
-                    frame.getOperandStack().pushInt(-1);
-                }
-                // 3, push constant 0 onto the operand stack
-                case ICONST_0 -> {
-                    logger.debug("ICONST_0 >> ");
-                    frame.getOperandStack().pushInt(0);
-                }
-                // 4
-                case ICONST_1 -> {
-                    logger.debug("ICONST_1 >> ");
-                    frame.getOperandStack().pushInt(1);
-                }
-                // 5
-                case ICONST_2 -> {
-                    logger.debug("ICONST_2 >> ");
-                    frame.getOperandStack().pushInt(2);
-                }
-                // 6
-                case ICONST_3 -> {
-                    logger.debug("ICONST_3 >> ");
-                    frame.getOperandStack().pushInt(3);
-                }
-                // 7
-                case ICONST_4 -> {
-                    logger.debug("ICONST_4 >> ");
-                    frame.getOperandStack().pushInt(4);
-                }
-                // 8
-                case ICONST_5 -> {
-                    logger.debug("ICONST_5 >> ");
-                    frame.getOperandStack().pushInt(5);
-                }
-                // 9, push long constant 0 onto the operand stack
-                case LCONST_0 -> {
-                    logger.debug("LCONST_0 >> ");
-                    frame.getOperandStack().pushLong(0);
-                }
-                // 10
-                case LCONST_1 -> {
-                    logger.debug("LCONST_1 >> ");
-                    frame.getOperandStack().pushLong(1);
-                }
-                // 11, push float constant 0.0f onto the operand stack
-                case FCONST_0 -> {
-                    logger.debug("FCONST_0 >> ");
-                    frame.getOperandStack().pushFloat(0.0f);
-                }
-                // 12
-                case FCONST_1 -> {
-                    logger.debug("FCONST_1 >> ");
-                    frame.getOperandStack().pushFloat(1.0f);
-                }
-                // 13
-                case FCONST_2 -> {
-                    logger.debug("FCONST_2 >> ");
-                    frame.getOperandStack().pushFloat(2.0f);
-                }
-                // 14, push double constant 0.0 onto the operand stack
-                case DCONST_0 -> {
-                    logger.debug("DCONST_0 >> ");
-                    frame.getOperandStack().pushDouble(0.0);
-                }
-                // 15
-                case DCONST_1 -> {
-                    logger.debug("DCONST_1 >> ");
-                    frame.getOperandStack().pushDouble(1.0);
-                }
-                // 16, push a byte constant (from next byte in bytecode) onto the operand stack
-                case BIPUSH -> {
-                    logger.debug("BIPUSH >> ");
-                    byte value = (byte)bytecodeStream.getU1();
-                    frame.getOperandStack().pushInt(value);
-                }
-                // 16, push a short constant (from next byte in bytecode) onto the operand stack
-                case SIPUSH -> {
-                    logger.debug("SIPUSH >> ");
-                    int high = bytecodeStream.getU1();
-                    int low = bytecodeStream.getU1();
-                    short value = (short)((high << 8) | (low & 0xFF));
-                    frame.getOperandStack().pushInt(value);
-                }
-                // 18
-                case LDC -> {
-                    logger.debug("LDC >> ");
-                    ConstantInfo constantEntry = constantPool.getEntries().get(bytecodeStream.getU1());
-                    switch (constantEntry.getTag()){
-                        case JVM_CONSTANT_INTEGER -> {
-                            int intValue = ((ConstantIntegerInfo)constantEntry).getValue();
-                            frame.getOperandStack().pushInt(intValue);
-                        }
-                        case JVM_CONSTANT_FLOAT -> {
-                            float floatValue = ((ConstantFloatInfo)constantEntry).getValue();
-                            frame.getOperandStack().pushFloat(floatValue);
-                        }
-                        case JVM_CONSTANT_STRING -> {
-                            String stringValue = ((ConstantStringInfo)constantEntry).resolveString(constantPool);
-                            frame.getOperandStack().pushRef(stringValue);
-                        }
-                        default -> {
-                            //TODO: other types for LDC
-                            logger.debug("Other type in LDC.");
-                        }
-                    }
-                }
-                // 19, load 1-slot type from constant pool (index specified by next 2 bytes) onto stack
-                case LDC_W -> {
-                    logger.debug("LDC2_W >> ");
-                    ConstantInfo constantEntry = constantPool.getEntries().get(bytecodeStream.getU2());
-                    switch (constantEntry.getTag()){
-                        case JVM_CONSTANT_INTEGER -> {
-                            int iValue = ((ConstantIntegerInfo)constantEntry).getValue();
-                            frame.getOperandStack().pushInt(iValue);
-                        }
-                        case JVM_CONSTANT_FLOAT -> {
-                            float fValue = ((ConstantFloatInfo)constantEntry).getValue();
-                            frame.getOperandStack().pushFloat(fValue);
-                        }
-                        case JVM_CONSTANT_STRING -> {
-                            String sValue = ((ConstantStringInfo)constantEntry).resolveString(constantPool);
-                            frame.getOperandStack().pushRef(sValue);
-                        }
-                        default -> {
-                            //TODO: other types for LDC_W
-                            logger.debug("Other type in LDC_W.");
+
+    // fixed when the class is initialized, so the JIT drops the trace from the loop below
+    private static final boolean TRACE_BYTECODES = logger.isTraceEnabled();
+
+    /**
+     * Run the frame on top of the thread's stack, and everything it calls, until it returns.
+     * An exception it does not handle is rethrown to the host caller.
+     */
+    public static void run(JavaThread thread) throws Throwable {
+        JavaStack javaStack = thread.getStack();
+        int entryDepth = javaStack.getDepth();
+        // exception unwinding to the frame on top, thrown by its callee
+        Throwable pending = null;
+
+        frames:
+        while (javaStack.getDepth() >= entryDepth){
+            JavaVFrame frame = javaStack.peek();
+            DecodedCode decodedCode = frame.getDecodedCode();
+            ConstantPool cp = decodedCode.getKlass().getConstantPool();
+            OperandStack stack = frame.getOperandStack();
+            LocalVariableArray locals = frame.getLocals();
+            int[] code = decodedCode.getCode();
+            InlineCache[] inlineCaches = decodedCode.getInlineCaches();
+            // 0 for a new frame, right after the invoke instruction for a caller
+            int pc = frame.getPc();
+            if (pending != null){
+                // look for a handler covering the invoke instruction
+                pc = handleException(thread, decodedCode, cp, stack, pc - 1, pending);
+                if (pc < 0){
+                    popFrame(thread, javaStack);
+                    continue;
+                }
+                pending = null;
+            } else if (pc == 0 && decodedCode.isSynchronizedMethod()){
+                lockMethod(thread, frame, decodedCode);
+            }
+
+            while (true){
+                int opcodePc = pc;
+                Bytecodes bytecode = Bytecodes.fromOpcode(code[pc++]);
+                if (TRACE_BYTECODES){
+                    logger.trace("{} >> ", bytecode);
+                }
+                try {
+                    switch (bytecode){
+                        // 0, do nothing
+                        case NOP -> { }
+                        // 1 - 15, push constants onto the operand stack
+                        case ACONST_NULL -> stack.pushRef(null);
+                        case ICONST_M1 -> stack.pushInt(-1);
+                        case ICONST_0 -> stack.pushInt(0);
+                        case ICONST_1 -> stack.pushInt(1);
+                        case ICONST_2 -> stack.pushInt(2);
+                        case ICONST_3 -> stack.pushInt(3);
+                        case ICONST_4 -> stack.pushInt(4);
+                        case ICONST_5 -> stack.pushInt(5);
+                        case LCONST_0 -> stack.pushLong(0);
+                        case LCONST_1 -> stack.pushLong(1);
+                        case FCONST_0 -> stack.pushFloat(0.0f);
+                        case FCONST_1 -> stack.pushFloat(1.0f);
+                        case FCONST_2 -> stack.pushFloat(2.0f);
+                        case DCONST_0 -> stack.pushDouble(0.0);
+                        case DCONST_1 -> stack.pushDouble(1.0);
+                        // 16 - 20, push immediates and constant pool entries
+                        case BIPUSH, SIPUSH -> stack.pushInt(code[pc++]);
+                        case LDC -> ldc(cp, code[pc++], stack);
+                        case LDC2_W -> ldc2W(cp, code[pc++], stack);
+                        // 21 - 45, load from local variables onto the operand stack
+                        case ILOAD -> stack.pushInt(locals.getInt(code[pc++]));
+                        case LLOAD -> stack.pushLong(locals.getLong(code[pc++]));
+                        case FLOAD -> stack.pushFloat(locals.getFloat(code[pc++]));
+                        case DLOAD -> stack.pushDouble(locals.getDouble(code[pc++]));
+                        case ALOAD -> stack.pushRef(locals.getRef(code[pc++]));
+                        case ILOAD_0 -> stack.pushInt(locals.getInt(0));
+                        case ILOAD_1 -> stack.pushInt(locals.getInt(1));
+                        case ILOAD_2 -> stack.pushInt(locals.getInt(2));
+                        case ILOAD_3 -> stack.pushInt(locals.getInt(3));
+                        case LLOAD_0 -> stack.pushLong(locals.getLong(0));
+                        case LLOAD_1 -> stack.pushLong(locals.getLong(1));
+                        case LLOAD_2 -> stack.pushLong(locals.getLong(2));
+                        case LLOAD_3 -> stack.pushLong(locals.getLong(3));
+                        case FLOAD_0 -> stack.pushFloat(locals.getFloat(0));
+                        case FLOAD_1 -> stack.pushFloat(locals.getFloat(1));
+                        case FLOAD_2 -> stack.pushFloat(locals.getFloat(2));
+                        case FLOAD_3 -> stack.pushFloat(locals.getFloat(3));
+                        case DLOAD_0 -> stack.pushDouble(locals.getDouble(0));
+                        case DLOAD_1 -> stack.pushDouble(locals.getDouble(1));
+                        case DLOAD_2 -> stack.pushDouble(locals.getDouble(2));
+                        case DLOAD_3 -> stack.pushDouble(locals.getDouble(3));
+                        case ALOAD_0 -> stack.pushRef(locals.getRef(0));
+                        case ALOAD_1 -> stack.pushRef(locals.getRef(1));
+                        case ALOAD_2 -> stack.pushRef(locals.getRef(2));
+                        case ALOAD_3 -> stack.pushRef(locals.getRef(3));
+                        // 46 - 53, load from arrays
+                        case IALOAD -> iaload(stack);
+                        case LALOAD -> laload(stack);
+                        case FALOAD -> faload(stack);
+                        case DALOAD -> daload(stack);
+                        case AALOAD -> aaload(stack);
+                        case BALOAD -> baload(stack);
+                        case CALOAD -> caload(stack);
+                        case SALOAD -> saload(stack);
+                        // 54 - 78, store from the operand stack into local variables
+                        case ISTORE -> locals.setInt(code[pc++], stack.popInt());
+                        case LSTORE -> locals.setLong(code[pc++], stack.popLong());
+                        case FSTORE -> locals.setFloat(code[pc++], stack.popFloat());
+                        case DSTORE -> locals.setDouble(code[pc++], stack.popDouble());
+                        case ASTORE -> locals.setRef(code[pc++], stack.popRef());
+                        case ISTORE_0 -> locals.setInt(0, stack.popInt());
+                        case ISTORE_1 -> locals.setInt(1, stack.popInt());
+                        case ISTORE_2 -> locals.setInt(2, stack.popInt());
+                        case ISTORE_3 -> locals.setInt(3, stack.popInt());
+                        case LSTORE_0 -> locals.setLong(0, stack.popLong());
+                        case LSTORE_1 -> locals.setLong(1, stack.popLong());
+                        case LSTORE_2 -> locals.setLong(2, stack.popLong());
+                        case LSTORE_3 -> locals.setLong(3, stack.popLong());
+                        case FSTORE_0 -> locals.setFloat(0, stack.popFloat());
+                        case FSTORE_1 -> locals.setFloat(1, stack.popFloat());
+                        case FSTORE_2 -> locals.setFloat(2, stack.popFloat());
+                        case FSTORE_3 -> locals.setFloat(3, stack.popFloat());
+                        case DSTORE_0 -> locals.setDouble(0, stack.popDouble());
+                        case DSTORE_1 -> locals.setDouble(1, stack.popDouble());
+                        case DSTORE_2 -> locals.setDouble(2, stack.popDouble());
+                        case DSTORE_3 -> locals.setDouble(3, stack.popDouble());
+                        case ASTORE_0 -> locals.setRef(0, stack.popRef());
+                        case ASTORE_1 -> locals.setRef(1, stack.popRef());
+                        case ASTORE_2 -> locals.setRef(2, stack.popRef());
+                        case ASTORE_3 -> locals.setRef(3, stack.popRef());
+                        // 79 - 86, store into arrays
+                        case IASTORE -> iastore(stack);
+                        case LASTORE -> lastore(stack);
+                        case FASTORE -> fastore(stack);
+                        case DASTORE -> dastore(stack);
+                        case AASTORE -> aastore(stack);
+                        case BASTORE -> bastore(stack);
+                        case CASTORE -> castore(stack);
+                        case SASTORE -> sastore(stack);
+                        // 87 - 95, operand stack management
+                        case POP -> stack.pop();
+                        case POP2 -> stack.pop2();
+                        case DUP -> stack.dupSlots(1, 0);
+                        case DUP_X1 -> stack.dupSlots(1, 1);
+                        case DUP_X2 -> stack.dupSlots(1, 2);
+                        case DUP2 -> stack.dupSlots(2, 0);
+                        case DUP2_X1 -> stack.dupSlots(2, 1);
+                        case DUP2_X2 -> stack.dupSlots(2, 2);
+                        case SWAP -> stack.swap();
+                        // 96 - 132, arithmetic and bitwise operations
+                        case IADD -> iadd(stack);
+                        case LADD -> ladd(stack);
+                        case FADD -> fadd(stack);
+                        case DADD -> dadd(stack);
+                        case ISUB -> isub(stack);
+                        case LSUB -> lsub(stack);
+                        case FSUB -> fsub(stack);
+                        case DSUB -> dsub(stack);
+                        case IMUL -> imul(stack);
+                        case LMUL -> lmul(stack);
+                        case FMUL -> fmul(stack);
+                        case DMUL -> dmul(stack);
+                        case IDIV -> idiv(stack);
+                        case LDIV -> ldiv(stack);
+                        case FDIV -> fdiv(stack);
+                        case DDIV -> ddiv(stack);
+                        case IREM -> irem(stack);
+                        case LREM -> lrem(stack);
+                        case FREM -> frem(stack);
+                        case DREM -> drem(stack);
+                        case INEG -> stack.pushInt(-stack.popInt());
+                        case LNEG -> stack.pushLong(-stack.popLong());
+                        case FNEG -> stack.pushFloat(-stack.popFloat());
+                        case DNEG -> stack.pushDouble(-stack.popDouble());
+                        case ISHL -> ishl(stack);
+                        case LSHL -> lshl(stack);
+                        case ISHR -> ishr(stack);
+                        case LSHR -> lshr(stack);
+                        case IUSHR -> iushr(stack);
+                        case LUSHR -> lushr(stack);
+                        case IAND -> iand(stack);
+                        case LAND -> land(stack);
+                        case IOR -> ior(stack);
+                        case LOR -> lor(stack);
+                        case IXOR -> ixor(stack);
+                        case LXOR -> lxor(stack);
+                        case IINC -> { iinc(locals, code[pc], code[pc + 1]); pc += 2; }
+                        // 133 - 147, type conversions
+                        case I2L -> stack.pushLong(stack.popInt());
+                        case I2F -> stack.pushFloat((float) stack.popInt());
+                        case I2D -> stack.pushDouble(stack.popInt());
+                        case L2I -> stack.pushInt((int) stack.popLong());
+                        case L2F -> stack.pushFloat((float) stack.popLong());
+                        case L2D -> stack.pushDouble((double) stack.popLong());
+                        case F2I -> stack.pushInt((int) stack.popFloat());
+                        case F2L -> stack.pushLong((long) stack.popFloat());
+                        case F2D -> stack.pushDouble(stack.popFloat());
+                        case D2I -> stack.pushInt((int) stack.popDouble());
+                        case D2L -> stack.pushLong((long) stack.popDouble());
+                        case D2F -> stack.pushFloat((float) stack.popDouble());
+                        case I2B -> stack.pushInt((byte) stack.popInt());
+                        case I2C -> stack.pushInt((char) stack.popInt());
+                        case I2S -> stack.pushInt((short) stack.popInt());
+                        // 148 - 152, comparisons
+                        case LCMP -> lcmp(stack);
+                        case FCMPL -> fcmp(stack, -1);
+                        case FCMPG -> fcmp(stack, 1);
+                        case DCMPL -> dcmp(stack, -1);
+                        case DCMPG -> dcmp(stack, 1);
+                        // 153 - 171, control flow
+                        case IFEQ -> pc = branch(code, pc, stack.popInt() == 0);
+                        case IFNE -> pc = branch(code, pc, stack.popInt() != 0);
+                        case IFLT -> pc = branch(code, pc, stack.popInt() < 0);
+                        case IFGE -> pc = branch(code, pc, stack.popInt() >= 0);
+                        case IFGT -> pc = branch(code, pc, stack.popInt() > 0);
+                        case IFLE -> pc = branch(code, pc, stack.popInt() <= 0);
+                        case IF_ICMPEQ -> pc = ifIcmp(code, pc, stack, Bytecodes.IF_ICMPEQ);
+                        case IF_ICMPNE -> pc = ifIcmp(code, pc, stack, Bytecodes.IF_ICMPNE);
+                        case IF_ICMPLT -> pc = ifIcmp(code, pc, stack, Bytecodes.IF_ICMPLT);
+                        case IF_ICMPGE -> pc = ifIcmp(code, pc, stack, Bytecodes.IF_ICMPGE);
+                        case IF_ICMPGT -> pc = ifIcmp(code, pc, stack, Bytecodes.IF_ICMPGT);
+                        case IF_ICMPLE -> pc = ifIcmp(code, pc, stack, Bytecodes.IF_ICMPLE);
+                        case IF_ACMPEQ -> pc = ifAcmp(code, pc, stack, true);
+                        case IF_ACMPNE -> pc = ifAcmp(code, pc, stack, false);
+                        case GOTO -> pc = code[pc];
+                        // officially deprecated in the JVM specification.
+                        case JSR, RET -> pc++;
+                        case TABLESWITCH -> pc = tableswitch(code, pc, stack);
+                        case LOOKUPSWITCH -> pc = lookupswitch(code, pc, stack);
+                        // 172 - 177, method return
+                        case IRETURN -> { ireturn(thread, javaStack, stack); continue frames; }
+                        case LRETURN -> { lreturn(thread, javaStack, stack); continue frames; }
+                        case FRETURN -> { freturn(thread, javaStack, stack); continue frames; }
+                        case DRETURN -> { dreturn(thread, javaStack, stack); continue frames; }
+                        case ARETURN -> { areturn(thread, javaStack, stack); continue frames; }
+                        case RETURN -> { popFrame(thread, javaStack); continue frames; }
+                        // 178 - 185, field access and method invocation: resolve on first execution
+                        // and rewrite into the FAST_ form, which is dispatched right away
+                        case GETSTATIC -> pc = quickenField(cp, code, opcodePc, Bytecodes.FAST_GETSTATIC);
+                        case PUTSTATIC -> pc = quickenField(cp, code, opcodePc, Bytecodes.FAST_PUTSTATIC);
+                        case GETFIELD -> pc = quickenField(cp, code, opcodePc, Bytecodes.FAST_GETFIELD);
+                        case PUTFIELD -> pc = quickenField(cp, code, opcodePc, Bytecodes.FAST_PUTFIELD);
+                        case INVOKEVIRTUAL -> pc = quickenInvoke(cp, code, opcodePc, Bytecodes.FAST_INVOKEVIRTUAL);
+                        case INVOKESPECIAL -> pc = quickenInvoke(cp, code, opcodePc, Bytecodes.FAST_INVOKESPECIAL);
+                        case INVOKESTATIC -> pc = quickenInvoke(cp, code, opcodePc, Bytecodes.FAST_INVOKESTATIC);
+                        case INVOKEINTERFACE -> pc = quickenInvoke(cp, code, opcodePc, Bytecodes.FAST_INVOKEINTERFACE);
+                        // 186, method invocation
+                        case INVOKEDYNAMIC -> invokedynamic(cp, code[pc++], decodedCode, stack);
+                        // 187 - 190, object and array creation
+                        case NEW -> newObject(cp, code[pc++], stack);
+                        case NEWARRAY -> newarray(code[pc++], stack);
+                        case ANEWARRAY -> anewarray(cp, code[pc++], stack);
+                        case ARRAYLENGTH -> arraylength(stack);
+                        // 191, throw the exception object, dispatched by handleException() below
+                        case ATHROW -> athrow(stack);
+                        // 192 - 193, type checks
+                        case CHECKCAST -> checkcast(cp, code[pc++], stack);
+                        case INSTANCEOF -> instanceOf(cp, code[pc++], stack);
+                        // 194 - 195, synchronization
+                        case MONITORENTER -> monitorenter(thread, stack);
+                        case MONITOREXIT -> monitorexit(thread, stack);
+                        // 197 - 199, WIDE, GOTO_W and JSR_W are folded by the decoder
+                        case MULTIANEWARRAY -> { multianewarray(cp, code[pc], code[pc + 1], stack); pc += 2; }
+                        case IFNULL -> pc = branch(code, pc, stack.popRef() == null);
+                        case IFNONNULL -> pc = branch(code, pc, stack.popRef() != null);
+                        // 202, reserved for debuggers, not generated by javac
+                        case BREAKPOINT -> { }
+                        // 203 - 210, quickened forms, operating on the resolved ConstantPoolCache entry
+                        case FAST_GETSTATIC -> fastGetstatic(cp, code[pc++], stack);
+                        case FAST_PUTSTATIC -> fastPutstatic(cp, code[pc++], stack);
+                        case FAST_GETFIELD -> fastGetfield(cp, code[pc++], stack);
+                        case FAST_PUTFIELD -> fastPutfield(cp, code[pc++], stack);
+                        // an invoke that pushed a guest frame continues there, the caller resumes at the saved pc
+                        case FAST_INVOKEVIRTUAL -> {
+                            frame.setPc(pc + 2);
+                            if (fastInvokevirtual(javaStack, cp, code[pc], inlineCaches[code[pc + 1]], stack)) continue frames;
+                            pc += 2;
                         }
-                    }
-                }
-                // 20, load long or double from constant pool (index specified by next 2 bytes) onto stack
-                case LDC2_W -> {
-                    logger.debug("LDC2_W >> ");
-                    ConstantInfo constantEntry = constantPool.getEntries().get(bytecodeStream.getU2());
-                    switch (constantEntry.getTag()){
-                        case JVM_CONSTANT_LONG -> {
-                            long longValue = ((ConstantLongInfo)constantEntry).getValue();
-                            frame.getOperandStack().pushLong(longValue);
+                        case FAST_INVOKESPECIAL -> {
+                            frame.setPc(pc + 1);
+                            if (fastInvokespecial(javaStack, cp, code[pc], stack)) continue frames;
+                            pc++;
                         }
-                        case JVM_CONSTANT_DOUBLE -> {
-                            double doubleValue = ((ConstantDoubleInfo)constantEntry).getValue();
-                            frame.getOperandStack().pushDouble(doubleValue);
+                        case FAST_INVOKESTATIC -> {
+                            frame.setPc(pc + 1);
+                            if (fastInvokestatic(javaStack, cp, code[pc], stack)) continue frames;
+                            pc++;
                         }
-                        default -> {
-                            logger.debug("Other type in LDC2_W.");
+                        case FAST_INVOKEINTERFACE -> {
+                            frame.setPc(pc + 2);
+                            if (fastInvokevirtual(javaStack, cp, code[pc], inlineCaches[code[pc + 1]], stack)) continue frames;
+                            pc += 2;
                         }
+                        default -> throw new IllegalStateException("Illegal bytecode at bci " + decodedCode.bciAt(opcodePc));
                     }
-                }
-                // 21, load int from local variable (index specified by next byte) onto stack
-                case ILOAD -> {
-                    logger.debug("ILOAD >> ");
-                    int index;
-                    if (isWide){
-                        index = bytecodeStream.getU2();
-                        isWide = false;
-                    } else {
-                        index = bytecodeStream.getU1();
-                    }
-                    frame.getOperandStack().pushInt(frame.getLocals().getInt(index));
-                }
-                // 22, load long from local variable (index specified by next byte) onto stack
-                case LLOAD -> {
-                    logger.debug("LLOAD >> ");
-                    int index;
-                    if (isWide){
-                        index = bytecodeStream.getU2();
-                        isWide = false;
-                    } else {
-                        index = bytecodeStream.getU1();
-                    }
-                    frame.getOperandStack().pushLong(frame.getLocals().getLong(index));
-                }
-                // 23, load float from local variable (index specified by next byte) onto stack
-                case FLOAD -> {
-                    logger.debug("FLOAD >> ");
-                    int index;
-                    if (isWide){
-                        index = bytecodeStream.getU2();
-                        isWide = false;
-                    } else {
-                        index = bytecodeStream.getU1();
-                    }
-                    frame.getOperandStack().pushFloat(frame.getLocals().getFloat(index));
-                }
-                // 24, load double from local variable (index specified by next byte) onto stack
-                case DLOAD -> {
-                    logger.debug("DLOAD >> ");
-                    int index;
-                    if (isWide){
-                        index = bytecodeStream.getU2();
-                        isWide = false;
-                    } else {
-                        index = bytecodeStream.getU1();
-                    }
-                    frame.getOperandStack().pushDouble(frame.getLocals().getDouble(index));
-                }
-                // 25, load array from local variable (index specified by next byte) onto stack
-                case ALOAD -> {
-                    logger.debug("ALOAD >> ");
-                    int index;
-                    if (isWide){
-                        index = bytecodeStream.getU2();
-                        isWide = false;
-                    } else {
-                        index = bytecodeStream.getU1();
-                    }
-                    frame.getOperandStack().pushRef(frame.getLocals().getRef(index));
-                }
-                // 26, load int from local variable 0 onto stack
-                case ILOAD_0 -> {
-                    logger.debug("ILOAD_0 >> ");
-                    frame.getOperandStack().pushInt(frame.getLocals().getInt(0));
-                }
-                // 27
-                case ILOAD_1 -> {
-                    logger.debug("ILOAD_1 >> ");
-                    frame.getOperandStack().pushInt(frame.getLocals().getInt(1));
-                }
-                // 28
-                case ILOAD_2 -> {
-                    logger.debug("ILOAD_2 >> ");
-                    frame.getOperandStack().pushInt(frame.getLocals().getInt(2));
-                }
-                // 29
-                case ILOAD_3 -> {
-                    logger.debug("ILOAD_3 >> ");
-                    frame.getOperandStack().pushInt(frame.getLocals().getInt(3));
-                }
-                // 30, load long from local variable 0 onto stack
-                case LLOAD_0 -> {
-                    logger.debug("LLOAD_0 >> ");
-                    frame.getOperandStack().pushLong(frame.getLocals().getLong(0));
-                }
-                // 31
-                case LLOAD_1 -> {
-                    logger.debug("LLOAD_1 >> ");
-                    frame.getOperandStack().pushLong(frame.getLocals().getLong(1));
-                }
-                // 32
-                case LLOAD_2 -> {
-                    logger.debug("LLOAD_2 >> ");
-                    frame.getOperandStack().pushLong(frame.getLocals().getLong(2));
-                }
-                // 33
-                case LLOAD_3 -> {
-                    logger.debug("LLOAD_3 >> ");
-                    frame.getOperandStack().pushLong(frame.getLocals().getLong(3));
-                }
-                // 34, load float from local variable 0 onto stack
-                case FLOAD_0 -> {
-                    logger.debug("FLOAD_0 >> ");
-                    frame.getOperandStack().pushFloat(frame.getLocals().getFloat(0));
-                }
-                // 35
-                case FLOAD_1 -> {
-                    logger.debug("FLOAD_1 >> ");
-                    frame.getOperandStack().pushFloat(frame.getLocals().getFloat(1));
-                }
-                // 36
-                case FLOAD_2 -> {
-                    logger.debug("FLOAD_2 >> ");
-                    frame.getOperandStack().pushFloat(frame.getLocals().getFloat(2));
-                }
-                // 37
-                case FLOAD_3 -> {
-                    logger.debug("FLOAD_3 >> ");
-                    frame.getOperandStack().pushFloat(frame.getLocals().getFloat(3));
-                }
-                // 38, load double from local variable 0 onto stack
-                case DLOAD_0 -> {
-                    logger.debug("DLOAD_0 >> ");
-                    frame.getOperandStack().pushDouble(frame.getLocals().getDouble(0));
-                }
-                // 39
-                case DLOAD_1 -> {
-                    logger.debug("DLOAD_1 >> ");
-                    frame.getOperandStack().pushDouble(frame.getLocals().getDouble(1));
-                }
-                // 40
-                case DLOAD_2 -> {
-                    logger.debug("DLOAD_2 >> ");
-                    frame.getOperandStack().pushDouble(frame.getLocals().getDouble(2));
-                }
-                // 41
-                case DLOAD_3 -> {
-                    logger.debug("DLOAD_3 >> ");
-                    frame.getOperandStack().pushDouble(frame.getLocals().getDouble(3));
-                }
-                // 42
-                case ALOAD_0 -> {
-                    logger.debug("ALOAD_0 >> ");
-                    frame.getOperandStack().pushRef(frame.getLocals().getRef(0));
-                }
-                // 43
-                case ALOAD_1 -> {
-                    logger.debug("ALOAD_1 >> ");
-                    frame.getOperandStack().pushRef(frame.getLocals().getRef(1));
-                }
-                // 44
-                case ALOAD_2 -> {
-                    logger.debug("ALOAD_2 >> ");
-                    frame.getOperandStack().pushRef(frame.getLocals().getRef(2));
-                }
-                // 45
-                case ALOAD_3 -> {
-                    logger.debug("ALOAD_3 >> ");
-                    frame.getOperandStack().pushRef(frame.getLocals().getRef(3));
-                }
-                // 46
-                case IALOAD -> {
-                    logger.debug("IALOAD >> ");
-                    int index = frame.getOperandStack().popInt();
-                    IntArrayOop array = (IntArrayOop)frame.getOperandStack().popRef();
-                    int value = array.get(index);
-                    frame.getOperandStack().pushInt(value);
-                }
-                // 47
-                case LALOAD -> {
-                    logger.debug("LALOAD >> ");
-                    int index = frame.getOperandStack().popInt();
-                    LongArrayOop array = (LongArrayOop)frame.getOperandStack().popRef();
-                    long value = array.get(index);
-                    frame.getOperandStack().pushLong(value);
-                }
-                // 48
-                case FALOAD -> {
-                    logger.debug("FALOAD >> ");
-                    int index = frame.getOperandStack().popInt();
-                    FloatArrayOop array = (FloatArrayOop)frame.getOperandStack().popRef();
-                    float value = array.get(index);
-                    frame.getOperandStack().pushFloat(value);
-                }
-                // 49, DALOAD
-                case DALOAD -> {
-                    logger.debug("DALOAD >> ");
-                    int index = frame.getOperandStack().popInt();
-                    DoubleArrayOop array = (DoubleArrayOop)frame.getOperandStack().popRef();
-                    double value = array.get(index);
-                    frame.getOperandStack().pushDouble(value);
-                }
-                // 50, AALOAD
-                case AALOAD -> {
-                    logger.debug("AALOAD >> ");
-                    int index = frame.getOperandStack().popInt();
-                    Object array = frame.getOperandStack().popRef();
-                    Object value;
-                    if (array instanceof ObjectArrayOop){
-                        value = ((ObjectArrayOop)array).get(index);
-                    } else{
-                        value = Array.get(array, index);
-                    }
-                    frame.getOperandStack().pushRef(value);
-                }
-                // 51
-                case BALOAD -> {
-                    logger.debug("BALOAD >> ");
-                    int index = frame.getOperandStack().popInt();
-                    ByteArrayOop array = (ByteArrayOop)frame.getOperandStack().popRef();
-                    byte value = array.get(index);
-                    frame.getOperandStack().pushInt(value);
-                }
-                // 52
-                case CALOAD -> {
-                    logger.debug("CALOAD >> ");
-                    int index = frame.getOperandStack().popInt();
-                    CharArrayOop array = (CharArrayOop)frame.getOperandStack().popRef();
-                    char value = array.get(index);
-                    frame.getOperandStack().pushInt(value);
-                }
-                // 53
-                case SALOAD -> {
-                    logger.debug("SALOAD >> ");
-                    int index = frame.getOperandStack().popInt();
-                    ShortArrayOop array = (ShortArrayOop)frame.getOperandStack().popRef();
-                    short value = array.get(index);
-                    frame.getOperandStack().pushInt(value);
-                }
-                // 54, store int from stack into local variable (index specified by next byte)
-                case ISTORE -> {
-                    logger.debug("ISTORE >> ");
-                    int index;
-                    if (isWide){
-                        index = bytecodeStream.getU2();
-                        isWide = false;
-                    } else {
-                        index = bytecodeStream.getU1();
-                    }
-                    frame.getLocals().setInt(index, frame.getOperandStack().popInt());
-                }
-                // 55, store long from stack into local variable (index specified by next byte)
-                case LSTORE -> {
-                    logger.debug("LSTORE >> ");
-                    int index;
-                    if (isWide){
-                        index = bytecodeStream.getU2();
-                        isWide = false;
-                    } else {
-                        index = bytecodeStream.getU1();
-                    }
-                    frame.getLocals().setLong(index, frame.getOperandStack().popLong());
-                }
-                // 56, store float from stack into local variable (index specified by next byte)
-                case FSTORE -> {
-                    logger.debug("FSTORE >> ");
-                    int index;
-                    if (isWide){
-                        index = bytecodeStream.getU2();
-                        isWide = false;
-                    } else {
-                        index = bytecodeStream.getU1();
-                    }
-                    frame.getLocals().setFloat(index, frame.getOperandStack().popFloat());
-                }
-                // 57, store double from stack into local variable (index specified by next byte)
-                case DSTORE -> {
-                    logger.debug("DSTORE >> ");
-                    int index;
-                    if (isWide){
-                        index = bytecodeStream.getU2();
-                        isWide = false;
-                    } else {
-                        index = bytecodeStream.getU1();
-                    }
-                    frame.getLocals().setDouble(index, frame.getOperandStack().popDouble());
-                }
-                // 58, store array from stack into local variable (index specified by next byte)
-                case ASTORE -> {
-                    logger.debug("ASTORE >> ");
-                    int index;
-                    if (isWide){
-                        index = bytecodeStream.getU2();
-                        isWide = false;
-                    } else {
-                        index = bytecodeStream.getU1();
-                    }
-                    frame.getLocals().setRef(index, frame.getOperandStack().popRef());
-                }
-                // 59, store int from stack into local variable 0
-                case ISTORE_0 -> {
-                    logger.debug("ISTORE_0 >> ");
-                    frame.getLocals().setInt(0, frame.getOperandStack().popInt());
-                }
-                // 60
-                case ISTORE_1 -> {
-                    logger.debug("ISTORE_1 >> ");
-                    frame.getLocals().setInt(1, frame.getOperandStack().popInt());
-                }
-                // 61
-                case ISTORE_2 -> {
-                    logger.debug("ISTORE_2 >> ");
-                    frame.getLocals().setInt(2, frame.getOperandStack().popInt());
-                }
-                // 62
-                case ISTORE_3 -> {
-                    logger.debug("ISTORE_3 >> ");
-                    frame.getLocals().setInt(3, frame.getOperandStack().popInt());
-                }
-                // 63, store long from stack into local variable 0
-                case LSTORE_0 -> {
-                    logger.debug("LSTORE_0 >> ");
-                    frame.getLocals().setLong(0, frame.getOperandStack().popLong());
-                }
-                // 64
-                case LSTORE_1 -> {
-                    logger.debug("LSTORE_1 >> ");
-                    frame.getLocals().setLong(1, frame.getOperandStack().popLong());
-                }
-                // 65
-                case LSTORE_2 -> {
-                    logger.debug("LSTORE_2 >> ");
-                    frame.getLocals().setLong(2, frame.getOperandStack().popLong());
-                }
-                // 66
-                case LSTORE_3 -> {
-                    logger.debug("LSTORE_3 >> ");
-                    frame.getLocals().setLong(3, frame.getOperandStack().popLong());
-                }
-                // 67, store float from stack into local variable 0
-                case FSTORE_0 -> {
-                    logger.debug("FSTORE_0 >> ");
-                    frame.getLocals().setFloat(0, frame.getOperandStack().popFloat());
-                }
-                // 68
-                case FSTORE_1 -> {
-                    logger.debug("FSTORE_1 >> ");
-                    frame.getLocals().setFloat(1, frame.getOperandStack().popFloat());
-                }
-                // 69
-                case FSTORE_2 -> {
-                    logger.debug("FSTORE_2 >> ");
-                    frame.getLocals().setFloat(2, frame.getOperandStack().popFloat());
-                }
-                // 70
-                case FSTORE_3 -> {
-                    logger.debug("FSTORE_3 >> ");
-                    frame.getLocals().setFloat(3, frame.getOperandStack().popFloat());
-                }
-                // 71, store double from stack into local variable 0
-                case DSTORE_0 -> {
-                    logger.debug("DSTORE_0 >> ");
-                    frame.getLocals().setDouble(0, frame.getOperandStack().popDouble());
-                }
-                // 72
-                case DSTORE_1 -> {
-                    logger.debug("DSTORE_1 >> ");
-                    frame.getLocals().setDouble(1, frame.getOperandStack().popDouble());
-                }
-                // 73
-                case DSTORE_2 -> {
-                    logger.debug("DSTORE_2 >> ");
-                    frame.getLocals().setDouble(2, frame.getOperandStack().popDouble());
-                }
-                // 74
-                case DSTORE_3 -> {
-                    logger.debug("DSTORE_3 >> ");
-                    frame.getLocals().setDouble(3, frame.getOperandStack().popDouble());
-                }
-                // 75
-                case ASTORE_0 -> {
-                    logger.debug("ASTORE_0 >> ");
-                    frame.getLocals().setRef(0, frame.getOperandStack().popRef());
-                }
-                // 76
-                case ASTORE_1 -> {
-                    logger.debug("ASTORE_1 >> ");
-                    frame.getLocals().setRef(1, frame.getOperandStack().popRef());
-                }
-                // 77
-                case ASTORE_2 -> {
-                    logger.debug("ASTORE_2 >> ");
-                    frame.getLocals().setRef(2, frame.getOperandStack().popRef());
-                }
-                // 78
-                case ASTORE_3 -> {
-                    logger.debug("ASTORE_3 >> ");
-                    frame.getLocals().setRef(3, frame.getOperandStack().popRef());
-                }
-                // 79
-                case IASTORE -> {
-                    logger.debug("IASTORE >> ");
-                    int value = frame.getOperandStack().popInt();
-                    int index = frame.getOperandStack().popInt();
-                    IntArrayOop array = (IntArrayOop)frame.getOperandStack().popRef();
-                    array.set(index, value);
-                }
-                // 80
-                case LASTORE -> {
-                    logger.debug("LASTORE >> ");
-                    long value = frame.getOperandStack().popLong();
-                    int index = frame.getOperandStack().popInt();
-                    LongArrayOop array = (LongArrayOop)frame.getOperandStack().popRef();
-                    array.set(index, value);
-                }
-                // 81
-                case FASTORE -> {
-                    logger.debug("FASTORE >> ");
-                    float value = frame.getOperandStack().popFloat();
-                    int index = frame.getOperandStack().popInt();
-                    FloatArrayOop array = (FloatArrayOop)frame.getOperandStack().popRef();
-                    array.set(index, value);
-                }
-                // 82
-                case DASTORE -> {
-                    logger.debug("DASTORE >> ");
-                    double value = frame.getOperandStack().popDouble();
-                    int index = frame.getOperandStack().popInt();
-                    DoubleArrayOop array = (DoubleArrayOop)frame.getOperandStack().popRef();
-                    array.set(index, value);
-                }
-                // 83
-                case AASTORE -> {
-                    logger.debug("AASTORE >> ");
-                    Object value = frame.getOperandStack().popRef();
-                    int index = frame.getOperandStack().popInt();
-                    Object array = frame.getOperandStack().popRef();
-                    if (value instanceof InstanceOop && array instanceof ObjectArrayOop){
-                        ((ObjectArrayOop)array).set(index, (InstanceOop)value);
-                    } else {
-                        Array.set(array, index, value);
-                    }
-                }
-                // 84
-                case BASTORE -> {
-                    logger.debug("BASTORE >> ");
-                    int value = frame.getOperandStack().popInt();
-                    int index = frame.getOperandStack().popInt();
-                    ByteArrayOop array = (ByteArrayOop)frame.getOperandStack().popRef();
-                    array.set(index, (byte)value);
-                }
-                // 85
-                case CASTORE -> {
-                    logger.debug("CASTORE >> ");
-                    int value = frame.getOperandStack().popInt();
-                    int index = frame.getOperandStack().popInt();
-                    CharArrayOop array = (CharArrayOop)frame.getOperandStack().popRef();
-                    array.set(index, (char)value);
-                }
-                // 86
-                case SASTORE -> {
-                    logger.debug("SASTORE >> ");
-                    int value = frame.getOperandStack().popInt();
-                    int index = frame.getOperandStack().popInt();
-                    ShortArrayOop array = (ShortArrayOop)frame.getOperandStack().popRef();
-                    array.set(index, (short)value);
-                }
-                // 87
-                case POP -> {
-                    logger.debug("POP >> ");
-                    frame.getOperandStack().pop();
-                }
-                // 88
-                case POP2 -> {
-                    logger.debug("POP2 >> ");
-                    frame.getOperandStack().pop2();
-                }
-                // 89
-                case DUP -> {
-                    logger.debug("DUP >> ");
-                    frame.getOperandStack().dupSlotsAcrossElements(1, 0);
-                }
-                // 90
-                case DUP_X1 -> {
-                    logger.debug("DUP_X1 >> ");
-                    frame.getOperandStack().dupSlotsAcrossElements(1, 1);
-                }
-                // 91
-                case DUP_X2 -> {
-                    logger.debug("DUP_X2 >> ");
-                    frame.getOperandStack().dupSlotsAcrossElements(1, 2);
-                }
-                // 92
-                case DUP2 -> {
-                    logger.debug("DUP2 >> ");
-                    frame.getOperandStack().dupSlotsAcrossElements(2, 1);
-                }
-                // 93
-                case DUP2_X1 -> {
-                    logger.debug("DUP2_X1 >> ");
-                    frame.getOperandStack().dupSlotsAcrossElements(2, 1);
-                }
-                // 94
-                case DUP2_X2 -> {
-                    logger.debug("DUP2_X2 >> ");
-                    frame.getOperandStack().dupSlotsAcrossElements(2, 2);
-                }
-                // 95,
-                case SWAP -> {
-                    logger.debug("SWAP >> ");
-                    frame.getOperandStack().swap();
-                }
-                // 96, Add: Pop valueB, pop valueA, push (valueA + valueB)
-                case IADD -> {
-                    logger.debug("IADD >> ");
-                    int valueB = frame.getOperandStack().popInt();
-                    int valueA = frame.getOperandStack().popInt();
-                    frame.getOperandStack().pushInt(valueA + valueB);
-                }
-                // 97
-                case LADD -> {
-                    logger.debug("LADD >> ");
-                    long valueB = frame.getOperandStack().popLong();
-                    long valueA = frame.getOperandStack().popLong();
-                    frame.getOperandStack().pushLong(valueA + valueB);
-                }
-                // 98
-                case FADD -> {
-                    logger.debug("FADD >> ");
-                    float valueB = frame.getOperandStack().popFloat();
-                    float valueA = frame.getOperandStack().popFloat();
-                    frame.getOperandStack().pushFloat(valueA + valueB);
-                }
-                // 99
-                case DADD -> {
-                    logger.debug("DADD >> ");
-                    double valueB = frame.getOperandStack().popDouble();
-                    double valueA = frame.getOperandStack().popDouble();
-                    frame.getOperandStack().pushDouble(valueA + valueB);
-                }
-                // 100, Subtract: Pop valueB, pop valueA, push (valueA - valueB)
-                case ISUB -> {
-                    logger.debug("ISUB >> ");
-                    int valueB = frame.getOperandStack().popInt();
-                    int valueA = frame.getOperandStack().popInt();
-                    frame.getOperandStack().pushInt(valueA - valueB);
-                }
-                // 101
-                case LSUB -> {
-                    logger.debug("LSUB >> ");
-                    long valueB = frame.getOperandStack().popLong();
-                    long valueA = frame.getOperandStack().popLong();
-                    frame.getOperandStack().pushLong(valueA - valueB);
-                }
-                // 102
-                case FSUB -> {
-                    logger.debug("FSUB >> ");
-                    float valueB = frame.getOperandStack().popFloat();
-                    float valueA = frame.getOperandStack().popFloat();
-                    frame.getOperandStack().pushFloat(valueA - valueB);
-                }
-                // 103
-                case DSUB -> {
-                    logger.debug("DSUB >> ");
-                    double valueB = frame.getOperandStack().popDouble();
-                    double valueA = frame.getOperandStack().popDouble();
-                    frame.getOperandStack().pushDouble(valueA - valueB);
-                }
-                // 104, Multiply: Pop valueB, pop valueA, push (valueA * valueB)
-                case IMUL -> {
-                    logger.debug("IMUL >> ");
-                    int valueB = frame.getOperandStack().popInt();
-                    int valueA = frame.getOperandStack().popInt();
-                    frame.getOperandStack().pushInt(valueA * valueB);
-                }
-                // 105
-                case LMUL -> {
-                    logger.debug("LMUL >> ");
-                    long valueB = frame.getOperandStack().popLong();
-                    long valueA = frame.getOperandStack().popLong();
-                    frame.getOperandStack().pushLong(valueA * valueB);
-                }
-                // 106
-                case FMUL -> {
-                    logger.debug("FMUL >> ");
-                    float valueB = frame.getOperandStack().popFloat();
-                    float valueA = frame.getOperandStack().popFloat();
-                    frame.getOperandStack().pushFloat(valueA * valueB);
-                }
-                // 107
-                case DMUL -> {
-                    logger.debug("DMUL >> ");
-                    double valueB = frame.getOperandStack().popDouble();
-                    double valueA = frame.getOperandStack().popDouble();
-                    frame.getOperandStack().pushDouble(valueA * valueB);
-                }
-                // 108, Divide: Pop valueB, pop valueA, push (valueA / valueB)
-                case IDIV -> {
-                    logger.debug("IDIV >> ");
-                    int valueB = frame.getOperandStack().popInt();
-                    int valueA = frame.getOperandStack().popInt();
-                    if (valueB == 0) throw new ArithmeticException("/ by zero");
-                    frame.getOperandStack().pushInt(valueA / valueB);
-                }
-                // 109
-                case LDIV -> {
-                    logger.debug("LDIV >> ");
-                    long valueB = frame.getOperandStack().popLong();
-                    long valueA = frame.getOperandStack().popLong();
-                    if (valueB == 0) throw new ArithmeticException("/ by zero");
-                    frame.getOperandStack().pushLong(valueA / valueB);
-                }
-                // 110
-                case FDIV -> {
-                    logger.debug("FDIV >> ");
-                    float valueB = frame.getOperandStack().popFloat();
-                    float valueA = frame.getOperandStack().popFloat();
-                    if (valueB == 0) throw new ArithmeticException("/ by zero");
-                    frame.getOperandStack().pushFloat(valueA / valueB);
-                }
-                // 111
-                case DDIV -> {
-                    logger.debug("DDIV >> ");
-                    double valueB = frame.getOperandStack().popDouble();
-                    double valueA = frame.getOperandStack().popDouble();
-                    if (valueB == 0) throw new ArithmeticException("/ by zero");
-                    frame.getOperandStack().pushDouble(valueA / valueB);
-                }
-                // 112, Remainder: Pop valueB, pop valueA, push (valueA % valueB)
-                case IREM -> {
-                    logger.debug("IREM >> ");
-                    int valueB = frame.getOperandStack().popInt();
-                    int valueA = frame.getOperandStack().popInt();
-                    if (valueB == 0) throw new ArithmeticException("% by zero");
-                    frame.getOperandStack().pushInt(valueA % valueB);
-                }
-                // 113
-                case LREM -> {
-                    logger.debug("LREM >> ");
-                    long valueB = frame.getOperandStack().popLong();
-                    long valueA = frame.getOperandStack().popLong();
-                    if (valueB == 0) throw new ArithmeticException("% by zero");
-                    frame.getOperandStack().pushLong(valueA % valueB);
-                }
-                // 114
-                case FREM -> {
-                    logger.debug("FREM >> ");
-                    float valueB = frame.getOperandStack().popFloat();
-                    float valueA = frame.getOperandStack().popFloat();
-                    if (valueB == 0) throw new ArithmeticException("% by zero");
-                    frame.getOperandStack().pushFloat(valueA % valueB);
-                }
-                // 115
-                case DREM -> {
-                    logger.debug("DREM >> ");
-                    double valueB = frame.getOperandStack().popDouble();
-                    double valueA = frame.getOperandStack().popDouble();
-                    if (valueB == 0) throw new ArithmeticException("% by zero");
-                    frame.getOperandStack().pushDouble(valueA % valueB);
-                }
-                // 116, Negate: Pop valueA, push (-valueA)
-                case INEG -> {
-                    logger.debug("INEG >> ");
-                    int valueA = frame.getOperandStack().popInt();
-                    frame.getOperandStack().pushInt(-valueA);
-                }
-                // 117
-                case LNEG -> {
-                    logger.debug("LNEG >> ");
-                    long valueA = frame.getOperandStack().popLong();
-                    frame.getOperandStack().pushLong(-valueA);
-                }
-                // 118
-                case FNEG -> {
-                    logger.debug("FNEG >> ");
-                    float valueA = frame.getOperandStack().popFloat();
-                    frame.getOperandStack().pushFloat(-valueA);
-                }
-                // 119
-                case DNEG -> {
-                    logger.debug("DNEG >> ");
-                    double valueA = frame.getOperandStack().popDouble();
-                    frame.getOperandStack().pushDouble(-valueA);
-                }
-                // 120
-                case ISHL -> {
-                    logger.debug("ISHL >> ");
-                    int shift = frame.getOperandStack().popInt();
-                    int value = frame.getOperandStack().popInt();
-                    frame.getOperandStack().pushInt(value << (shift & 0x1F));
-                }
-                // 121
-                case LSHL -> {
-                    logger.debug("LSHL >> ");
-                    int shift = frame.getOperandStack().popInt();
-                    long value = frame.getOperandStack().popLong();
-                    frame.getOperandStack().pushLong(value << (shift & 0x3F));
-                }
-                // 122
-                case ISHR -> {
-                    logger.debug("ISHR >> ");
-                    int shift = frame.getOperandStack().popInt();
-                    int value = frame.getOperandStack().popInt();
-                    frame.getOperandStack().pushInt(value >> (shift & 0x1F));
-                }
-                // 123
-                case LSHR -> {
-                    logger.debug("LSHR >> ");
-                    int shift = frame.getOperandStack().popInt();
-                    long value = frame.getOperandStack().popLong();
-                    frame.getOperandStack().pushLong(value >> (shift & 0x3F));
-                }
-                // 124
-                case IUSHR -> {
-                    logger.debug("IUSHR >> ");
-                    int shift = frame.getOperandStack().popInt();
-                    int value = frame.getOperandStack().popInt();
-                    frame.getOperandStack().pushInt(value >>> (shift & 0x1F));
-                }
-                // 125
-                case LUSHR -> {
-                    logger.debug("LUSHR >> ");
-                    int shift = frame.getOperandStack().popInt();
-                    long value = frame.getOperandStack().popLong();
-                    frame.getOperandStack().pushLong(value >>> (shift & 0x3F));
-                }
-                // 126
-                case IAND -> {
-                    logger.debug("IAND >> ");
-                    int valueB = frame.getOperandStack().popInt();
-                    int valueA = frame.getOperandStack().popInt();
-                    frame.getOperandStack().pushInt(valueA & valueB);
-                }
-                // 127
-                case LAND -> {
-                    logger.debug("LAND >> ");
-                    long valueB = frame.getOperandStack().popLong();
-                    long valueA = frame.getOperandStack().popLong();
-                    frame.getOperandStack().pushLong(valueA & valueB);
-                }
-                // 128
-                case IOR -> {
-                    logger.debug("IOR >> ");
-                    int valueB = frame.getOperandStack().popInt();
-                    int valueA = frame.getOperandStack().popInt();
-                    frame.getOperandStack().pushInt(valueA | valueB);
-                }
-                // 129
-                case LOR -> {
-                    logger.debug("LOR >> ");
-                    long valueB = frame.getOperandStack().popLong();
-                    long valueA = frame.getOperandStack().popLong();
-                    frame.getOperandStack().pushLong(valueA | valueB);
-                }
-                // 130
-                case IXOR -> {
-                    logger.debug("IXOR >> ");
-                    int valueB = frame.getOperandStack().popInt();
-                    int valueA = frame.getOperandStack().popInt();
-                    frame.getOperandStack().pushInt(valueA ^ valueB);
-                }
-                // 131
-                case LXOR -> {
-                    logger.debug("LXOR >> ");
-                    long valueB = frame.getOperandStack().popLong();
-                    long valueA = frame.getOperandStack().popLong();
-                    frame.getOperandStack().pushLong(valueA ^ valueB);
-                }
-                // 132, read local index (1 byte) and signed increment (1 byte), add to variable, store back.
-                case IINC -> {
-                    logger.debug("IINC >> ");
-                    int index;
-                    int increment;
-                    if (isWide){
-                        // wide: index (2 bytes), increment (2 bytes, signed)
-                        index = bytecodeStream.getU2();
-                        increment = (short) bytecodeStream.getU2();
-                        // reset value after use
-                        isWide = false;
-                    } else {
-                        // normal: index (1 byte), increment (1 byte, signed)
-                        index = bytecodeStream.getU1();
-                        increment = (byte) bytecodeStream.getU1();
-                    }
-                    frame.getLocals().setInt(index, frame.getLocals().getInt(index) + increment);
-                }
-                // 133, int to long
-                case I2L -> {
-                    logger.debug("I2L >> ");
-                    int intValue  = frame.getOperandStack().popInt();
-                    frame.getOperandStack().pushLong((long)intValue);
-                }
-                // 134, int to float
-                case I2F -> {
-                    logger.debug("I2F >> ");
-                    int intValue  = frame.getOperandStack().popInt();
-                    frame.getOperandStack().pushFloat((float)intValue);
-                }
-                // 135, int to double
-                case I2D -> {
-                    logger.debug("I2D >> ");
-                    int intValue  = frame.getOperandStack().popInt();
-                    frame.getOperandStack().pushDouble((double)intValue);
-                }
-                // 136, long to int
-                case L2I -> {
-                    logger.debug("L2I >> ");
-                    long longValue  = frame.getOperandStack().popLong();
-                    frame.getOperandStack().pushInt((int)longValue);
-                }
-                // 137, long to float
-                case L2F -> {
-                    logger.debug("L2F >> ");
-                    long longValue  = frame.getOperandStack().popLong();
-                    frame.getOperandStack().pushFloat((float)longValue);
-                }
-                // 138, long to double
-                case L2D -> {
-                    logger.debug("L2D >> ");
-                    long longValue  = frame.getOperandStack().popLong();
-                    frame.getOperandStack().pushDouble((double)longValue);
-                }
-                // 139, float to int
-                case F2I -> {
-                    logger.debug("F2I >> ");
-                    float floatValue  = frame.getOperandStack().popFloat();
-                    frame.getOperandStack().pushInt((int)floatValue);
-                }
-                // 140, float to long
-                case F2L -> {
-                    logger.debug("F2L >> ");
-                    float floatValue  = frame.getOperandStack().popFloat();
-                    frame.getOperandStack().pushLong((long)floatValue);
-                }
-                // 141, float to double
-                case F2D -> {
-                    logger.debug("F2D >> ");
-                    float floatValue  = frame.getOperandStack().popFloat();
-                    frame.getOperandStack().pushDouble((double)floatValue);
-                }
-                // 142, double to int
-                case D2I -> {
-                    logger.debug("D2I >> ");
-                    double doubleValue  = frame.getOperandStack().popDouble();
-                    frame.getOperandStack().pushInt((int)doubleValue);
-                }
-                // 143, double to long
-                case D2L -> {
-                    logger.debug("D2L >> ");
-                    double doubleValue  = frame.getOperandStack().popDouble();
-                    frame.getOperandStack().pushLong((long)doubleValue);
-                }
-                // 144, double to float
-                case D2F -> {
-                    logger.debug("D2F >> ");
-                    double doubleValue  = frame.getOperandStack().popDouble();
-                    frame.getOperandStack().pushFloat((float)doubleValue);
-                }
-                // 145, int to byte (signed, with sign extension)
-                case I2B -> {
-                    logger.debug("I2B >> ");
-                    int intValue  = frame.getOperandStack().popInt();
-                    intValue  = (intValue  << 24) >> 24;
-                    frame.getOperandStack().pushInt(intValue);
-                }
-                // 146, int to char (unsigned, high 16 bits cleared)
-                case I2C -> {
-                    logger.debug("I2C >> ");
-                    int intValue  = frame.getOperandStack().popInt();
-                    intValue  = intValue  & 0xFFFF;
-                    frame.getOperandStack().pushInt(intValue);
-                }
-                // 147, int to short (unsigned, high 16 bits cleared)
-                case I2S -> {
-                    logger.debug("I2S >> ");
-                    int intValue  = frame.getOperandStack().popInt();
-                    frame.getOperandStack().pushInt((short) intValue);
-                }
-                // 148, compare two long
-                case LCMP -> {
-                    logger.debug("LCMP >> ");
-                    long valueB = frame.getOperandStack().popLong();
-                    long valueA = frame.getOperandStack().popLong();
-                    int result;
-                    if (valueA > valueB) {
-                        result = 1;
-                    } else if (valueA == valueB) {
-                        result = 0;
-                    } else {
-                        result = -1;
-                    }
-                    frame.getOperandStack().pushInt(result);
-                }
-                // 149, compare two float
-                case FCMPL -> {
-                    logger.debug("FCMPL >> ");
-                    float valueB = frame.getOperandStack().popFloat();
-                    float valueA = frame.getOperandStack().popFloat();
-                    int result;
-                    if (Float.isNaN(valueA) || Float.isNaN(valueB)) {
-                        result = -1;
-                    }else if (valueA > valueB) {
-                        result = 1;
-                    } else if (valueA == valueB) {
-                        result = 0;
-                    } else {
-                        result = -1;
-                    }
-                    frame.getOperandStack().pushInt(result);
-                }
-                // 150
-                case FCMPG -> {
-                    logger.debug("FCMPG >> ");
-                    float valueB = frame.getOperandStack().popFloat();
-                    float valueA = frame.getOperandStack().popFloat();
-                    int result;
-                    if (Float.isNaN(valueA) || Float.isNaN(valueB)) {
-                        result = 1;
-                    }else if (valueA > valueB) {
-                        result = 1;
-                    } else if (valueA == valueB) {
-                        result = 0;
-                    } else {
-                        result = -1;
-                    }
-                    frame.getOperandStack().pushInt(result);
-                }
-                // 151, compare two double
-                case DCMPL -> {
-                    logger.debug("DCMPL >> ");
-                    double valueB = frame.getOperandStack().popDouble();
-                    double valueA = frame.getOperandStack().popDouble();
-                    int result;
-                    if (Double.isNaN(valueA) || Double.isNaN(valueB)) {
-                        result = -1;
-                    }else if (valueA > valueB) {
-                        result = 1;
-                    } else if (valueA == valueB) {
-                        result = 0;
-                    } else {
-                        result = -1;
-                    }
-                    frame.getOperandStack().pushInt(result);
-                }
-                // 152,
-                case DCMPG -> {
-                    logger.debug("DCMPG >> ");
-                    double valueB = frame.getOperandStack().popDouble();
-                    double valueA = frame.getOperandStack().popDouble();
-                    int result;
-                    if (Double.isNaN(valueA) || Double.isNaN(valueB)) {
-                        result = 1;
-                    }else if (valueA > valueB) {
-                        result = 1;
-                    } else if (valueA == valueB) {
-                        result = 0;
-                    } else {
-                        result = -1;
-                    }
-                    frame.getOperandStack().pushInt(result);
-                }
-                // 153,
-                case IFEQ -> {
-                    logger.debug("IFEQ >> ");
-                    int offset = bytecodeStream.getU2();
-                    int value = frame.getOperandStack().popInt();
-                    if (value == 0){
-                        bytecodeStream.conditionalJump(offset);
-                    }
-                }
-                // 154,
-                case IFNE -> {
-                    logger.debug("IFNE >> ");
-                    int offset = bytecodeStream.getU2();
-                    int value = frame.getOperandStack().popInt();
-                    if (value != 0){
-                        bytecodeStream.conditionalJump(offset);
-                    }
-                }
-                // 155,
-                case IFLT -> {
-                    logger.debug("IFLT >> ");
-                    int offset = bytecodeStream.getU2();
-                    int value = frame.getOperandStack().popInt();
-                    if (value == -1){
-                        bytecodeStream.conditionalJump(offset);
-                    }
-                }
-                // 156,
-                case IFGE -> {
-                    logger.debug("IFGE >> ");
-                    int offset = bytecodeStream.getU2();
-                    int value = frame.getOperandStack().popInt();
-                    if (value != -1){
-                        bytecodeStream.conditionalJump(offset);
-                    }
-                }
-                // 157
-                case IFGT -> {
-                    logger.debug("IFGT >> ");
-                    int offset = bytecodeStream.getU2();
-                    int value = frame.getOperandStack().popInt();
-                    if (value == 1){
-                        bytecodeStream.conditionalJump(offset);
-                    }
-                }
-                // 158,
-                case IFLE -> {
-                    logger.debug("IFLE >> ");
-                    int offset = bytecodeStream.getU2();
-                    int value = frame.getOperandStack().popInt();
-                    if (value != 1){
-                        bytecodeStream.conditionalJump(offset);
-                    }
-                }
-                // 159,
-                case IF_ICMPEQ -> {
-                    logger.debug("IF_ICMPEQ >> ");
-                    int offset = bytecodeStream.getU2();
-                    int valueB = frame.getOperandStack().popInt();
-                    int valueA = frame.getOperandStack().popInt();
-                    if (valueA == valueB){
-                        bytecodeStream.conditionalJump(offset);
-                    }
-                }
-                // 160,
-                case IF_ICMPNE -> {
-                    logger.debug("IF_ICMPNE >> ");
-                    int offset = bytecodeStream.getU2();
-                    int valueB = frame.getOperandStack().popInt();
-                    int valueA = frame.getOperandStack().popInt();
-                    if (valueA != valueB){
-                        bytecodeStream.conditionalJump(offset);
-                    }
-                }
-                // 161,
-                case IF_ICMPLT -> {
-                    logger.debug("IF_ICMPLT >> ");
-                    int offset = bytecodeStream.getU2();
-                    int valueB = frame.getOperandStack().popInt();
-                    int valueA = frame.getOperandStack().popInt();
-                    if (valueA < valueB){
-                        bytecodeStream.conditionalJump(offset);
-                    }
-                }
-                // 162,
-                case IF_ICMPGE -> {
-                    logger.debug("IF_ICMPGE >> ");
-                    int offset = bytecodeStream.getU2();
-                    int valueB = frame.getOperandStack().popInt();
-                    int valueA = frame.getOperandStack().popInt();
-                    if (valueA >= valueB){
-                        bytecodeStream.conditionalJump(offset);
-                    }
-                }
-                // 163,
-                case IF_ICMPGT -> {
-                    logger.debug("IF_ICMPGT >> ");
-                    int offset = bytecodeStream.getU2();
-                    int valueB = frame.getOperandStack().popInt();
-                    int valueA = frame.getOperandStack().popInt();
-                    if (valueA > valueB){
-                        bytecodeStream.conditionalJump(offset);
-                    }
-                }
-                // 164,
-                case IF_ICMPLE -> {
-                    logger.debug("IF_ICMPLE >> ");
-                    int offset = bytecodeStream.getU2();
-                    int valueB = frame.getOperandStack().popInt();
-                    int valueA = frame.getOperandStack().popInt();
-                    if (valueA <= valueB){
-                        bytecodeStream.conditionalJump(offset);
-                    }
-                }
-                // 165,
-                case IF_ACMPEQ -> {
-                    logger.debug("IF_ACMPEQ >> ");
-                    int offset = bytecodeStream.getU2();
-                    InstanceOop valueB = (InstanceOop)frame.getOperandStack().popRef();
-                    InstanceOop valueA = (InstanceOop)frame.getOperandStack().popRef();
-                    if (valueA == valueB){
-                        bytecodeStream.conditionalJump(offset);
-                    }
-                }
-                // 166,
-                case IF_ACMPNE -> {
-                    logger.debug("IF_ACMPNE >> ");
-                    int offset = bytecodeStream.getU2();
-                    InstanceOop valueB = (InstanceOop)frame.getOperandStack().popRef();
-                    InstanceOop valueA = (InstanceOop)frame.getOperandStack().popRef();
-                    if (valueA != valueB){
-                        bytecodeStream.conditionalJump(offset);
-                    }
-                }
-                // 167
-                case GOTO -> {
-                    logger.debug("GOTO >> ");
-                    int offset = bytecodeStream.getU2();
-                    bytecodeStream.conditionalJump(offset);
-                }
-                // 167
-                case JSR -> {
-                    logger.debug("JSR >> ");
-                    // officially deprecated in the JVM specification.
-                }
-                // 167
-                case RET -> {
-                    logger.debug("RET >> ");
-                    // officially deprecated in the JVM specification.
-                }
-                // 170
-                case TABLESWITCH -> {
-                    logger.debug("TABLESWITCH >> ");
-                    int currentIndex = bytecodeStream.index;
-                    int condition = frame.getOperandStack().popInt();
-                    // Padding 0 - 3
-                    bytecodeStream.index += (4 - bytecodeStream.index % 4) % 4;
-                    int offset = bytecodeStream.getU4();
-                    int low = bytecodeStream.getU4();
-                    int high = bytecodeStream.getU4();
-                    for (int i = low; i <= high; i++){
-                        if (condition == i){
-                            offset = bytecodeStream.getU4();
-                        } else{
-                            bytecodeStream.getU4();
-                        }
-                    }
-                    bytecodeStream.index = currentIndex;
-                    bytecodeStream.unconditionalJump(offset);
-                }
-                // 171
-                case LOOKUPSWITCH -> {
-                    logger.debug("LOOKUPSWITCH >> ");
-                    int currentIndex = bytecodeStream.index;
-                    int condition = frame.getOperandStack().popInt();
-                    // Padding 0 - 3
-                    bytecodeStream.index += (4 - bytecodeStream.index % 4) % 4;
-                    int offset = bytecodeStream.getU4();
-                    int npairs = bytecodeStream.getU4();
-                    for (int i = 0; i < npairs; i++){
-                        if (condition ==  bytecodeStream.getU4()){
-                            offset = bytecodeStream.getU4();
-                        } else {
-                            bytecodeStream.getU4();
-                        }
-                    }
-                    bytecodeStream.index = currentIndex;
-                    bytecodeStream.unconditionalJump(offset);
-                }
-                // 172
-                case IRETURN -> {
-                    logger.debug("IRETURN >> ");
-                    int ret = frame.getOperandStack().popInt();
-                    thread.getStack().pop();
-                    frame = (JavaVFrame) thread.getStack().peek();
-                    frame.getOperandStack().pushInt(ret);
-                }
-                // 173
-                case LRETURN -> {
-                    logger.debug("LRETURN >> ");
-                    long ret = frame.getOperandStack().popLong();
-                    thread.getStack().pop();
-                    frame = (JavaVFrame) thread.getStack().peek();
-                    frame.getOperandStack().pushLong(ret);
-                }
-                // 174
-                case FRETURN -> {
-                    logger.debug("FRETURN >> ");
-                    float ret = frame.getOperandStack().popFloat();
-                    thread.getStack().pop();
-                    frame = (JavaVFrame) thread.getStack().peek();
-                    frame.getOperandStack().pushFloat(ret);
-                }
-                // 175
-                case DRETURN -> {
-                    logger.debug("DRETURN >> ");
-                    double ret = frame.getOperandStack().popDouble();
-                    thread.getStack().pop();
-                    frame = (JavaVFrame) thread.getStack().peek();
-                    frame.getOperandStack().pushDouble(ret);
-                }
-                // 176
-                case ARETURN -> {
-                    logger.debug("ARETURN >> ");
-                    Object ret = frame.getOperandStack().popRef();
-                    thread.getStack().pop();
-                    frame = (JavaVFrame) thread.getStack().peek();
-                    frame.getOperandStack().pushRef(ret);
-                }
-                // 177
-                case RETURN -> {
-                    logger.debug("RETURN >> ");
-                    thread.getStack().pop();
-                    if (!thread.getStack().isEmpty()) {
-                        frame = (JavaVFrame) thread.getStack().peek();
-                    } else {
-                        // thread has no more frames to execute and is ready to exit
-                        frame = null;
+                } catch (Throwable exception){
+                    pc = handleException(thread, decodedCode, cp, stack, opcodePc, exception);
+                    if (pc < 0){
+                        // not handled here: pop the frame and try the caller
+                        popFrame(thread, javaStack);
+                        pending = exception;
+                        continue frames;
                     }
                 }
+            }
+        }
+        if (pending != null){
+            throw pending;
+        }
+    }
+
+    /**
+     * Call {@code method} from the host with the arguments on top of the current frame's
+     * operand stack, see JavaStack.pushEntryFrame, and run it until it returns; its result
+     * is then on that operand stack. As from an invoke instruction, the interface method of
+     * a lambda runs its implementation.
+     */
+    public static void call(JavaThread thread, MethodInfo method) throws Throwable {
+        pushFrame(thread.getStack(), method);
+        run(thread);
+    }
+
+    /*
+     * ===============================================
+     * Constants
+     * ===============================================
+     */
+
+    // 18 & 19, load 1-slot type from constant pool onto stack
+    private static void ldc(ConstantPool cp, int index, OperandStack stack) throws IOException, ClassNotFoundException {
+        ConstantInfo constantEntry = cp.getEntries().get(index);
+        switch (constantEntry.getTag()){
+            case JVM_CONSTANT_INTEGER -> stack.pushInt(((ConstantIntegerInfo) constantEntry).getValue());
+            case JVM_CONSTANT_FLOAT -> stack.pushFloat(((ConstantFloatInfo) constantEntry).getValue());
+            case JVM_CONSTANT_STRING -> stack.pushRef(((ConstantStringInfo) constantEntry).resolveString(cp));
+            // the lock of synchronized (Foo.class) is the one of the static synchronized methods of Foo
+            case JVM_CONSTANT_CLASS -> stack.pushRef(mirror(((ConstantClassInfo) constantEntry).resolveName(cp)));
+            default -> {
+                //TODO: other types for LDC
+                logger.debug("Other type in LDC.");
+            }
+        }
+    }
+
+    // the Class of a class constant, loaded without initializing it, see Klass.getMirror()
+    private static Class<?> mirror(String className) throws IOException, ClassNotFoundException {
+        if (className.charAt(0) == '['){
+            return ArrayKlass.forName(className).getMirror();
+        } else if (className.startsWith("java")){
+            return Class.forName(className.replace('/', '.'), false, BytecodeInterpreter.class.getClassLoader());
+        }
+        return BootClassLoader.loadKlass(className.replace('/', '.')).getMirror();
+    }
+
+    // 20, load long or double from constant pool onto stack
+    private static void ldc2W(ConstantPool cp, int index, OperandStack stack){
+        ConstantInfo constantEntry = cp.getEntries().get(index);
+        switch (constantEntry.getTag()){
+            case JVM_CONSTANT_LONG -> stack.pushLong(((ConstantLongInfo) constantEntry).getValue());
+            case JVM_CONSTANT_DOUBLE -> stack.pushDouble(((ConstantDoubleInfo) constantEntry).getValue());
+            default -> logger.debug("Other type in LDC2_W.");
+        }
+    }
+
+    /*
+     * ===============================================
+     * Array loads and stores
+     * ===============================================
+     */
+
+    // 46
+    private static void iaload(OperandStack stack){
+        int index = stack.popInt();
+        IntArrayOop array = (IntArrayOop) stack.popRef();
+        stack.pushInt(array.get(index));
+    }
+
+    // 47
+    private static void laload(OperandStack stack){
+        int index = stack.popInt();
+        LongArrayOop array = (LongArrayOop) stack.popRef();
+        stack.pushLong(array.get(index));
+    }
+
+    // 48
+    private static void faload(OperandStack stack){
+        int index = stack.popInt();
+        FloatArrayOop array = (FloatArrayOop) stack.popRef();
+        stack.pushFloat(array.get(index));
+    }
+
+    // 49
+    private static void daload(OperandStack stack){
+        int index = stack.popInt();
+        DoubleArrayOop array = (DoubleArrayOop) stack.popRef();
+        stack.pushDouble(array.get(index));
+    }
+
+    // 50
+    private static void aaload(OperandStack stack){
+        int index = stack.popInt();
+        Object array = stack.popRef();
+        if (array instanceof ObjectArrayOop objectArray){
+            stack.pushRef(objectArray.get(index));
+        } else {
+            // a host array of a JRE class, see anewarray
+            stack.pushRef(((Object[]) array)[index]);
+        }
+    }
+
+    // 51
+    private static void baload(OperandStack stack){
+        int index = stack.popInt();
+        ByteArrayOop array = (ByteArrayOop) stack.popRef();
+        stack.pushInt(array.get(index));
+    }
+
+    // 52
+    private static void caload(OperandStack stack){
+        int index = stack.popInt();
+        CharArrayOop array = (CharArrayOop) stack.popRef();
+        stack.pushInt(array.get(index));
+    }
+
+    // 53
+    private static void saload(OperandStack stack){
+        int index = stack.popInt();
+        ShortArrayOop array = (ShortArrayOop) stack.popRef();
+        stack.pushInt(array.get(index));
+    }
+
+    // 79
+    private static void iastore(OperandStack stack){
+        int value = stack.popInt();
+        int index = stack.popInt();
+        IntArrayOop array = (IntArrayOop) stack.popRef();
+        array.set(index, value);
+    }
+
+    // 80
+    private static void lastore(OperandStack stack){
+        long value = stack.popLong();
+        int index = stack.popInt();
+        LongArrayOop array = (LongArrayOop) stack.popRef();
+        array.set(index, value);
+    }
+
+    // 81
+    private static void fastore(OperandStack stack){
+        float value = stack.popFloat();
+        int index = stack.popInt();
+        FloatArrayOop array = (FloatArrayOop) stack.popRef();
+        array.set(index, value);
+    }
+
+    // 82
+    private static void dastore(OperandStack stack){
+        double value = stack.popDouble();
+        int index = stack.popInt();
+        DoubleArrayOop array = (DoubleArrayOop) stack.popRef();
+        array.set(index, value);
+    }
+
+    // 83
+    private static void aastore(OperandStack stack){
+        Object value = stack.popRef();
+        int index = stack.popInt();
+        Object array = stack.popRef();
+        if (array instanceof ObjectArrayOop objectArray){
+            objectArray.set(index, value);
+        } else {
+            // the host checks the element class
+            ((Object[]) array)[index] = value;
+        }
+    }
+
+    // 84
+    private static void bastore(OperandStack stack){
+        int value = stack.popInt();
+        int index = stack.popInt();
+        ByteArrayOop array = (ByteArrayOop) stack.popRef();
+        array.set(index, (byte) value);
+    }
+
+    // 85
+    private static void castore(OperandStack stack){
+        int value = stack.popInt();
+        int index = stack.popInt();
+        CharArrayOop array = (CharArrayOop) stack.popRef();
+        array.set(index, (char) value);
+    }
+
+    // 86
+    private static void sastore(OperandStack stack){
+        int value = stack.popInt();
+        int index = stack.popInt();
+        ShortArrayOop array = (ShortArrayOop) stack.popRef();
+        array.set(index, (short) value);
+    }
+
+    /*
+     * ===============================================
+     * Arithmetic: pop valueB, pop valueA, push (valueA op valueB)
+     * ===============================================
+     */
+
+    // 96
+    private static void iadd(OperandStack stack){
+        int valueB = stack.popInt();
+        int valueA = stack.popInt();
+        stack.pushInt(valueA + valueB);
+    }
 
-                // 178
-                case GETSTATIC -> {
-                    logger.debug("GETSTATIC >> ");
-                    ConstantFieldrefInfo fieldref = (ConstantFieldrefInfo)(constantPool.getEntries().get(bytecodeStream.getU2()));
-                    String className = fieldref.resolveClassName(constantPool).replace('/', '.');
-                    String fieldName = fieldref.resolveFieldName(constantPool);
-                    if (className.startsWith("java")){
-                        Class<?> clazz = Class.forName(className);
-                        Field clazzField = clazz.getField(fieldName);
-                        Object fieldObject = clazzField.get(null);
-                        frame.getOperandStack().pushRef(fieldObject);
-                    } else if (className.startsWith("com.avaya.jvm")) {
-                        InstanceKlass klass = BootClassLoader.loadKlass(className);
-                        klass.getStaticFields().getValue(fieldName, frame.getOperandStack());
-                    }
+    // 97
+    private static void ladd(OperandStack stack){
+        long valueB = stack.popLong();
+        long valueA = stack.popLong();
+        stack.pushLong(valueA + valueB);
+    }
 
-                }
-                // 179
-                case PUTSTATIC -> {
-                    logger.debug("PUTSTATIC >> ");
-                    ConstantFieldrefInfo fieldref = (ConstantFieldrefInfo)(constantPool.getEntries().get(bytecodeStream.getU2()));
-                    String className = fieldref.resolveClassName(constantPool).replace('/', '.');
-                    String fieldName = fieldref.resolveFieldName(constantPool);
-                    ValueType fieldType = fieldref.resolveFieldType(constantPool);
-                    if (className.startsWith("java")){
-                        // TODO: implement it later
-                    } else if (className.startsWith("com.avaya.jvm")) {
-                        InstanceKlass klass = BootClassLoader.loadKlass(className);
-                        klass.getStaticFields().setValue(fieldName, fieldType, frame.getOperandStack());
-                    }
-                }
-                // 180
-                case GETFIELD -> {
-                    logger.debug("GETFIELD >> ");
-                    ConstantFieldrefInfo fieldref = (ConstantFieldrefInfo)(constantPool.getEntries().get(bytecodeStream.getU2()));
-                    String className = fieldref.resolveClassName(constantPool).replace('/', '.');
-                    String fieldName = fieldref.resolveFieldName(constantPool);
-                    InstanceOop oop = (InstanceOop)frame.getOperandStack().popRef();
-                    if (className.startsWith("java")){
-                        // TODO: implement it later
-                    } else if (className.startsWith("com.avaya.jvm")) {
-                        oop.getOopFields().getValue(fieldName, frame.getOperandStack());
-                    }
-                }
-                // 181
-                case PUTFIELD -> {
-                    logger.debug("PUTFIELD >> ");
-                    ConstantFieldrefInfo fieldref = (ConstantFieldrefInfo)(constantPool.getEntries().get(bytecodeStream.getU2()));
-                    String className = fieldref.resolveClassName(constantPool).replace('/', '.');
-                    String fieldName = fieldref.resolveFieldName(constantPool);
-                    ValueType fieldType = fieldref.resolveFieldType(constantPool);
-                    if (className.startsWith("java")){
-                        // TODO: implement it later
-                    } else if (className.startsWith("com.avaya.jvm")) {
-                        FieldArray.oopSetValue(fieldName, fieldType, frame.getOperandStack());
-                    }
-                }
-                // 182
-                case INVOKEVIRTUAL -> {
-                    logger.debug("INVOKEVIRTUAL >> ");
-                    ConstantMethodrefInfo methodref = (ConstantMethodrefInfo) (constantPool.getEntries().get(bytecodeStream.getU2()));
-                    String objectClassName = methodref.resolveClassName(constantPool);
-                    String methodName = methodref.resolveMethodName(constantPool);
-                    Descriptor methodDescriptor = methodref.resolveMethodDescriptor(constantPool);
-
-                    // Handle JRE library classes (java.*).
-                    if (objectClassName.startsWith("java")) {
-                        callJavaNativeMethod(methodref, constantPool);
-                    } else if (objectClassName.startsWith("com/avaya/jvm")) {
-                        InstanceKlass klass = BootClassLoader.loadKlass(objectClassName.replace('/', '.'));
-                        MethodInfo methodInfo = null;
-                        for (int i = 0; i < klass.getMethods().size(); i++) {
-                            MethodInfo method = klass.getMethods().get(i);
-                            if (method.getName().equals(methodName)) {
-                                methodInfo = method;
-                                break;
-                            }
-                        }
-                        callPolyInstanceMethod(methodInfo);
-                    }
-                }
-                // 183
-                case INVOKESPECIAL -> {
-                    logger.debug("INVOKESPECIAL >> ");
-                    ConstantMethodrefInfo methodref = (ConstantMethodrefInfo)(constantPool.getEntries().get(bytecodeStream.getU2()));
-                    String objectClassName = methodref.resolveClassName(constantPool);
-                    String methodName = methodref.resolveMethodName(constantPool);
-                    Descriptor methodDescriptor = methodref.resolveMethodDescriptor(constantPool);
-                    if (objectClassName.startsWith("java")) {
-                        // TODO: handle Static JRE Library Methods
-                        if (objectClassName.equals("java/lang/Object")){
-                            // do nothing for the root class, but pop THIS
-                            frame.getOperandStack().popRef();
-                        } else {
-                            // normal instanceMethod
-                            callJavaNativeMethod(methodref, constantPool);
-                        }
-                    } else if (objectClassName.startsWith("com/avaya/jvm")){
-                        // Self-defined classes (com.avaya.jvm.*)
-                        InstanceKlass klass = BootClassLoader.loadKlass(objectClassName.replace('/', '.'));
-                        MethodInfo methodInfo = null;
-                        for (int i = 0; i < klass.getMethods().size(); i++){
-                            MethodInfo method = klass.getMethods().get(i);
-                            if (method.getName().equals(methodName)){
-                                methodInfo = method;
-                                break;
-                            }
-                        }
-                        callInstanceMethod(methodInfo);
-                    }
-                }
-                // 184
-                case INVOKESTATIC -> {
-                    logger.debug("INVOKESTATIC >> ");
-                    ConstantMethodrefInfo methodref = (ConstantMethodrefInfo)(constantPool.getEntries().get(bytecodeStream.getU2()));
-                    String objectClassName = methodref.resolveClassName(constantPool);
-                    String methodName = methodref.resolveMethodName(constantPool);
-                    // Handle JRE library classes (java.*).
-                    if (objectClassName.startsWith("java")) {
-                        // TODO: handle Static JRE Library Methods
-                    }
-                    // Self-defined classes (com.avaya.jvm.*)
-                    else if (objectClassName.startsWith("com/avaya/jvm")){
-                        InstanceKlass klass = BootClassLoader.loadKlass(objectClassName.replace('/', '.'));
-                        MethodInfo methodInfo = null;
-                        for (int i = 0; i < klass.getMethods().size(); i++){
-                            MethodInfo method = klass.getMethods().get(i);
-                            if (method.getName().equals(methodName)){
-                                methodInfo = method;
-                                break;
-                            }
-                        }
-                        callStaticMethod(methodInfo);
-                    }
-                }
-                // 185
-                case INVOKEINTERFACE -> {
-                    logger.debug("INVOKEINTERFACE >> ");
-                    ConstantInterfaceMethodrefInfo interfaceMethodref = (ConstantInterfaceMethodrefInfo)(constantPool.getEntries().get(bytecodeStream.getU2()));
-                    String objectClassName = interfaceMethodref.resolveClassName(constantPool);
-                    String methodName = interfaceMethodref.resolveMethodName(constantPool);
-                    Descriptor methodDescriptor = interfaceMethodref.resolveMethodDescriptor(constantPool);
-                    int countByte = bytecodeStream.getU1();
-                    int zeroByte = bytecodeStream.getU1();
-
-                    // Handle JRE library classes (java.*).
-                    if (objectClassName.startsWith("java")) {
-                        // TODO: implement it later
-                    } else if (objectClassName.startsWith("com/avaya/jvm")) {
-                        // TODO: currently, it is a simple one without i-table, will do it later
-                        InstanceKlass klass = BootClassLoader.loadKlass(objectClassName.replace('/', '.'));
-                        MethodInfo methodInfo = null;
-                        for (int i = 0; i < klass.getMethods().size(); i++) {
-                            MethodInfo method = klass.getMethods().get(i);
-                            if (method.getName().equals(methodName)) {
-                                methodInfo = method;
-                                break;
-                            }
-                        }
-                        // interface behavior as polymorphism...
-                        // We can use this function since I don't implement v-table...
-                        callPolyInstanceMethod(methodInfo);
-                    }
+    // 98
+    private static void fadd(OperandStack stack){
+        float valueB = stack.popFloat();
+        float valueA = stack.popFloat();
+        stack.pushFloat(valueA + valueB);
+    }
 
-                }
-                // 186
-                case INVOKEDYNAMIC -> {
-                    logger.debug("INVOKEDYNAMIC >> ");
-                    ConstantInvokeDynamicInfo dynamicInfo = (ConstantInvokeDynamicInfo)constantPool.getEntries().get(bytecodeStream.getU2());
-                    // 2 bytes with zero
-                    int zero = bytecodeStream.getU2();
+    // 99
+    private static void dadd(OperandStack stack){
+        double valueB = stack.popDouble();
+        double valueA = stack.popDouble();
+        stack.pushDouble(valueA + valueB);
+    }
 
-                    Object obj = callDynamicMethod(dynamicInfo, bytecodeStream.getKlass());
-                    frame.getOperandStack().pushRef(obj);
+    // 100
+    private static void isub(OperandStack stack){
+        int valueB = stack.popInt();
+        int valueA = stack.popInt();
+        stack.pushInt(valueA - valueB);
+    }
 
-                }
-                // 187
-                case NEW -> {
-                    logger.debug("NEW >> ");
-                    ConstantClassInfo classInfo = (ConstantClassInfo)constantPool.getEntries().get(bytecodeStream.getU2());
-                    String objectClassName = classInfo.resolveName(constantPool);
-                    if (objectClassName.startsWith("java")) {
-                        // JRE Library Classes
-                        // Do nothing and will directly new this object in constructor <init>
-                        if (objectClassName.startsWith("java/lang/Object")) {
-                            frame.getOperandStack().pushRef(new Object());
-                        } else {
-                            frame.getOperandStack().pushRef(null);
-                        }
+    // 101
+    private static void lsub(OperandStack stack){
+        long valueB = stack.popLong();
+        long valueA = stack.popLong();
+        stack.pushLong(valueA - valueB);
+    }
 
-                    } else {
-                        // user-defined class
-                        InstanceOop oop = new InstanceOop(objectClassName);
-                        frame.getOperandStack().pushRef(oop);
-                    }
-                }
-                // 188
-                case NEWARRAY -> {
-                    logger.debug("NEWARRAY >> ");
-                    // Pop array length from the operand stack
-                    int length = frame.getOperandStack().popInt();
-
-                    // Read atype operand from bytecode stream and parse to ValueType
-                    ValueType type = ValueType.atype2BasicType(bytecodeStream.getU1());
-
-                    // Create the corresponding array object based on ValueType
-                    Object arrayOop;
-                    switch (type){
-                        case T_BYTE -> arrayOop = new ByteArrayOop(length);
-                        case T_CHAR -> arrayOop = new CharArrayOop(length);
-                        case T_SHORT -> arrayOop = new ShortArrayOop(length);
-                        case T_INT -> arrayOop = new IntArrayOop(length);
-                        case T_LONG -> arrayOop = new LongArrayOop(length);
-                        case T_FLOAT -> arrayOop = new FloatArrayOop(length);
-                        case T_DOUBLE -> arrayOop = new DoubleArrayOop(length);
-                        default -> throw new IllegalArgumentException("Invalid array type: " + type);
-                    }
-                    // Push the newly created array reference onto the operand stack
-                    frame.getOperandStack().pushRef(arrayOop);
+    // 102
+    private static void fsub(OperandStack stack){
+        float valueB = stack.popFloat();
+        float valueA = stack.popFloat();
+        stack.pushFloat(valueA - valueB);
+    }
 
-                }
-                // 190
-                case ANEWARRAY -> {
-                    logger.debug("ANEWARRAY >> ");
-                    // Pop array length from the operand stack
-                    int length = frame.getOperandStack().popInt();
-
-                    ConstantClassInfo classInfo = (ConstantClassInfo)constantPool.getEntries().get(bytecodeStream.getU2());
-                    String className = classInfo.resolveName(constantPool);
-
-                    Object array = null;
-
-                    if (className.startsWith("java")) {
-                        // For standard Java classes, use reflection
-                        Class<?> clazz = Class.forName(className.replace('/', '.'));
-                        array = java.lang.reflect.Array.newInstance(clazz, length);
-                    } else if (className.startsWith("com/avaya/jvm")) {
-                        // TODO: create proper ArrayKlass based on the element's instanceKlass
-                        array = new ObjectArrayOop(length);
-                    }
-                    frame.getOperandStack().pushRef(array);
-                }
-                // 190
-                case ARRAYLENGTH -> {
-                    logger.debug("ARRAYLENGTH >> ");
-                    Object array = frame.getOperandStack().popRef();
-                    int length = 0;
-                    if (array instanceof ArrayOop){
-                        length = ((ArrayOop)array).getLength();
-                    } else {
-                        length = java.lang.reflect.Array.getLength(array);
-                    }
-                    frame.getOperandStack().pushInt(length);
-                }
-                // 191
-                case ATHROW -> {
-                    logger.debug("ATHROW >> ");
-                    // pop the Exception object to thread
-                    Throwable exception = (Throwable) frame.getOperandStack().popRef();
-                    thread.setCurrentException(exception);
-
-                    boolean handled = false;
-
-                    while (!handled && !thread.getStack().isEmpty()){
-                        frame = (JavaVFrame) thread.getStack().peek();
-                        // get current pc
-                        int currentIndex = bytecodeStream.getIndex() - 1;
-                        // get Exception Table from CodeAttribute
-                        List<CodeAttribute.ExceptionTableEntry> exceptionTable = bytecodeStream.getCode().getExceptionTable();
-                        for (CodeAttribute.ExceptionTableEntry entry : exceptionTable){
-                            if (currentIndex >= entry.getStartPc() && currentIndex < entry.getEndPc()){
-                                // catch
-                                ConstantClassInfo targetClass = (ConstantClassInfo) constantPool.getEntries().get(entry.getCatchType());
-                                String targetClassName = targetClass.resolveName(constantPool);
-                                if(exception.getClass().getName().equals(targetClassName.replace('/', '.'))){
-                                    bytecodeStream.index = entry.getHandlerPc();
-                                    frame.getOperandStack().pushRef(exception);
-                                    handled = true;
-                                    break;
-                                }
-                            }
-                        }
-                        // no catch for this exception, directly go to previous frame
-                        if (!handled) {
-                            thread.getStack().pop();
-                        }
-                    }
-                    // thread has no more frames to execute and is ready to exit
-                    if (thread.getStack().isEmpty()){
-                        frame = null;
-                    }
-                }
-                // 192
-                case CHECKCAST -> {
-                    logger.debug("CHECKCAST >> ");
-                    int index = bytecodeStream.getU2();
-                    Object obj = frame.getOperandStack().popRef();
-                    boolean match = false; // default to false
-                    if (obj != null){
-                        ConstantClassInfo classInfo = (ConstantClassInfo) constantPool.getEntries().get(index);
-                        String className = classInfo.resolveName(constantPool);
-
-                        if (className.startsWith("java")) {
-                            // For standard Java classes, use reflection
-                            Class<?> clazz = Class.forName(className.replace('/', '.'));
-                            if (clazz.isInstance(obj)){
-                                match = true;
-                            }
-                        } else if (className.startsWith("com/avaya/jvm")) {
-                            // TODO: implement parent class and interface checking later
-                            if (((InstanceOop)obj).getKlass() == BootClassLoader.loadKlass(className.replace('/', '.')) ){
-                                match = true;
-                            }
-                        }
-                    } else {
-                        match = true;
-                    }
+    // 103
+    private static void dsub(OperandStack stack){
+        double valueB = stack.popDouble();
+        double valueA = stack.popDouble();
+        stack.pushDouble(valueA - valueB);
+    }
 
-                    if (match){
-                        // Type matches or null
-                        frame.getOperandStack().pushRef(obj);
-                    } else {
-                        // TODO: generate ClassCastException later
-                    }
-                }
-                // 193
-                case INSTANCEOF -> {
-                    logger.debug("INSTANCEOF >> ");
-                    int index = bytecodeStream.getU2();
-                    Object obj = frame.getOperandStack().popRef();
-                    int result = 0; // default to false (0)
-                    if (obj != null){
-                        ConstantClassInfo classInfo = (ConstantClassInfo) constantPool.getEntries().get(index);
-                        String className = classInfo.resolveName(constantPool);
-
-                        if (className.startsWith("java")) {
-                            // For standard Java classes, use reflection
-                            Class<?> clazz = Class.forName(className.replace('/', '.'));
-                            if (clazz.isInstance(obj)){
-                                result = 1;
-                            }
-                        } else if (className.startsWith("com/avaya/jvm")) {
-                            // TODO: implement parent class and interface checking later
-                            if (((InstanceOop)obj).getKlass() == BootClassLoader.loadKlass(className.replace('/', '.')) ){
-                                result = 1;
-                            }
-                        }
-                    }
-                    frame.getOperandStack().pushInt(result);
-                }
+    // 104
+    private static void imul(OperandStack stack){
+        int valueB = stack.popInt();
+        int valueA = stack.popInt();
+        stack.pushInt(valueA * valueB);
+    }
 
-                // 194,
-                case MONITORENTER -> {
-                    logger.debug("MONITORENTER >> ");
-                    Object obj = frame.getOperandStack().popRef();
-                    if (obj instanceof InstanceOop){
-                        while (true) {
-                            synchronized(obj) {
-                                Thread lockOwner = ((InstanceOop) obj).getMarkWord().getLockOwner();
-                                if (lockOwner == null || lockOwner == thread) {
-                                    ((InstanceOop) obj).getMarkWord().setLockOwner(thread);
-                                    break;
-                                }
-                                Thread.yield();
-                            }
-                        }
-                    } else {
-                        monitorTable.computeIfAbsent(obj, o -> new ReentrantLock()).lock();
-                    }
-                }
-                // 195,
-                case MONITOREXIT -> {
-                    logger.debug("MONITOREXIT >> ");
-                    Object obj = frame.getOperandStack().popRef();
-                    if (obj instanceof InstanceOop){
-                        while (true) {
-                            synchronized (obj) {
-                                Thread lockOwner = ((InstanceOop) obj).getMarkWord().getLockOwner();
-                                if (lockOwner == thread) {
-                                    ((InstanceOop) obj).getMarkWord().setLockOwner(null);
-                                    break;
-                                }
-                                Thread.yield();
-                            }
-                        }
-                    } else {
-                        ReentrantLock lock = monitorTable.get(obj);
-                        if (lock != null) {
-                            lock.unlock();
-                        }
-                    }
-                }
-                // 196,
-                case WIDE -> {
-                    logger.debug("WIDE >> ");
-                    // WIDE applies to the following instructions:
-                    //   ILOAD, FLOAD, ALOAD, LLOAD, DLOAD
-                    //   ISTORE, FSTORE, ASTORE, LSTORE, DSTORE
-                    //   IINC
-                    // RET is not supported in this implementation
-                    isWide = true;
-                }
-                // 197
-                case MULTIANEWARRAY -> {
-                    logger.debug("MULTIANEWARRAY >> ");
+    // 105
+    private static void lmul(OperandStack stack){
+        long valueB = stack.popLong();
+        long valueA = stack.popLong();
+        stack.pushLong(valueA * valueB);
+    }
+
+    // 106
+    private static void fmul(OperandStack stack){
+        float valueB = stack.popFloat();
+        float valueA = stack.popFloat();
+        stack.pushFloat(valueA * valueB);
+    }
 
-                    ConstantClassInfo classInfo = (ConstantClassInfo)constantPool.getEntries().get(bytecodeStream.getU2());
-                    // e.g. className : "[[Ljava/lang/String;", dimensions : 2
-                    String className = classInfo.resolveName(constantPool);
-                    int dimensions = bytecodeStream.getU1();
+    // 107
+    private static void dmul(OperandStack stack){
+        double valueB = stack.popDouble();
+        double valueA = stack.popDouble();
+        stack.pushDouble(valueA * valueB);
+    }
 
+    // 108
+    private static void idiv(OperandStack stack){
+        int valueB = stack.popInt();
+        int valueA = stack.popInt();
+        if (valueB == 0) throw new ArithmeticException("/ by zero");
+        stack.pushInt(valueA / valueB);
+    }
 
-                    int[] dimensionList = new int[dimensions];
-                    // get each dimension from operand stack
-                    for (int i = 0; i < dimensions; i++){
-                        dimensionList[i] = frame.getOperandStack().popInt();
-                    }
-                    // swap it
-                    for (int i = 0; i < dimensions / 2; i++) {
-                        int temp = dimensionList[i];
-                        dimensionList[i] = dimensionList[dimensions - 1 - i];
-                        dimensionList[dimensions - 1 - i] = temp;
-                    }
+    // 109
+    private static void ldiv(OperandStack stack){
+        long valueB = stack.popLong();
+        long valueA = stack.popLong();
+        if (valueB == 0) throw new ArithmeticException("/ by zero");
+        stack.pushLong(valueA / valueB);
+    }
 
-                    Object array = null;
-                    Class<?> type = null;
-                    boolean isJavaType = true;
+    // 110
+    private static void fdiv(OperandStack stack){
+        float valueB = stack.popFloat();
+        float valueA = stack.popFloat();
+        if (valueB == 0) throw new ArithmeticException("/ by zero");
+        stack.pushFloat(valueA / valueB);
+    }
 
-                    char c = className.charAt(dimensions);
+    // 111
+    private static void ddiv(OperandStack stack){
+        double valueB = stack.popDouble();
+        double valueA = stack.popDouble();
+        if (valueB == 0) throw new ArithmeticException("/ by zero");
+        stack.pushDouble(valueA / valueB);
+    }
 
-                    switch (c){
-                        case 'B' -> {
-                            type = byte.class;
-                        }
-                        case 'C' -> {
-                            type = char.class;
-                        }
-                        case 'D' -> {
-                            type = double.class;
-                        }
-                        case 'F' -> {
-                            type = float.class;
-                        }
-                        case 'I' -> {
-                            type = int.class;
-                        }
-                        case 'J' -> {
-                            type = long.class;
-                        }
-                        case 'S' -> {
-                            type = short.class;
-                        }
-                        case 'Z' -> {
-                            type = boolean.class;
-                        }
-                        case 'L' -> {
-                            String memberClassName = className.substring(dimensions + 1, className.length() - 1).replace('/', '.');
-                            if (memberClassName.startsWith("java")) {
-                                type = Class.forName(memberClassName);
-                            } else if (className.startsWith("com.avaya.jvm")) {
-                                isJavaType = false;
-                                // TODO: self-defined class
-                            }
-                        }
-                    }
+    // 112
+    private static void irem(OperandStack stack){
+        int valueB = stack.popInt();
+        int valueA = stack.popInt();
+        if (valueB == 0) throw new ArithmeticException("% by zero");
+        stack.pushInt(valueA % valueB);
+    }
 
-                    if (isJavaType){
-                        array = Array.newInstance(type, dimensionList);
-                    } else {
-                        // TODO: multi-dimentional array for self-defined class
-                        array = null;
-                    }
+    // 113
+    private static void lrem(OperandStack stack){
+        long valueB = stack.popLong();
+        long valueA = stack.popLong();
+        if (valueB == 0) throw new ArithmeticException("% by zero");
+        stack.pushLong(valueA % valueB);
+    }
 
-                    frame.getOperandStack().pushRef(array);
+    // 114
+    private static void frem(OperandStack stack){
+        float valueB = stack.popFloat();
+        float valueA = stack.popFloat();
+        if (valueB == 0) throw new ArithmeticException("% by zero");
+        stack.pushFloat(valueA % valueB);
+    }
 
-                }
-                // 198,
-                case IFNULL -> {
-                    logger.debug("IFNULL >> ");
-                    int offset = bytecodeStream.getU2();
-                    InstanceOop value = (InstanceOop)frame.getOperandStack().popRef();
-                    if (value == null){
-                        bytecodeStream.conditionalJump(offset);
-                    }
-                }
-                // 199,
-                case IFNONNULL -> {
-                    logger.debug("IFNONNULL >> ");
-                    int offset = bytecodeStream.getU2();
-                    InstanceOop value = (InstanceOop)frame.getOperandStack().popRef();
-                    if (value != null){
-                        bytecodeStream.conditionalJump(offset);
-                    }
-                }
-                // 200
-                case GOTO_W -> {
-                    logger.debug("GOTO_W >> ");
-                    int currentIndex = bytecodeStream.getIndex();
-                    int offset = bytecodeStream.getU4();
-                    bytecodeStream.index = currentIndex;
-                    bytecodeStream.unconditionalJump(offset);
-                }
-                // 201， officially deprecated in JVM specification
-                case JSR_W -> {
-                    logger.debug("JSR_W >> ");
-                    // no implementation needed for modern Java
-                }
-                // 202， reserved for debuggers
-                case BREAKPOINT -> {
-                    logger.debug("BREAKPOINT >> ");
-                    // not generated by javac, only used by debuggers
-                }
+    // 115
+    private static void drem(OperandStack stack){
+        double valueB = stack.popDouble();
+        double valueA = stack.popDouble();
+        if (valueB == 0) throw new ArithmeticException("% by zero");
+        stack.pushDouble(valueA % valueB);
+    }
+
+    // 120
+    private static void ishl(OperandStack stack){
+        int shift = stack.popInt();
+        int value = stack.popInt();
+        stack.pushInt(value << (shift & 0x1F));
+    }
+
+    // 121
+    private static void lshl(OperandStack stack){
+        int shift = stack.popInt();
+        long value = stack.popLong();
+        stack.pushLong(value << (shift & 0x3F));
+    }
+
+    // 122
+    private static void ishr(OperandStack stack){
+        int shift = stack.popInt();
+        int value = stack.popInt();
+        stack.pushInt(value >> (shift & 0x1F));
+    }
+
+    // 123
+    private static void lshr(OperandStack stack){
+        int shift = stack.popInt();
+        long value = stack.popLong();
+        stack.pushLong(value >> (shift & 0x3F));
+    }
+
+    // 124
+    private static void iushr(OperandStack stack){
+        int shift = stack.popInt();
+        int value = stack.popInt();
+        stack.pushInt(value >>> (shift & 0x1F));
+    }
+
+    // 125
+    private static void lushr(OperandStack stack){
+        int shift = stack.popInt();
+        long value = stack.popLong();
+        stack.pushLong(value >>> (shift & 0x3F));
+    }
+
+    // 126
+    private static void iand(OperandStack stack){
+        int valueB = stack.popInt();
+        int valueA = stack.popInt();
+        stack.pushInt(valueA & valueB);
+    }
+
+    // 127
+    private static void land(OperandStack stack){
+        long valueB = stack.popLong();
+        long valueA = stack.popLong();
+        stack.pushLong(valueA & valueB);
+    }
+
+    // 128
+    private static void ior(OperandStack stack){
+        int valueB = stack.popInt();
+        int valueA = stack.popInt();
+        stack.pushInt(valueA | valueB);
+    }
+
+    // 129
+    private static void lor(OperandStack stack){
+        long valueB = stack.popLong();
+        long valueA = stack.popLong();
+        stack.pushLong(valueA | valueB);
+    }
+
+    // 130
+    private static void ixor(OperandStack stack){
+        int valueB = stack.popInt();
+        int valueA = stack.popInt();
+        stack.pushInt(valueA ^ valueB);
+    }
+
+    // 131
+    private static void lxor(OperandStack stack){
+        long valueB = stack.popLong();
+        long valueA = stack.popLong();
+        stack.pushLong(valueA ^ valueB);
+    }
+
+    // 132, add a signed increment to a local variable, store back.
+    private static void iinc(LocalVariableArray locals, int index, int increment){
+        locals.setInt(index, locals.getInt(index) + increment);
+    }
+
+    /*
+     * ===============================================
+     * Comparisons and control flow
+     * ===============================================
+     */
+
+    // 148, compare two long
+    private static void lcmp(OperandStack stack){
+        long valueB = stack.popLong();
+        long valueA = stack.popLong();
+        stack.pushInt(Long.compare(valueA, valueB));
+    }
+
+    // 149 & 150, compare two float, nanResult is -1 for FCMPL and 1 for FCMPG
+    private static void fcmp(OperandStack stack, int nanResult){
+        float valueB = stack.popFloat();
+        float valueA = stack.popFloat();
+        int result;
+        if (Float.isNaN(valueA) || Float.isNaN(valueB)) {
+            result = nanResult;
+        } else if (valueA > valueB) {
+            result = 1;
+        } else if (valueA == valueB) {
+            result = 0;
+        } else {
+            result = -1;
+        }
+        stack.pushInt(result);
+    }
+
+    // 151 & 152, compare two double, nanResult is -1 for DCMPL and 1 for DCMPG
+    private static void dcmp(OperandStack stack, int nanResult){
+        double valueB = stack.popDouble();
+        double valueA = stack.popDouble();
+        int result;
+        if (Double.isNaN(valueA) || Double.isNaN(valueB)) {
+            result = nanResult;
+        } else if (valueA > valueB) {
+            result = 1;
+        } else if (valueA == valueB) {
+            result = 0;
+        } else {
+            result = -1;
+        }
+        stack.pushInt(result);
+    }
+
+    // 153 - 158 & 198 - 199, return the pc to continue at: the branch target or the next instruction
+    private static int branch(int[] code, int pc, boolean taken){
+        return taken ? code[pc] : pc + 1;
+    }
+
+    // 159 - 164
+    private static int ifIcmp(int[] code, int pc, OperandStack stack, Bytecodes condition){
+        int valueB = stack.popInt();
+        int valueA = stack.popInt();
+        boolean taken = switch (condition){
+            case IF_ICMPEQ -> valueA == valueB;
+            case IF_ICMPNE -> valueA != valueB;
+            case IF_ICMPLT -> valueA < valueB;
+            case IF_ICMPGE -> valueA >= valueB;
+            case IF_ICMPGT -> valueA > valueB;
+            case IF_ICMPLE -> valueA <= valueB;
+            default -> throw new IllegalArgumentException("Not an IF_ICMP bytecode: " + condition);
+        };
+        return branch(code, pc, taken);
+    }
+
+    // 165 & 166, reference comparison
+    private static int ifAcmp(int[] code, int pc, OperandStack stack, boolean equal){
+        Object valueB = stack.popRef();
+        Object valueA = stack.popRef();
+        return branch(code, pc, (valueA == valueB) == equal);
+    }
+
+    // 170, decoded as: default, low, high, targets[high - low + 1]
+    private static int tableswitch(int[] code, int pc, OperandStack stack){
+        int condition = stack.popInt();
+        int low = code[pc + 1];
+        int high = code[pc + 2];
+        if (condition >= low && condition <= high){
+            return code[pc + 3 + (condition - low)];
+        }
+        return code[pc];
+    }
+
+    // 171, decoded as: default, npairs, (match, target)[npairs], sorted by match
+    private static int lookupswitch(int[] code, int pc, OperandStack stack){
+        int condition = stack.popInt();
+        int low = 0;
+        int high = code[pc + 1] - 1;
+        while (low <= high){
+            int mid = (low + high) >>> 1;
+            int match = code[pc + 2 + mid * 2];
+            if (match < condition){
+                low = mid + 1;
+            } else if (match > condition){
+                high = mid - 1;
+            } else {
+                return code[pc + 3 + mid * 2];
+            }
+        }
+        return code[pc];
+    }
+
+    /*
+     * ===============================================
+     * Method return: pop the callee frame and hand the result to the caller
+     * ===============================================
+     */
+
+    // 172
+    private static void ireturn(JavaThread thread, JavaStack javaStack, OperandStack stack){
+        int ret = stack.popInt();
+        popFrame(thread, javaStack);
+        if (!javaStack.isEmpty()){
+            javaStack.peek().getOperandStack().pushInt(ret);
+        }
+    }
+
+    // 173
+    private static void lreturn(JavaThread thread, JavaStack javaStack, OperandStack stack){
+        long ret = stack.popLong();
+        popFrame(thread, javaStack);
+        if (!javaStack.isEmpty()){
+            javaStack.peek().getOperandStack().pushLong(ret);
+        }
+    }
+
+    // 174
+    private static void freturn(JavaThread thread, JavaStack javaStack, OperandStack stack){
+        float ret = stack.popFloat();
+        popFrame(thread, javaStack);
+        if (!javaStack.isEmpty()){
+            javaStack.peek().getOperandStack().pushFloat(ret);
+        }
+    }
+
+    // 175
+    private static void dreturn(JavaThread thread, JavaStack javaStack, OperandStack stack){
+        double ret = stack.popDouble();
+        popFrame(thread, javaStack);
+        if (!javaStack.isEmpty()){
+            javaStack.peek().getOperandStack().pushDouble(ret);
+        }
+    }
+
+    // 176
+    private static void areturn(JavaThread thread, JavaStack javaStack, OperandStack stack){
+        Object ret = stack.popRef();
+        popFrame(thread, javaStack);
+        if (!javaStack.isEmpty()){
+            javaStack.peek().getOperandStack().pushRef(ret);
+        }
+    }
+
+    /*
+     * ===============================================
+     * Field access
+     * ===============================================
+     */
+
+    // 178, quickened
+    private static void fastGetstatic(ConstantPool cp, int index, OperandStack stack) throws Exception {
+        ResolvedFieldEntry entry = resolveField(cp, index);
+        if (entry.isHost()){
+            stack.pushRef(entry.getHostField().get(null));
+        } else {
+            entry.getHolder().getStaticFields().getValue(entry.getType(), entry.getOffset(), stack);
+        }
+    }
+
+    // 179, quickened
+    private static void fastPutstatic(ConstantPool cp, int index, OperandStack stack) throws Exception {
+        ResolvedFieldEntry entry = resolveField(cp, index);
+        if (entry.isHost()){
+            // TODO: implement it later
+        } else {
+            entry.getHolder().getStaticFields().setValue(entry.getType(), entry.getOffset(), stack);
+        }
+    }
+
+    // 180, quickened
+    private static void fastGetfield(ConstantPool cp, int index, OperandStack stack) throws Exception {
+        ResolvedFieldEntry entry = resolveField(cp, index);
+        InstanceOop oop = (InstanceOop) stack.popRef();
+        if (entry.isHost()){
+            // TODO: implement it later
+        } else {
+            oop.getField(entry.getType(), entry.getOffset(), stack);
+        }
+    }
+
+    // 181, quickened
+    private static void fastPutfield(ConstantPool cp, int index, OperandStack stack) throws Exception {
+        ResolvedFieldEntry entry = resolveField(cp, index);
+        if (entry.isHost()){
+            // TODO: implement it later
+        } else {
+            InstanceOop.putField(entry.getType(), entry.getOffset(), stack);
+        }
+    }
+
+    /*
+     * ===============================================
+     * Method invocation
+     * ===============================================
+     */
+
+    /*
+     * The invoke handlers return true when they pushed the frame of a guest method, which
+     * the dispatch loop switches to. Calls into the JRE complete before they return.
+     */
+
+    // 182 and 185, quickened
+    private static boolean fastInvokevirtual(JavaStack javaStack, ConstantPool cp, int index, InlineCache inlineCache, OperandStack stack) throws Throwable {
+        ResolvedMethodEntry entry = resolveMethod(cp, index);
+        // Handle JRE library classes (java.*).
+        if (entry.isHost()) {
+            if (entry.getMethod() != null && invokeObjectMethod(javaStack, entry.getMethod(), inlineCache, stack)){
+                return true;
+            }
+            if (entry.getInterfaceSignature() != null && invokeHostLambda(javaStack, entry, stack)){
+                return true;
+            }
+            invokeHost(entry, stack);
+            return false;
+        }
+        MethodInfo method = entry.getMethod();
+        int argumentSlots = method.getEntry().getArgumentSlots();
+        // the receiver is below the arguments
+        Object receiver = stack.peekRef(argumentSlots - 1);
+        // a host object implementing a guest interface, e.g. a lambda the host created
+        if (!(receiver instanceof InstanceOop oop)){
+            callHostObjectMethod(method, stack);
+            return false;
+        }
+        // polymorphism: from the call site's inline cache, or the receiver's vtable/itable on a miss
+        return pushFrame(javaStack, inlineCache.lookup(oop.getKlass(), method));
+    }
+
+    // 183, quickened
+    private static boolean fastInvokespecial(JavaStack javaStack, ConstantPool cp, int index, OperandStack stack) throws Throwable {
+        ResolvedMethodEntry entry = resolveMethod(cp, index);
+        if (entry.isHost()) {
+            // constructors of JRE objects, and JRE methods called through super
+            invokeHost(entry, stack);
+            return false;
+        }
+        // Self-defined classes (com.avaya.jvm.*)
+        return pushFrame(javaStack, entry.getMethod());
+    }
+
+    // 184, quickened
+    private static boolean fastInvokestatic(JavaStack javaStack, ConstantPool cp, int index, OperandStack stack) throws Throwable {
+        ResolvedMethodEntry entry = resolveMethod(cp, index);
+        // Handle JRE library classes (java.*).
+        if (entry.isHost()) {
+            invokeHost(entry, stack);
+            return false;
+        }
+        return pushFrame(javaStack, entry.getMethod());
+    }
+
+    // a JRE method: its intrinsic if it has one, else the bound host method
+    private static void invokeHost(ResolvedMethodEntry entry, OperandStack stack) throws Throwable {
+        Intrinsic intrinsic = entry.getIntrinsic();
+        if (intrinsic != null){
+            intrinsic.invoke(stack);
+        } else {
+            entry.getNativeBinding().invoke(stack);
+        }
+    }
+
+    // equals, hashCode or toString of Object called on a guest object, which runs its override if it has one
+    private static boolean invokeObjectMethod(JavaStack javaStack, MethodInfo method, InlineCache inlineCache, OperandStack stack){
+        Object receiver = stack.peekRef(method.getEntry().getArgumentSlots() - 1);
+        if (!(receiver instanceof InstanceOop oop)){
+            return false;
+        }
+        MethodInfo selected = inlineCache.lookup(oop.getKlass(), method);
+        return selected.getEntry().hasCode() && pushFrame(javaStack, selected);
+    }
+
+    /*
+     * A JRE interface method called on the HostLambda of a guest lambda, which it implements: the
+     * lambda object is unwrapped and its implementation pushed as for a guest interface, instead of
+     * a call through the host proxy with boxed arguments and a nested interpreter loop.
+     */
+    private static boolean invokeHostLambda(JavaStack javaStack, ResolvedMethodEntry entry, OperandStack stack){
+        int depth = entry.getNativeBinding().getArgumentSlots() - 1;
+        InstanceOop lambda = HostLambda.unwrap(stack.peekRef(depth));
+        if (lambda == null){
+            return false;
+        }
+        LambdaKlass lambdaKlass = (LambdaKlass) lambda.getKlass();
+        // a default or an Object method, or one whose values the HostLambda has to convert
+        if (!entry.getInterfaceSignature().equals(lambdaKlass.getDirectSignature())){
+            return false;
+        }
+        stack.putSlot(depth, 0, lambda);
+        return pushFrame(javaStack, lambdaKlass.getMethods().get(0));
+    }
+
+    // the arguments on top of the caller's operand stack become the first locals of the new frame
+    private static boolean pushFrame(JavaStack javaStack, MethodInfo method){
+        MethodEntry entry = method.getEntry();
+        if (entry.hasCode()){
+            javaStack.push(entry);
+            return true;
+        }
+        if (method.getHolder() instanceof LambdaKlass lambdaKlass){
+            // a lambda object: its implementation runs instead, with the captured values
+            javaStack.reserve(lambdaKlass.getCapturedSlots() + 1);
+            return pushFrame(javaStack, lambdaKlass.unpack(javaStack.peek().getOperandStack()));
+        }
+        throw new AbstractMethodError(method.getHolder().getName() + "." + method.getName() + method.getDescriptor().getRaw());
+    }
+
+    // 186
+    private static void invokedynamic(ConstantPool cp, int index, DecodedCode decodedCode, OperandStack stack) throws Throwable {
+        // linked once per call site, afterwards only the target runs
+        ResolvedIndyEntry entry = resolveInvokeDynamic(cp, index, decodedCode.getKlass());
+        if (entry.getConcatPlan() != null){
+            entry.getConcatPlan().concat(stack);
+        } else if (entry.getLambdaKlass() != null){
+            stack.pushRef(entry.getLambdaKlass().newLambda(stack));
+        } else {
+            entry.getTarget().invoke(stack);
+        }
+    }
+
+    /*
+     * ===============================================
+     * Object and array creation
+     * ===============================================
+     */
+
+    // 187
+    private static void newObject(ConstantPool cp, int index, OperandStack stack) throws Exception {
+        ConstantClassInfo classInfo = (ConstantClassInfo) cp.getEntries().get(index);
+        String objectClassName = classInfo.resolveName(cp);
+        if (objectClassName.startsWith("java")) {
+            // JRE Library Classes
+            // Do nothing and will directly new this object in constructor <init>
+            if (objectClassName.startsWith("java/lang/Object")) {
+                stack.pushRef(new Object());
+            } else {
+                stack.pushRef(null);
+            }
+        } else {
+            // user-defined class
+            stack.pushRef(new InstanceOop(objectClassName));
+        }
+    }
+
+    // 188
+    private static void newarray(int atype, OperandStack stack){
+        // Pop array length from the operand stack
+        int length = stack.popInt();
+        // Parse atype operand to ValueType, then create the corresponding array object
+        ValueType type = ValueType.atype2BasicType(atype);
+        TypeArrayOop arrayOop = TypeArrayOop.allocate(type, length);
+        stack.pushRef(arrayOop);
+    }
+
+    // 189
+    private static void anewarray(ConstantPool cp, int index, OperandStack stack) throws Exception {
+        // Pop array length from the operand stack
+        int length = stack.popInt();
+        ConstantClassInfo classInfo = (ConstantClassInfo) cp.getEntries().get(index);
+        String className = classInfo.resolveName(cp);
+
+        Object array;
+        if (className.startsWith("java")) {
+            // For standard Java classes, use reflection, so the array can be passed to the JRE
+            Class<?> clazz = Class.forName(className.replace('/', '.'));
+            array = Array.newInstance(clazz, length);
+        } else {
+            // guest classes and arrays, e.g. "com/avaya/jvm/example/Shape" or "[I"
+            String arrayName = className.charAt(0) == '[' ? "[" + className : "[L" + className + ";";
+            array = new ObjectArrayOop(ArrayKlass.forName(arrayName), length);
+        }
+        stack.pushRef(array);
+    }
+
+    // 190
+    private static void arraylength(OperandStack stack){
+        Object array = stack.popRef();
+        if (array instanceof ArrayOop arrayOop){
+            stack.pushInt(arrayOop.getLength());
+        } else {
+            stack.pushInt(Array.getLength(array));
+        }
+    }
+
+    // 197
+    private static void multianewarray(ConstantPool cp, int index, int dimensions, OperandStack stack) throws Exception {
+        ConstantClassInfo classInfo = (ConstantClassInfo) cp.getEntries().get(index);
+        // e.g. className : "[[Ljava/lang/String;", dimensions : 2
+        String className = classInfo.resolveName(cp);
+
+        // get each dimension from operand stack, the outermost dimension is the deepest
+        int[] dimensionList = new int[dimensions];
+        for (int i = dimensions - 1; i >= 0; i--){
+            dimensionList[i] = stack.popInt();
+        }
+
+        String element = className.substring(className.lastIndexOf('[') + 1);
+        if (element.startsWith("Ljava")) {
+            // arrays of JRE classes are host arrays, as with ANEWARRAY; the component is what is left below the given dimensions
+            String component = className.substring(dimensions);
+            Class<?> type = component.charAt(0) == '['
+                    ? Class.forName(component.replace('/', '.'))
+                    : Class.forName(component.substring(1, component.length() - 1).replace('/', '.'));
+            stack.pushRef(Array.newInstance(type, dimensionList));
+        } else {
+            // guest classes and primitives, the innermost primitive arrays are flattened
+            stack.pushRef(ArrayKlass.forName(className).multiAllocate(dimensionList));
+        }
+    }
+
+    /*
+     * ===============================================
+     * Type checks
+     * ===============================================
+     */
+
+    // 192
+    private static void checkcast(ConstantPool cp, int index, OperandStack stack) throws Exception {
+        Object obj = stack.popRef();
+        if (obj == null || isInstanceOf(cp, index, obj)){
+            // Type matches or null
+            stack.pushRef(obj);
+        } else {
+            // TODO: generate ClassCastException later
+        }
+    }
+
+    // 193
+    private static void instanceOf(ConstantPool cp, int index, OperandStack stack) throws Exception {
+        Object obj = stack.popRef();
+        stack.pushInt(obj != null && isInstanceOf(cp, index, obj) ? 1 : 0);
+    }
+
+    private static boolean isInstanceOf(ConstantPool cp, int index, Object obj) throws Exception {
+        ConstantClassInfo classInfo = (ConstantClassInfo) cp.getEntries().get(index);
+        String className = classInfo.resolveName(cp);
+        if (obj instanceof ArrayOop array){
+            // arrays are only instances of Object, Cloneable, Serializable and of array classes
+            return className.equals("java/lang/Object") || className.equals("java/lang/Cloneable") || className.equals("java/io/Serializable")
+                    || className.charAt(0) == '[' && array.getKlass().isSubtypeOf(ArrayKlass.forName(className));
+        }
+        if (className.startsWith("java") || className.charAt(0) == '[') {
+            // For standard Java classes and arrays created by the host, use reflection
+            return Class.forName(className.replace('/', '.')).isInstance(obj);
+        } else if (className.startsWith("com/avaya/jvm")) {
+            if (!(obj instanceof InstanceOop oop)){
+                // e.g. a lambda object, created by the host
+                return BootClassLoader.loadKlass(className.replace('/', '.')).getMirror().isInstance(obj);
+            }
+            // superclasses and interfaces are known once the class is linked
+            InstanceKlass target = BootClassLoader.loadKlass(className.replace('/', '.'));
+            return oop.getKlass().isSubclassOf(target) || oop.getKlass().isSubinterfaceOf(target);
+        }
+        return false;
+    }
+
+    /*
+     * ===============================================
+     * Synchronization
+     * ===============================================
+     */
+
+    // 194
+    private static void monitorenter(JavaThread thread, OperandStack stack){
+        lock(thread, stack.popRef());
+    }
+
+    // 195
+    private static void monitorexit(JavaThread thread, OperandStack stack){
+        unlock(thread, stack.popRef());
+    }
+
+    // ACC_SYNCHRONIZED, on entry: the receiver, or for a static method the mirror of its class as LDC pushes it
+    private static void lockMethod(JavaThread thread, JavaVFrame frame, DecodedCode decodedCode) throws ClassNotFoundException {
+        Object obj = MemberAccessFlags.isStatic(decodedCode.getMethod().getAccessFlags())
+                ? decodedCode.getKlass().getMirror()
+                : frame.getLocals().getRef(0);
+        lock(thread, obj);
+        frame.setLock(obj);
+    }
+
+    // the frame on top returns or unwinds, releasing the lock of a synchronized method
+    private static void popFrame(JavaThread thread, JavaStack javaStack){
+        Object obj = javaStack.peek().getLock();
+        if (obj != null){
+            unlock(thread, obj);
+        }
+        javaStack.pop();
+    }
+
+    private static void lock(JavaThread thread, Object obj){
+        if (obj instanceof OopDesc oop){
+            ObjectSynchronizer.enter(oop, thread);
+        } else {
+            HostMonitorTable.enter(obj);
+        }
+    }
+
+    private static void unlock(JavaThread thread, Object obj){
+        if (obj instanceof OopDesc oop){
+            ObjectSynchronizer.exit(oop, thread);
+        } else {
+            HostMonitorTable.exit(obj);
+        }
+    }
+
+    /*
+     * ===============================================
+     * Exceptions
+     * ===============================================
+     */
+
+    // 191, pop the exception object and throw it, so that the dispatch loop routes it to handleException()
+    private static void athrow(OperandStack stack) throws Throwable {
+        throw (Throwable) stack.popRef();
+    }
+
+    /**
+     * Dispatch an exception raised while executing the instruction at {@code pc}.
+     * <p>
+     * The exception table of the current method is searched for a handler covering
+     * the instruction's bci. If one matches, the operand stack is cleared, the exception
+     * is pushed and the pc of the handler is returned. Otherwise -1 is returned, and run()
+     * pops the frame and repeats the search in the caller at its invoke instruction.
+     */
+    private static int handleException(JavaThread thread, DecodedCode decodedCode, ConstantPool cp, OperandStack stack, int pc, Throwable exception) throws ClassNotFoundException {
+        thread.setCurrentException(exception);
+        int bci = decodedCode.bciAt(pc);
+        for (CodeAttribute.ExceptionTableEntry entry : decodedCode.getCodeAttribute().getExceptionTable()){
+            if (bci >= entry.getStartPc() && bci < entry.getEndPc() && catches(cp, entry.getCatchType(), exception)){
+                stack.clear();
+                stack.pushRef(exception);
+                thread.setCurrentException(null);
+                return decodedCode.pcAt(entry.getHandlerPc());
             }
         }
-        logger.debug("function completed.");
+        // no catch for this exception in this frame
+        return -1;
+    }
 
+    private static boolean catches(ConstantPool cp, int catchType, Throwable exception) throws ClassNotFoundException {
+        // catch type 0 is used by "finally", it catches everything
+        if (catchType == 0){
+            return true;
+        }
+        ConstantClassInfo targetClass = (ConstantClassInfo) cp.getEntries().get(catchType);
+        String targetClassName = targetClass.resolveName(cp);
+        if (targetClassName.startsWith("java")){
+            return Class.forName(targetClassName.replace('/', '.')).isInstance(exception);
+        }
+        return false;
     }
 }
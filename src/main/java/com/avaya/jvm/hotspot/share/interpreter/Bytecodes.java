@@ -1,5 +1,7 @@
 package com.avaya.jvm.hotspot.share.interpreter;
 
+import java.util.Arrays;
+
 public enum Bytecodes {
     ILLEGAL(-1),
     NOP(0),
@@ -204,21 +206,46 @@ public enum Bytecodes {
     IFNONNULL(199),
     GOTO_W(200),
     JSR_W(201),
-    BREAKPOINT(202);
+    BREAKPOINT(202),
+
+    // 203 - 210, internal quickened forms, never found in a class file.
+    // An instruction is rewritten into them once its constant pool entry is resolved.
+    FAST_GETSTATIC(203),
+    FAST_PUTSTATIC(204),
+    FAST_GETFIELD(205),
+    FAST_PUTFIELD(206),
+    FAST_INVOKEVIRTUAL(207),
+    FAST_INVOKESPECIAL(208),
+    FAST_INVOKESTATIC(209),
+    FAST_INVOKEINTERFACE(210);
 
     private final int opcode;
 
+    // opcode -> Bytecodes, so that decoding an opcode is a single array load
+    private static final Bytecodes[] OPCODE_TABLE = new Bytecodes[256];
+
+    static {
+        Arrays.fill(OPCODE_TABLE, ILLEGAL);
+        for (Bytecodes bc : values()) {
+            if (bc.opcode >= 0) {
+                OPCODE_TABLE[bc.opcode] = bc;
+            }
+        }
+    }
+
     Bytecodes(int opcode) {
         this.opcode = opcode;
     }
 
+    public int getOpcode() {
+        return opcode;
+    }
+
     public static Bytecodes fromOpcode(int opcode) {
-        for (Bytecodes bc : values()) {
-            if (bc.opcode == opcode) {
-                return bc;
-            }
+        if (opcode < 0 || opcode >= OPCODE_TABLE.length) {
+            return ILLEGAL;
         }
-        return ILLEGAL;
+        return OPCODE_TABLE[opcode];
     }
 
 }
@@ -0,0 +1,68 @@
+package com.avaya.jvm.hotspot.share.interpreter;
+
+import com.avaya.jvm.hotspot.share.oops.CodeAttribute;
+import com.avaya.jvm.hotspot.share.oops.InstanceKlass;
+import com.avaya.jvm.hotspot.share.oops.MethodInfo;
+import com.avaya.jvm.hotspot.share.utilities.MemberAccessFlags;
+import lombok.Getter;
+
+/**
+ * The executable form of a method body, built once by {@link BytecodeDecoder} at link time.
+ * <p>
+ * Every instruction is an opcode followed by its operands, one int each:
+ * - operands are already sign-extended and the padding of the switch instructions is gone
+ * - WIDE, LDC_W and GOTO_W/JSR_W are folded into their short forms
+ * - branch operands hold the absolute pc of the target instruction, not a bci offset
+ * <p>
+ * bci (index into the raw bytecodes) and pc (index into {@link #code}) are different,
+ * so the two maps are kept for the exception table, which stays in bci terms.
+ * <p>
+ * INVOKEVIRTUAL and INVOKEINTERFACE carry the index of their {@link InlineCache} in
+ * {@link #inlineCaches} after the constant pool index.
+ */
+@Getter
+public class DecodedCode {
+
+    private final int[] code;
+
+    // pc -> bci of the instruction the slot belongs to
+    private final int[] bciAt;
+
+    // bci -> pc of the instruction starting there, -1 in the middle of an instruction
+    private final int[] pcAt;
+
+    private final InlineCache[] inlineCaches;
+
+    private final CodeAttribute codeAttribute;
+    private final MethodInfo method;
+    private final InstanceKlass klass;
+
+    // ACC_SYNCHRONIZED: a frame of the method holds the lock of its receiver, or of its class if static
+    private final boolean synchronizedMethod;
+
+    public DecodedCode(int[] code, int[] bciAt, int[] pcAt, int[] callSites, CodeAttribute codeAttribute) {
+        this.code = code;
+        this.bciAt = bciAt;
+        this.pcAt = pcAt;
+        this.codeAttribute = codeAttribute;
+        this.method = codeAttribute.getCode().getMethod();
+        this.klass = codeAttribute.getCode().getKlass();
+        this.synchronizedMethod = MemberAccessFlags.isSynchronized(method.getAccessFlags());
+        this.inlineCaches = new InlineCache[callSites.length];
+        for (int i = 0; i < callSites.length; i++){
+            inlineCaches[i] = new InlineCache(method, callSites[i]);
+        }
+    }
+
+    public int bciAt(int pc){
+        return bciAt[pc];
+    }
+
+    public int pcAt(int bci){
+        int pc = pcAt[bci];
+        if (pc < 0){
+            throw new IllegalStateException("No instruction starts at bci " + bci);
+        }
+        return pc;
+    }
+}
@@ -0,0 +1,117 @@
+package com.avaya.jvm.hotspot.share.interpreter;
+
+import com.avaya.jvm.hotspot.share.oops.InstanceKlass;
+import com.avaya.jvm.hotspot.share.oops.MethodInfo;
+import com.avaya.jvm.hotspot.share.runtime.Arguments;
+import lombok.Getter;
+
+import java.util.Arrays;
+
+/**
+ * Inline cache of one INVOKEVIRTUAL or INVOKEINTERFACE call site.
+ * <p>
+ * Remembers the target selected for each receiver class seen at the site, so a call
+ * with a known receiver class costs one klass compare (monomorphic) or a few
+ * (polymorphic). Once more than {@link #MAX_ARITY} receiver classes have been seen the
+ * site turns megamorphic and always selects through the vtable or itable.
+ * <p>
+ * The entries array is never modified, a miss publishes a grown copy. A racing update
+ * may drop an entry, which only costs another miss later.
+ * <p>
+ * The counters are only kept with {@code -XX:+ProfileInlineCaches}, so that by default a
+ * call writes nothing shared. They are plain fields, so they are approximate when several
+ * threads run the same site.
+ */
+public class InlineCache {
+
+    public static final int MAX_ARITY = 4;
+
+    private static final Entry[] EMPTY = new Entry[0];
+
+    private static class Entry {
+        private final InstanceKlass receiverKlass;
+        private final MethodInfo target;
+
+        private Entry(InstanceKlass receiverKlass, MethodInfo target) {
+            this.receiverKlass = receiverKlass;
+            this.target = target;
+        }
+    }
+
+    @Getter
+    private final MethodInfo method;
+    @Getter
+    private final int bci;
+
+    private volatile Entry[] entries = EMPTY;
+    private volatile boolean megamorphic;
+
+    @Getter
+    private long hits;
+    @Getter
+    private long misses;
+    @Getter
+    private long megamorphicCalls;
+
+    public InlineCache(MethodInfo method, int bci) {
+        this.method = method;
+        this.bci = bci;
+    }
+
+    /**
+     * Return the method to run for a receiver of {@code receiverKlass}, given the method
+     * the call site resolved to.
+     */
+    public MethodInfo lookup(InstanceKlass receiverKlass, MethodInfo resolved){
+        boolean profiled = Arguments.isProfileInlineCaches();
+        if (megamorphic){
+            if (profiled){
+                megamorphicCalls++;
+            }
+            return receiverKlass.selectMethod(resolved);
+        }
+        Entry[] current = entries;
+        for (Entry entry : current){
+            if (entry.receiverKlass == receiverKlass){
+                if (profiled){
+                    hits++;
+                }
+                return entry.target;
+            }
+        }
+        if (profiled){
+            misses++;
+        }
+        MethodInfo target = receiverKlass.selectMethod(resolved);
+        if (current.length == MAX_ARITY){
+            megamorphic = true;
+        } else {
+            Entry[] grown = Arrays.copyOf(current, current.length + 1);
+            grown[current.length] = new Entry(receiverKlass, target);
+            entries = grown;
+        }
+        return target;
+    }
+
+    public String getState(){
+        if (megamorphic){
+            return "megamorphic";
+        }
+        return switch (entries.length){
+            case 0 -> "clean";
+            case 1 -> "monomorphic";
+            default -> "polymorphic(" + entries.length + ")";
+        };
+    }
+
+    @Override
+    public String toString(){
+        long calls = hits + misses + megamorphicCalls;
+        return String.format("%s@%d %s calls=%d hits=%d (%.2f%%) misses=%d megamorphic=%d",
+                method.getName(), bci, getState(), calls, hits, percent(hits, calls), misses, megamorphicCalls);
+    }
+
+    private static double percent(long count, long total){
+        return total == 0 ? 0.0 : count * 100.0 / total;
+    }
+}
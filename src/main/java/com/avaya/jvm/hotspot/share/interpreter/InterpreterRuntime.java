@@ -0,0 +1,136 @@
+package com.avaya.jvm.hotspot.share.interpreter;
+
+import com.avaya.jvm.hotspot.share.classfile.BootClassLoader;
+import com.avaya.jvm.hotspot.share.oops.*;
+import com.avaya.jvm.hotspot.share.prims.Intrinsic;
+import com.avaya.jvm.hotspot.share.prims.Intrinsics;
+import com.avaya.jvm.hotspot.share.prims.JavaNativeInterface;
+import com.avaya.jvm.hotspot.share.prims.NativeMethodBinding;
+import com.avaya.jvm.hotspot.share.prims.StringConcatPlan;
+import com.avaya.jvm.hotspot.share.utilities.ValueType;
+
+/**
+ * Slow paths of the interpreter: constant pool resolution and bytecode quickening.
+ * <p>
+ * The first time GETFIELD, PUTFIELD, GETSTATIC, PUTSTATIC or an INVOKE* runs, its
+ * constant pool entry is resolved into the class's ConstantPoolCache and the instruction
+ * is rewritten into its FAST_ form, which reads the cache instead of the constant pool.
+ * <p>
+ * Rewriting is safe with several threads running the same method: the operand (the
+ * constant pool index) is left unchanged and a single int store replaces the opcode,
+ * so a thread sees either form. A FAST_ handler that finds no cache entry yet
+ * (it may observe the opcode store before the entry store) resolves it again here.
+ */
+public class InterpreterRuntime {
+
+    public static ResolvedFieldEntry resolveField(ConstantPool cp, int index) throws Exception {
+        ConstantPoolCache cache = cp.getCache();
+        ResolvedFieldEntry entry = cache.getFieldEntry(index);
+        if (entry != null){
+            return entry;
+        }
+        ConstantFieldrefInfo fieldref = (ConstantFieldrefInfo) cp.getEntries().get(index);
+        String className = fieldref.resolveClassName(cp).replace('/', '.');
+        String fieldName = fieldref.resolveFieldName(cp);
+        ValueType fieldType = fieldref.resolveFieldType(cp);
+        if (className.startsWith("java")){
+            // JRE classes are not loaded by us, use the host field
+            entry = new ResolvedFieldEntry(null, Class.forName(className).getField(fieldName), fieldName, fieldType, -1);
+        } else {
+            String descriptor = fieldref.resolveFieldDescriptor(cp);
+            FieldInfo field = BootClassLoader.loadKlass(className).findField(fieldName, descriptor);
+            if (field == null){
+                throw new NoSuchFieldError(className + "." + fieldName);
+            }
+            entry = new ResolvedFieldEntry(field.getHolder(), null, fieldName, fieldType, field.getOffset());
+        }
+        cache.setFieldEntry(index, entry);
+        return entry;
+    }
+
+    public static ResolvedMethodEntry resolveMethod(ConstantPool cp, int index) throws Exception {
+        ConstantPoolCache cache = cp.getCache();
+        ResolvedMethodEntry entry = cache.getMethodEntry(index);
+        if (entry != null){
+            return entry;
+        }
+        String className;
+        String methodName;
+        String descriptor;
+        if (cp.getEntries().get(index) instanceof ConstantInterfaceMethodrefInfo interfaceMethodref){
+            className = interfaceMethodref.resolveClassName(cp);
+            methodName = interfaceMethodref.resolveMethodName(cp);
+            descriptor = interfaceMethodref.resolveMethodDescriptor(cp).getRaw();
+        } else {
+            ConstantMethodrefInfo methodref = (ConstantMethodrefInfo) cp.getEntries().get(index);
+            className = methodref.resolveClassName(cp);
+            methodName = methodref.resolveMethodName(cp);
+            descriptor = methodref.resolveMethodDescriptor(cp).getRaw();
+        }
+        if (className.charAt(0) == '['){
+            // an array has the methods of Object, its clone is implemented by Intrinsics
+            className = "java/lang/Object";
+        }
+        if (className.startsWith("java")){
+            // JRE methods run an intrinsic if there is one, else a MethodHandle bound once per constant pool entry
+            Intrinsic intrinsic = Intrinsics.lookup(className, methodName, descriptor);
+            // a guest receiver may override it, see BytecodeInterpreter.fastInvokevirtual
+            MethodInfo objectMethod = className.equals("java/lang/Object") ? KlassVtable.objectMethod(methodName, descriptor) : null;
+            if (intrinsic != null){
+                entry = new ResolvedMethodEntry(null, objectMethod, null, intrinsic);
+            } else {
+                Class<?> hostClass = Class.forName(className.replace('/', '.'));
+                NativeMethodBinding binding = NativeMethodBinding.bind(hostClass, methodName, descriptor);
+                // the receiver may be a guest lambda, see BytecodeInterpreter.invokeHostLambda
+                String interfaceSignature = hostClass.isInterface() && binding.getArgumentSlots() > 0 ? methodName + descriptor : null;
+                entry = new ResolvedMethodEntry(null, objectMethod, binding, null, interfaceSignature);
+            }
+        } else {
+            InstanceKlass klass = BootClassLoader.loadKlass(className.replace('/', '.'));
+            MethodInfo method = klass.findMethod(methodName, descriptor);
+            if (method == null){
+                throw new NoSuchMethodError(className + "." + methodName + descriptor);
+            }
+            entry = new ResolvedMethodEntry(klass, method, null, null);
+        }
+        cache.setMethodEntry(index, entry);
+        return entry;
+    }
+
+    public static ResolvedIndyEntry resolveInvokeDynamic(ConstantPool cp, int index, InstanceKlass klass) throws Throwable {
+        ConstantPoolCache cache = cp.getCache();
+        ResolvedIndyEntry entry = cache.getIndyEntry(index);
+        if (entry != null){
+            return entry;
+        }
+        ConstantInvokeDynamicInfo dynamicInfo = (ConstantInvokeDynamicInfo) cp.getEntries().get(index);
+        LambdaKlass lambdaKlass = JavaNativeInterface.linkGuestLambda(dynamicInfo, klass);
+        StringConcatPlan concatPlan = lambdaKlass == null ? JavaNativeInterface.linkStringConcat(dynamicInfo, klass) : null;
+        if (lambdaKlass != null || concatPlan != null){
+            entry = new ResolvedIndyEntry(null, lambdaKlass, concatPlan);
+        } else {
+            entry = new ResolvedIndyEntry(JavaNativeInterface.linkCallSite(dynamicInfo, klass), null, null);
+        }
+        cache.setIndyEntry(index, entry);
+        return entry;
+    }
+
+    /**
+     * Resolve the field referenced by the instruction at {@code pc} and rewrite it into
+     * {@code fastBytecode}. Returns {@code pc}, so the dispatch loop runs the fast form next.
+     */
+    public static int quickenField(ConstantPool cp, int[] code, int pc, Bytecodes fastBytecode) throws Exception {
+        resolveField(cp, code[pc + 1]);
+        code[pc] = fastBytecode.getOpcode();
+        return pc;
+    }
+
+    /**
+     * Same as {@link #quickenField}, for the INVOKE* instructions.
+     */
+    public static int quickenInvoke(ConstantPool cp, int[] code, int pc, Bytecodes fastBytecode) throws Exception {
+        resolveMethod(cp, code[pc + 1]);
+        code[pc] = fastBytecode.getOpcode();
+        return pc;
+    }
+}
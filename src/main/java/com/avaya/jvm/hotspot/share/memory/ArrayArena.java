@@ -0,0 +1,81 @@
+package com.avaya.jvm.hotspot.share.memory;
+
+import com.avaya.jvm.hotspot.share.runtime.Arguments;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Off-heap storage of guest primitive arrays, used with {@code -XX:+UseOffHeapArrays}.
+ * <p>
+ * An array of at least {@code OffHeapArrayMinBytes} bytes (see Arguments) keeps its
+ * elements in a direct ByteBuffer in native byte order instead of a host array, so the
+ * host heap only holds its ArrayOop and a buffer view. Arrays up to a quarter of
+ * CHUNK_SIZE are carved from shared chunks with a bump pointer, larger ones get a buffer
+ * of their own. The memory is zeroed by allocateDirect and never reused, so a new array
+ * starts zeroed as the JVM requires; a chunk is freed by the host's cleaner once no array
+ * carved from it is reachable.
+ * <p>
+ * Carving is synchronized, the statistics are atomic.
+ */
+public class ArrayArena extends AllStatic {
+
+    private static final int CHUNK_SIZE = 1024 * 1024;
+    private static final int ALIGNMENT = 8;
+
+    private static ByteBuffer chunk;
+    private static int chunkOffset;
+
+    // since the VM started: direct memory taken from the host, and the part given to arrays
+    private static final AtomicLong reservedBytes = new AtomicLong();
+    private static final AtomicLong allocatedBytes = new AtomicLong();
+
+    /**
+     * Whether an array of {@code length} elements of {@code elementSize} bytes is placed
+     * off the heap. A negative length is left to the host array, which throws.
+     */
+    public static boolean isOffHeap(int length, int elementSize){
+        if (!Arguments.isUseOffHeapArrays() || length < 0){
+            return false;
+        }
+        long bytes = (long) length * elementSize;
+        return bytes >= Arguments.getOffHeapArrayMinBytes() && bytes <= Integer.MAX_VALUE;
+    }
+
+    /**
+     * Zeroed storage for {@code length} elements of {@code elementSize} bytes, for which
+     * {@link #isOffHeap} is true.
+     */
+    public static ByteBuffer allocate(int length, int elementSize){
+        int bytes = length * elementSize;
+        ByteBuffer buffer;
+        if (bytes > CHUNK_SIZE / 4){
+            buffer = ByteBuffer.allocateDirect(bytes);
+            reservedBytes.addAndGet(bytes);
+        } else {
+            buffer = carve(bytes);
+        }
+        allocatedBytes.addAndGet(bytes);
+        return buffer.order(ByteOrder.nativeOrder());
+    }
+
+    private static synchronized ByteBuffer carve(int bytes){
+        if (chunk == null || chunkOffset + bytes > CHUNK_SIZE){
+            chunk = ByteBuffer.allocateDirect(CHUNK_SIZE);
+            chunkOffset = 0;
+            reservedBytes.addAndGet(CHUNK_SIZE);
+        }
+        ByteBuffer slice = chunk.slice(chunkOffset, bytes);
+        chunkOffset += (bytes + ALIGNMENT - 1) & -ALIGNMENT;
+        return slice;
+    }
+
+    public static long getReservedBytes(){
+        return reservedBytes.get();
+    }
+
+    public static long getAllocatedBytes(){
+        return allocatedBytes.get();
+    }
+}
@@ -0,0 +1,226 @@
+package com.avaya.jvm.hotspot.share.oops;
+
+import com.avaya.jvm.hotspot.share.classfile.BootClassLoader;
+import com.avaya.jvm.hotspot.share.utilities.ValueType;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The class of an array, named by its descriptor, e.g. {@code [I} or
+ * {@code [[Lcom/avaya/jvm/example/Shape;}.
+ * <p>
+ * {@code elementType} is the type of the elements: a primitive type, T_OBJECT or T_ARRAY.
+ * {@code elementKlass} is the class of the elements when the VM has one: a guest
+ * InstanceKlass, or the ArrayKlass of one dimension less. It is null for a primitive
+ * array and for a JRE element class, which is only known by name.
+ * <p>
+ * There is one ArrayKlass per name, so two arrays are of the same class exactly when
+ * they share their klass. All fields are final, so a klass can be shared between threads
+ * without locking.
+ */
+@Getter
+public class ArrayKlass extends Klass {
+
+    private static final Map<String, ArrayKlass> arrayKlasses = new ConcurrentHashMap<>();
+    private static final Map<ValueType, ArrayKlass> typeArrayKlasses = new EnumMap<>(ValueType.class);
+
+    static {
+        for (ValueType type : new ValueType[]{ValueType.T_BOOLEAN, ValueType.T_CHAR, ValueType.T_FLOAT, ValueType.T_DOUBLE,
+                ValueType.T_BYTE, ValueType.T_SHORT, ValueType.T_INT, ValueType.T_LONG}){
+            ArrayKlass klass = new ArrayKlass("[" + typeChar(type), 1, type, null);
+            typeArrayKlasses.put(type, klass);
+            arrayKlasses.put(klass.getName(), klass);
+        }
+    }
+
+    private final int dimension;
+    private final ValueType elementType;
+    private final Klass elementKlass;
+    // an Object[], which takes any reference
+    private final boolean objectElements;
+
+    private ArrayKlass(String name, int dimension, ValueType elementType, Klass elementKlass) {
+        this.name = name;
+        this.dimension = dimension;
+        this.elementType = elementType;
+        this.elementKlass = elementKlass;
+        this.objectElements = name.equals("[Ljava/lang/Object;");
+    }
+
+    /**
+     * The klass of one-dimensional arrays of the primitive {@code type}.
+     */
+    public static ArrayKlass forType(ValueType type){
+        return typeArrayKlasses.get(type);
+    }
+
+    /**
+     * The klass of the array class named {@code name}, loading the guest element class
+     * if there is one.
+     */
+    public static ArrayKlass forName(String name) throws IOException {
+        ArrayKlass klass = arrayKlasses.get(name);
+        if (klass != null){
+            return klass;
+        }
+        String element = name.substring(1);
+        if (element.charAt(0) == '['){
+            ArrayKlass lower = forName(element);
+            klass = new ArrayKlass(name, lower.getDimension() + 1, ValueType.T_ARRAY, lower);
+        } else {
+            String className = element.substring(1, element.length() - 1);
+            Klass elementKlass = className.startsWith("java") ? null : BootClassLoader.loadKlass(className.replace('/', '.'));
+            klass = new ArrayKlass(name, 1, ValueType.T_OBJECT, elementKlass);
+        }
+        // a klass created by another thread in the meantime wins
+        ArrayKlass existing = arrayKlasses.putIfAbsent(name, klass);
+        return existing != null ? existing : klass;
+    }
+
+    public boolean isReferenceArray(){
+        return elementType == ValueType.T_OBJECT || elementType == ValueType.T_ARRAY;
+    }
+
+    /**
+     * Whether an array of this klass can be assigned to an array of {@code klass}: they are
+     * the same, or both hold references and the elements of this one are assignable to
+     * those of {@code klass}.
+     */
+    public boolean isSubtypeOf(ArrayKlass klass){
+        if (this == klass){
+            return true;
+        }
+        if (!isReferenceArray() || !klass.isReferenceArray()){
+            return false;
+        }
+        String element = name.substring(1);
+        String targetElement = klass.getName().substring(1);
+        if (targetElement.equals("Ljava/lang/Object;")){
+            return true;
+        }
+        if (elementKlass instanceof ArrayKlass lower && klass.getElementKlass() instanceof ArrayKlass targetLower){
+            return lower.isSubtypeOf(targetLower);
+        }
+        if (elementKlass instanceof InstanceKlass instanceKlass && klass.getElementKlass() instanceof InstanceKlass target){
+            return instanceKlass.isSubclassOf(target) || instanceKlass.isSubinterfaceOf(target);
+        }
+        if (elementKlass == null && klass.getElementKlass() == null){
+            // JRE element classes, ask the host
+            try {
+                return hostClass(targetElement).isAssignableFrom(hostClass(element));
+            } catch (ClassNotFoundException e) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether {@code value} can be stored into an array of this reference klass, as AASTORE
+     * checks: it is null or an instance of the element class. As for CHECKCAST, a guest
+     * object is an instance of no JRE class but Object, and a guest array of Object,
+     * Cloneable and Serializable only.
+     */
+    public boolean accepts(Object value){
+        if (value == null || objectElements){
+            return true;
+        }
+        if (value instanceof ArrayOop array){
+            if (elementKlass instanceof ArrayKlass lower){
+                return array.getKlass().isSubtypeOf(lower);
+            }
+            String element = name.substring(1);
+            return element.equals("Ljava/lang/Cloneable;") || element.equals("Ljava/io/Serializable;");
+        }
+        if (value instanceof InstanceOop oop){
+            return elementKlass instanceof InstanceKlass target && (oop.getKlass().isSubclassOf(target) || oop.getKlass().isSubinterfaceOf(target));
+        }
+        // a host object, e.g. a String, a host array or the HostLambda of a guest lambda
+        try {
+            Class<?> elementClass = elementKlass instanceof InstanceKlass target ? target.getMirror()
+                    : elementType == ValueType.T_ARRAY ? Class.forName(name.substring(1).replace('/', '.')) : hostClass(name.substring(1));
+            return elementClass.isInstance(value);
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    /**
+     * The array MULTIANEWARRAY creates with the lengths {@code dimensions}, the outermost
+     * first. As on the JVM, the arrays of the dimensions that are not given are left null.
+     * <p>
+     * When the innermost dimension given holds primitives, it is flattened: the elements
+     * of all its arrays are one contiguous store allocated at once, and each of them is a
+     * slice of it. The arrays above hold references to them as usual, so a row can still
+     * be replaced by another array.
+     */
+    public ArrayOop multiAllocate(int[] dimensions){
+        ArrayKlass innermost = this;
+        long elements = 1;
+        for (int i = 0; i < dimensions.length; i++){
+            if (dimensions[i] < 0){
+                throw new NegativeArraySizeException(String.valueOf(dimensions[i]));
+            }
+            // saturated, a later zero length still makes it 0
+            elements = Math.min(elements * dimensions[i], 1L << 32);
+            if (i > 0){
+                innermost = (ArrayKlass) innermost.getElementKlass();
+            }
+        }
+        TypeArrayOop store = null;
+        if (!innermost.isReferenceArray()){
+            if (elements > Integer.MAX_VALUE){
+                throw new OutOfMemoryError("Requested array size exceeds VM limit");
+            }
+            store = TypeArrayOop.allocate(innermost, (int) elements);
+            if (dimensions.length == 1){
+                return store;
+            }
+        }
+        return allocate(dimensions, 0, store, new int[1]);
+    }
+
+    // the array of dimensions[level]; cursor is the offset in store of the next innermost array
+    private ArrayOop allocate(int[] dimensions, int level, TypeArrayOop store, int[] cursor){
+        int length = dimensions[level];
+        if (store != null && level == dimensions.length - 1){
+            TypeArrayOop row = store.slice(cursor[0], length);
+            cursor[0] += length;
+            return row;
+        }
+        ObjectArrayOop array = new ObjectArrayOop(this, length);
+        if (level < dimensions.length - 1){
+            for (int i = 0; i < length; i++){
+                array.set(i, ((ArrayKlass) elementKlass).allocate(dimensions, level + 1, store, cursor));
+            }
+        }
+        return array;
+    }
+
+    private static Class<?> hostClass(String descriptor) throws ClassNotFoundException {
+        return Class.forName(descriptor.substring(1, descriptor.length() - 1).replace('/', '.'));
+    }
+
+    private static char typeChar(ValueType type){
+        return switch (type) {
+            case T_BOOLEAN -> 'Z';
+            case T_CHAR -> 'C';
+            case T_FLOAT -> 'F';
+            case T_DOUBLE -> 'D';
+            case T_BYTE -> 'B';
+            case T_SHORT -> 'S';
+            case T_INT -> 'I';
+            case T_LONG -> 'J';
+            default -> throw new IllegalArgumentException("Not a primitive type: " + type);
+        };
+    }
+
+    @Override
+    public String toString(){
+        return name;
+    }
+}
@@ -1,15 +1,67 @@
 package com.avaya.jvm.hotspot.share.oops;
 
-public abstract class ArrayOop extends OopDesc{
+import java.io.Serializable;
+
+/**
+ * An array object. The elements of a primitive array are kept in a host array of the
+ * matching type, or off the heap (see ArrayArena); bulk operations (System.arraycopy,
+ * Arrays.fill, Arrays.copyOf) are a single host call on them rather than a loop of
+ * loads and stores.
+ * <p>
+ * An index out of bounds throws ArrayIndexOutOfBoundsException, as on the JVM.
+ * <p>
+ * Like every JVM array it is Cloneable and Serializable, so host arrays of those two
+ * interfaces take it.
+ */
+public abstract class ArrayOop extends OopDesc implements Cloneable, Serializable {
     protected int length;
 
     protected void checkBounds(int index){
         if (index < 0 || index >= length){
-            throw new IndexOutOfBoundsException();
+            throw new ArrayIndexOutOfBoundsException("Index " + index + " out of bounds for length " + length);
+        }
+    }
+
+    // the checks of Arrays.fill(array, fromIndex, toIndex, value)
+    protected void checkRange(int fromIndex, int toIndex){
+        if (fromIndex > toIndex){
+            throw new IllegalArgumentException("fromIndex(" + fromIndex + ") > toIndex(" + toIndex + ")");
+        }
+        if (fromIndex < 0){
+            throw new ArrayIndexOutOfBoundsException(fromIndex);
+        }
+        if (toIndex > length){
+            throw new ArrayIndexOutOfBoundsException(toIndex);
+        }
+    }
+
+    // the checks of System.arraycopy, once the array types are known to match
+    protected void checkCopy(int srcPos, ArrayOop dest, int destPos, int count){
+        if (srcPos < 0 || destPos < 0 || count < 0 || srcPos > length - count || destPos > dest.length - count){
+            throw new ArrayIndexOutOfBoundsException("arraycopy: range [" + srcPos + ", " + destPos + ", " + count
+                    + "] out of bounds for lengths " + length + " and " + dest.length);
         }
     }
 
     public int getLength(){
         return length;
     }
+
+    public ArrayKlass getKlass(){
+        return (ArrayKlass) klazz;
+    }
+
+    /**
+     * Copy {@code count} elements to {@code dest}, an array of the same klass (or any
+     * reference array for a reference array, whose elements are then checked against its
+     * element class), as System.arraycopy. Overlapping ranges of the same array are
+     * copied as if through a temporary copy.
+     */
+    public abstract void copyTo(int srcPos, ArrayOop dest, int destPos, int count);
+
+    /**
+     * A new array of the same klass with the first {@code newLength} elements, padded
+     * with zeros or nulls, as {@code Arrays.copyOf}.
+     */
+    public abstract ArrayOop copyOf(int newLength);
 }
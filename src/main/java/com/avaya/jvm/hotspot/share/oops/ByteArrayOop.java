@@ -1,23 +1,96 @@
 package com.avaya.jvm.hotspot.share.oops;
 
-public class ByteArrayOop extends ArrayOop{
-    private byte[] values;
-    // TODO: implement Byte Array Klass later.
-    private static final Klass BYTE_ARRAY_KLASS = null;
+import com.avaya.jvm.hotspot.share.memory.ArrayArena;
+import com.avaya.jvm.hotspot.share.utilities.ValueType;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * A byte[], or a boolean[]: the JVM stores booleans as bytes and uses BALOAD and BASTORE
+ * for both, the klass tells them apart.
+ */
+public class ByteArrayOop extends TypeArrayOop{
+    // the elements are values[offset, offset + length) or buffer, see TypeArrayOop
+    private final byte[] values;
+    private final int offset;
+    private final ByteBuffer buffer;
+    private static final ArrayKlass BYTE_ARRAY_KLASS = ArrayKlass.forType(ValueType.T_BYTE);
 
     public ByteArrayOop(int length){
-        this.values = new byte[length];
+        this(BYTE_ARRAY_KLASS, length);
+    }
+
+    public ByteArrayOop(ArrayKlass klass, int length){
         this.length = length;
-        this.klazz = BYTE_ARRAY_KLASS;
+        this.klazz = klass;
+        this.offset = 0;
+        if (ArrayArena.isOffHeap(length, 1)){
+            this.values = null;
+            this.buffer = ArrayArena.allocate(length, 1);
+        } else {
+            this.values = new byte[length];
+            this.buffer = null;
+        }
+    }
+
+    private ByteArrayOop(ArrayKlass klass, byte[] values, int offset, int length, ByteBuffer buffer){
+        this.length = length;
+        this.klazz = klass;
+        this.values = values;
+        this.offset = offset;
+        this.buffer = buffer;
     }
 
     public byte get(int index){
         checkBounds(index);
-        return values[index];
+        return values != null ? values[offset + index] : buffer.get(index);
     }
 
     public void set(int index, byte value){
         checkBounds(index);
-        values[index] = value;
+        if (values != null){
+            values[offset + index] = value;
+        } else {
+            buffer.put(index, value);
+        }
+    }
+
+    public void fill(int fromIndex, int toIndex, byte value){
+        checkRange(fromIndex, toIndex);
+        if (values != null){
+            Arrays.fill(values, offset + fromIndex, offset + toIndex, value);
+        } else {
+            for (int i = fromIndex; i < toIndex; i++){
+                buffer.put(i, value);
+            }
+        }
+    }
+
+    @Override
+    public void copyTo(int srcPos, ArrayOop dest, int destPos, int count){
+        checkCopy(srcPos, dest, destPos, count);
+        ByteArrayOop target = (ByteArrayOop) dest;
+        if (values != null && target.values != null){
+            System.arraycopy(values, offset + srcPos, target.values, target.offset + destPos, count);
+        } else if (values != null){
+            target.buffer.put(destPos, values, offset + srcPos, count);
+        } else if (target.values != null){
+            buffer.get(srcPos, target.values, target.offset + destPos, count);
+        } else {
+            target.buffer.put(destPos, buffer, srcPos, count);
+        }
+    }
+
+    @Override
+    public ByteArrayOop copyOf(int newLength){
+        ByteArrayOop copy = new ByteArrayOop(getKlass(), newLength);
+        copyTo(0, copy, 0, Math.min(length, newLength));
+        return copy;
+    }
+
+    @Override
+    public ByteArrayOop slice(int from, int length){
+        return values != null ? new ByteArrayOop(getKlass(), values, offset + from, length, null) : new ByteArrayOop(getKlass(), null, 0, length, buffer.slice(from, length));
     }
 }
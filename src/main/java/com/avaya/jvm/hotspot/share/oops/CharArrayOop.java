@@ -1,23 +1,88 @@
 package com.avaya.jvm.hotspot.share.oops;
 
-public class CharArrayOop extends ArrayOop{
-    private char[] values;
-    // TODO: implement Char Array Klass later.
-    private static final Klass CHAR_ARRAY_KLASS = null;
+import com.avaya.jvm.hotspot.share.memory.ArrayArena;
+import com.avaya.jvm.hotspot.share.utilities.ValueType;
+
+import java.nio.CharBuffer;
+import java.util.Arrays;
+
+public class CharArrayOop extends TypeArrayOop{
+    // the elements are values[offset, offset + length) or buffer, see TypeArrayOop
+    private final char[] values;
+    private final int offset;
+    private final CharBuffer buffer;
+    private static final ArrayKlass CHAR_ARRAY_KLASS = ArrayKlass.forType(ValueType.T_CHAR);
 
     public CharArrayOop(int length){
-        this.values = new char[length];
         this.length = length;
         this.klazz = CHAR_ARRAY_KLASS;
+        this.offset = 0;
+        if (ArrayArena.isOffHeap(length, Character.BYTES)){
+            this.values = null;
+            this.buffer = ArrayArena.allocate(length, Character.BYTES).asCharBuffer();
+        } else {
+            this.values = new char[length];
+            this.buffer = null;
+        }
+    }
+
+    private CharArrayOop(char[] values, int offset, int length, CharBuffer buffer){
+        this.length = length;
+        this.klazz = CHAR_ARRAY_KLASS;
+        this.values = values;
+        this.offset = offset;
+        this.buffer = buffer;
     }
 
     public char get(int index){
         checkBounds(index);
-        return values[index];
+        return values != null ? values[offset + index] : buffer.get(index);
     }
 
     public void set(int index, char value){
         checkBounds(index);
-        values[index] = value;
+        if (values != null){
+            values[offset + index] = value;
+        } else {
+            buffer.put(index, value);
+        }
+    }
+
+    public void fill(int fromIndex, int toIndex, char value){
+        checkRange(fromIndex, toIndex);
+        if (values != null){
+            Arrays.fill(values, offset + fromIndex, offset + toIndex, value);
+        } else {
+            for (int i = fromIndex; i < toIndex; i++){
+                buffer.put(i, value);
+            }
+        }
+    }
+
+    @Override
+    public void copyTo(int srcPos, ArrayOop dest, int destPos, int count){
+        checkCopy(srcPos, dest, destPos, count);
+        CharArrayOop target = (CharArrayOop) dest;
+        if (values != null && target.values != null){
+            System.arraycopy(values, offset + srcPos, target.values, target.offset + destPos, count);
+        } else if (values != null){
+            target.buffer.put(destPos, values, offset + srcPos, count);
+        } else if (target.values != null){
+            buffer.get(srcPos, target.values, target.offset + destPos, count);
+        } else {
+            target.buffer.put(destPos, buffer, srcPos, count);
+        }
+    }
+
+    @Override
+    public CharArrayOop copyOf(int newLength){
+        CharArrayOop copy = new CharArrayOop(newLength);
+        copyTo(0, copy, 0, Math.min(length, newLength));
+        return copy;
+    }
+
+    @Override
+    public CharArrayOop slice(int from, int length){
+        return values != null ? new CharArrayOop(values, offset + from, length, null) : new CharArrayOop(null, 0, length, buffer.slice(from, length));
     }
 }
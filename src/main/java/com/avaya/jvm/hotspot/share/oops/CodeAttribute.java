@@ -1,6 +1,7 @@
 package com.avaya.jvm.hotspot.share.oops;
 
 import com.avaya.jvm.hotspot.share.interpreter.BytecodeStream;
+import com.avaya.jvm.hotspot.share.interpreter.DecodedCode;
 import lombok.Data;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -44,6 +45,8 @@ public class CodeAttribute extends AttributeInfo {
 
     private int codeLength;
     private BytecodeStream code;
+    // what the interpreter executes, filled in when the class is linked
+    private DecodedCode decodedCode;
 
     private int exceptionTableLength;
     private List<ExceptionTableEntry> exceptionTable = new ArrayList<>();
@@ -33,24 +33,14 @@ public class ConstantFieldrefInfo extends ConstantInfo {
         return nameAndTypeInfo.resolveName(cp);
     }
 
-    public ValueType resolveFieldType(ConstantPool cp){
+    public String resolveFieldDescriptor(ConstantPool cp){
         if (!(cp.getEntries().get(nameAndTypeIndex) instanceof ConstantNameAndTypeInfo nameAndTypeInfo)){
             throw new IllegalStateException("NameAndTypeIndex index " + nameAndTypeIndex + " is not ConstantClassInfo");
         }
-        String typeName = nameAndTypeInfo.resolveDescriptor(cp).getField();
-        ValueType type = ValueType.T_ILLEGAL;
-        switch (typeName.charAt(0)){
-            case 'B' -> type = ValueType.T_BYTE;
-            case 'C' -> type = ValueType.T_CHAR;
-            case 'D' -> type = ValueType.T_DOUBLE;
-            case 'F' -> type = ValueType.T_FLOAT;
-            case 'I' -> type = ValueType.T_INT;
-            case 'J' -> type = ValueType.T_LONG;
-            case 'S' -> type = ValueType.T_SHORT;
-            case 'Z' -> type = ValueType.T_BOOLEAN;
-            case 'L' -> type = ValueType.T_OBJECT;
-            case '[' -> type = ValueType.T_ARRAY;
-        }
-        return type;
+        return nameAndTypeInfo.resolveDescriptor(cp).getField();
+    }
+
+    public ValueType resolveFieldType(ConstantPool cp){
+        return ValueType.fromDescriptor(resolveFieldDescriptor(cp));
     }
 }
\ No newline at end of file
@@ -13,6 +13,9 @@ public class ConstantPool {
 
     private List<ConstantInfo> entries;
 
+    // resolved entries, created when the class is linked
+    private ConstantPoolCache cache;
+
     public ConstantPool(){
         this.entries = new ArrayList<>();
         this.entries.add(null);
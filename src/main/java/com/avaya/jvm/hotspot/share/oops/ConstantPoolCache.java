@@ -0,0 +1,46 @@
+package com.avaya.jvm.hotspot.share.oops;
+
+/**
+ * Per-class cache of resolved constant pool entries, indexed like the constant pool.
+ * <p>
+ * Filled lazily by InterpreterRuntime the first time an instruction referencing an entry
+ * runs. Entries are immutable, so a racing thread either sees a complete entry or null,
+ * in which case it resolves the same entry again; resolution has no other side effects,
+ * except that an invokedynamic call site linked twice runs its bootstrap method twice.
+ */
+public class ConstantPoolCache {
+
+    private final ResolvedFieldEntry[] fieldEntries;
+    private final ResolvedMethodEntry[] methodEntries;
+    private final ResolvedIndyEntry[] indyEntries;
+
+    public ConstantPoolCache(int length) {
+        this.fieldEntries = new ResolvedFieldEntry[length];
+        this.methodEntries = new ResolvedMethodEntry[length];
+        this.indyEntries = new ResolvedIndyEntry[length];
+    }
+
+    public ResolvedFieldEntry getFieldEntry(int index){
+        return fieldEntries[index];
+    }
+
+    public void setFieldEntry(int index, ResolvedFieldEntry entry){
+        fieldEntries[index] = entry;
+    }
+
+    public ResolvedMethodEntry getMethodEntry(int index){
+        return methodEntries[index];
+    }
+
+    public void setMethodEntry(int index, ResolvedMethodEntry entry){
+        methodEntries[index] = entry;
+    }
+
+    public ResolvedIndyEntry getIndyEntry(int index){
+        return indyEntries[index];
+    }
+
+    public void setIndyEntry(int index, ResolvedIndyEntry entry){
+        indyEntries[index] = entry;
+    }
+}
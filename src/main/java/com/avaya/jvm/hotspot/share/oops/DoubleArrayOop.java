@@ -1,23 +1,88 @@
 package com.avaya.jvm.hotspot.share.oops;
 
-public class DoubleArrayOop extends ArrayOop{
-    private double[] values;
-    // TODO: implement Double Array Klass later.
-    private static final Klass DOUBLE_ARRAY_KLASS = null;
+import com.avaya.jvm.hotspot.share.memory.ArrayArena;
+import com.avaya.jvm.hotspot.share.utilities.ValueType;
+
+import java.nio.DoubleBuffer;
+import java.util.Arrays;
+
+public class DoubleArrayOop extends TypeArrayOop{
+    // the elements are values[offset, offset + length) or buffer, see TypeArrayOop
+    private final double[] values;
+    private final int offset;
+    private final DoubleBuffer buffer;
+    private static final ArrayKlass DOUBLE_ARRAY_KLASS = ArrayKlass.forType(ValueType.T_DOUBLE);
 
     public DoubleArrayOop(int length){
-        this.values = new double[length];
         this.length = length;
         this.klazz = DOUBLE_ARRAY_KLASS;
+        this.offset = 0;
+        if (ArrayArena.isOffHeap(length, Double.BYTES)){
+            this.values = null;
+            this.buffer = ArrayArena.allocate(length, Double.BYTES).asDoubleBuffer();
+        } else {
+            this.values = new double[length];
+            this.buffer = null;
+        }
+    }
+
+    private DoubleArrayOop(double[] values, int offset, int length, DoubleBuffer buffer){
+        this.length = length;
+        this.klazz = DOUBLE_ARRAY_KLASS;
+        this.values = values;
+        this.offset = offset;
+        this.buffer = buffer;
     }
 
     public double get(int index){
         checkBounds(index);
-        return values[index];
+        return values != null ? values[offset + index] : buffer.get(index);
     }
 
     public void set(int index, double value){
         checkBounds(index);
-        values[index] = value;
+        if (values != null){
+            values[offset + index] = value;
+        } else {
+            buffer.put(index, value);
+        }
+    }
+
+    public void fill(int fromIndex, int toIndex, double value){
+        checkRange(fromIndex, toIndex);
+        if (values != null){
+            Arrays.fill(values, offset + fromIndex, offset + toIndex, value);
+        } else {
+            for (int i = fromIndex; i < toIndex; i++){
+                buffer.put(i, value);
+            }
+        }
+    }
+
+    @Override
+    public void copyTo(int srcPos, ArrayOop dest, int destPos, int count){
+        checkCopy(srcPos, dest, destPos, count);
+        DoubleArrayOop target = (DoubleArrayOop) dest;
+        if (values != null && target.values != null){
+            System.arraycopy(values, offset + srcPos, target.values, target.offset + destPos, count);
+        } else if (values != null){
+            target.buffer.put(destPos, values, offset + srcPos, count);
+        } else if (target.values != null){
+            buffer.get(srcPos, target.values, target.offset + destPos, count);
+        } else {
+            target.buffer.put(destPos, buffer, srcPos, count);
+        }
+    }
+
+    @Override
+    public DoubleArrayOop copyOf(int newLength){
+        DoubleArrayOop copy = new DoubleArrayOop(newLength);
+        copyTo(0, copy, 0, Math.min(length, newLength));
+        return copy;
+    }
+
+    @Override
+    public DoubleArrayOop slice(int from, int length){
+        return values != null ? new DoubleArrayOop(values, offset + from, length, null) : new DoubleArrayOop(null, 0, length, buffer.slice(from, length));
     }
 }
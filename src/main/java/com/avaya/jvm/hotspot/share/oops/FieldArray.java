@@ -1,164 +1,100 @@
 package com.avaya.jvm.hotspot.share.oops;
 
 import com.avaya.jvm.hotspot.share.runtime.OperandStack;
-import com.avaya.jvm.hotspot.share.utilities.FieldAccessFlags;
-import com.avaya.jvm.hotspot.share.utilities.TmpValue;
 import com.avaya.jvm.hotspot.share.utilities.ValueType;
-import lombok.Data;
+import lombok.Getter;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 
-@Data
+/**
+ * The static field values of a class, kept as an object keeps its instance fields:
+ * primitive words and references, at the offsets their {@link FieldLayout} gives.
+ * <p>
+ * The static methods read and write one field of such storage, for this class and for
+ * {@link InstanceOop}. On the operand stack and in these methods, a primitive value is
+ * the raw long kept in a stack slot: an int for the narrow types and int, the raw bits
+ * of a float or double.
+ * <p>
+ * Byte, boolean, char and short fields share int words. A store into one of them
+ * replaces its bits of the word with a CAS, so threads writing neighbouring narrow fields
+ * do not lose each other's stores (JLS 17.6 forbids word tearing).
+ */
+@Getter
 public class FieldArray {
 
-    private List<FieldSlot> fieldArray;
+    private static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(int[].class);
 
-    public FieldArray(InstanceKlass klass, boolean isStatic) {
-        this.fieldArray = new ArrayList<>();
+    private final int[] primitives;
+    private final Object[] references;
 
-        List<FieldInfo> fieldList = klass.getFields();
-        ConstantPool constantPool = klass.getConstantPool();
-        int index = 0;
+    public FieldArray(FieldLayout layout) {
+        this.primitives = layout.newPrimitives();
+        this.references = layout.newReferences();
+    }
 
-        if (fieldList == null){
-//            fieldArray = null;
-            return;
-        }
+    // from fields to operand stack
+    public void getValue(ValueType type, int offset, OperandStack stack){
+        getValue(primitives, references, type, offset, stack);
+    }
 
-        for (FieldInfo entry : fieldList){
-            if (FieldAccessFlags.isStatic(entry.getAccessFlags())){
-                String name = entry.resolveName(constantPool);
-                ValueType type = resolveDescriptor(entry.resolveDescriptorName(constantPool));
-                FieldSlot slot = klass.getStaticFields().getFieldArray().get(index);
-                slot.setName(name);
-                slot.setType(type);
-                if (type == ValueType.T_DOUBLE || type == ValueType.T_LONG) {
-                    index += 2;
-                } else {
-                    index++;
-                }
-            }
-        }
+    // from operand stack to fields
+    public void setValue(ValueType type, int offset, OperandStack stack){
+        setValue(primitives, references, type, offset, stack);
     }
 
-    private ValueType resolveDescriptor(String descriptorName){
-        ValueType type = ValueType.T_ILLEGAL;
-        switch (descriptorName.charAt(0)){
-            case 'B' -> type = ValueType.T_BYTE;
-            case 'C' -> type = ValueType.T_CHAR;
-            case 'D' -> type = ValueType.T_DOUBLE;
-            case 'F' -> type = ValueType.T_FLOAT;
-            case 'I' -> type = ValueType.T_INT;
-            case 'J' -> type = ValueType.T_LONG;
-            case 'S' -> type = ValueType.T_SHORT;
-            case 'Z' -> type = ValueType.T_BOOLEAN;
-            case 'L' -> type = ValueType.T_OBJECT;
-            case '[' -> type = ValueType.T_ARRAY;
+    static void getValue(int[] primitives, Object[] references, ValueType type, int offset, OperandStack stack){
+        switch (type){
+            case T_OBJECT, T_ARRAY -> stack.pushRef(references[offset]);
+            case T_LONG, T_DOUBLE -> stack.pushLong(getRaw(primitives, type, offset));
+            default -> stack.pushInt((int) getRaw(primitives, type, offset));
         }
-        return type;
     }
 
-    // from fields to operand stack
-    public void getValue(String name, OperandStack stack){
-        for (int i = 0; i < fieldArray.size(); i++){
-            FieldSlot entry = fieldArray.get(i);
-            if (entry.getName().equals(name)){
-                switch (entry.getType()){
-                    case T_BOOLEAN, T_BYTE, T_CHAR, T_SHORT, T_INT -> stack.pushInt(entry.getNum());
-                    case T_LONG -> {
-                        int high = entry.getNum();
-                        int low = fieldArray.get(++i).getNum();
-                        stack.pushLong(((long) high << 32) | ((long) low & 0xFFFFFFFFL));
-                    }
-                    case T_FLOAT -> stack.pushFloat(Float.intBitsToFloat(entry.getNum()));
-                    case T_DOUBLE -> {
-                        int high = entry.getNum();
-                        int low = fieldArray.get(++i).getNum();
-                        long bits = ((long) high << 32) | ((long) low & 0xFFFFFFFFL);
-                        stack.pushDouble(Double.longBitsToDouble(bits));
-                    }
-                    case T_OBJECT, T_ARRAY -> stack.pushRef(entry.getRef());
-                }
-            }
+    static void setValue(int[] primitives, Object[] references, ValueType type, int offset, OperandStack stack){
+        switch (type){
+            case T_OBJECT, T_ARRAY -> references[offset] = stack.popRef();
+            default -> putRaw(primitives, type, offset, popRaw(type, stack));
         }
     }
 
-    // from operand stack to fields
-    public void setValue(String name, ValueType type, OperandStack stack){
-        boolean notFound = true;
-        for (int i = 0; i < fieldArray.size(); i++){
-            FieldSlot entry = fieldArray.get(i);
-            if (entry.getName().equals(name)){
-                notFound = false;
-                switch (entry.getType()){
-                    case T_BOOLEAN, T_BYTE, T_CHAR, T_SHORT, T_INT -> entry.setNum(stack.popInt());
-                    case T_LONG -> {
-                        long num = stack.popLong();
-                        entry.setNum((int) (num & 0xFFFFFFFFL));
-                        fieldArray.get(++i).setNum((int) (num >>> 32));
-                    }
-                    case T_FLOAT -> {
-                        float num = stack.popFloat();
-                       entry.setNum(Float.floatToRawIntBits(num));
-                    }
-                    case T_DOUBLE -> {
-                        long bits = Double.doubleToLongBits(stack.popDouble());
-                        entry.setNum((int) (bits & 0xFFFFFFFFL));
-                        fieldArray.get(++i).setNum((int) (bits >>> 32));
-                    }
-                    case T_OBJECT, T_ARRAY -> entry.setRef(stack.popRef());
-                }
-            }
-        }
-        // add a new field to the Oop
-        if (notFound){
-            FieldSlot entry = new FieldSlot(name, type);
-            fieldArray.add(entry);
-            switch (type){
-                case T_BOOLEAN, T_BYTE, T_CHAR, T_SHORT, T_INT -> entry.setNum(stack.popInt());
-                case T_LONG -> {
-                    long num = stack.popLong();
-                    entry.setNum((int) (num & 0xFFFFFFFFL));
-                    FieldSlot tmpEntry = new FieldSlot();
-                    tmpEntry.setNum((int) (num >>> 32));
-                    fieldArray.add(tmpEntry);
-                }
-                case T_FLOAT -> {
-                    float num = stack.popFloat();
-                    entry.setNum(Float.floatToRawIntBits(num));
-                }
-                case T_DOUBLE -> {
-                    long bits = Double.doubleToLongBits(stack.popDouble());
-                    entry.setNum((int) (bits & 0xFFFFFFFFL));
-                    FieldSlot tmpEntry = new FieldSlot();
-                    tmpEntry.setNum((int) (bits >>> 32));
-                    fieldArray.add(tmpEntry);
-                }
-                case T_OBJECT, T_ARRAY -> entry.setRef(stack.popRef());
-            }
+    static long popRaw(ValueType type, OperandStack stack){
+        return type == ValueType.T_LONG || type == ValueType.T_DOUBLE ? stack.popLong() : stack.popInt();
+    }
 
-        }
+    static long getRaw(int[] primitives, ValueType type, int offset){
+        int word = offset >> 2;
+        int shift = (offset & 3) << 3;
+        return switch (type){
+            case T_BYTE, T_BOOLEAN -> (byte) (primitives[word] >>> shift);
+            case T_CHAR -> (char) (primitives[word] >>> shift);
+            case T_SHORT -> (short) (primitives[word] >>> shift);
+            case T_LONG, T_DOUBLE -> (primitives[word] & 0xFFFFFFFFL) | (long) primitives[word + 1] << 32;
+            default -> primitives[word];
+        };
     }
 
-    public static void oopSetValue(String name, ValueType type, OperandStack stack){
-        TmpValue tmp = new TmpValue();
-        switch (type){
-            case T_BOOLEAN, T_BYTE, T_CHAR, T_SHORT, T_INT -> tmp.setI(stack.popInt());
-            case T_LONG -> tmp.setJ(stack.popLong());
-            case T_FLOAT -> tmp.setF(stack.popFloat());
-            case T_DOUBLE -> tmp.setD(stack.popDouble());
-            case T_OBJECT, T_ARRAY -> tmp.setL(stack.popRef());
-        }
-        InstanceOop oop = (InstanceOop) stack.popRef();
+    // a value too wide for the field is narrowed as PUTFIELD does, a boolean to its lowest bit
+    static void putRaw(int[] primitives, ValueType type, int offset, long value){
+        int word = offset >> 2;
+        int shift = (offset & 3) << 3;
         switch (type){
-            case T_BOOLEAN, T_BYTE, T_CHAR, T_SHORT, T_INT -> stack.pushInt(tmp.getI());
-            case T_LONG -> stack.pushLong(tmp.getJ());
-            case T_FLOAT -> stack.pushFloat(tmp.getF());
-            case T_DOUBLE -> stack.pushDouble(tmp.getD());
-            case T_OBJECT, T_ARRAY -> stack.pushRef(tmp.getL());
+            case T_BYTE -> putBits(primitives, word, 0xFF << shift, ((int) value & 0xFF) << shift);
+            case T_BOOLEAN -> putBits(primitives, word, 0xFF << shift, ((int) value & 1) << shift);
+            case T_CHAR, T_SHORT -> putBits(primitives, word, 0xFFFF << shift, ((int) value & 0xFFFF) << shift);
+            case T_LONG, T_DOUBLE -> {
+                primitives[word] = (int) value;
+                primitives[word + 1] = (int) (value >>> 32);
+            }
+            default -> primitives[word] = (int) value;
         }
+    }
 
-        oop.getOopFields().setValue(name, type, stack);
+    // replace the bits of {@code mask} in a shared word, leaving those of the other fields as they are
+    private static void putBits(int[] primitives, int word, int mask, int bits){
+        int current;
+        do {
+            current = primitives[word];
+        } while (!WORDS.compareAndSet(primitives, word, current, current & ~mask | bits));
     }
 }
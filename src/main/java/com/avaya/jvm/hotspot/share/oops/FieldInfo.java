@@ -1,6 +1,10 @@
 package com.avaya.jvm.hotspot.share.oops;
 
+import com.avaya.jvm.hotspot.share.utilities.FieldAccessFlags;
+import com.avaya.jvm.hotspot.share.utilities.ValueType;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 import java.util.List;
 
@@ -12,6 +16,18 @@ public class FieldInfo {
     private int attributesCount;
     List<AttributeInfo> attributes;
 
+    // the declaring class, excluded from equals/hashCode/toString as it points back to us
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private InstanceKlass holder;
+
+    // offset in the fields of an object (instance field) or of the holder (static field), set by FieldLayout
+    private int offset = -1;
+
+    public boolean isStatic(){
+        return FieldAccessFlags.isStatic(accessFlags);
+    }
+
     public String resolveName(ConstantPool constantPool){
         Object entry = constantPool.getEntries().get(nameIndex);
         if (!(entry instanceof ConstantUtf8Info)) {
@@ -30,6 +46,15 @@ public class FieldInfo {
         return utf8Info.getValue();
     }
 
+    public ValueType resolveType(ConstantPool constantPool){
+        return ValueType.fromDescriptor(resolveDescriptorName(constantPool));
+    }
+
+    public boolean matches(String name, String descriptor){
+        ConstantPool constantPool = holder.getConstantPool();
+        return resolveName(constantPool).equals(name) && resolveDescriptorName(constantPool).equals(descriptor);
+    }
+
     public Descriptor resolveDescriptor(ConstantPool constantPool){
         String descriptorName = resolveDescriptorName(constantPool);
         return new Descriptor(descriptorName);
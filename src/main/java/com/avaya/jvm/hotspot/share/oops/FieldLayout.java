@@ -0,0 +1,149 @@
+package com.avaya.jvm.hotspot.share.oops;
+
+import com.avaya.jvm.hotspot.share.utilities.ValueType;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The layout of the fields of a class, computed when the class is linked.
+ * <p>
+ * Reference fields are numbered in the object's reference array. Primitive fields get a
+ * byte offset in its primitive words, an int[] with 4 bytes to a word: a long or double
+ * takes two words, an int or float one, and narrower fields are packed together, two
+ * chars or shorts, or four bytes or booleans to a word. As in HotSpot, the fields of a
+ * class are placed by size, the largest first, after those of the superclass, so an
+ * inherited field has the same offset in every subclass and GETFIELD/PUTFIELD resolve to a
+ * fixed offset. Narrow fields first fill the rest of the superclass's last word.
+ * <p>
+ * Static fields are laid out the same way, in the {@link FieldArray} of the declaring
+ * class. JRE superclasses contribute no fields.
+ * All fields are final, so a layout can be shared between threads without locking.
+ */
+@Getter
+public class FieldLayout {
+
+    public static final FieldLayout EMPTY = new FieldLayout(new ValueType[0], new int[0], 0, 0);
+
+    private static final int[] NO_PRIMITIVES = new int[0];
+    private static final Object[] NO_REFERENCES = new Object[0];
+
+    // field index -> type and offset, inherited fields first
+    private final ValueType[] types;
+    private final int[] offsets;
+    private final int primitiveBytes;
+    private final int referenceCount;
+
+    private FieldLayout(ValueType[] types, int[] offsets, int primitiveBytes, int referenceCount) {
+        this.types = types;
+        this.offsets = offsets;
+        this.primitiveBytes = primitiveBytes;
+        this.referenceCount = referenceCount;
+    }
+
+    public static void build(InstanceKlass klass){
+        ConstantPool cp = klass.getConstantPool();
+        InstanceKlass superKlass = (InstanceKlass) klass.getSuperKlass();
+        FieldLayout superLayout = superKlass != null ? superKlass.getInstanceLayout() : EMPTY;
+        List<FieldInfo> instanceFields = new ArrayList<>();
+        List<FieldInfo> staticFields = new ArrayList<>();
+        for (FieldInfo field : klass.getFields()){
+            (field.isStatic() ? staticFields : instanceFields).add(field);
+        }
+        FieldLayout instanceLayout = of(superLayout, typesOf(instanceFields, cp));
+        for (int i = 0; i < instanceFields.size(); i++){
+            instanceFields.get(i).setOffset(instanceLayout.offsets[superLayout.types.length + i]);
+        }
+        FieldLayout staticLayout = of(EMPTY, typesOf(staticFields, cp));
+        for (int i = 0; i < staticFields.size(); i++){
+            staticFields.get(i).setOffset(staticLayout.offsets[i]);
+        }
+        klass.setInstanceLayout(instanceLayout);
+        klass.setStaticFields(new FieldArray(staticLayout));
+    }
+
+    /**
+     * The layout of {@code superLayout} followed by fields of the types {@code declared}.
+     */
+    public static FieldLayout of(FieldLayout superLayout, ValueType[] declared){
+        int inherited = superLayout.types.length;
+        ValueType[] types = Arrays.copyOf(superLayout.types, inherited + declared.length);
+        System.arraycopy(declared, 0, types, inherited, declared.length);
+        int[] offsets = Arrays.copyOf(superLayout.offsets, types.length);
+        boolean[] placed = new boolean[declared.length];
+
+        int references = superLayout.referenceCount;
+        for (int i = 0; i < declared.length; i++){
+            if (size(declared[i]) == 0){
+                offsets[inherited + i] = references++;
+                placed[i] = true;
+            }
+        }
+
+        int end = superLayout.primitiveBytes;
+        // the rest of the last word of the superclass, the largest narrow field that fits first
+        int boundary = (end + 3) & ~3;
+        while (end < boundary){
+            int best = -1;
+            for (int i = 0; i < declared.length; i++){
+                int size = size(declared[i]);
+                if (!placed[i] && size < 4 && end % size == 0 && end + size <= boundary
+                        && (best < 0 || size > size(declared[best]))){
+                    best = i;
+                }
+            }
+            if (best < 0){
+                break;
+            }
+            offsets[inherited + best] = end;
+            end += size(declared[best]);
+            placed[best] = true;
+        }
+        for (int size = 8; size >= 1; size >>= 1){
+            for (int i = 0; i < declared.length; i++){
+                if (!placed[i] && size(declared[i]) == size){
+                    // a long or double only has to start a word
+                    int align = Math.min(size, 4);
+                    end = (end + align - 1) & -align;
+                    offsets[inherited + i] = end;
+                    end += size;
+                }
+            }
+        }
+        return new FieldLayout(types, offsets, end, references);
+    }
+
+    public int getPrimitiveWords(){
+        return (primitiveBytes + 3) >> 2;
+    }
+
+    // the storage of the fields, all at their default value; empty arrays are shared
+    int[] newPrimitives(){
+        return primitiveBytes == 0 ? NO_PRIMITIVES : new int[getPrimitiveWords()];
+    }
+
+    Object[] newReferences(){
+        return referenceCount == 0 ? NO_REFERENCES : new Object[referenceCount];
+    }
+
+    // bytes a field takes in the primitive words, 0 for a reference
+    private static int size(ValueType type){
+        return switch (type) {
+            case T_LONG, T_DOUBLE -> 8;
+            case T_INT, T_FLOAT -> 4;
+            case T_CHAR, T_SHORT -> 2;
+            case T_BYTE, T_BOOLEAN -> 1;
+            default -> 0;
+        };
+    }
+
+    private static ValueType[] typesOf(List<FieldInfo> fields, ConstantPool cp){
+        ValueType[] types = new ValueType[fields.size()];
+        for (int i = 0; i < types.length; i++){
+            types[i] = fields.get(i).resolveType(cp);
+        }
+        return types;
+    }
+}
@@ -1,23 +1,88 @@
 package com.avaya.jvm.hotspot.share.oops;
 
-public class FloatArrayOop extends ArrayOop{
-    private float[] values;
-    // TODO: implement Float Array Klass later.
-    private static final Klass FLOAT_ARRAY_KLASS = null;
+import com.avaya.jvm.hotspot.share.memory.ArrayArena;
+import com.avaya.jvm.hotspot.share.utilities.ValueType;
+
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+
+public class FloatArrayOop extends TypeArrayOop{
+    // the elements are values[offset, offset + length) or buffer, see TypeArrayOop
+    private final float[] values;
+    private final int offset;
+    private final FloatBuffer buffer;
+    private static final ArrayKlass FLOAT_ARRAY_KLASS = ArrayKlass.forType(ValueType.T_FLOAT);
 
     public FloatArrayOop(int length){
-        this.values = new float[length];
         this.length = length;
         this.klazz = FLOAT_ARRAY_KLASS;
+        this.offset = 0;
+        if (ArrayArena.isOffHeap(length, Float.BYTES)){
+            this.values = null;
+            this.buffer = ArrayArena.allocate(length, Float.BYTES).asFloatBuffer();
+        } else {
+            this.values = new float[length];
+            this.buffer = null;
+        }
+    }
+
+    private FloatArrayOop(float[] values, int offset, int length, FloatBuffer buffer){
+        this.length = length;
+        this.klazz = FLOAT_ARRAY_KLASS;
+        this.values = values;
+        this.offset = offset;
+        this.buffer = buffer;
     }
 
     public float get(int index){
         checkBounds(index);
-        return values[index];
+        return values != null ? values[offset + index] : buffer.get(index);
     }
 
     public void set(int index, float value){
         checkBounds(index);
-        values[index] = value;
+        if (values != null){
+            values[offset + index] = value;
+        } else {
+            buffer.put(index, value);
+        }
+    }
+
+    public void fill(int fromIndex, int toIndex, float value){
+        checkRange(fromIndex, toIndex);
+        if (values != null){
+            Arrays.fill(values, offset + fromIndex, offset + toIndex, value);
+        } else {
+            for (int i = fromIndex; i < toIndex; i++){
+                buffer.put(i, value);
+            }
+        }
+    }
+
+    @Override
+    public void copyTo(int srcPos, ArrayOop dest, int destPos, int count){
+        checkCopy(srcPos, dest, destPos, count);
+        FloatArrayOop target = (FloatArrayOop) dest;
+        if (values != null && target.values != null){
+            System.arraycopy(values, offset + srcPos, target.values, target.offset + destPos, count);
+        } else if (values != null){
+            target.buffer.put(destPos, values, offset + srcPos, count);
+        } else if (target.values != null){
+            buffer.get(srcPos, target.values, target.offset + destPos, count);
+        } else {
+            target.buffer.put(destPos, buffer, srcPos, count);
+        }
+    }
+
+    @Override
+    public FloatArrayOop copyOf(int newLength){
+        FloatArrayOop copy = new FloatArrayOop(newLength);
+        copyTo(0, copy, 0, Math.min(length, newLength));
+        return copy;
+    }
+
+    @Override
+    public FloatArrayOop slice(int from, int length){
+        return values != null ? new FloatArrayOop(values, offset + from, length, null) : new FloatArrayOop(null, 0, length, buffer.slice(from, length));
     }
 }
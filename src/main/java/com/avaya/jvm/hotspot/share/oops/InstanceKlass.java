@@ -1,8 +1,15 @@
 package com.avaya.jvm.hotspot.share.oops;
 
+import com.avaya.jvm.hotspot.share.classfile.BootClassLoader;
+import com.avaya.jvm.hotspot.share.utilities.ClassAccessFlags;
+import com.avaya.jvm.hotspot.share.utilities.ValueType;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
+import java.io.IOException;
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.List;
 
 @Data
@@ -26,16 +33,192 @@ public class InstanceKlass extends Klass{
     private List<FieldInfo> fields;
     private FieldArray staticFields;
 
+    // the instance fields, inherited ones first
+    private FieldLayout instanceLayout = FieldLayout.EMPTY;
+
     private int methodsCount;
     private List<MethodInfo> methods;
 
     private int attributesCount;
     private List<AttributeInfo> attributes;
 
+    // guest interfaces implemented or extended, directly or not; JRE interfaces are not tracked
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private InstanceKlass[] transitiveInterfaces = new InstanceKlass[0];
+
+    // implements java/lang/Cloneable, directly or not, so Object.clone may copy its objects
+    private boolean cloneable;
+
+    // for an interface, how many of its methods are numbered for INVOKEINTERFACE
+    private int itableMethodCount;
+
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private KlassItable.Entry[] itable = new KlassItable.Entry[0];
+
+    private boolean linked;
+
     public InstanceKlass(){
         constantPool = new ConstantPool();
     }
 
+    /**
+     * Link the class: load and link the superclass and interfaces, lay out the fields,
+     * build the vtable and itable, build the entry of every method (decoding its body into the form the interpreter executes), and create the cache its constant pool
+     * entries are resolved into.
+     * Called once by the class loader, repeated calls do nothing.
+     */
+    public synchronized void link() throws IOException {
+        if (linked){
+            return;
+        }
+        name = ((ConstantClassInfo) constantPool.getEntries().get(this_class)).resolveName(constantPool);
+        String superName = ((ConstantClassInfo) constantPool.getEntries().get(super_class)).resolveName(constantPool);
+        if (!superName.startsWith("java")){
+            superKlass = BootClassLoader.loadKlass(superName.replace('/', '.'));
+        }
+        transitiveInterfaces = loadInterfaces();
+        if (isInterface()){
+            itableMethodCount = KlassItable.numberInterfaceMethods(this);
+        }
+        FieldLayout.build(this);
+        vtable = KlassVtable.build(this);
+        itable = KlassItable.build(this);
+        constantPool.setCache(new ConstantPoolCache(constantPool.getEntries().size()));
+        for (MethodInfo method : methods){
+            method.setEntry(MethodEntry.build(method));
+        }
+        linked = true;
+    }
+
+    private InstanceKlass[] loadInterfaces() throws IOException {
+        List<InstanceKlass> result = new ArrayList<>();
+        if (superKlass != null){
+            addInterfaces(result, ((InstanceKlass) superKlass).getTransitiveInterfaces());
+            cloneable = ((InstanceKlass) superKlass).isCloneable();
+        }
+        for (int index : interfaces){
+            String interfaceName = ((ConstantClassInfo) constantPool.getEntries().get(index)).resolveName(constantPool);
+            if (interfaceName.startsWith("java")){
+                cloneable |= interfaceName.equals("java/lang/Cloneable");
+                continue;
+            }
+            InstanceKlass interfaceKlass = BootClassLoader.loadKlass(interfaceName.replace('/', '.'));
+            cloneable |= interfaceKlass.isCloneable();
+            addInterfaces(result, interfaceKlass);
+            addInterfaces(result, interfaceKlass.getTransitiveInterfaces());
+        }
+        return result.toArray(new InstanceKlass[0]);
+    }
+
+    // compared by identity, InstanceKlass.equals compares the whole class file
+    private static void addInterfaces(List<InstanceKlass> list, InstanceKlass... interfaceKlasses){
+        for (InstanceKlass interfaceKlass : interfaceKlasses){
+            boolean present = false;
+            for (InstanceKlass k : list){
+                present |= k == interfaceKlass;
+            }
+            if (!present){
+                list.add(interfaceKlass);
+            }
+        }
+    }
+
+    public boolean isInterface(){
+        return ClassAccessFlags.isInterface(accessFlags);
+    }
+
+    public boolean isSubinterfaceOf(InstanceKlass interfaceKlass){
+        if (this == interfaceKlass){
+            return true;
+        }
+        for (InstanceKlass k : transitiveInterfaces){
+            if (k == interfaceKlass){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Select the implementation of interface method number {@code itableIndex} of
+     * {@code interfaceKlass} for this class. Returns null if the class does not implement
+     * the interface or the method has no implementation.
+     */
+    public MethodInfo itableLookup(InstanceKlass interfaceKlass, int itableIndex){
+        for (KlassItable.Entry entry : itable){
+            if (entry.getInterfaceKlass() == interfaceKlass){
+                return entry.getMethods()[itableIndex];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Find a field by name and descriptor (JVMS 5.4.3.2): in this class, then its
+     * superinterfaces, then its superclasses. Returns null if there is none.
+     */
+    public FieldInfo findField(String fieldName, String descriptor){
+        for (InstanceKlass klass = this; klass != null; klass = (InstanceKlass) klass.getSuperKlass()){
+            for (FieldInfo field : klass.getFields()){
+                if (field.matches(fieldName, descriptor)){
+                    return field;
+                }
+            }
+            for (InstanceKlass interfaceKlass : klass.getTransitiveInterfaces()){
+                for (FieldInfo field : interfaceKlass.getFields()){
+                    if (field.matches(fieldName, descriptor)){
+                        return field;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Select the method run for a receiver of this class when {@code resolved} is invoked
+     * (JVMS 5.4.6): through the vtable, the itable, or {@code resolved} itself if it is not
+     * dispatched virtually.
+     */
+    public MethodInfo selectMethod(MethodInfo resolved){
+        if (resolved.getVtableIndex() >= 0){
+            return vtable[resolved.getVtableIndex()];
+        }
+        if (resolved.getItableIndex() >= 0){
+            MethodInfo selected = itableLookup(resolved.getHolder(), resolved.getItableIndex());
+            if (selected == null){
+                throw new AbstractMethodError(name + "." + resolved.getName() + resolved.getDescriptor().getRaw());
+            }
+            return selected;
+        }
+        return resolved;
+    }
+
+    /**
+     * Find a method by name and descriptor in this class or its superclasses, then in its
+     * superinterfaces, as method resolution does (JVMS 5.4.3.3 and 5.4.3.4).
+     * Returns null if none is found.
+     */
+    public MethodInfo findMethod(String methodName, String descriptor){
+        for (Klass k = this; k != null; k = k.getSuperKlass()){
+            for (MethodInfo method : ((InstanceKlass) k).getMethods()){
+                if (method.matches(methodName, descriptor)){
+                    return method;
+                }
+            }
+        }
+        for (InstanceKlass interfaceKlass : transitiveInterfaces){
+            for (MethodInfo method : interfaceKlass.getMethods()){
+                if (method.matches(methodName, descriptor)){
+                    return method;
+                }
+            }
+        }
+        return null;
+    }
+
     public static void printKlass(InstanceKlass klass){
 
         System.out.printf("Magic: 0x%08X\n", klass.getMagic());
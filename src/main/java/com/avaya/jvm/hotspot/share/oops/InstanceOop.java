@@ -1,22 +1,67 @@
 package com.avaya.jvm.hotspot.share.oops;
 
 import com.avaya.jvm.hotspot.share.classfile.BootClassLoader;
-import lombok.Data;
+import com.avaya.jvm.hotspot.share.runtime.OperandStack;
+import com.avaya.jvm.hotspot.share.utilities.ValueType;
+import lombok.Getter;
 
 import java.io.IOException;
 
-@Data
+/**
+ * An object of a guest class. Its fields are two arrays laid out by the class's
+ * {@link FieldLayout}: the primitive fields packed into int words, and the references.
+ */
+@Getter
 public class InstanceOop extends OopDesc{
 
-    private final FieldArray oopFields;
+    private final int[] primitives;
+    private final Object[] references;
 
     public InstanceOop(String className) throws IOException {
-        this.klazz = BootClassLoader.loadKlass(className.replace('/', '.'));
-        this.oopFields = new FieldArray((InstanceKlass)this.klazz, false);
-        this.markWord = new MarkWord();
+        this(BootClassLoader.loadKlass(className.replace('/', '.')));
+    }
+
+    public InstanceOop(InstanceKlass klass) {
+        this.klazz = klass;
+        FieldLayout layout = klass.getInstanceLayout();
+        this.primitives = layout.newPrimitives();
+        this.references = layout.newReferences();
+    }
+
+    // Object.clone: a shallow copy of the fields, with the mark word of a new object
+    public InstanceOop shallowCopy(){
+        InstanceOop copy = new InstanceOop(getKlass());
+        System.arraycopy(primitives, 0, copy.primitives, 0, primitives.length);
+        System.arraycopy(references, 0, copy.references, 0, references.length);
+        return copy;
     }
 
     public InstanceKlass getKlass(){
         return (InstanceKlass) this.klazz;
     }
+
+    // GETFIELD: from the field to the operand stack
+    public void getField(ValueType type, int offset, OperandStack stack){
+        FieldArray.getValue(primitives, references, type, offset, stack);
+    }
+
+    public void setField(ValueType type, int offset, OperandStack stack){
+        FieldArray.setValue(primitives, references, type, offset, stack);
+    }
+
+    // the value of a field as an operand stack slot holds it, 0 for a reference
+    public long getRawField(ValueType type, int offset){
+        return type == ValueType.T_OBJECT || type == ValueType.T_ARRAY ? 0 : FieldArray.getRaw(primitives, type, offset);
+    }
+
+    // PUTFIELD: the value is on top of the object, so pop it before the object is known
+    public static void putField(ValueType type, int offset, OperandStack stack){
+        if (type == ValueType.T_OBJECT || type == ValueType.T_ARRAY){
+            Object ref = stack.popRef();
+            ((InstanceOop) stack.popRef()).references[offset] = ref;
+        } else {
+            long value = FieldArray.popRaw(type, stack);
+            FieldArray.putRaw(((InstanceOop) stack.popRef()).primitives, type, offset, value);
+        }
+    }
 }
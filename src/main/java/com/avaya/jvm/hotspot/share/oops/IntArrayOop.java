@@ -1,23 +1,88 @@
 package com.avaya.jvm.hotspot.share.oops;
 
-public class IntArrayOop extends ArrayOop{
-    private int[] values;
-    // TODO: implement Int Array Klass later.
-    private static final Klass INT_ARRAY_KLASS = null;
+import com.avaya.jvm.hotspot.share.memory.ArrayArena;
+import com.avaya.jvm.hotspot.share.utilities.ValueType;
+
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+public class IntArrayOop extends TypeArrayOop{
+    // the elements are values[offset, offset + length) or buffer, see TypeArrayOop
+    private final int[] values;
+    private final int offset;
+    private final IntBuffer buffer;
+    private static final ArrayKlass INT_ARRAY_KLASS = ArrayKlass.forType(ValueType.T_INT);
 
     public IntArrayOop(int length){
-        this.values = new int[length];
         this.length = length;
         this.klazz = INT_ARRAY_KLASS;
+        this.offset = 0;
+        if (ArrayArena.isOffHeap(length, Integer.BYTES)){
+            this.values = null;
+            this.buffer = ArrayArena.allocate(length, Integer.BYTES).asIntBuffer();
+        } else {
+            this.values = new int[length];
+            this.buffer = null;
+        }
+    }
+
+    private IntArrayOop(int[] values, int offset, int length, IntBuffer buffer){
+        this.length = length;
+        this.klazz = INT_ARRAY_KLASS;
+        this.values = values;
+        this.offset = offset;
+        this.buffer = buffer;
     }
 
     public int get(int index){
         checkBounds(index);
-        return values[index];
+        return values != null ? values[offset + index] : buffer.get(index);
     }
 
     public void set(int index, int value){
         checkBounds(index);
-        values[index] = value;
+        if (values != null){
+            values[offset + index] = value;
+        } else {
+            buffer.put(index, value);
+        }
+    }
+
+    public void fill(int fromIndex, int toIndex, int value){
+        checkRange(fromIndex, toIndex);
+        if (values != null){
+            Arrays.fill(values, offset + fromIndex, offset + toIndex, value);
+        } else {
+            for (int i = fromIndex; i < toIndex; i++){
+                buffer.put(i, value);
+            }
+        }
+    }
+
+    @Override
+    public void copyTo(int srcPos, ArrayOop dest, int destPos, int count){
+        checkCopy(srcPos, dest, destPos, count);
+        IntArrayOop target = (IntArrayOop) dest;
+        if (values != null && target.values != null){
+            System.arraycopy(values, offset + srcPos, target.values, target.offset + destPos, count);
+        } else if (values != null){
+            target.buffer.put(destPos, values, offset + srcPos, count);
+        } else if (target.values != null){
+            buffer.get(srcPos, target.values, target.offset + destPos, count);
+        } else {
+            target.buffer.put(destPos, buffer, srcPos, count);
+        }
+    }
+
+    @Override
+    public IntArrayOop copyOf(int newLength){
+        IntArrayOop copy = new IntArrayOop(newLength);
+        copyTo(0, copy, 0, Math.min(length, newLength));
+        return copy;
+    }
+
+    @Override
+    public IntArrayOop slice(int from, int length){
+        return values != null ? new IntArrayOop(values, offset + from, length, null) : new IntArrayOop(null, 0, length, buffer.slice(from, length));
     }
 }
@@ -1,5 +1,51 @@
 package com.avaya.jvm.hotspot.share.oops;
 
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Common part of every class known to the VM, filled in when the class is linked.
+ */
+@Getter
+@Setter
 public class Klass {
 
+    // internal name, e.g. com/avaya/jvm/example/HelloWorld
+    protected String name;
+
+    // null when the superclass is a JRE class, e.g. java/lang/Object
+    protected Klass superKlass;
+
+    // virtual methods by vtable index, the superclass's entries come first
+    protected MethodInfo[] vtable = new MethodInfo[0];
+
+    // the host's copy of the class, loaded on first use and never initialized
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private volatile Class<?> mirror;
+
+    /**
+     * The mirror of the class, the {@code Class} object guest code sees, e.g. the lock of a
+     * static synchronized method. It is the host's copy of the class, loaded without
+     * initializing it, so the host never runs the static initializer of a guest class.
+     */
+    public Class<?> getMirror() throws ClassNotFoundException {
+        Class<?> mirror = this.mirror;
+        if (mirror == null){
+            // racing threads load the same Class, the loader keeps one per name
+            mirror = Class.forName(name.replace('/', '.'), false, Klass.class.getClassLoader());
+            this.mirror = mirror;
+        }
+        return mirror;
+    }
+
+    public boolean isSubclassOf(Klass klass){
+        for (Klass k = this; k != null; k = k.superKlass){
+            if (k == klass){
+                return true;
+            }
+        }
+        return false;
+    }
 }
@@ -0,0 +1,99 @@
+package com.avaya.jvm.hotspot.share.oops;
+
+import com.avaya.jvm.hotspot.share.utilities.MemberAccessFlags;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Builds the itable of a class at link time.
+ * <p>
+ * The methods of every interface are numbered once, when the interface is linked.
+ * A class gets one {@link Entry} per interface it implements, directly, through a
+ * superinterface or through a superclass. The entry maps each interface method number
+ * to the method selected for this class (JVMS 5.4.6):
+ * - a non-abstract, non-static, non-private method of the class or one of its
+ *   superclasses, otherwise
+ * - the maximally-specific default method of its interfaces, otherwise
+ * - null, and calling it throws AbstractMethodError.
+ * <p>
+ * INVOKEINTERFACE then costs a search for the interface among the entries plus one
+ * indexed load.
+ */
+public class KlassItable {
+
+    @Getter
+    public static class Entry {
+        private final InstanceKlass interfaceKlass;
+        private final MethodInfo[] methods;
+
+        public Entry(InstanceKlass interfaceKlass, MethodInfo[] methods) {
+            this.interfaceKlass = interfaceKlass;
+            this.methods = methods;
+        }
+    }
+
+    /**
+     * Number the methods of an interface that can be called through INVOKEINTERFACE.
+     * Returns how many there are.
+     */
+    public static int numberInterfaceMethods(InstanceKlass interfaceKlass){
+        int count = 0;
+        for (MethodInfo method : interfaceKlass.getMethods()){
+            if (isInterfaceDispatched(method)){
+                method.setItableIndex(count++);
+            }
+        }
+        return count;
+    }
+
+    public static Entry[] build(InstanceKlass klass){
+        if (klass.isInterface()){
+            return new Entry[0];
+        }
+        List<InstanceKlass> interfaces = List.of(klass.getTransitiveInterfaces());
+        Entry[] itable = new Entry[interfaces.size()];
+        for (int i = 0; i < itable.length; i++){
+            InstanceKlass interfaceKlass = interfaces.get(i);
+            MethodInfo[] methods = new MethodInfo[interfaceKlass.getItableMethodCount()];
+            for (MethodInfo method : interfaceKlass.getMethods()){
+                if (method.getItableIndex() >= 0){
+                    methods[method.getItableIndex()] = selectMethod(klass, method, interfaces);
+                }
+            }
+            itable[i] = new Entry(interfaceKlass, methods);
+        }
+        return itable;
+    }
+
+    private static MethodInfo selectMethod(InstanceKlass klass, MethodInfo interfaceMethod, List<InstanceKlass> interfaces){
+        String name = interfaceMethod.getName();
+        String descriptor = interfaceMethod.getDescriptor().getRaw();
+        for (Klass k = klass; k != null; k = k.getSuperKlass()){
+            for (MethodInfo method : ((InstanceKlass) k).getMethods()){
+                int flags = method.getAccessFlags();
+                if (method.matches(name, descriptor) && !MemberAccessFlags.isStatic(flags)
+                        && !MemberAccessFlags.isPrivate(flags) && !MemberAccessFlags.isAbstract(flags)){
+                    return method;
+                }
+            }
+        }
+        MethodInfo selected = null;
+        for (InstanceKlass interfaceKlass : interfaces){
+            for (MethodInfo method : interfaceKlass.getMethods()){
+                if (method.matches(name, descriptor) && isInterfaceDispatched(method)
+                        && !MemberAccessFlags.isAbstract(method.getAccessFlags())
+                        && (selected == null || interfaceKlass.isSubinterfaceOf(selected.getHolder()))){
+                    selected = method;
+                }
+            }
+        }
+        return selected;
+    }
+
+    private static boolean isInterfaceDispatched(MethodInfo method){
+        int flags = method.getAccessFlags();
+        return !MemberAccessFlags.isStatic(flags) && !MemberAccessFlags.isPrivate(flags)
+                && !method.getName().startsWith("<");
+    }
+}
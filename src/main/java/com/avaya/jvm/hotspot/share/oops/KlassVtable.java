@@ -0,0 +1,102 @@
+package com.avaya.jvm.hotspot.share.oops;
+
+import com.avaya.jvm.hotspot.share.utilities.ClassAccessFlags;
+import com.avaya.jvm.hotspot.share.utilities.MemberAccessFlags;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Builds the vtable of a class at link time.
+ * <p>
+ * The vtable starts as a copy of the superclass's. Each virtual method of the class
+ * either overrides an inherited entry with the same name and descriptor, keeping its
+ * index, or is appended. So a method has the same vtable index in every subclass and
+ * INVOKEVIRTUAL dispatches with a single load from the receiver's vtable.
+ * <p>
+ * Static, private and initialization methods are never dispatched virtually and get no
+ * entry. Interfaces have no vtable of their own. Package-private overriding rules are not
+ * checked, every guest class lives in the same loader anyway.
+ * <p>
+ * Object is a JRE class, but a guest class may override its equals, hashCode and toString,
+ * which guest code also calls through a methodref of Object. So every vtable starts with
+ * them: {@link #OBJECT_METHODS} stand in for Object's own, which have no code and are
+ * called on the host, and an override takes their index as any other.
+ */
+public class KlassVtable {
+
+    private static final MethodInfo[] OBJECT_METHODS = {
+            objectMethod("equals", "(Ljava/lang/Object;)Z", 0),
+            objectMethod("hashCode", "()I", 1),
+            objectMethod("toString", "()Ljava/lang/String;", 2)
+    };
+
+    public static MethodInfo[] build(InstanceKlass klass){
+        Klass superKlass = klass.getSuperKlass();
+        List<MethodInfo> vtable = new ArrayList<>();
+        if (superKlass != null){
+            vtable.addAll(Arrays.asList(superKlass.getVtable()));
+        }
+        if (ClassAccessFlags.isInterface(klass.getAccessFlags())){
+            return vtable.toArray(new MethodInfo[0]);
+        }
+        if (superKlass == null){
+            // the superclass is a JRE class, Object for all this VM knows
+            vtable.addAll(Arrays.asList(OBJECT_METHODS));
+        }
+        for (MethodInfo method : klass.getMethods()){
+            if (!needsVtableEntry(method)){
+                continue;
+            }
+            int index = indexOf(vtable, method);
+            if (index >= 0){
+                vtable.set(index, method);
+            } else {
+                index = vtable.size();
+                vtable.add(method);
+            }
+            method.setVtableIndex(index);
+        }
+        return vtable.toArray(new MethodInfo[0]);
+    }
+
+    /**
+     * The entry of Object's {@code name descriptor} in every vtable, or null if it is not
+     * one a guest class can override.
+     */
+    public static MethodInfo objectMethod(String name, String descriptor){
+        for (MethodInfo method : OBJECT_METHODS){
+            if (method.matches(name, descriptor)){
+                return method;
+            }
+        }
+        return null;
+    }
+
+    private static MethodInfo objectMethod(String name, String descriptor, int vtableIndex){
+        MethodInfo method = new MethodInfo();
+        method.setAccessFlags(0x0001); // ACC_PUBLIC
+        method.setName(name);
+        method.setDescriptor(new Descriptor(descriptor));
+        method.setAttributes(List.of());
+        method.setVtableIndex(vtableIndex);
+        method.setEntry(MethodEntry.build(method));
+        return method;
+    }
+
+    private static boolean needsVtableEntry(MethodInfo method){
+        int flags = method.getAccessFlags();
+        return !MemberAccessFlags.isStatic(flags) && !MemberAccessFlags.isPrivate(flags)
+                && !method.getName().startsWith("<");
+    }
+
+    private static int indexOf(List<MethodInfo> vtable, MethodInfo method){
+        for (int i = 0; i < vtable.size(); i++){
+            if (vtable.get(i).matches(method.getName(), method.getDescriptor().getRaw())){
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,240 @@
+package com.avaya.jvm.hotspot.share.oops;
+
+import com.avaya.jvm.hotspot.share.prims.HostLambda;
+import com.avaya.jvm.hotspot.share.runtime.OperandStack;
+import com.avaya.jvm.hotspot.share.utilities.MemberAccessFlags;
+import com.avaya.jvm.hotspot.share.utilities.ValueType;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The class of the lambda objects created by one INVOKEDYNAMIC of LambdaMetafactory,
+ * when the functional interface is a guest interface or the lambda body is guest code.
+ * It is synthesized by the VM when the call site is linked, instead of spinning a host
+ * class.
+ * <p>
+ * It implements the interface with a single method, which has no code: calling it
+ * through INVOKEVIRTUAL or INVOKEINTERFACE dispatches like any guest call (inline cache,
+ * itable) to this method, and the interpreter then runs {@code implementation}, the
+ * method the lambda body was compiled to, in its place. The captured values are the
+ * instance fields of a lambda object, in the order of the call site's arguments; they
+ * are passed to the implementation ahead of the interface method's own arguments.
+ * <p>
+ * A lambda of a JRE interface, e.g. a Runnable or a Comparator, is passed to JRE code
+ * that only takes host objects, so the lambda object is wrapped into one implementing
+ * {@code hostInterface}, see {@link HostLambda}, which calls the implementation back in
+ * the interpreter. Such a class implements no guest interface. Guest code calling the
+ * interface method on the wrapper runs the implementation directly, as for a guest
+ * interface, when the two take the same slots, see {@code directSignature}.
+ * <p>
+ * A lambda that captures nothing is created once and shared, as on the JDK.
+ */
+@Getter
+public class LambdaKlass extends InstanceKlass {
+
+    private static final AtomicInteger counter = new AtomicInteger();
+
+    private final MethodInfo implementation;
+    // the implementation is an instance method selected by the class of its receiver (REF_invokeVirtual/Interface)
+    private final boolean dispatched;
+    // the implementation is a constructor, whose object the lambda returns (REF_newInvokeSpecial)
+    private final boolean constructor;
+    // the JRE functional interface, null for a guest one
+    private final Class<?> hostInterface;
+    // slots the captured values take on the operand stack
+    private final int capturedSlots;
+    // slots the arguments of the interface method take, without the receiver
+    private final int interfaceArgumentSlots;
+    // name and descriptor of the JRE interface method, if a guest call of it can be unpacked
+    // like that of a guest interface; null if the values need the HostLambda's conversions
+    private final String directSignature;
+    // the lambda object of a lambda that captures nothing, wrapped for a JRE interface
+    private final Object singleton;
+
+    private LambdaKlass(InstanceKlass callerKlass, InstanceKlass[] interfaces, Class<?> hostInterface, String methodName, Descriptor methodDescriptor,
+                        ValueType[] capturedTypes, MethodInfo implementation, boolean dispatched, boolean constructor, boolean direct) {
+        this.implementation = implementation;
+        this.dispatched = dispatched;
+        this.constructor = constructor;
+        this.hostInterface = hostInterface;
+        int slots = 0;
+        for (ValueType type : capturedTypes){
+            slots += ValueType.slots(type);
+        }
+        this.capturedSlots = slots;
+
+        setName(callerKlass.getName() + "$$Lambda$" + counter.incrementAndGet());
+        setAccessFlags(0x1030); // ACC_SYNTHETIC | ACC_SUPER | ACC_FINAL
+        setFields(List.of());
+        setInstanceLayout(FieldLayout.of(FieldLayout.EMPTY, capturedTypes));
+        setStaticFields(new FieldArray(FieldLayout.EMPTY));
+        setAttributes(List.of());
+
+        MethodInfo method = new MethodInfo();
+        method.setHolder(this);
+        method.setAccessFlags(0x0001); // ACC_PUBLIC
+        method.setName(methodName);
+        method.setDescriptor(methodDescriptor);
+        method.setAttributes(List.of());
+        method.setEntry(MethodEntry.build(method));
+        setMethods(List.of(method));
+        this.interfaceArgumentSlots = method.getEntry().getArgumentSlots() - 1;
+        this.directSignature = hostInterface != null && direct ? methodName + methodDescriptor.getRaw() : null;
+
+        setTransitiveInterfaces(interfaces);
+        setVtable(KlassVtable.build(this));
+        setItable(KlassItable.build(this));
+        setLinked(true);
+
+        this.singleton = capturedTypes.length == 0 ? wrap(new InstanceOop(this)) : null;
+    }
+
+    /**
+     * Synthesize the lambda class of a call site, whose interface method is
+     * {@code methodName methodDescriptor}, declared by the interface or inherited, e.g. the
+     * run()V of an interface extending Runnable. If {@code constructor}, the implementation
+     * is the {@code <init>} of a constructor reference, whose new object the lambda returns.
+     * Returns null if the implementation does not take the captured values and the interface
+     * method's arguments slot for slot, or does not return the same kind of value (e.g. it
+     * needs boxing); such a site is left to the host LambdaMetafactory.
+     */
+    public static LambdaKlass create(InstanceKlass callerKlass, InstanceKlass interfaceKlass, String methodName, Descriptor methodDescriptor,
+                                     ValueType[] capturedTypes, MethodInfo implementation, boolean dispatched, boolean constructor){
+        if (!fits(methodDescriptor, capturedTypes, implementation, constructor)){
+            return null;
+        }
+        List<InstanceKlass> interfaces = new ArrayList<>();
+        interfaces.add(interfaceKlass);
+        interfaces.addAll(List.of(interfaceKlass.getTransitiveInterfaces()));
+        return new LambdaKlass(callerKlass, interfaces.toArray(new InstanceKlass[0]), null, methodName, methodDescriptor,
+                capturedTypes, implementation, dispatched, constructor, true);
+    }
+
+    /**
+     * Synthesize the lambda class of a call site whose functional interface is the JRE's
+     * {@code hostInterface}, with the method {@code methodName methodDescriptor}. Its calls
+     * come from the host with boxed values, which are converted to the types the
+     * implementation takes, so the two need not match slot for slot; if they do, calls from
+     * guest code skip the host, see {@link #getDirectSignature}.
+     */
+    public static LambdaKlass createHost(InstanceKlass callerKlass, Class<?> hostInterface, String methodName, Descriptor methodDescriptor,
+                                         ValueType[] capturedTypes, MethodInfo implementation, boolean dispatched, boolean constructor){
+        return new LambdaKlass(callerKlass, new InstanceKlass[0], hostInterface, methodName, methodDescriptor,
+                capturedTypes, implementation, dispatched, constructor, fits(methodDescriptor, capturedTypes, implementation, constructor));
+    }
+
+    // whether the implementation takes the captured values and the interface method's arguments slot
+    // for slot, and returns the same kind of value; a constructor returns the object it initializes
+    private static boolean fits(Descriptor methodDescriptor, ValueType[] capturedTypes, MethodInfo implementation, boolean constructor){
+        MethodEntry implementationEntry = implementation.getEntry();
+        List<ValueType> passed = new ArrayList<>(List.of(capturedTypes));
+        for (String parameter : methodDescriptor.parseDescriptor()){
+            passed.add(ValueType.fromDescriptor(parameter));
+        }
+        List<ValueType> taken = new ArrayList<>();
+        if (!MemberAccessFlags.isStatic(implementation.getAccessFlags()) && !constructor){
+            // the receiver of an instance method is the first value passed
+            taken.add(ValueType.T_OBJECT);
+        }
+        taken.addAll(List.of(implementationEntry.getArgumentTypes()));
+        ValueType returned = constructor ? ValueType.T_OBJECT : implementationEntry.getReturnType();
+        if (passed.size() != taken.size()
+                || slotKind(ValueType.fromDescriptor(methodDescriptor.getReturnType())) != slotKind(returned)){
+            return false;
+        }
+        for (int i = 0; i < passed.size(); i++){
+            if (slotKind(passed.get(i)) != slotKind(taken.get(i))){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Create a lambda object, popping the captured values from {@code stack}. It is an
+     * InstanceOop, or the host object wrapping it for a JRE interface.
+     */
+    public Object newLambda(OperandStack stack){
+        if (singleton != null){
+            return singleton;
+        }
+        InstanceOop lambda = new InstanceOop(this);
+        FieldLayout layout = getInstanceLayout();
+        for (int i = layout.getTypes().length - 1; i >= 0; i--){
+            lambda.setField(layout.getTypes()[i], layout.getOffsets()[i], stack);
+        }
+        return wrap(lambda);
+    }
+
+    /**
+     * Push the captured values of {@code lambda} onto {@code stack}, the first one lowest.
+     */
+    public void pushCaptured(InstanceOop lambda, OperandStack stack){
+        FieldLayout layout = getInstanceLayout();
+        for (int i = 0; i < layout.getTypes().length; i++){
+            ValueType type = layout.getTypes()[i];
+            int offset = layout.getOffsets()[i];
+            boolean reference = type == ValueType.T_OBJECT || type == ValueType.T_ARRAY;
+            int slots = ValueType.slots(type);
+            for (int j = 0; j < slots; j++){
+                stack.fakePush();
+            }
+            // a long or a double is kept in the lower of its slots
+            stack.putSlot(slots - 1, lambda.getRawField(type, offset), reference ? lambda.getReferences()[offset] : null);
+        }
+    }
+
+    /**
+     * Turn a call of the interface method into a call of the implementation: the lambda
+     * object under the arguments on {@code stack} is replaced with its captured values.
+     * Returns the method to run with them. The caller leaves room for one slot more than
+     * the captured values take.
+     * <p>
+     * For a constructor the lambda object is replaced with the new object, and a copy of it
+     * and the captured values are pushed, as after NEW and DUP, so that the object is left
+     * when the constructor returns.
+     */
+    public MethodInfo unpack(OperandStack stack){
+        InstanceOop lambda = (InstanceOop) stack.peekRef(interfaceArgumentSlots);
+        // the arguments move up, or down, to leave exactly room for the captured values
+        if (constructor){
+            InstanceOop created = new InstanceOop(implementation.getHolder());
+            stack.putSlot(interfaceArgumentSlots, 0, created);
+            stack.slide(interfaceArgumentSlots, capturedSlots + 1);
+            stack.putSlot(interfaceArgumentSlots + capturedSlots, 0, created);
+        } else {
+            stack.slide(interfaceArgumentSlots, capturedSlots - 1);
+        }
+        int depth = interfaceArgumentSlots + capturedSlots - 1;
+        FieldLayout layout = getInstanceLayout();
+        for (int i = 0; i < layout.getTypes().length; i++){
+            ValueType type = layout.getTypes()[i];
+            int offset = layout.getOffsets()[i];
+            boolean reference = type == ValueType.T_OBJECT || type == ValueType.T_ARRAY;
+            stack.putSlot(depth, lambda.getRawField(type, offset), reference ? lambda.getReferences()[offset] : null);
+            depth -= ValueType.slots(type);
+        }
+        if (dispatched){
+            int argumentSlots = implementation.getEntry().getArgumentSlots();
+            InstanceOop receiver = (InstanceOop) stack.peekRef(argumentSlots - 1);
+            return receiver.getKlass().selectMethod(implementation);
+        }
+        return implementation;
+    }
+
+    private Object wrap(InstanceOop lambda){
+        return hostInterface != null ? HostLambda.wrap(lambda, hostInterface) : lambda;
+    }
+
+    // the kind of operand stack slot a value of the type is kept in
+    private static ValueType slotKind(ValueType type){
+        return switch (type) {
+            case T_BOOLEAN, T_BYTE, T_CHAR, T_SHORT, T_INT -> ValueType.T_INT;
+            case T_ARRAY -> ValueType.T_OBJECT;
+            default -> type;
+        };
+    }
+}
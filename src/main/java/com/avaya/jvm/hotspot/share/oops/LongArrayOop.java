@@ -1,23 +1,88 @@
 package com.avaya.jvm.hotspot.share.oops;
 
-public class LongArrayOop extends ArrayOop{
-    private long[] values;
-    // TODO: implement Long Array Klass later.
-    private static final Klass LONG_ARRAY_KLASS = null;
+import com.avaya.jvm.hotspot.share.memory.ArrayArena;
+import com.avaya.jvm.hotspot.share.utilities.ValueType;
+
+import java.nio.LongBuffer;
+import java.util.Arrays;
+
+public class LongArrayOop extends TypeArrayOop{
+    // the elements are values[offset, offset + length) or buffer, see TypeArrayOop
+    private final long[] values;
+    private final int offset;
+    private final LongBuffer buffer;
+    private static final ArrayKlass LONG_ARRAY_KLASS = ArrayKlass.forType(ValueType.T_LONG);
 
     public LongArrayOop(int length){
-        this.values = new long[length];
         this.length = length;
         this.klazz = LONG_ARRAY_KLASS;
+        this.offset = 0;
+        if (ArrayArena.isOffHeap(length, Long.BYTES)){
+            this.values = null;
+            this.buffer = ArrayArena.allocate(length, Long.BYTES).asLongBuffer();
+        } else {
+            this.values = new long[length];
+            this.buffer = null;
+        }
+    }
+
+    private LongArrayOop(long[] values, int offset, int length, LongBuffer buffer){
+        this.length = length;
+        this.klazz = LONG_ARRAY_KLASS;
+        this.values = values;
+        this.offset = offset;
+        this.buffer = buffer;
     }
 
     public long get(int index){
         checkBounds(index);
-        return values[index];
+        return values != null ? values[offset + index] : buffer.get(index);
     }
 
     public void set(int index, long value){
         checkBounds(index);
-        values[index] = value;
+        if (values != null){
+            values[offset + index] = value;
+        } else {
+            buffer.put(index, value);
+        }
+    }
+
+    public void fill(int fromIndex, int toIndex, long value){
+        checkRange(fromIndex, toIndex);
+        if (values != null){
+            Arrays.fill(values, offset + fromIndex, offset + toIndex, value);
+        } else {
+            for (int i = fromIndex; i < toIndex; i++){
+                buffer.put(i, value);
+            }
+        }
+    }
+
+    @Override
+    public void copyTo(int srcPos, ArrayOop dest, int destPos, int count){
+        checkCopy(srcPos, dest, destPos, count);
+        LongArrayOop target = (LongArrayOop) dest;
+        if (values != null && target.values != null){
+            System.arraycopy(values, offset + srcPos, target.values, target.offset + destPos, count);
+        } else if (values != null){
+            target.buffer.put(destPos, values, offset + srcPos, count);
+        } else if (target.values != null){
+            buffer.get(srcPos, target.values, target.offset + destPos, count);
+        } else {
+            target.buffer.put(destPos, buffer, srcPos, count);
+        }
+    }
+
+    @Override
+    public LongArrayOop copyOf(int newLength){
+        LongArrayOop copy = new LongArrayOop(newLength);
+        copyTo(0, copy, 0, Math.min(length, newLength));
+        return copy;
+    }
+
+    @Override
+    public LongArrayOop slice(int from, int length){
+        return values != null ? new LongArrayOop(values, offset + from, length, null) : new LongArrayOop(null, 0, length, buffer.slice(from, length));
     }
 }
@@ -1,8 +1,128 @@
 package com.avaya.jvm.hotspot.share.oops;
 
-import lombok.Data;
+import com.avaya.jvm.hotspot.share.memory.AllStatic;
 
-@Data
-public class MarkWord {
-    Thread lockOwner = null;
+/**
+ * The mark word of an object: its lock state, identity hash and GC age, packed into the
+ * long {@link OopDesc#getMark()} and updated with a CAS. As in HotSpot's markWord.hpp, the
+ * two lowest bits give the lock state and decide how the rest is read:
+ * <pre>
+ *   63         47 46          39 38        8 7  6   3 2  1  0
+ *  [ owner:17   | recursions:8  | hash:31   | - | age:4 | - | lock:2 ]  unlocked (01), locked (00)
+ *  [ monitor:62                                               | lock:2 ]  inflated (10)
+ *                                                                         marked (11), for a GC
+ * </pre>
+ * A locked object keeps its hash and age in place, there being no lock record on a stack
+ * to displace them to as in HotSpot. Its owner is the {@code threadId} of a JavaThread and
+ * is 0 when unlocked. An inflated object keeps them in its monitor instead, and the word
+ * holds the monitor's index in place of a pointer.
+ * <p>
+ * The methods only compute marks, they never read or write an object.
+ */
+public class MarkWord extends AllStatic {
+
+    public static final long LOCKED_VALUE = 0b00;
+    public static final long UNLOCKED_VALUE = 0b01;
+    public static final long MONITOR_VALUE = 0b10;
+    public static final long MARKED_VALUE = 0b11;
+
+    // the mark of a new object: unlocked, no hash yet, age 0
+    public static final long PROTOTYPE = UNLOCKED_VALUE;
+
+    private static final int LOCK_BITS = 2;
+    private static final int AGE_SHIFT = 3;
+    private static final int AGE_BITS = 4;
+    private static final int HASH_SHIFT = 8;
+    private static final int HASH_BITS = 31;
+    private static final int RECURSIONS_SHIFT = HASH_SHIFT + HASH_BITS;
+    private static final int RECURSIONS_BITS = 8;
+    private static final int OWNER_SHIFT = RECURSIONS_SHIFT + RECURSIONS_BITS;
+    private static final int OWNER_BITS = 64 - OWNER_SHIFT;
+
+    private static final long LOCK_MASK = (1L << LOCK_BITS) - 1;
+    private static final long AGE_MASK = (1L << AGE_BITS) - 1;
+    private static final long HASH_MASK = (1L << HASH_BITS) - 1;
+    private static final long RECURSIONS_MASK = (1L << RECURSIONS_BITS) - 1;
+    private static final long OWNER_MASK = (1L << OWNER_BITS) - 1;
+
+    public static final int MAX_AGE = (int) AGE_MASK;
+    public static final int MAX_RECURSIONS = (int) RECURSIONS_MASK;
+    // a thread with a larger id cannot be recorded as the owner of a locked object
+    public static final int MAX_OWNER = (int) OWNER_MASK;
+
+    public static long lockBits(long mark){
+        return mark & LOCK_MASK;
+    }
+
+    public static boolean isUnlocked(long mark){
+        return lockBits(mark) == UNLOCKED_VALUE;
+    }
+
+    public static boolean isLocked(long mark){
+        return lockBits(mark) == LOCKED_VALUE;
+    }
+
+    public static boolean hasMonitor(long mark){
+        return lockBits(mark) == MONITOR_VALUE;
+    }
+
+    public static boolean isMarked(long mark){
+        return lockBits(mark) == MARKED_VALUE;
+    }
+
+    // the identity hash of an unlocked or locked object, 0 if none was assigned yet
+    public static int hash(long mark){
+        return (int) (mark >>> HASH_SHIFT & HASH_MASK);
+    }
+
+    public static long withHash(long mark, int hash){
+        return mark & ~(HASH_MASK << HASH_SHIFT) | (hash & HASH_MASK) << HASH_SHIFT;
+    }
+
+    public static int age(long mark){
+        return (int) (mark >>> AGE_SHIFT & AGE_MASK);
+    }
+
+    public static long withAge(long mark, int age){
+        return mark & ~(AGE_MASK << AGE_SHIFT) | (age & AGE_MASK) << AGE_SHIFT;
+    }
+
+    // the age one collection later, it stays at MAX_AGE
+    public static long incrementAge(long mark){
+        int age = age(mark);
+        return age < MAX_AGE ? withAge(mark, age + 1) : mark;
+    }
+
+    public static int owner(long mark){
+        return isLocked(mark) ? (int) (mark >>> OWNER_SHIFT & OWNER_MASK) : 0;
+    }
+
+    public static int recursions(long mark){
+        return (int) (mark >>> RECURSIONS_SHIFT & RECURSIONS_MASK);
+    }
+
+    /**
+     * {@code mark} locked by the thread {@code owner}, entered {@code recursions} times
+     * more than once. The hash and age are kept.
+     */
+    public static long locked(long mark, int owner, int recursions){
+        if (owner <= 0 || owner > MAX_OWNER || recursions < 0 || recursions > MAX_RECURSIONS){
+            throw new IllegalArgumentException("Cannot record owner " + owner + " with " + recursions + " recursions in a mark word");
+        }
+        long unowned = mark & ~(OWNER_MASK << OWNER_SHIFT | RECURSIONS_MASK << RECURSIONS_SHIFT | LOCK_MASK);
+        return unowned | (long) owner << OWNER_SHIFT | (long) recursions << RECURSIONS_SHIFT | LOCKED_VALUE;
+    }
+
+    // the mark of a locked object once it is released, with its hash and age
+    public static long unlocked(long mark){
+        return mark & ~(OWNER_MASK << OWNER_SHIFT | RECURSIONS_MASK << RECURSIONS_SHIFT | LOCK_MASK) | UNLOCKED_VALUE;
+    }
+
+    public static long monitor(long index){
+        return index << LOCK_BITS | MONITOR_VALUE;
+    }
+
+    public static long monitorIndex(long mark){
+        return mark >>> LOCK_BITS;
+    }
 }
@@ -0,0 +1,66 @@
+package com.avaya.jvm.hotspot.share.oops;
+
+import com.avaya.jvm.hotspot.share.interpreter.BytecodeDecoder;
+import com.avaya.jvm.hotspot.share.interpreter.DecodedCode;
+import com.avaya.jvm.hotspot.share.utilities.MemberAccessFlags;
+import com.avaya.jvm.hotspot.share.utilities.ValueType;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * What a call needs to know about a method, computed once when its class is linked.
+ * <p>
+ * Invoking a method pushes a frame of {@code maxLocals + maxStack} slots over the
+ * {@code argumentSlots} slots on top of the caller's operand stack and starts running
+ * {@code decodedCode}, so the call path reads this record only: it never walks the
+ * method's attributes or parses its descriptor. {@code decodedCode} is null for an
+ * abstract or native method. {@code argumentTypes} excludes the receiver.
+ * All fields are final, so the record can be shared between threads without locking.
+ */
+@Getter
+public class MethodEntry {
+    private final DecodedCode decodedCode;
+    private final int argumentSlots;
+    private final ValueType[] argumentTypes;
+    private final ValueType returnType;
+    private final int maxLocals;
+    private final int maxStack;
+
+    private MethodEntry(DecodedCode decodedCode, int argumentSlots, ValueType[] argumentTypes, ValueType returnType, int maxLocals, int maxStack) {
+        this.decodedCode = decodedCode;
+        this.argumentSlots = argumentSlots;
+        this.argumentTypes = argumentTypes;
+        this.returnType = returnType;
+        this.maxLocals = maxLocals;
+        this.maxStack = maxStack;
+    }
+
+    /**
+     * Build the entry of {@code method}, decoding its body if it has one.
+     */
+    public static MethodEntry build(MethodInfo method){
+        Descriptor descriptor = method.getDescriptor();
+        List<String> parameters = descriptor.parseDescriptor();
+        ValueType[] argumentTypes = new ValueType[parameters.size()];
+        int argumentSlots = MemberAccessFlags.isStatic(method.getAccessFlags()) ? 0 : 1;
+        for (int i = 0; i < argumentTypes.length; i++){
+            argumentTypes[i] = ValueType.fromDescriptor(parameters.get(i));
+            argumentSlots += ValueType.slots(argumentTypes[i]);
+        }
+        ValueType returnType = ValueType.fromDescriptor(descriptor.getReturnType());
+
+        for (AttributeInfo attr : method.getAttributes()){
+            if (attr instanceof CodeAttribute code){
+                DecodedCode decodedCode = BytecodeDecoder.decode(code);
+                code.setDecodedCode(decodedCode);
+                return new MethodEntry(decodedCode, argumentSlots, argumentTypes, returnType, code.getMaxLocals(), code.getMaxStack());
+            }
+        }
+        return new MethodEntry(null, argumentSlots, argumentTypes, returnType, 0, 0);
+    }
+
+    public boolean hasCode(){
+        return decodedCode != null;
+    }
+}
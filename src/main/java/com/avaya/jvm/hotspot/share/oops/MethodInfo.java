@@ -2,6 +2,8 @@ package com.avaya.jvm.hotspot.share.oops;
 
 import com.avaya.jvm.hotspot.share.utilities.MemberAccessFlags;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -21,8 +23,25 @@ public class MethodInfo {
     private int attributesCount;
     private List<AttributeInfo> attributes;
 
+    // the declaring class, excluded from equals/hashCode/toString as it points back to us
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private InstanceKlass holder;
+
+    // index into the vtable of the holder and its subclasses, -1 if not dispatched virtually
+    private int vtableIndex = -1;
+
+    // number of this method within its interface, -1 if not declared by an interface
+    private int itableIndex = -1;
+
+    // what a call of this method needs, built when the holder is linked
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private MethodEntry entry;
+
     public static MethodInfo parse(DataInputStream dis, ConstantPool cp, InstanceKlass klass) throws IOException {
         MethodInfo MethodInfoEntry = new MethodInfo();
+        MethodInfoEntry.setHolder(klass);
         MethodInfoEntry.setAccessFlags(dis.readUnsignedShort());
 
         int nameIndex = dis.readUnsignedShort();
@@ -55,6 +74,10 @@ public class MethodInfo {
         return MethodInfoEntry;
     }
 
+    public boolean matches(String name, String descriptor){
+        return this.name.equals(name) && this.descriptor.getRaw().equals(descriptor);
+    }
+
     private static void parseAttributeInfo(int attributeCount, List<AttributeInfo> attributes, DataInputStream dis, ConstantPool cp) throws IOException{
         for (int i = 0; i < attributeCount; i++){
             attributes.add(AttributeInfo.parseAttribute(dis, cp));
@@ -1,23 +1,112 @@
 package com.avaya.jvm.hotspot.share.oops;
 
+/**
+ * An array of references, of the class given by its ArrayKlass. The elements are guest
+ * objects, guest arrays or JRE objects, and null. It is always kept on the host heap.
+ * <p>
+ * Stores are checked against the element class as on the JVM, see
+ * {@link ArrayKlass#accepts}, and throw ArrayStoreException otherwise.
+ */
 public class ObjectArrayOop extends ArrayOop{
-    private InstanceOop[] values;
-    // TODO: implement Object Array Klass later.
-    private static final Klass OBJECT_ARRAY_KLASS = null;
+    private final Object[] values;
 
-    public ObjectArrayOop(int length){
-        this.values = new InstanceOop[length];
+    public ObjectArrayOop(ArrayKlass klass, int length){
+        this.values = new Object[length];
         this.length = length;
-        this.klazz = OBJECT_ARRAY_KLASS;
+        this.klazz = klass;
     }
 
-    public InstanceOop get(int index){
+    public Object get(int index){
         checkBounds(index);
         return values[index];
     }
 
-    public void set(int index, InstanceOop value){
+    public void set(int index, Object value){
         checkBounds(index);
+        if (!getKlass().accepts(value)){
+            throw new ArrayStoreException(className(value));
+        }
         values[index] = value;
     }
+
+    public Object[] getValues(){
+        return values;
+    }
+
+    @Override
+    public void copyTo(int srcPos, ArrayOop dest, int destPos, int count){
+        checkCopy(srcPos, dest, destPos, count);
+        ObjectArrayOop target = (ObjectArrayOop) dest;
+        if (getKlass().isSubtypeOf(target.getKlass())){
+            System.arraycopy(values, srcPos, target.values, destPos, count);
+            return;
+        }
+        // the arrays are of different klasses, so they do not overlap
+        target.copyChecked(values, srcPos, typeName(getKlass().getName()), destPos, count);
+    }
+
+    /**
+     * Copy {@code count} elements of the host array {@code src} into this array, as
+     * System.arraycopy: the elements are checked against the element class.
+     */
+    public void copyFrom(Object[] src, int srcPos, int destPos, int count){
+        if (srcPos < 0 || destPos < 0 || count < 0 || srcPos > src.length - count || destPos > length - count){
+            throw new ArrayIndexOutOfBoundsException("arraycopy: range [" + srcPos + ", " + destPos + ", " + count
+                    + "] out of bounds for lengths " + src.length + " and " + length);
+        }
+        // a copy first, src may be the values of this array
+        copyChecked(src == values ? values.clone() : src, srcPos, src.getClass().getTypeName(), destPos, count);
+    }
+
+    // each element is checked, those ahead of the first that does not fit are copied
+    private void copyChecked(Object[] src, int srcPos, String srcType, int destPos, int count){
+        ArrayKlass klass = getKlass();
+        for (int i = 0; i < count; i++){
+            Object value = src[srcPos + i];
+            if (!klass.accepts(value)){
+                throw new ArrayStoreException("arraycopy: element type mismatch: can not cast one of the elements of "
+                        + srcType + " to the type of the destination array, " + className(klass.getName().substring(1)));
+            }
+            values[destPos + i] = value;
+        }
+    }
+
+    // the class name ArrayStoreException gives, as on the JVM
+    private static String className(Object value){
+        if (value instanceof OopDesc oop){
+            return oop.klazz.getName().replace('/', '.');
+        }
+        return value.getClass().getName();
+    }
+
+    // the class name of the descriptor, e.g. java.lang.String or [Ljava.lang.String;
+    private static String className(String descriptor){
+        String name = descriptor.charAt(0) == 'L' ? descriptor.substring(1, descriptor.length() - 1) : descriptor;
+        return name.replace('/', '.');
+    }
+
+    // the name in source form of the type with the descriptor, e.g. java.lang.String[]
+    private static String typeName(String descriptor){
+        int dimensions = descriptor.lastIndexOf('[') + 1;
+        String element = descriptor.substring(dimensions);
+        String name = switch (element.charAt(0)) {
+            case 'Z' -> "boolean";
+            case 'C' -> "char";
+            case 'F' -> "float";
+            case 'D' -> "double";
+            case 'B' -> "byte";
+            case 'S' -> "short";
+            case 'I' -> "int";
+            case 'J' -> "long";
+            default -> element.substring(1, element.length() - 1).replace('/', '.');
+        };
+        return name + "[]".repeat(dimensions);
+    }
+
+    @Override
+    public ObjectArrayOop copyOf(int newLength){
+        ObjectArrayOop copy = new ObjectArrayOop(getKlass(), newLength);
+        System.arraycopy(values, 0, copy.values, 0, Math.min(length, newLength));
+        return copy;
+    }
 }
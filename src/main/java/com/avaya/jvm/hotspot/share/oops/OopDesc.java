@@ -1,9 +1,113 @@
 package com.avaya.jvm.hotspot.share.oops;
 
-import lombok.Data;
+import com.avaya.jvm.hotspot.share.prims.JavaNativeInterface;
+import com.avaya.jvm.hotspot.share.runtime.ObjectSynchronizer;
+import lombok.Getter;
 
-@Data
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The header of every guest object: its mark word (see {@link MarkWord}) and its klass.
+ * <p>
+ * equals and hashCode are those of the guest class, as JRE code such as a HashMap
+ * expects: an override is called in the interpreter, see
+ * {@link JavaNativeInterface#callMethod}. Without one they are identity and the identity
+ * hash, as on the JVM, whatever the mark word says or the fields hold. Guest code calling
+ * Object's methods does not come here, see {@link KlassVtable}. toString is always the
+ * one of Object, it is also used by the VM's own messages.
+ */
 public abstract class OopDesc {
-    protected MarkWord markWord;
+
+    private static final VarHandle MARK;
+
+    private static final MethodInfo EQUALS = KlassVtable.objectMethod("equals", "(Ljava/lang/Object;)Z");
+    private static final MethodInfo HASH_CODE = KlassVtable.objectMethod("hashCode", "()I");
+
+    static {
+        try {
+            MARK = MethodHandles.lookup().findVarHandle(OopDesc.class, "mark", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @Getter
+    private volatile long mark = MarkWord.PROTOTYPE;
+    @Getter
     protected Klass klazz;
+
+    public boolean casMark(long expected, long value){
+        return MARK.compareAndSet(this, expected, value);
+    }
+
+    /**
+     * The identity hash of the object, assigned when it is first asked for and kept in the
+     * mark word from then on, as {@code System.identityHashCode} on the JVM.
+     */
+    public int identityHash(){
+        while (true) {
+            long mark = this.mark;
+            if (MarkWord.hasMonitor(mark)){
+                int hash = ObjectSynchronizer.identityHash(this, mark);
+                if (hash != 0){
+                    return hash;
+                }
+                continue;
+            }
+            if (!MarkWord.isUnlocked(mark) && !MarkWord.isLocked(mark)){
+                throw new IllegalStateException("No hash in mark word " + Long.toHexString(mark));
+            }
+            int hash = MarkWord.hash(mark);
+            if (hash != 0){
+                return hash;
+            }
+            do {
+                hash = ThreadLocalRandom.current().nextInt() & Integer.MAX_VALUE;
+            } while (hash == 0);
+            // a racing thread may assign one first, or lock or inflate the object; retry with its mark
+            if (casMark(mark, MarkWord.withHash(mark, hash))){
+                return hash;
+            }
+        }
+    }
+
+    @Override
+    public final boolean equals(Object other){
+        MethodInfo method = override(EQUALS);
+        return method != null ? (Boolean) upcall(method, other) : this == other;
+    }
+
+    @Override
+    public final int hashCode(){
+        MethodInfo method = override(HASH_CODE);
+        return method != null ? (Integer) upcall(method) : identityHash();
+    }
+
+    // the guest class's override of one of Object's methods, null if it has none
+    private MethodInfo override(MethodInfo objectMethod){
+        MethodInfo[] vtable = klazz.getVtable();
+        int index = objectMethod.getVtableIndex();
+        MethodInfo method = index < vtable.length ? vtable[index] : null;
+        return method != null && method.getEntry().hasCode() ? method : null;
+    }
+
+    // guest exceptions pass through as a proxy passes those of its handler
+    private Object upcall(MethodInfo method, Object... args){
+        try {
+            return JavaNativeInterface.callMethod(method, this, args);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new UndeclaredThrowableException(e);
+        }
+    }
+
+    // as Object.toString of the guest, without visiting the fields
+    @Override
+    public String toString(){
+        return klazz.getName().replace('/', '.') + "@" + Integer.toHexString(identityHash());
+    }
 }
@@ -0,0 +1,36 @@
+package com.avaya.jvm.hotspot.share.oops;
+
+import com.avaya.jvm.hotspot.share.utilities.ValueType;
+import lombok.Getter;
+
+import java.lang.reflect.Field;
+
+/**
+ * The resolved form of a CONSTANT_Fieldref, used by the FAST_*FIELD / FAST_*STATIC bytecodes.
+ * <p>
+ * Either {@code holder} (the class declaring a field of a user-defined class) and
+ * {@code offset} are set, or {@code hostField} (a static field of a JRE class, read through
+ * reflection). {@code offset} is that of the field in the object, or in the FieldArray of the
+ * holder for a static field, see {@link FieldLayout}.
+ * All fields are final, so an entry can be shared between threads without locking.
+ */
+@Getter
+public class ResolvedFieldEntry {
+    private final InstanceKlass holder;
+    private final Field hostField;
+    private final String name;
+    private final ValueType type;
+    private final int offset;
+
+    public ResolvedFieldEntry(InstanceKlass holder, Field hostField, String name, ValueType type, int offset) {
+        this.holder = holder;
+        this.hostField = hostField;
+        this.name = name;
+        this.type = type;
+        this.offset = offset;
+    }
+
+    public boolean isHost(){
+        return holder == null;
+    }
+}
@@ -0,0 +1,28 @@
+package com.avaya.jvm.hotspot.share.oops;
+
+import com.avaya.jvm.hotspot.share.prims.NativeMethodBinding;
+import com.avaya.jvm.hotspot.share.prims.StringConcatPlan;
+import lombok.Getter;
+
+/**
+ * The linked form of a CONSTANT_InvokeDynamic, used by INVOKEDYNAMIC.
+ * <p>
+ * A lambda of a guest interface gets a {@code lambdaKlass}, whose objects the interpreter
+ * creates itself, and a string concatenation a {@code concatPlan}. For any other call site the bootstrap method runs once, when the call
+ * site is linked, and {@code target} is the target of the CallSite it returned: it takes
+ * the dynamic arguments (e.g. the values a lambda captures) from the operand stack and
+ * pushes the result (e.g. the lambda object).
+ * All fields are final, so an entry can be shared between threads without locking.
+ */
+@Getter
+public class ResolvedIndyEntry {
+    private final NativeMethodBinding target;
+    private final LambdaKlass lambdaKlass;
+    private final StringConcatPlan concatPlan;
+
+    public ResolvedIndyEntry(NativeMethodBinding target, LambdaKlass lambdaKlass, StringConcatPlan concatPlan) {
+        this.target = target;
+        this.lambdaKlass = lambdaKlass;
+        this.concatPlan = concatPlan;
+    }
+}
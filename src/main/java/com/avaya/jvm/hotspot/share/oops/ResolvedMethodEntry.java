@@ -0,0 +1,43 @@
+package com.avaya.jvm.hotspot.share.oops;
+
+import com.avaya.jvm.hotspot.share.prims.Intrinsic;
+import com.avaya.jvm.hotspot.share.prims.NativeMethodBinding;
+import lombok.Getter;
+
+/**
+ * The resolved form of a CONSTANT_Methodref or CONSTANT_InterfaceMethodref,
+ * used by the FAST_INVOKE* bytecodes.
+ * <p>
+ * For a user-defined class {@code holder} and {@code method} are set. For a JRE class
+ * either {@code intrinsic} is, a handler of the VM doing the work of a hot JRE method,
+ * or {@code nativeBinding}, the host method adapted for calls from the interpreter.
+ * For a method of Object a guest class can override, {@code method} is its entry in
+ * every guest vtable, see {@link KlassVtable#objectMethod}.
+ * For an instance method of a JRE interface {@code interfaceSignature} is its name and
+ * descriptor, which a guest lambda wrapped in a HostLambda may implement.
+ * All fields are final, so an entry can be shared between threads without locking.
+ */
+@Getter
+public class ResolvedMethodEntry {
+    private final InstanceKlass holder;
+    private final MethodInfo method;
+    private final NativeMethodBinding nativeBinding;
+    private final Intrinsic intrinsic;
+    private final String interfaceSignature;
+
+    public ResolvedMethodEntry(InstanceKlass holder, MethodInfo method, NativeMethodBinding nativeBinding, Intrinsic intrinsic) {
+        this(holder, method, nativeBinding, intrinsic, null);
+    }
+
+    public ResolvedMethodEntry(InstanceKlass holder, MethodInfo method, NativeMethodBinding nativeBinding, Intrinsic intrinsic, String interfaceSignature) {
+        this.holder = holder;
+        this.method = method;
+        this.nativeBinding = nativeBinding;
+        this.intrinsic = intrinsic;
+        this.interfaceSignature = interfaceSignature;
+    }
+
+    public boolean isHost(){
+        return holder == null;
+    }
+}
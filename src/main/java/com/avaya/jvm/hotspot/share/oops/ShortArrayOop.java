@@ -1,23 +1,88 @@
 package com.avaya.jvm.hotspot.share.oops;
 
-public class ShortArrayOop extends ArrayOop{
-    private short[] values;
-    // TODO: implement Short Array Klass later.
-    private static final Klass SHORT_ARRAY_KLASS = null;
+import com.avaya.jvm.hotspot.share.memory.ArrayArena;
+import com.avaya.jvm.hotspot.share.utilities.ValueType;
+
+import java.nio.ShortBuffer;
+import java.util.Arrays;
+
+public class ShortArrayOop extends TypeArrayOop{
+    // the elements are values[offset, offset + length) or buffer, see TypeArrayOop
+    private final short[] values;
+    private final int offset;
+    private final ShortBuffer buffer;
+    private static final ArrayKlass SHORT_ARRAY_KLASS = ArrayKlass.forType(ValueType.T_SHORT);
 
     public ShortArrayOop(int length){
-        this.values = new short[length];
         this.length = length;
         this.klazz = SHORT_ARRAY_KLASS;
+        this.offset = 0;
+        if (ArrayArena.isOffHeap(length, Short.BYTES)){
+            this.values = null;
+            this.buffer = ArrayArena.allocate(length, Short.BYTES).asShortBuffer();
+        } else {
+            this.values = new short[length];
+            this.buffer = null;
+        }
+    }
+
+    private ShortArrayOop(short[] values, int offset, int length, ShortBuffer buffer){
+        this.length = length;
+        this.klazz = SHORT_ARRAY_KLASS;
+        this.values = values;
+        this.offset = offset;
+        this.buffer = buffer;
     }
 
     public short get(int index){
         checkBounds(index);
-        return values[index];
+        return values != null ? values[offset + index] : buffer.get(index);
     }
 
     public void set(int index, short value){
         checkBounds(index);
-        values[index] = value;
+        if (values != null){
+            values[offset + index] = value;
+        } else {
+            buffer.put(index, value);
+        }
+    }
+
+    public void fill(int fromIndex, int toIndex, short value){
+        checkRange(fromIndex, toIndex);
+        if (values != null){
+            Arrays.fill(values, offset + fromIndex, offset + toIndex, value);
+        } else {
+            for (int i = fromIndex; i < toIndex; i++){
+                buffer.put(i, value);
+            }
+        }
+    }
+
+    @Override
+    public void copyTo(int srcPos, ArrayOop dest, int destPos, int count){
+        checkCopy(srcPos, dest, destPos, count);
+        ShortArrayOop target = (ShortArrayOop) dest;
+        if (values != null && target.values != null){
+            System.arraycopy(values, offset + srcPos, target.values, target.offset + destPos, count);
+        } else if (values != null){
+            target.buffer.put(destPos, values, offset + srcPos, count);
+        } else if (target.values != null){
+            buffer.get(srcPos, target.values, target.offset + destPos, count);
+        } else {
+            target.buffer.put(destPos, buffer, srcPos, count);
+        }
+    }
+
+    @Override
+    public ShortArrayOop copyOf(int newLength){
+        ShortArrayOop copy = new ShortArrayOop(newLength);
+        copyTo(0, copy, 0, Math.min(length, newLength));
+        return copy;
+    }
+
+    @Override
+    public ShortArrayOop slice(int from, int length){
+        return values != null ? new ShortArrayOop(values, offset + from, length, null) : new ShortArrayOop(null, 0, length, buffer.slice(from, length));
     }
 }
@@ -0,0 +1,41 @@
+package com.avaya.jvm.hotspot.share.oops;
+
+import com.avaya.jvm.hotspot.share.utilities.ValueType;
+
+/**
+ * An array of a primitive type.
+ * <p>
+ * Its elements are kept in a host array, or in a direct java.nio Buffer off the heap
+ * (see ArrayArena). An array may be a slice of a larger store shared with other arrays,
+ * as the rows of a flattened multi-dimensional array are (see ArrayKlass.multiAllocate):
+ * a range of the host array from {@code offset}, or a slice of the buffer. Indices are
+ * checked against the array's own length.
+ */
+public abstract class TypeArrayOop extends ArrayOop{
+
+    /**
+     * A new array of {@code length} elements of the primitive array klass {@code klass}.
+     */
+    public static TypeArrayOop allocate(ArrayKlass klass, int length){
+        return switch (klass.getElementType()) {
+            case T_BOOLEAN, T_BYTE -> new ByteArrayOop(klass, length);
+            case T_CHAR -> new CharArrayOop(length);
+            case T_SHORT -> new ShortArrayOop(length);
+            case T_INT -> new IntArrayOop(length);
+            case T_LONG -> new LongArrayOop(length);
+            case T_FLOAT -> new FloatArrayOop(length);
+            case T_DOUBLE -> new DoubleArrayOop(length);
+            default -> throw new IllegalArgumentException("Not a primitive array klass: " + klass);
+        };
+    }
+
+    public static TypeArrayOop allocate(ValueType type, int length){
+        return allocate(ArrayKlass.forType(type), length);
+    }
+
+    /**
+     * An array of the same klass whose {@code length} elements are this array's elements
+     * from {@code offset} on: a view, writes to either are seen by both.
+     */
+    public abstract TypeArrayOop slice(int offset, int length);
+}
@@ -0,0 +1,81 @@
+package com.avaya.jvm.hotspot.share.prims;
+
+import com.avaya.jvm.hotspot.share.oops.InstanceOop;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * The host object of a guest lambda whose functional interface is a JRE one, such as a
+ * Runnable, a Comparator or a Function, so that JRE code can take and call it, e.g.
+ * {@code list.sort((p, q) -> p.x - q.x)}. It is a host proxy implementing the interface.
+ * <p>
+ * Calling the interface method calls the lambda in the interpreter, see
+ * {@link JavaNativeInterface#callLambda}, on the calling thread. Guest code calling it
+ * mostly does not get here: the interpreter unwraps the lambda object and runs the
+ * implementation in its own loop, see {@link #unwrap}. The default methods of
+ * the interface run on the host and call it in turn. A lambda object has the identity
+ * of the proxy: equals, hashCode and toString are those of Object.
+ */
+public class HostLambda implements InvocationHandler {
+
+    private final InstanceOop lambda;
+
+    private HostLambda(InstanceOop lambda) {
+        this.lambda = lambda;
+    }
+
+    public static Object wrap(InstanceOop lambda, Class<?> hostInterface){
+        return Proxy.newProxyInstance(hostInterface.getClassLoader(), new Class<?>[]{hostInterface}, new HostLambda(lambda));
+    }
+
+    /**
+     * The guest lambda object {@code object} wraps, or null if it is not a HostLambda.
+     */
+    public static InstanceOop unwrap(Object object){
+        if (object != null && Proxy.isProxyClass(object.getClass())
+                && Proxy.getInvocationHandler(object) instanceof HostLambda hostLambda){
+            return hostLambda.lambda;
+        }
+        return null;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class){
+            return switch (method.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                default -> lambda.getKlass().getName().replace('/', '.') + "@" + Integer.toHexString(System.identityHashCode(proxy));
+            };
+        }
+        if (method.isDefault()){
+            return InvocationHandler.invokeDefault(proxy, method, args);
+        }
+        Object result = JavaNativeInterface.callLambda(lambda, args != null ? args : new Object[0]);
+        return convert(result, method.getReturnType());
+    }
+
+    // the implementation may return a narrower primitive than the interface method, e.g. an int for a long
+    private static Object convert(Object value, Class<?> type){
+        if (!type.isPrimitive() || type == void.class || type == boolean.class || value == null){
+            return value;
+        }
+        Number number = value instanceof Character c ? Integer.valueOf(c) : (Number) value;
+        if (type == int.class){
+            return number.intValue();
+        } else if (type == long.class){
+            return number.longValue();
+        } else if (type == float.class){
+            return number.floatValue();
+        } else if (type == double.class){
+            return number.doubleValue();
+        } else if (type == short.class){
+            return number.shortValue();
+        } else if (type == byte.class){
+            return number.byteValue();
+        }
+        return (char) number.intValue();
+    }
+}
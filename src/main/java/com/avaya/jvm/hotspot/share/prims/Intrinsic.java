@@ -0,0 +1,16 @@
+package com.avaya.jvm.hotspot.share.prims;
+
+import com.avaya.jvm.hotspot.share.runtime.OperandStack;
+
+/**
+ * The VM's own implementation of a JRE method, see {@link Intrinsics}.
+ * <p>
+ * It pops the arguments, the receiver of an instance method last, from the caller's
+ * operand stack and pushes the result, as the interpreter does for a bytecode. The
+ * exceptions it throws are those of the method, e.g. InterruptedException from
+ * {@code Object.wait}.
+ */
+@FunctionalInterface
+public interface Intrinsic {
+    void invoke(OperandStack stack) throws Exception;
+}
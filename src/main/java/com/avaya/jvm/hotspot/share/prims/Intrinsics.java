@@ -0,0 +1,371 @@
+package com.avaya.jvm.hotspot.share.prims;
+
+import com.avaya.jvm.hotspot.share.memory.AllStatic;
+import com.avaya.jvm.hotspot.share.oops.*;
+import com.avaya.jvm.hotspot.share.runtime.Arguments;
+import com.avaya.jvm.hotspot.share.runtime.HostMonitorTable;
+import com.avaya.jvm.hotspot.share.runtime.ObjectSynchronizer;
+import com.avaya.jvm.hotspot.share.runtime.OperandStack;
+import com.avaya.jvm.hotspot.share.runtime.Threads;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The table of intrinsics: JRE methods the VM implements itself, keyed by class (in
+ * internal form, e.g. {@code java/lang/Math}), name and descriptor.
+ * <p>
+ * When a methodref to one of them is resolved, the constant pool entry is bound to its
+ * handler instead of to a MethodHandle of the host method, so a call pops the arguments
+ * and pushes the result with no adaptation in between. The handlers have the semantics
+ * of the methods they replace, including the exceptions they throw.
+ * <p>
+ * Some JRE methods cannot take guest objects at all, e.g. System.arraycopy of two
+ * ArrayOops, so the VM has to implement them. They are registered with
+ * {@link #registerNative} and are bound even when intrinsics are off.
+ * <p>
+ * More intrinsics are added with {@link #register}, before the call sites using them are
+ * resolved; a registered entry replaces an existing one. {@code -XX:-UseIntrinsics}
+ * turns the table off, see {@link Arguments}.
+ */
+public class Intrinsics extends AllStatic {
+    private static final Logger logger = LoggerFactory.getLogger(Intrinsics.class);
+
+    private static final Map<String, Intrinsic> intrinsics = new ConcurrentHashMap<>();
+    private static final Map<String, Intrinsic> natives = new ConcurrentHashMap<>();
+
+    static {
+        registerArrays();
+        registerMonitors();
+        registerIdentity();
+        registerThreads();
+        registerMath();
+        registerString();
+        registerSystem();
+        registerInteger();
+        registerStringBuilder();
+    }
+
+    public static void register(String className, String methodName, String descriptor, Intrinsic intrinsic){
+        intrinsics.put(key(className, methodName, descriptor), intrinsic);
+    }
+
+    public static void registerNative(String className, String methodName, String descriptor, Intrinsic intrinsic){
+        natives.put(key(className, methodName, descriptor), intrinsic);
+    }
+
+    /**
+     * The intrinsic of {@code className.methodName descriptor}, or null if it has none
+     * or intrinsics are turned off and it is not a native of the VM.
+     */
+    public static Intrinsic lookup(String className, String methodName, String descriptor){
+        String key = key(className, methodName, descriptor);
+        Intrinsic intrinsic = natives.get(key);
+        if (intrinsic == null && Arguments.isUseIntrinsics()){
+            intrinsic = intrinsics.get(key);
+        }
+        if (intrinsic != null){
+            logger.debug("intrinsic {}.{}{} is bound", className, methodName, descriptor);
+        }
+        return intrinsic;
+    }
+
+    private static String key(String className, String methodName, String descriptor){
+        return className + "." + methodName + descriptor;
+    }
+
+    /*
+     * Each of these is one bulk operation of the ArrayOop, on the heap or off it. Arrays
+     * created by the host for JRE element classes are taken as they are.
+     */
+    private static void registerArrays(){
+        registerNative("java/lang/System", "arraycopy", "(Ljava/lang/Object;ILjava/lang/Object;II)V", stack -> {
+            int length = stack.popInt();
+            int destPos = stack.popInt();
+            Object dest = stack.popRef();
+            int srcPos = stack.popInt();
+            Object src = stack.popRef();
+            if (src instanceof ArrayOop srcArray && dest instanceof ArrayOop destArray){
+                if (srcArray.getKlass() != destArray.getKlass()
+                        && !(srcArray.getKlass().isReferenceArray() && destArray.getKlass().isReferenceArray())){
+                    // e.g. a byte[] and a boolean[], both held as bytes
+                    throw new ArrayStoreException("arraycopy: type mismatch: can not copy " + srcArray.getKlass() + " into " + destArray.getKlass());
+                }
+                srcArray.copyTo(srcPos, destArray, destPos, length);
+            } else if (dest instanceof ObjectArrayOop destArray && src instanceof Object[] values){
+                // a host array into a guest one, whose element class the host does not know
+                destArray.copyFrom(values, srcPos, destPos, length);
+            } else {
+                // the host checks null, bounds and element types (for host arrays) as the JVM does
+                System.arraycopy(hostArray(src), srcPos, hostArray(dest), destPos, length);
+            }
+        });
+
+        String arrays = "java/util/Arrays";
+        for (String type : new String[]{"I", "J", "F", "D", "B", "C", "S", "Z", "Ljava/lang/Object;"}){
+            char kind = type.charAt(0);
+            registerNative(arrays, "fill", "([" + type + type + ")V", stack -> fill(stack, kind, false));
+            registerNative(arrays, "fill", "([" + type + "II" + type + ")V", stack -> fill(stack, kind, true));
+            registerNative(arrays, "copyOf", "([" + type + "I)[" + type, stack -> {
+                int newLength = stack.popInt();
+                stack.pushRef(copyOf(stack.popRef(), newLength));
+            });
+        }
+        // the comparator is a host object, e.g. the HostLambda of a guest lambda
+        registerNative(arrays, "sort", "([Ljava/lang/Object;Ljava/util/Comparator;)V", stack -> {
+            Object comparator = stack.popRef();
+            Object[] values = (Object[]) hostArray(stack.popRef());
+            sort(values, 0, values.length, comparator);
+        });
+        registerNative(arrays, "sort", "([Ljava/lang/Object;IILjava/util/Comparator;)V", stack -> {
+            Object comparator = stack.popRef();
+            int to = stack.popInt();
+            int from = stack.popInt();
+            sort((Object[]) hostArray(stack.popRef()), from, to, comparator);
+        });
+
+        registerNative("java/lang/Object", "clone", "()Ljava/lang/Object;", stack -> {
+            Object object = stack.popRef();
+            if (object instanceof ArrayOop array){
+                stack.pushRef(array.copyOf(array.getLength()));
+            } else if (object instanceof InstanceOop instance){
+                if (!instance.getKlass().isCloneable()){
+                    throw new CloneNotSupportedException(instance.getKlass().getName().replace('/', '.'));
+                }
+                stack.pushRef(instance.shallowCopy());
+            } else if (object == null){
+                throw new NullPointerException("Cannot invoke \"Object.clone()\" because the receiver is null");
+            } else if (object.getClass().isArray()){
+                stack.pushRef(copyOf(object, Array.getLength(object)));
+            } else {
+                // a host object: Object.clone is protected, its class calls it through super.clone() only
+                throw new CloneNotSupportedException(object.getClass().getName());
+            }
+        });
+    }
+
+    // the host array with the elements of a host array or a guest reference array
+    private static Object hostArray(Object array){
+        if (array instanceof ObjectArrayOop objectArray){
+            return objectArray.getValues();
+        } else if (array instanceof ArrayOop arrayOop){
+            throw new ArrayStoreException("arraycopy: type mismatch: can not copy between " + arrayOop.getKlass() + " and a host array");
+        }
+        return array;
+    }
+
+    // Arrays.fill(array, value) or Arrays.fill(array, fromIndex, toIndex, value), kind is the element descriptor
+    private static void fill(OperandStack stack, char kind, boolean range){
+        int valueSlots = kind == 'J' || kind == 'D' ? 2 : 1;
+        Object array = stack.peekRef(valueSlots + (range ? 2 : 0));
+        int from = range ? stack.peekInt(valueSlots + 1) : 0;
+        int to = range ? stack.peekInt(valueSlots) : array instanceof ArrayOop arrayOop ? arrayOop.getLength() : Array.getLength(array);
+        switch (kind) {
+            case 'I' -> ((IntArrayOop) array).fill(from, to, stack.peekInt(0));
+            case 'J' -> ((LongArrayOop) array).fill(from, to, stack.peekLong(1));
+            case 'F' -> ((FloatArrayOop) array).fill(from, to, stack.peekFloat(0));
+            case 'D' -> ((DoubleArrayOop) array).fill(from, to, stack.peekDouble(1));
+            case 'B', 'Z' -> ((ByteArrayOop) array).fill(from, to, (byte) stack.peekInt(0));
+            case 'C' -> ((CharArrayOop) array).fill(from, to, (char) stack.peekInt(0));
+            case 'S' -> ((ShortArrayOop) array).fill(from, to, (short) stack.peekInt(0));
+            default -> Arrays.fill((Object[]) hostArray(array), from, to, stack.peekRef(0));
+        }
+        stack.popN(valueSlots + (range ? 3 : 1));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void sort(Object[] values, int from, int to, Object comparator){
+        Arrays.sort(values, from, to, (Comparator<Object>) comparator);
+    }
+
+    private static Object copyOf(Object array, int newLength){
+        if (array instanceof ArrayOop arrayOop){
+            return arrayOop.copyOf(newLength);
+        }
+        Object copy = Array.newInstance(array.getClass().getComponentType(), newLength);
+        System.arraycopy(array, 0, copy, 0, Math.min(newLength, Array.getLength(array)));
+        return copy;
+    }
+
+    /*
+     * Object.equals and Object.hashCode, which are identity for a guest object: run by a
+     * super call, or for a class that does not override them. OopDesc's own would call
+     * the override the super call comes from.
+     */
+    private static void registerIdentity(){
+        String object = "java/lang/Object";
+        registerNative(object, "equals", "(Ljava/lang/Object;)Z", stack -> {
+            Object other = stack.popRef();
+            Object receiver = stack.popRef();
+            stack.pushInt((receiver instanceof OopDesc ? receiver == other : receiver.equals(other)) ? 1 : 0);
+        });
+        registerNative(object, "hashCode", "()I", stack -> {
+            Object receiver = stack.popRef();
+            stack.pushInt(receiver instanceof OopDesc oop ? oop.identityHash() : receiver.hashCode());
+        });
+    }
+
+    /*
+     * Object.wait/notify/notifyAll, on the lock the VM keeps for the object: in its mark
+     * word for a guest object, in the HostMonitorTable for a host object.
+     */
+    private static void registerMonitors(){
+        String object = "java/lang/Object";
+        registerNative(object, "wait", "()V", stack -> waitFor(stack.popRef(), 0));
+        registerNative(object, "wait", "(J)V", stack -> {
+            long millis = stack.popLong();
+            waitFor(stack.popRef(), millis);
+        });
+        registerNative(object, "notify", "()V", stack -> notify(stack.popRef(), false));
+        registerNative(object, "notifyAll", "()V", stack -> notify(stack.popRef(), true));
+    }
+
+    private static void waitFor(Object object, long millis) throws InterruptedException {
+        if (object instanceof OopDesc oop){
+            ObjectSynchronizer.wait(oop, Threads.getCurrentThread(), millis);
+        } else {
+            HostMonitorTable.wait(object, millis);
+        }
+    }
+
+    private static void notify(Object object, boolean all){
+        if (object instanceof OopDesc oop){
+            ObjectSynchronizer.notify(oop, Threads.getCurrentThread(), all);
+        } else {
+            HostMonitorTable.notify(object, all);
+        }
+    }
+
+    /*
+     * The constructors of Thread taking a Runnable. A guest Runnable, an object of a guest
+     * class or a guest lambda (its HostLambda, for Runnable is a JRE interface), gets a
+     * JavaThread whose carrier's start() runs it in the interpreter, see
+     * Threads.newGuestThread; a host one gets a host Thread as before. NEW pushed null for
+     * the thread and DUP a copy, both are replaced with it.
+     */
+    private static void registerThreads(){
+        String thread = "java/lang/Thread";
+        registerNative(thread, "<init>", "(Ljava/lang/Runnable;)V", stack -> {
+            Object task = stack.popRef();
+            stack.popN(2);
+            stack.pushRef(newThread(task, null));
+        });
+        registerNative(thread, "<init>", "(Ljava/lang/Runnable;Ljava/lang/String;)V", stack -> {
+            String name = (String) stack.popRef();
+            Object task = stack.popRef();
+            stack.popN(2);
+            stack.pushRef(newThread(task, name));
+        });
+    }
+
+    private static Thread newThread(Object task, String name){
+        InstanceOop guestTask = task instanceof InstanceOop oop ? oop : HostLambda.unwrap(task);
+        if (guestTask != null){
+            return Threads.newGuestThread(guestTask, name);
+        }
+        return name != null ? new Thread((Runnable) task, name) : new Thread((Runnable) task);
+    }
+
+    private static void registerMath(){
+        String math = "java/lang/Math";
+        register(math, "abs", "(I)I", stack -> stack.pushInt(Math.abs(stack.popInt())));
+        register(math, "abs", "(J)J", stack -> stack.pushLong(Math.abs(stack.popLong())));
+        register(math, "abs", "(D)D", stack -> stack.pushDouble(Math.abs(stack.popDouble())));
+        register(math, "max", "(II)I", stack -> {
+            int b = stack.popInt();
+            stack.pushInt(Math.max(stack.popInt(), b));
+        });
+        register(math, "min", "(II)I", stack -> {
+            int b = stack.popInt();
+            stack.pushInt(Math.min(stack.popInt(), b));
+        });
+        register(math, "max", "(JJ)J", stack -> {
+            long b = stack.popLong();
+            stack.pushLong(Math.max(stack.popLong(), b));
+        });
+        register(math, "min", "(JJ)J", stack -> {
+            long b = stack.popLong();
+            stack.pushLong(Math.min(stack.popLong(), b));
+        });
+        register(math, "max", "(DD)D", stack -> {
+            double b = stack.popDouble();
+            stack.pushDouble(Math.max(stack.popDouble(), b));
+        });
+        register(math, "min", "(DD)D", stack -> {
+            double b = stack.popDouble();
+            stack.pushDouble(Math.min(stack.popDouble(), b));
+        });
+        register(math, "sqrt", "(D)D", stack -> stack.pushDouble(Math.sqrt(stack.popDouble())));
+        register(math, "pow", "(DD)D", stack -> {
+            double b = stack.popDouble();
+            stack.pushDouble(Math.pow(stack.popDouble(), b));
+        });
+    }
+
+    private static void registerString(){
+        String string = "java/lang/String";
+        register(string, "length", "()I", stack -> stack.pushInt(((String) stack.popRef()).length()));
+        register(string, "charAt", "(I)C", stack -> {
+            int index = stack.popInt();
+            stack.pushInt(((String) stack.popRef()).charAt(index));
+        });
+        register(string, "equals", "(Ljava/lang/Object;)Z", stack -> {
+            Object other = stack.popRef();
+            stack.pushInt(((String) stack.popRef()).equals(other) ? 1 : 0);
+        });
+    }
+
+    private static void registerSystem(){
+        String system = "java/lang/System";
+        register(system, "nanoTime", "()J", stack -> stack.pushLong(System.nanoTime()));
+        register(system, "currentTimeMillis", "()J", stack -> stack.pushLong(System.currentTimeMillis()));
+        // the hash of a guest object is the one in its mark word
+        registerNative(system, "identityHashCode", "(Ljava/lang/Object;)I", stack -> {
+            Object object = stack.popRef();
+            stack.pushInt(object instanceof OopDesc oop ? oop.identityHash() : System.identityHashCode(object));
+        });
+    }
+
+    private static void registerInteger(){
+        register("java/lang/Integer", "valueOf", "(I)Ljava/lang/Integer;", stack -> stack.pushRef(Integer.valueOf(stack.popInt())));
+    }
+
+    // StringBuilder.append returns the builder, which replaces the receiver on the stack
+    private static void registerStringBuilder(){
+        String builder = "java/lang/StringBuilder";
+        String returns = ")Ljava/lang/StringBuilder;";
+        register(builder, "append", "(Ljava/lang/String;" + returns, stack -> {
+            String value = (String) stack.popRef();
+            stack.pushRef(((StringBuilder) stack.popRef()).append(value));
+        });
+        register(builder, "append", "(Ljava/lang/Object;" + returns, stack -> {
+            Object value = stack.popRef();
+            stack.pushRef(((StringBuilder) stack.popRef()).append(value));
+        });
+        register(builder, "append", "(I" + returns, stack -> {
+            int value = stack.popInt();
+            stack.pushRef(((StringBuilder) stack.popRef()).append(value));
+        });
+        register(builder, "append", "(C" + returns, stack -> {
+            char value = (char) stack.popInt();
+            stack.pushRef(((StringBuilder) stack.popRef()).append(value));
+        });
+        register(builder, "append", "(Z" + returns, stack -> {
+            boolean value = stack.popInt() != 0;
+            stack.pushRef(((StringBuilder) stack.popRef()).append(value));
+        });
+        register(builder, "append", "(J" + returns, stack -> {
+            long value = stack.popLong();
+            stack.pushRef(((StringBuilder) stack.popRef()).append(value));
+        });
+        register(builder, "append", "(D" + returns, stack -> {
+            double value = stack.popDouble();
+            stack.pushRef(((StringBuilder) stack.popRef()).append(value));
+        });
+    }
+}
@@ -1,22 +1,28 @@
 package com.avaya.jvm.hotspot.share.prims;
 
+import com.avaya.jvm.hotspot.share.classfile.BootClassLoader;
 import com.avaya.jvm.hotspot.share.interpreter.BytecodeInterpreter;
 import com.avaya.jvm.hotspot.share.oops.*;
 import com.avaya.jvm.hotspot.share.runtime.*;
+import com.avaya.jvm.hotspot.share.utilities.MemberAccessFlags;
+import com.avaya.jvm.hotspot.share.utilities.ValueType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.lang.invoke.*;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Constructor;
-import java.lang.reflect.Method;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 public class JavaNativeInterface {
     private static final Logger logger = LoggerFactory.getLogger(JavaNativeInterface.class);
 
+    // guest interface methods called on host objects, keyed by identity
+    private static final Map<MethodInfo, NativeMethodBinding> hostObjectBindings = Collections.synchronizedMap(new IdentityHashMap<>());
+
     public static MethodInfo getMain(InstanceKlass klass){
         logger.info("Searching entry function...");
         for (MethodInfo method:klass.getMethods()){
@@ -28,144 +34,143 @@ public class JavaNativeInterface {
         return null;
     }
 
+    /**
+     * Entry from the host: run a static method of a guest class on the current thread,
+     * until it returns. Calls made by guest code never come back here, the interpreter
+     * pushes their frames itself.
+     */
     public static void callStaticMethod(MethodInfo method) throws Throwable {
         logger.debug("function {}() is called", method.getName());
 
         JavaThread thread = Threads.getCurrentThread();
-        CodeAttribute code_attr = null;
-
-        for (AttributeInfo attr : method.getAttributes()) {
-            if (attr instanceof CodeAttribute code) {
-                code_attr = code;
-                break;
-            }
-        }
 
-        JavaVFrame newFrame = new JavaVFrame(code_attr);
+        // the arguments on the caller's operand stack become the first locals of the new frame
+        thread.getStack().push(method.getEntry());
 
-        if (!method.getName().equals("main")){
-            JavaVFrame oldFrame = (JavaVFrame) thread.getStack().peek();
-            transferArguments(oldFrame, newFrame, method.getDescriptor().parseDescriptor(), false);
-        }
-        thread.getStack().push(newFrame);
-
-        BytecodeInterpreter.run(thread, code_attr.getCode());
+        BytecodeInterpreter.run(thread);
     }
 
-    public static void callJavaNativeMethod(ConstantMethodrefInfo methodref, ConstantPool constantPool) throws ClassNotFoundException, NoSuchMethodException, InvocationTargetException, IllegalAccessException, InstantiationException {
-        String methodName = methodref.resolveMethodName(constantPool);
-        Descriptor methodDescriptor = methodref.resolveMethodDescriptor(constantPool);
-        logger.debug("jre native method {}() is called", methodName);
-
-        // Store parameter values and classes
-        List<Object> objectList = new ArrayList<>();
-        List<Class<?>> classList = new ArrayList<>();
-
+    /**
+     * Entry of a guest thread: run {@code task.run()} on the current thread, until it
+     * returns. The method is selected by the class of the task, as INVOKEINTERFACE would;
+     * a lambda, e.g. of {@code new Thread(() -> ...)}, runs its implementation.
+     */
+    public static void callRunMethod(InstanceOop task) throws Throwable {
+        if (task.getKlass() instanceof LambdaKlass){
+            callLambda(task, new Object[0]);
+            return;
+        }
+        MethodInfo method = task.getKlass().findMethod("run", "()V");
+        if (method == null || !method.getEntry().hasCode()){
+            throw new AbstractMethodError(task.getKlass().getName() + ".run()V");
+        }
         JavaThread thread = Threads.getCurrentThread();
-        JavaVFrame frame  = (JavaVFrame) thread.getStack().peek();
 
-        transferJavaArguments(frame,objectList, classList, methodDescriptor.parseDescriptor());
+        // the bottom frame takes no arguments from a caller, the receiver is stored into it
+        thread.getStack().push(method.getEntry()).getLocals().setRef(0, task);
 
-        // Pop the object reference owning this method
-        Object targetObject = frame.getOperandStack().popRef();
-        // Retrieve the Method object, and invoke it
-        if (methodName.equals("<init>")){
-            // do nothing as already created and initialized in NEW bytecode
-            Class<?> clazz = Class.forName(methodref.resolveClassName(constantPool).replace('/', '.'));
-            Constructor<?> constructor = clazz.getDeclaredConstructor(classList.toArray(new Class<?>[0]));
-            constructor.setAccessible(true);
-            Object obj = constructor.newInstance(objectList.toArray(new Object[0]));
-            frame.getOperandStack().popN(objectList.size());
-            frame.getOperandStack().pushRef(obj);
-        } else {
-            Method method = targetObject.getClass().getMethod(methodName, classList.toArray(new Class<?>[0]));
-            if (methodDescriptor.getReturnType().equals("V")){
-                // void
-                method.invoke(targetObject, objectList.toArray(new Object[0]));
-            } else{
-                // only implement Object return type
-                // TODO: create a function for different return type based on methodDescriptor.getReturnType()
-                Object obj = method.invoke(targetObject, objectList.toArray(new Object[0]));
-                frame.getOperandStack().pushRef(obj);
-            }
-        }
+        BytecodeInterpreter.run(thread);
     }
 
-    public static void callPolyInstanceMethod(MethodInfo method) throws Throwable {
-        logger.debug("instance polymorphism method {}() is called", method.getName());
+    /**
+     * Upcall from the host: call the implementation of a guest lambda, e.g. from the
+     * HostLambda a JRE method was given, with {@code args}, the boxed arguments of the
+     * interface method. They are converted to the types the implementation takes and
+     * passed after the captured values; the result is returned boxed, or the new object
+     * of a constructor reference.
+     * <p>
+     * The call runs in a frame of its own on top of the current thread's JavaStack. A host
+     * thread running no guest code, e.g. of a JRE thread pool, runs it on the JavaThread
+     * attached to it, see {@link Threads#attachCurrentThread}.
+     */
+    public static Object callLambda(InstanceOop lambda, Object[] args) throws Throwable {
+        LambdaKlass lambdaKlass = (LambdaKlass) lambda.getKlass();
+        MethodInfo implementation = lambdaKlass.getImplementation();
+        MethodEntry entry = implementation.getEntry();
         JavaThread thread = Threads.getCurrentThread();
-        CodeAttribute code_attr = null;
-
-        for (AttributeInfo attr : method.getAttributes()) {
-            if (attr instanceof CodeAttribute code) {
-                code_attr = code;
-                break;
-            }
-        }
-        if (code_attr == null){
-            int TMP_MAX_LENGTH = 100;
-            code_attr = new CodeAttribute();
-            code_attr.setMaxLocals(TMP_MAX_LENGTH);
-            code_attr.setMaxStack(TMP_MAX_LENGTH);
-        }
-        JavaVFrame oldFrame = (JavaVFrame) thread.getStack().peek();
-        JavaVFrame tmpFrame = new JavaVFrame(code_attr);
-        transferArguments(oldFrame, tmpFrame, method.getDescriptor().parseDescriptor(), true);
-
-        Object obj = tmpFrame.getLocals().getRef(0);
-        // check whether it's a lambda object
-        if (!(obj instanceof InstanceOop)){
-            Method LambdaMethod = obj.getClass().getMethods()[0];
-            LambdaMethod.setAccessible(true);
-            LambdaMethod.invoke(obj);
-            return;
+        boolean attached = thread == null;
+        if (attached){
+            thread = Threads.attachCurrentThread();
+            Threads.setCurrentThread(thread);
         }
-        // polymorphism
-        InstanceOop oop = (InstanceOop) obj;
-
-        // Obtain MethodInfo
-        InstanceKlass oopKlass = oop.getKlass();
-
-        MethodInfo methodInfo = method;
-        for (int i = 0; i < oopKlass.getMethods().size(); i++) {
-            MethodInfo poly_method = oopKlass.getMethods().get(i);
-            if (poly_method.getName().equals(method.getName())) {
-                methodInfo = poly_method;
-                break;
+        JavaStack javaStack = thread.getStack();
+        OperandStack stack = javaStack.pushEntryFrame(Math.max(entry.getArgumentSlots(), 2)).getOperandStack();
+        try {
+            InstanceOop created = null;
+            if (lambdaKlass.isConstructor()){
+                created = new InstanceOop(implementation.getHolder());
+                stack.pushRef(created);
             }
-        }
-
-        for (AttributeInfo attr : methodInfo.getAttributes()) {
-            if (attr instanceof CodeAttribute code) {
-                code_attr = code;
-                break;
+            lambdaKlass.pushCaptured(lambda, stack);
+            // the receiver of an instance method is the first value passed, a captured one or the first argument
+            int receiver = MemberAccessFlags.isStatic(implementation.getAccessFlags()) || created != null ? 0 : 1;
+            int index = lambdaKlass.getInstanceLayout().getTypes().length - receiver;
+            ValueType[] types = entry.getArgumentTypes();
+            for (Object arg : args){
+                pushBoxed(stack, index < 0 ? ValueType.T_OBJECT : types[index], arg);
+                index++;
+            }
+            MethodInfo method = implementation;
+            if (lambdaKlass.isDispatched()){
+                InstanceOop target = (InstanceOop) stack.peekRef(entry.getArgumentSlots() - 1);
+                method = target.getKlass().selectMethod(implementation);
+            }
+            BytecodeInterpreter.call(thread, method);
+            return created != null ? created : popBoxed(stack, entry.getReturnType());
+        } finally {
+            javaStack.pop();
+            if (attached){
+                Threads.setCurrentThread(null);
             }
         }
-
-        JavaVFrame newFrame = new JavaVFrame(code_attr);
-        newFrame.setLocals(tmpFrame.getLocals());
-
-        thread.getStack().push(newFrame);
-        BytecodeInterpreter.run(thread, code_attr.getCode());
     }
 
-    public static void callInstanceMethod(MethodInfo method) throws Throwable {
-        logger.debug("instance method {}() is called", method.getName());
+    /**
+     * Upcall from the host: call the guest instance method {@code method} on {@code receiver},
+     * e.g. the equals override a JRE HashMap calls through {@link OopDesc#equals}, with
+     * {@code args}, boxed as for {@link #callLambda}. Returns the boxed result.
+     */
+    public static Object callMethod(MethodInfo method, OopDesc receiver, Object... args) throws Throwable {
+        MethodEntry entry = method.getEntry();
         JavaThread thread = Threads.getCurrentThread();
-        CodeAttribute code_attr = null;
-
-        for (AttributeInfo attr : method.getAttributes()) {
-            if (attr instanceof CodeAttribute code) {
-                code_attr = code;
-                break;
+        boolean attached = thread == null;
+        if (attached){
+            thread = Threads.attachCurrentThread();
+            Threads.setCurrentThread(thread);
+        }
+        JavaStack javaStack = thread.getStack();
+        OperandStack stack = javaStack.pushEntryFrame(Math.max(entry.getArgumentSlots(), 2)).getOperandStack();
+        try {
+            stack.pushRef(receiver);
+            ValueType[] types = entry.getArgumentTypes();
+            for (int i = 0; i < args.length; i++){
+                pushBoxed(stack, types[i], args[i]);
+            }
+            BytecodeInterpreter.call(thread, method);
+            return popBoxed(stack, entry.getReturnType());
+        } finally {
+            javaStack.pop();
+            if (attached){
+                Threads.setCurrentThread(null);
             }
         }
-        JavaVFrame oldFrame = (JavaVFrame) thread.getStack().peek();
-        JavaVFrame newFrame = new JavaVFrame(code_attr);
-        transferArguments(oldFrame, newFrame, method.getDescriptor().parseDescriptor(), true);
+    }
 
-        thread.getStack().push(newFrame);
-        BytecodeInterpreter.run(thread, code_attr.getCode());
+    /**
+     * Call a guest interface method on a host object implementing the host's copy of the
+     * interface, e.g. a lambda the host LambdaMetafactory created. The arguments, including
+     * the receiver, are on top of {@code stack}; the binding is made once per method.
+     */
+    public static void callHostObjectMethod(MethodInfo method, OperandStack stack) throws Throwable {
+        NativeMethodBinding binding = hostObjectBindings.get(method);
+        if (binding == null){
+            Class<?> hostClass = Class.forName(method.getHolder().getName().replace('/', '.'));
+            // guest interfaces need not be public
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(hostClass, MethodHandles.lookup());
+            binding = NativeMethodBinding.bind(lookup, hostClass, method.getName(), method.getDescriptor().getRaw());
+            hostObjectBindings.put(method, binding);
+        }
+        binding.invoke(stack);
     }
 
     /*
@@ -186,172 +191,296 @@ public class JavaNativeInterface {
      *   | arg2                         |  <- top
      *   --------------------------------
      *
-     * 2. During callInstanceMethod:
-     *    - Pop this and arguments from the stack
+     * 2. During the invoke:
+     *    - JavaStack.push pops this and the arguments from the caller's operand stack,
+     *      and starts the new frame at the slot of this
      *    - JVM specification:
      *        locals[0] = this
-     *        locals[1..N] = method parameters
+     *        locals[1..N] = method parameters (long and double take two slots)
      *
-     * 3. New frame (callee frame) initialization:
+     * 3. New frame (callee frame), overlapping the caller's operand stack:
      *
      *   locals:
      *   --------------------------------
      *   | locals[0] = this              |
      *   | locals[1] = arg1              |
      *   | locals[2] = arg2              |
+     *   | locals[3..] = other locals    |
      *   --------------------------------
      *
-     *   operand stack (initially empty):
+     *   operand stack (initially empty), right after the locals:
      *   --------------------------------
      *   |                              |
      *   --------------------------------
+     *
+     * No value is copied. A static method works the same, without this.
      */
 
-    public static void transferArguments(JavaVFrame oldFrame, JavaVFrame newFrame, List<String> argSeq, boolean isInstance){
-        OperandStack oldOperandStack = oldFrame.getOperandStack();
-        LocalVariableArray newLocals = newFrame.getLocals();
+    /**
+     * Link an invokedynamic call site of {@code klass}: run its bootstrap method once and
+     * bind the target of the CallSite it returns, which INVOKEDYNAMIC then calls directly.
+     * <p>
+     * The bootstrap method runs on the host with a private lookup into the host's copy of
+     * the guest class, so the lambda bodies it links to run on the host as well.
+     */
+    public static NativeMethodBinding linkCallSite(ConstantInvokeDynamicInfo dynamicInfo, InstanceKlass klass) throws Throwable {
+        ConstantPool constantPool = klass.getConstantPool();
+        // the name and type of the call site, e.g. run ()Lcom/avaya/jvm/example/CustomRunnable;
+        ConstantNameAndTypeInfo nameAndType = (ConstantNameAndTypeInfo) constantPool.getEntries().get(dynamicInfo.getNameAndTypeIndex());
+        String name = nameAndType.resolveName(constantPool);
+        String descriptor = nameAndType.resolveDescriptor(constantPool).getRaw();
+        logger.debug("invokedynamic {}{} is linked", name, descriptor);
 
-        if (isInstance){
-            // instance function, has "this" pointer
-            // index N, ..., 2, 1
-            for (int i = argSeq.size(); i > 0; i--){
-                switch (argSeq.get(i-1).charAt(0)){
-                    case 'Z', 'B', 'C', 'S', 'I' -> {
-                        newLocals.setInt(i, oldOperandStack.popInt());
-                    }
-                    case 'D' -> {
-                        newLocals.setDouble(i, oldOperandStack.popDouble());
-                    }
-                    case 'F' -> {
-                        newLocals.setFloat(i, oldOperandStack.popFloat());
-                    }
-                    case 'J' -> {
-                        newLocals.setLong(i, oldOperandStack.popLong());
-                    }
-                    case 'L', '[' -> {
-                        newLocals.setRef(i, oldOperandStack.popRef());
-                    }
-                }
-            }
-            newLocals.setRef(0, oldOperandStack.popRef());
-        } else{
-            // static function
-            // index N - 1, ... , 1, 0
-            for (int i = argSeq.size() - 1; i >= 0; i--){
-                switch (argSeq.get(i).charAt(0)){
-                    case 'Z', 'B', 'C', 'S', 'I' -> {
-                        newLocals.setInt(i, oldOperandStack.popInt());
-                    }
-                    case 'D' -> {
-                        newLocals.setDouble(i, oldOperandStack.popDouble());
-                    }
-                    case 'F' -> {
-                        newLocals.setFloat(i, oldOperandStack.popFloat());
-                    }
-                    case 'J' -> {
-                        newLocals.setLong(i, oldOperandStack.popLong());
-                    }
-                    case 'L', '[' -> {
-                        newLocals.setRef(i, oldOperandStack.popRef());
-                    }
-                }
-            }
-        }
-    }
+        BootstrapMethods.BootstrapMethodsEntry bootstrapMethod = findBootstrapMethod(dynamicInfo, klass);
 
-    public static void transferJavaArguments(JavaVFrame frame, List<Object> objectList, List<Class<?>> classList, List<String> argSeq) throws ClassNotFoundException {
-        for (int i = argSeq.size(); i > 0; i--) {
-            switch (argSeq.get(i - 1).charAt(0)) {
-                case 'B' -> {
-                    classList.add(byte.class);
-                    objectList.add((byte) frame.getOperandStack().popInt());
-                }
-                case 'C' -> {
-                    classList.add(char.class);
-                    objectList.add((char) frame.getOperandStack().popInt());
-                }
-                case 'D' -> {
-                    classList.add(double.class);
-                    objectList.add(frame.getOperandStack().popDouble());
-                }
-                case 'F' -> {
-                    classList.add(float.class);
-                    objectList.add(frame.getOperandStack().popFloat());
-                }
-                case 'I' -> {
-                    classList.add(int.class);
-                    objectList.add(frame.getOperandStack().popInt());
-                }
-                case 'J' -> {
-                    classList.add(long.class);
-                    objectList.add(frame.getOperandStack().popLong());
-                }
-                case 'S' -> {
-                    classList.add(short.class);
-                    objectList.add((short) frame.getOperandStack().popInt());
-                }
-                case 'Z' -> {
-                    classList.add(boolean.class);
-                    objectList.add(frame.getOperandStack().popInt() != 0);
-                }
-                case 'L', '[' -> {
-                    String rawString = argSeq.get(i - 1);
-                    String className = rawString.substring(1, rawString.length() - 1).replace('/', '.');
-                    classList.add(Class.forName(className));
-                    objectList.add(frame.getOperandStack().popRef());
-                }
-            }
+        // Create a Lookup object with private access to the class of the call site
+        Class<?> callerClazz = Class.forName(klass.getName().replace('/', '.'));
+        MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(callerClazz, MethodHandles.lookup());
+
+        // bootstrap arguments: the lookup, the name and type of the call site, then the static arguments
+        List<Object> arguments = new ArrayList<>();
+        arguments.add(lookup);
+        arguments.add(name);
+        arguments.add(MethodType.fromMethodDescriptorString(descriptor, callerClazz.getClassLoader()));
+        for (ConstantInfo argument : bootstrapMethod.getArgumentsTable()){
+            arguments.add(resolveConstant(lookup, constantPool, argument));
         }
-        Collections.reverse(classList);
-        Collections.reverse(objectList);
+        ConstantMethodHandleInfo bootstrapHandle = (ConstantMethodHandleInfo) constantPool.getEntries().get(bootstrapMethod.getBootstrapMethodRef());
+        CallSite callSite = (CallSite) resolveMethodHandle(lookup, constantPool, bootstrapHandle).invokeWithArguments(arguments);
+        return NativeMethodBinding.of(klass.getName() + "." + name, callSite.dynamicInvoker());
     }
 
-    public static Object callDynamicMethod (ConstantInvokeDynamicInfo dynamicInfo, InstanceKlass klass) throws Throwable {
+    /**
+     * Synthesize the class of the lambdas a LambdaMetafactory.metafactory call site creates,
+     * if the implementation method is a guest one, constructors included: see
+     * {@link LambdaKlass#create} for a guest functional interface and
+     * {@link LambdaKlass#createHost} for a JRE one. Returns null for any other call site,
+     * which is linked by {@link #linkCallSite}. A constructor reference of a guest interface
+     * whose arguments need conversions, e.g. boxing, would create a host object on the host,
+     * so BootstrapMethodError is thrown instead.
+     * <p>
+     * A JRE implementation, e.g. {@code point::toString} or {@code String::length}, runs on
+     * the host: its call site must not capture values of guest classes, which the host
+     * cannot take, or BootstrapMethodError is thrown. A value of a JRE type that refers to
+     * a guest object at run time is not detected.
+     */
+    public static LambdaKlass linkGuestLambda(ConstantInvokeDynamicInfo dynamicInfo, InstanceKlass klass) throws IOException, ClassNotFoundException {
         ConstantPool constantPool = klass.getConstantPool();
-        // parse ConstantNameAndTypeInfo from ConstantInvokeDynamicInfo
-        int nameTypeIndex = dynamicInfo.getNameAndTypeIndex();
-        ConstantNameAndTypeInfo nameAndType = (ConstantNameAndTypeInfo)constantPool.getEntries().get(nameTypeIndex);
-        // get the SAM (Single Abstract Method) name and return type
-        String samMethodName = nameAndType.resolveName(constantPool);
-        String returnType = nameAndType.resolveDescriptor(constantPool).getReturnType();
-        Class<?> returnClazz = Class.forName(returnType.substring(1, returnType.length() - 1).replace('/', '.'));
+        BootstrapMethods.BootstrapMethodsEntry bootstrapMethod = findBootstrapMethod(dynamicInfo, klass);
+        ConstantMethodHandleInfo bootstrapHandle = (ConstantMethodHandleInfo) constantPool.getEntries().get(bootstrapMethod.getBootstrapMethodRef());
+        if (!(constantPool.getEntries().get(bootstrapHandle.getReferenceIndex()) instanceof ConstantMethodrefInfo bootstrapRef)
+                || !bootstrapRef.resolveClassName(constantPool).equals("java/lang/invoke/LambdaMetafactory")
+                || !bootstrapRef.resolveMethodName(constantPool).equals("metafactory")){
+            return null;
+        }
+        // the call site takes the captured values and returns the functional interface
+        ConstantNameAndTypeInfo nameAndType = (ConstantNameAndTypeInfo) constantPool.getEntries().get(dynamicInfo.getNameAndTypeIndex());
+        Descriptor callSiteType = nameAndType.resolveDescriptor(constantPool);
+        String interfaceName = callSiteType.getReturnType();
+        boolean hostInterface = interfaceName.startsWith("Ljava");
+        // static arguments: the erased interface method type, the implementation, the instantiated type
+        ConstantMethodTypeInfo samType = (ConstantMethodTypeInfo) bootstrapMethod.getArgumentsTable().get(0);
+        ConstantMethodHandleInfo implHandle = (ConstantMethodHandleInfo) bootstrapMethod.getArgumentsTable().get(1);
+        ConstantInfo implRef = constantPool.getEntries().get(implHandle.getReferenceIndex());
+        String implClassName;
+        String implName;
+        String implDescriptor;
+        if (implRef instanceof ConstantMethodrefInfo methodref){
+            implClassName = methodref.resolveClassName(constantPool);
+            implName = methodref.resolveMethodName(constantPool);
+            implDescriptor = methodref.resolveMethodDescriptor(constantPool).getRaw();
+        } else if (implRef instanceof ConstantInterfaceMethodrefInfo interfaceMethodref){
+            implClassName = interfaceMethodref.resolveClassName(constantPool);
+            implName = interfaceMethodref.resolveMethodName(constantPool);
+            implDescriptor = interfaceMethodref.resolveMethodDescriptor(constantPool).getRaw();
+        } else {
+            return null;
+        }
+        // REF_newInvokeSpecial: a constructor reference such as Foo::new
+        boolean constructor = implHandle.getReferenceKind() == 8;
+        if (implClassName.startsWith("java")){
+            checkHostCaptures(callSiteType, klass, implClassName, implName);
+            return null;
+        }
 
-        // get bootstrap method from ConstantInvokeDynamicInfo
-        int bootstrapIndex = dynamicInfo.getBootstrapMethodAttrIndex();
-        BootstrapMethods.BootstrapMethodsEntry bootstrapMethod = null;
-        for (AttributeInfo attributeInfo : klass.getAttributes()){
-            if (attributeInfo.getAttributeType() == AttributeType.BOOTSTRAP_METHODS){
-                bootstrapMethod = ((BootstrapMethods)attributeInfo).getMethodsTable().get(bootstrapIndex);
+        String samName = nameAndType.resolveName(constantPool);
+        String samDescriptor = ((ConstantUtf8Info) constantPool.getEntries().get(samType.getDescriptorIndex())).getValue();
+        MethodInfo implementation = BootClassLoader.loadKlass(implClassName.replace('/', '.')).findMethod(implName, implDescriptor);
+        if (implementation == null){
+            // a JRE method the guest class inherits, such as Object.toString
+            checkHostCaptures(callSiteType, klass, implClassName, implName);
+            return null;
+        }
+        List<String> captured = callSiteType.parseDescriptor();
+        ValueType[] capturedTypes = new ValueType[captured.size()];
+        for (int i = 0; i < capturedTypes.length; i++){
+            capturedTypes[i] = ValueType.fromDescriptor(captured.get(i));
+        }
+        // REF_invokeVirtual and REF_invokeInterface select the implementation by the receiver's class
+        boolean dispatched = implHandle.getReferenceKind() == 5 || implHandle.getReferenceKind() == 9;
+        LambdaKlass lambdaKlass;
+        if (hostInterface){
+            Class<?> interfaceClass = Class.forName(interfaceName.substring(1, interfaceName.length() - 1).replace('/', '.'));
+            lambdaKlass = LambdaKlass.createHost(klass, interfaceClass, samName, new Descriptor(samDescriptor), capturedTypes, implementation, dispatched, constructor);
+        } else {
+            InstanceKlass interfaceKlass = BootClassLoader.loadKlass(interfaceName.substring(1, interfaceName.length() - 1).replace('/', '.'));
+            lambdaKlass = LambdaKlass.create(klass, interfaceKlass, samName, new Descriptor(samDescriptor), capturedTypes, implementation, dispatched, constructor);
+            if (lambdaKlass == null && constructor){
+                throw new BootstrapMethodError("constructor reference in " + klass.getName() + " to " + implClassName
+                        + " does not take the arguments of " + samName + samDescriptor + " as they are, which is not supported");
             }
         }
-        // get the bootstrap method handle and its referenced method
-        ConstantMethodHandleInfo methodHandleInfo = (ConstantMethodHandleInfo)constantPool.getEntries().get(bootstrapMethod.getBootstrapMethodRef());
+        if (lambdaKlass != null){
+            logger.debug("lambda class {} created for {}.{}", lambdaKlass.getName(), implClassName, implName);
+        }
+        return lambdaKlass;
+    }
 
-        // get the first bootstrap argument: the private lambda method
-        ConstantMethodHandleInfo privateLambdaHandleInfo = (ConstantMethodHandleInfo)bootstrapMethod.getArgumentsTable().get(1);
-        ConstantMethodrefInfo privateLambdamethodRef = (ConstantMethodrefInfo)constantPool.getEntries().get(privateLambdaHandleInfo.getReferenceIndex());
+    // the host LambdaMetafactory of a JRE implementation cannot take guest objects as captured values
+    private static void checkHostCaptures(Descriptor callSiteType, InstanceKlass klass, String implClassName, String implName){
+        for (String captured : callSiteType.parseDescriptor()){
+            String elementType = captured.substring(captured.lastIndexOf('[') + 1);
+            if (elementType.startsWith("L") && !elementType.startsWith("Ljava")){
+                throw new BootstrapMethodError("lambda in " + klass.getName() + " captures a guest " + captured
+                        + " for the JRE method " + implClassName + "." + implName + ", which is not supported");
+            }
+        }
+    }
 
-        // Resolve the class that contains the lambda method
-        Class<?> callerClazz = Class.forName(privateLambdamethodRef.resolveClassName(constantPool).replace('/', '.'));
+    // a boxed value from the host onto the operand stack, as a value of type
+    private static void pushBoxed(OperandStack stack, ValueType type, Object value){
+        switch (type) {
+            case T_BOOLEAN -> stack.pushInt((Boolean) value ? 1 : 0);
+            case T_BYTE, T_CHAR, T_SHORT, T_INT -> stack.pushInt(toNumber(value).intValue());
+            case T_LONG -> stack.pushLong(toNumber(value).longValue());
+            case T_FLOAT -> stack.pushFloat(toNumber(value).floatValue());
+            case T_DOUBLE -> stack.pushDouble(toNumber(value).doubleValue());
+            default -> stack.pushRef(value);
+        }
+    }
 
-        // Create a Lookup object with private access to the lambda class
-        MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(callerClazz, MethodHandles.lookup());
+    // a value of type from the operand stack, boxed for the host; null for void
+    private static Object popBoxed(OperandStack stack, ValueType type){
+        return switch (type) {
+            case T_VOID -> null;
+            case T_BOOLEAN -> stack.popInt() != 0;
+            case T_BYTE -> (byte) stack.popInt();
+            case T_CHAR -> (char) stack.popInt();
+            case T_SHORT -> (short) stack.popInt();
+            case T_INT -> stack.popInt();
+            case T_LONG -> stack.popLong();
+            case T_FLOAT -> stack.popFloat();
+            case T_DOUBLE -> stack.popDouble();
+            default -> stack.popRef();
+        };
+    }
 
-        // Get a MethodHandle for the private lambda method (no parameters)
-        // TODO: extend this to support lambdas with parameters
-        Method method = callerClazz.getDeclaredMethod(privateLambdamethodRef.resolveMethodName(constantPool));
-        MethodHandle mh = lookup.unreflect(method);
+    // a char widens to an int like any other primitive
+    private static Number toNumber(Object value){
+        return value instanceof Character c ? Integer.valueOf(c) : (Number) value;
+    }
 
-        // MethodType of the lambda method
-        MethodType type = mh.type();
+    /**
+     * Parse the recipe of a StringConcatFactory call site into the plan INVOKEDYNAMIC runs.
+     * Returns null for any other call site.
+     */
+    public static StringConcatPlan linkStringConcat(ConstantInvokeDynamicInfo dynamicInfo, InstanceKlass klass) throws ReflectiveOperationException {
+        ConstantPool constantPool = klass.getConstantPool();
+        BootstrapMethods.BootstrapMethodsEntry bootstrapMethod = findBootstrapMethod(dynamicInfo, klass);
+        ConstantMethodHandleInfo bootstrapHandle = (ConstantMethodHandleInfo) constantPool.getEntries().get(bootstrapMethod.getBootstrapMethodRef());
+        if (!(constantPool.getEntries().get(bootstrapHandle.getReferenceIndex()) instanceof ConstantMethodrefInfo bootstrapRef)
+                || !bootstrapRef.resolveClassName(constantPool).equals("java/lang/invoke/StringConcatFactory")){
+            return null;
+        }
+        // the call site takes the arguments and returns the String
+        ConstantNameAndTypeInfo nameAndType = (ConstantNameAndTypeInfo) constantPool.getEntries().get(dynamicInfo.getNameAndTypeIndex());
+        List<String> parameters = nameAndType.resolveDescriptor(constantPool).parseDescriptor();
+        ValueType[] argumentTypes = new ValueType[parameters.size()];
+        for (int i = 0; i < argumentTypes.length; i++){
+            argumentTypes[i] = ValueType.fromDescriptor(parameters.get(i));
+        }
+        String recipe = null;
+        List<Object> staticConstants = new ArrayList<>();
+        if (bootstrapRef.resolveMethodName(constantPool).equals("makeConcatWithConstants")){
+            // static arguments: the recipe, then the values of its \2 tags
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(Class.forName(klass.getName().replace('/', '.')), MethodHandles.lookup());
+            List<ConstantInfo> arguments = bootstrapMethod.getArgumentsTable();
+            recipe = ((ConstantStringInfo) arguments.get(0)).resolveString(constantPool);
+            for (ConstantInfo argument : arguments.subList(1, arguments.size())){
+                staticConstants.add(resolveConstant(lookup, constantPool, argument));
+            }
+        }
+        logger.debug("string concatenation {} is linked", recipe);
+        return StringConcatPlan.parse(recipe, staticConstants, argumentTypes);
+    }
 
-        // Factory type: the return type is the SAM interface
-        MethodType factoryType = MethodType.methodType(returnClazz);
+    private static BootstrapMethods.BootstrapMethodsEntry findBootstrapMethod(ConstantInvokeDynamicInfo dynamicInfo, InstanceKlass klass){
+        for (AttributeInfo attributeInfo : klass.getAttributes()){
+            if (attributeInfo.getAttributeType() == AttributeType.BOOTSTRAP_METHODS){
+                return ((BootstrapMethods) attributeInfo).getMethodsTable().get(dynamicInfo.getBootstrapMethodAttrIndex());
+            }
+        }
+        throw new IncompatibleClassChangeError("No BootstrapMethods attribute in " + klass.getName());
+    }
 
-        // use LambdaMetafactory to create a CallSite for the invokedynamic
-        CallSite callSite = LambdaMetafactory.metafactory(lookup, samMethodName, factoryType, type, mh, type);
+    // a loadable constant used as a static bootstrap argument
+    private static Object resolveConstant(MethodHandles.Lookup lookup, ConstantPool constantPool, ConstantInfo constant) throws ReflectiveOperationException {
+        ClassLoader loader = lookup.lookupClass().getClassLoader();
+        if (constant instanceof ConstantStringInfo string){
+            return string.resolveString(constantPool);
+        } else if (constant instanceof ConstantIntegerInfo integer){
+            return integer.getValue();
+        } else if (constant instanceof ConstantLongInfo longConstant){
+            return longConstant.getValue();
+        } else if (constant instanceof ConstantFloatInfo floatConstant){
+            return floatConstant.getValue();
+        } else if (constant instanceof ConstantDoubleInfo doubleConstant){
+            return doubleConstant.getValue();
+        } else if (constant instanceof ConstantClassInfo classInfo){
+            return Class.forName(classInfo.resolveName(constantPool).replace('/', '.'), false, loader);
+        } else if (constant instanceof ConstantMethodTypeInfo methodType){
+            String descriptor = ((ConstantUtf8Info) constantPool.getEntries().get(methodType.getDescriptorIndex())).getValue();
+            return MethodType.fromMethodDescriptorString(descriptor, loader);
+        } else if (constant instanceof ConstantMethodHandleInfo methodHandle){
+            return resolveMethodHandle(lookup, constantPool, methodHandle);
+        }
+        throw new IllegalArgumentException("Unsupported bootstrap argument " + constant);
+    }
 
-        // invoke the CallSite to obtain the lambda object implementing the SAM interface
-        return callSite.getTarget().invoke();
+    private static MethodHandle resolveMethodHandle(MethodHandles.Lookup lookup, ConstantPool constantPool, ConstantMethodHandleInfo methodHandle) throws ReflectiveOperationException {
+        ClassLoader loader = lookup.lookupClass().getClassLoader();
+        ConstantInfo reference = constantPool.getEntries().get(methodHandle.getReferenceIndex());
+        String className;
+        String name;
+        String descriptor;
+        if (reference instanceof ConstantMethodrefInfo methodref){
+            className = methodref.resolveClassName(constantPool);
+            name = methodref.resolveMethodName(constantPool);
+            descriptor = methodref.resolveMethodDescriptor(constantPool).getRaw();
+        } else if (reference instanceof ConstantInterfaceMethodrefInfo interfaceMethodref){
+            className = interfaceMethodref.resolveClassName(constantPool);
+            name = interfaceMethodref.resolveMethodName(constantPool);
+            descriptor = interfaceMethodref.resolveMethodDescriptor(constantPool).getRaw();
+        } else {
+            ConstantFieldrefInfo fieldref = (ConstantFieldrefInfo) reference;
+            className = fieldref.resolveClassName(constantPool);
+            name = fieldref.resolveFieldName(constantPool);
+            // a field type is the return type of a method taking nothing
+            descriptor = "()" + fieldref.resolveFieldDescriptor(constantPool);
+        }
+        Class<?> refc = Class.forName(className.replace('/', '.'), false, loader);
+        MethodType type = MethodType.fromMethodDescriptorString(descriptor, loader);
+        // JVMS 5.4.3.5, reference_kind
+        return switch (methodHandle.getReferenceKind()) {
+            case 1 -> lookup.findGetter(refc, name, type.returnType());
+            case 2 -> lookup.findStaticGetter(refc, name, type.returnType());
+            case 3 -> lookup.findSetter(refc, name, type.returnType());
+            case 4 -> lookup.findStaticSetter(refc, name, type.returnType());
+            case 5, 9 -> lookup.findVirtual(refc, name, type);
+            case 6 -> lookup.findStatic(refc, name, type);
+            case 7 -> lookup.findSpecial(refc, name, type, lookup.lookupClass());
+            case 8 -> lookup.findConstructor(refc, type);
+            default -> throw new IllegalArgumentException("Invalid reference kind " + methodHandle.getReferenceKind());
+        };
     }
 }
@@ -0,0 +1,228 @@
+package com.avaya.jvm.hotspot.share.prims;
+
+import com.avaya.jvm.hotspot.share.runtime.OperandStack;
+import com.avaya.jvm.hotspot.share.utilities.ValueType;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import static java.lang.invoke.MethodType.methodType;
+
+/**
+ * A JRE method bound for calls from guest code, the resolved form of a methodref to a
+ * {@code java.*} class. Kept in the ConstantPoolCache, so the lookup happens once per
+ * constant pool entry.
+ * <p>
+ * The host method is adapted into a MethodHandle taking only the caller's operand stack:
+ * each parameter is read from its slot with a typed peek, so primitive arguments are
+ * never boxed, and the result is widened to the type of the slot it is pushed into
+ * (int, long, float, double or a reference). A call is a single {@code invokeExact},
+ * after which the arguments are popped and the result is pushed.
+ * <p>
+ * A constructor is the exception, see {@link #invoke}. All fields are final, so a
+ * binding can be shared between threads without locking.
+ */
+@Getter
+public class NativeMethodBinding {
+    private static final Logger logger = LoggerFactory.getLogger(NativeMethodBinding.class);
+
+    private static final MethodHandle PEEK_INT;
+    private static final MethodHandle PEEK_LONG;
+    private static final MethodHandle PEEK_FLOAT;
+    private static final MethodHandle PEEK_DOUBLE;
+    private static final MethodHandle PEEK_REF;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            PEEK_INT = lookup.findVirtual(OperandStack.class, "peekInt", methodType(int.class, int.class));
+            PEEK_LONG = lookup.findVirtual(OperandStack.class, "peekLong", methodType(long.class, int.class));
+            PEEK_FLOAT = lookup.findVirtual(OperandStack.class, "peekFloat", methodType(float.class, int.class));
+            PEEK_DOUBLE = lookup.findVirtual(OperandStack.class, "peekDouble", methodType(double.class, int.class));
+            PEEK_REF = lookup.findVirtual(OperandStack.class, "peekRef", methodType(Object.class, int.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final String name;
+    // (OperandStack) -> int, long, float, double, Object or void
+    private final MethodHandle handle;
+    private final ValueType returnType;
+    // slots the arguments take on the operand stack, including the receiver of an instance method
+    private final int argumentSlots;
+    private final boolean constructor;
+
+    private NativeMethodBinding(String name, MethodHandle handle, ValueType returnType, int argumentSlots, boolean constructor) {
+        this.name = name;
+        this.handle = handle;
+        this.returnType = returnType;
+        this.argumentSlots = argumentSlots;
+        this.constructor = constructor;
+    }
+
+    /**
+     * Bind {@code hostClass.methodName} with the method descriptor {@code descriptor}.
+     * Whether it is a static or an instance method is taken from the host class.
+     */
+    public static NativeMethodBinding bind(Class<?> hostClass, String methodName, String descriptor) throws ReflectiveOperationException {
+        return bind(MethodHandles.publicLookup(), hostClass, methodName, descriptor);
+    }
+
+    /**
+     * Same as {@link #bind(Class, String, String)}, with the access of {@code lookup}.
+     */
+    public static NativeMethodBinding bind(MethodHandles.Lookup lookup, Class<?> hostClass, String methodName, String descriptor) throws ReflectiveOperationException {
+        logger.debug("jre native method {}.{}{} is bound", hostClass.getName(), methodName, descriptor);
+        MethodType type = MethodType.fromMethodDescriptorString(descriptor, hostClass.getClassLoader());
+        MethodHandle target;
+        boolean constructor = methodName.equals("<init>");
+        if (constructor){
+            target = lookup.findConstructor(hostClass, type);
+        } else {
+            Method method = findMethod(hostClass, methodName, type);
+            target = Modifier.isStatic(method.getModifiers())
+                    ? lookup.findStatic(hostClass, methodName, type)
+                    : lookup.findVirtual(method.getDeclaringClass() == Object.class ? Object.class : hostClass, methodName, type);
+        }
+        return create(hostClass.getName() + "." + methodName, target, constructor);
+    }
+
+    /**
+     * Bind an arbitrary method handle, e.g. the target of an invokedynamic call site.
+     */
+    public static NativeMethodBinding of(String name, MethodHandle target){
+        return create(name, target, false);
+    }
+
+    // as for an interface method reference, the public methods of Object are members of every interface
+    private static Method findMethod(Class<?> hostClass, String methodName, MethodType type) throws NoSuchMethodException {
+        try {
+            return hostClass.getMethod(methodName, type.parameterArray());
+        } catch (NoSuchMethodException e) {
+            if (!hostClass.isInterface()){
+                throw e;
+            }
+            return Object.class.getMethod(methodName, type.parameterArray());
+        }
+    }
+
+    private static NativeMethodBinding create(String name, MethodHandle target, boolean constructor){
+        ValueType returnType = ValueType.fromDescriptor(target.type().returnType().descriptorString());
+        int argumentSlots = 0;
+        for (Class<?> parameter : target.type().parameterArray()){
+            argumentSlots += slots(parameter);
+        }
+        return new NativeMethodBinding(name, adapt(target, returnType), returnType, argumentSlots, constructor);
+    }
+
+    /**
+     * Call the method with the arguments on top of {@code stack}, replace them with the result.
+     * <p>
+     * A JRE object cannot be created before its constructor runs, so NEW pushes null for it
+     * and the constructor creates it. javac always emits NEW, DUP, the arguments and
+     * INVOKESPECIAL, so the copy DUP left under the receiver is replaced with the new object.
+     * A receiver that is not null is a guest object running the constructor of its JRE
+     * superclass (Object), which has nothing to do.
+     */
+    public void invoke(OperandStack stack) throws Throwable {
+        if (constructor){
+            if (stack.peekRef(argumentSlots) == null){
+                Object object = (Object) handle.invokeExact(stack);
+                stack.popN(argumentSlots + 2);
+                stack.pushRef(object);
+            } else {
+                stack.popN(argumentSlots + 1);
+            }
+            return;
+        }
+        switch (returnType) {
+            case T_VOID -> {
+                handle.invokeExact(stack);
+                stack.popN(argumentSlots);
+            }
+            case T_BOOLEAN, T_BYTE, T_CHAR, T_SHORT, T_INT -> {
+                int result = (int) handle.invokeExact(stack);
+                stack.popN(argumentSlots);
+                stack.pushInt(result);
+            }
+            case T_LONG -> {
+                long result = (long) handle.invokeExact(stack);
+                stack.popN(argumentSlots);
+                stack.pushLong(result);
+            }
+            case T_FLOAT -> {
+                float result = (float) handle.invokeExact(stack);
+                stack.popN(argumentSlots);
+                stack.pushFloat(result);
+            }
+            case T_DOUBLE -> {
+                double result = (double) handle.invokeExact(stack);
+                stack.popN(argumentSlots);
+                stack.pushDouble(result);
+            }
+            default -> {
+                Object result = (Object) handle.invokeExact(stack);
+                stack.popN(argumentSlots);
+                stack.pushRef(result);
+            }
+        }
+    }
+
+    // (p0, ..., pn) -> r  becomes  (OperandStack) -> r widened to its slot type
+    private static MethodHandle adapt(MethodHandle target, ValueType returnType){
+        MethodType type = target.type();
+        int count = type.parameterCount();
+        MethodHandle[] getters = new MethodHandle[count];
+        // the last parameter is on top of the stack
+        int depth = 0;
+        for (int i = count - 1; i >= 0; i--){
+            Class<?> parameter = type.parameterType(i);
+            depth += slots(parameter);
+            MethodHandle peek = MethodHandles.insertArguments(peekHandle(parameter), 1, depth - 1);
+            getters[i] = MethodHandles.explicitCastArguments(peek, methodType(parameter, OperandStack.class));
+        }
+        MethodHandle adapted = MethodHandles.filterArguments(target, 0, getters);
+        adapted = MethodHandles.permuteArguments(adapted, methodType(type.returnType(), OperandStack.class), new int[count]);
+        return MethodHandles.explicitCastArguments(adapted, methodType(slotType(returnType), OperandStack.class));
+    }
+
+    private static MethodHandle peekHandle(Class<?> type){
+        if (type == long.class){
+            return PEEK_LONG;
+        } else if (type == float.class){
+            return PEEK_FLOAT;
+        } else if (type == double.class){
+            return PEEK_DOUBLE;
+        } else if (type.isPrimitive()){
+            return PEEK_INT;
+        }
+        return PEEK_REF;
+    }
+
+    private static Class<?> slotType(ValueType type){
+        return switch (type) {
+            case T_VOID -> void.class;
+            case T_BOOLEAN, T_BYTE, T_CHAR, T_SHORT, T_INT -> int.class;
+            case T_LONG -> long.class;
+            case T_FLOAT -> float.class;
+            case T_DOUBLE -> double.class;
+            default -> Object.class;
+        };
+    }
+
+    private static int slots(Class<?> type){
+        return type == long.class || type == double.class ? 2 : 1;
+    }
+
+    @Override
+    public String toString(){
+        return name;
+    }
+}
@@ -0,0 +1,147 @@
+package com.avaya.jvm.hotspot.share.prims;
+
+import com.avaya.jvm.hotspot.share.runtime.OperandStack;
+import com.avaya.jvm.hotspot.share.utilities.ValueType;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The parsed recipe of a StringConcatFactory call site, the form javac 9+ compiles
+ * {@code "a" + x + "b"} to.
+ * <p>
+ * The recipe is parsed once, when the call site is linked: \1 marks an argument and \2
+ * the next static bootstrap argument, which is folded into the surrounding constant
+ * text. A concatenation then appends the constants and the arguments, read from their
+ * slots on the operand stack, to a single StringBuilder sized for the result, instead
+ * of going through the host's concat method handles. The size is exact but for float and
+ * double arguments, which count at their longest, so the builder never grows.
+ * All fields are final, so a plan can be shared between threads without locking.
+ */
+@Getter
+public class StringConcatPlan {
+
+    private static final char TAG_ARG = '\u0001';
+    private static final char TAG_CONST = '\u0002';
+
+    // longest results of Float.toString and Double.toString, e.g. -1.17549435E-38
+    private static final int FLOAT_LENGTH = 15;
+    private static final int DOUBLE_LENGTH = 24;
+
+    // constants[i] comes before argument i, the last one after all arguments; null when empty
+    private final String[] constants;
+    private final ValueType[] argumentTypes;
+    // slots below the top of each argument, the lower slot of a long or double
+    private final int[] argumentDepths;
+    private final int argumentSlots;
+    private final int constantLength;
+
+    private StringConcatPlan(String[] constants, ValueType[] argumentTypes) {
+        this.constants = constants;
+        this.argumentTypes = argumentTypes;
+        this.argumentDepths = new int[argumentTypes.length];
+        int depth = 0;
+        for (int i = argumentTypes.length - 1; i >= 0; i--){
+            depth += ValueType.slots(argumentTypes[i]);
+            argumentDepths[i] = depth - 1;
+        }
+        this.argumentSlots = depth;
+        int length = 0;
+        for (String constant : constants){
+            length += constant == null ? 0 : constant.length();
+        }
+        this.constantLength = length;
+    }
+
+    /**
+     * Parse {@code recipe}, whose \2 tags take their values from {@code staticConstants} in
+     * order. A null recipe (makeConcat) concatenates the arguments alone.
+     */
+    public static StringConcatPlan parse(String recipe, List<Object> staticConstants, ValueType[] argumentTypes){
+        if (recipe == null){
+            recipe = String.valueOf(TAG_ARG).repeat(argumentTypes.length);
+        }
+        List<String> constants = new ArrayList<>();
+        StringBuilder constant = new StringBuilder();
+        int nextConstant = 0;
+        for (int i = 0; i < recipe.length(); i++){
+            char c = recipe.charAt(i);
+            if (c == TAG_ARG){
+                constants.add(constant.isEmpty() ? null : constant.toString());
+                constant.setLength(0);
+            } else if (c == TAG_CONST){
+                constant.append(staticConstants.get(nextConstant++));
+            } else {
+                constant.append(c);
+            }
+        }
+        constants.add(constant.isEmpty() ? null : constant.toString());
+        if (constants.size() != argumentTypes.length + 1){
+            throw new IllegalArgumentException("Concat recipe does not match its " + argumentTypes.length + " arguments");
+        }
+        return new StringConcatPlan(constants.toArray(new String[0]), argumentTypes);
+    }
+
+    /**
+     * Replace the arguments on top of {@code stack} with their concatenation.
+     */
+    public void concat(OperandStack stack){
+        StringBuilder builder = new StringBuilder(length(stack));
+        for (int i = 0; i < argumentTypes.length; i++){
+            if (constants[i] != null){
+                builder.append(constants[i]);
+            }
+            int depth = argumentDepths[i];
+            switch (argumentTypes[i]) {
+                case T_BYTE, T_SHORT, T_INT -> builder.append(stack.peekInt(depth));
+                case T_CHAR -> builder.append((char) stack.peekInt(depth));
+                case T_BOOLEAN -> builder.append(stack.peekInt(depth) != 0);
+                case T_LONG -> builder.append(stack.peekLong(depth));
+                case T_FLOAT -> builder.append(stack.peekFloat(depth));
+                case T_DOUBLE -> builder.append(stack.peekDouble(depth));
+                default -> builder.append((String) stack.peekRef(depth));
+            }
+        }
+        String last = constants[argumentTypes.length];
+        if (last != null){
+            builder.append(last);
+        }
+        stack.popN(argumentSlots);
+        stack.pushRef(builder.toString());
+    }
+
+    /**
+     * The capacity the result needs. Each object argument is replaced on the stack by its
+     * string value, so that its toString runs once and its length is known.
+     */
+    int length(OperandStack stack){
+        int length = constantLength;
+        for (int i = 0; i < argumentTypes.length; i++){
+            int depth = argumentDepths[i];
+            length += switch (argumentTypes[i]) {
+                case T_BYTE, T_SHORT, T_INT -> decimalLength(stack.peekInt(depth));
+                case T_CHAR -> 1;
+                case T_BOOLEAN -> stack.peekInt(depth) != 0 ? 4 : 5;
+                case T_LONG -> decimalLength(stack.peekLong(depth));
+                case T_FLOAT -> FLOAT_LENGTH;
+                case T_DOUBLE -> DOUBLE_LENGTH;
+                default -> {
+                    String string = String.valueOf(stack.peekRef(depth));
+                    stack.putSlot(depth, 0, string);
+                    yield string.length();
+                }
+            };
+        }
+        return length;
+    }
+
+    // digits and sign of value, as Long.toString writes it
+    private static int decimalLength(long value){
+        int length = value < 0 ? 2 : 1;
+        for (long rest = value / 10; rest != 0; rest /= 10){
+            length++;
+        }
+        return length;
+    }
+}
@@ -0,0 +1,88 @@
+package com.avaya.jvm.hotspot.share.runtime;
+
+import com.avaya.jvm.hotspot.share.memory.AllStatic;
+import lombok.Getter;
+
+/**
+ * VM options given on the command line.
+ * <p>
+ * Recognised are {@code -Xss<size>}, the size of each thread's guest stack, in bytes
+ * with an optional k, m or g suffix, and {@code -XX:+/-UseIntrinsics}, whether JRE methods
+ * with an entry in {@code Intrinsics} run its handler (the default), as with HotSpot.
+ * {@code -XX:+UseOffHeapArrays} keeps guest primitive arrays of at least
+ * {@code -XX:OffHeapArrayMinBytes=<size>} bytes (default 1k) off the host heap, see
+ * {@code ArrayArena}. {@code -XX:+UseVirtualThreads} runs the threads the guest starts on
+ * virtual threads of the host, if it has them, see {@code Threads}.
+ * {@code -XX:+ProfileInlineCaches} counts the hits and misses of every call site's
+ * {@code InlineCache}, off by default as every call would write the counters. Other
+ * arguments are ignored.
+ */
+public class Arguments extends AllStatic {
+
+    // bytes per JavaStack slot: one long, the reference slot is not counted
+    public static final int SLOT_SIZE = 8;
+
+    @Getter
+    private static long threadStackSize = 1024 * 1024;
+
+    @Getter
+    private static boolean useIntrinsics = true;
+
+    @Getter
+    private static boolean useOffHeapArrays = false;
+
+    @Getter
+    private static long offHeapArrayMinBytes = 1024;
+
+    @Getter
+    private static boolean useVirtualThreads = false;
+
+    @Getter
+    private static boolean profileInlineCaches = false;
+
+    public static void parse(String[] args){
+        for (String arg : args){
+            if (arg.startsWith("-Xss")){
+                threadStackSize = parseSize(arg.substring(4));
+            } else if (arg.equals("-XX:+UseIntrinsics")){
+                useIntrinsics = true;
+            } else if (arg.equals("-XX:-UseIntrinsics")){
+                useIntrinsics = false;
+            } else if (arg.equals("-XX:+UseOffHeapArrays")){
+                useOffHeapArrays = true;
+            } else if (arg.equals("-XX:-UseOffHeapArrays")){
+                useOffHeapArrays = false;
+            } else if (arg.equals("-XX:+UseVirtualThreads")){
+                useVirtualThreads = true;
+            } else if (arg.equals("-XX:-UseVirtualThreads")){
+                useVirtualThreads = false;
+            } else if (arg.equals("-XX:+ProfileInlineCaches")){
+                profileInlineCaches = true;
+            } else if (arg.equals("-XX:-ProfileInlineCaches")){
+                profileInlineCaches = false;
+            } else if (arg.startsWith("-XX:OffHeapArrayMinBytes=")){
+                offHeapArrayMinBytes = parseSize(arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+    }
+
+    // number of slots a JavaStack may grow to
+    public static int getThreadStackSlots(){
+        return (int) Math.min(Integer.MAX_VALUE, threadStackSize / SLOT_SIZE);
+    }
+
+    private static long parseSize(String value){
+        long unit = switch (Character.toLowerCase(value.charAt(value.length() - 1))) {
+            case 'k' -> 1024L;
+            case 'm' -> 1024L * 1024;
+            case 'g' -> 1024L * 1024 * 1024;
+            default -> 1;
+        };
+        String digits = unit == 1 ? value : value.substring(0, value.length() - 1);
+        long size = Long.parseLong(digits) * unit;
+        if (size <= 0){
+            throw new IllegalArgumentException("Invalid size: " + value);
+        }
+        return size;
+    }
+}
@@ -0,0 +1,179 @@
+package com.avaya.jvm.hotspot.share.runtime;
+
+import com.avaya.jvm.hotspot.share.memory.AllStatic;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Locks of host objects, such as strings, boxed values and classes, which have no mark
+ * word: MONITORENTER, MONITOREXIT and {@code Object.wait/notify} of any object that is not
+ * an OopDesc, see {@link ObjectSynchronizer} for those.
+ * <p>
+ * The table maps an object by identity to a ReentrantLock. It only holds an entry while
+ * some thread owns, enters or waits on the lock: the last exit removes it, so the table
+ * is no larger than the number of objects locked at a time. An entry refers to its
+ * object weakly and does not keep it alive; one whose object was collected while still
+ * locked, because its owner never left, is purged when its reference is enqueued.
+ * <p>
+ * The table is split into stripes by identity hash, each a chain of entries guarded by
+ * the stripe. A thread blocks on the lock itself, never while holding its stripe.
+ */
+public class HostMonitorTable extends AllStatic {
+
+    private static final int STRIPES = 64;
+
+    private static final Stripe[] stripes = new Stripe[STRIPES];
+    private static final ReferenceQueue<Object> collected = new ReferenceQueue<>();
+    private static final AtomicInteger size = new AtomicInteger();
+
+    static {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    public static void enter(Object object){
+        expungeCollected();
+        int hash = System.identityHashCode(object);
+        Stripe stripe = stripeFor(hash);
+        Entry entry;
+        synchronized (stripe) {
+            entry = stripe.find(object, hash);
+            if (entry == null){
+                entry = new Entry(object, hash, stripe.head);
+                stripe.head = entry;
+                size.incrementAndGet();
+            }
+            entry.users++;
+        }
+        entry.lock.lock();
+    }
+
+    public static void exit(Object object){
+        int hash = System.identityHashCode(object);
+        Stripe stripe = stripeFor(hash);
+        synchronized (stripe) {
+            Entry entry = ownedEntry(stripe, object, hash);
+            entry.lock.unlock();
+            entry.release(stripe);
+        }
+    }
+
+    // Object.wait(millis), 0 waits until notified
+    public static void wait(Object object, long millis) throws InterruptedException {
+        if (millis < 0){
+            throw new IllegalArgumentException("timeout value is negative");
+        }
+        int hash = System.identityHashCode(object);
+        Entry entry;
+        synchronized (stripeFor(hash)) {
+            entry = ownedEntry(stripeFor(hash), object, hash);
+        }
+        // the owner's holds keep the entry in the table until it is back
+        if (millis == 0){
+            entry.condition.await();
+        } else {
+            entry.condition.await(millis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // Object.notify and Object.notifyAll
+    public static void notify(Object object, boolean all){
+        int hash = System.identityHashCode(object);
+        Entry entry;
+        synchronized (stripeFor(hash)) {
+            entry = ownedEntry(stripeFor(hash), object, hash);
+        }
+        if (all){
+            entry.condition.signalAll();
+        } else {
+            entry.condition.signal();
+        }
+    }
+
+    // entries in the table, locked or not yet purged
+    public static int size(){
+        return size.get();
+    }
+
+    private static Stripe stripeFor(int hash){
+        return stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+    }
+
+    private static Entry ownedEntry(Stripe stripe, Object object, int hash){
+        Entry entry = stripe.find(object, hash);
+        if (entry == null || !entry.lock.isHeldByCurrentThread()){
+            throw new IllegalMonitorStateException("current thread is not owner");
+        }
+        return entry;
+    }
+
+    private static void expungeCollected(){
+        Reference<?> reference;
+        while ((reference = collected.poll()) != null) {
+            Entry entry = (Entry) reference;
+            Stripe stripe = stripeFor(entry.hash);
+            synchronized (stripe) {
+                if (stripe.remove(entry)){
+                    size.decrementAndGet();
+                }
+            }
+        }
+    }
+
+    private static final class Stripe {
+        private Entry head;
+
+        private Entry find(Object object, int hash){
+            for (Entry entry = head; entry != null; entry = entry.next) {
+                if (entry.hash == hash && entry.get() == object){
+                    return entry;
+                }
+            }
+            return null;
+        }
+
+        private boolean remove(Entry target){
+            Entry previous = null;
+            for (Entry entry = head; entry != null; previous = entry, entry = entry.next) {
+                if (entry == target){
+                    if (previous == null){
+                        head = entry.next;
+                    } else {
+                        previous.next = entry.next;
+                    }
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static final class Entry extends WeakReference<Object> {
+        private final int hash;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition condition = lock.newCondition();
+        private Entry next;
+        // holds of the owner and threads entering, guarded by the stripe
+        private int users;
+
+        private Entry(Object object, int hash, Entry next){
+            super(object, collected);
+            this.hash = hash;
+            this.next = next;
+        }
+
+        private void release(Stripe stripe){
+            if (--users == 0 && stripe.remove(this)){
+                clear();
+                size.decrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.avaya.jvm.hotspot.share.runtime;
+
+import com.avaya.jvm.hotspot.share.interpreter.DecodedCode;
+import com.avaya.jvm.hotspot.share.oops.MethodEntry;
+
+import java.util.Arrays;
+
+/**
+ * The guest stack of a JavaThread: one contiguous slot arena that every frame is carved out of.
+ * <p>
+ * A frame is its locals followed by its operand stack. A new frame starts at the first
+ * argument on the caller's operand stack, so the arguments become the callee's first
+ * locals where they are and nothing is copied:
+ * <pre>
+ *   caller:  | locals | ... operand stack ... this arg1 arg2 |
+ *   callee:                                  | locals[0] [1] [2] ... | operand stack |
+ * </pre>
+ * On return the callee's result is pushed where its locals began. JavaVFrame objects are
+ * reused per depth, so a call allocates nothing once the arena and the frame pool have
+ * grown to the deepest call chain. Both grow by doubling, up to the -Xss size (see
+ * {@link Arguments}); a call beyond it throws StackOverflowError into the guest. Each
+ * frame is charged {@link #FRAME_HEADER_SLOTS} against -Xss besides its locals and operand
+ * stack, as a HotSpot frame has its return address, saved frame pointer and method, so a
+ * recursion of methods without arguments or locals is bounded too.
+ * <p>
+ * Only the owning thread uses its stack, there is no locking.
+ */
+public class JavaStack {
+
+    private static final int INITIAL_SLOTS = 1024;
+    private static final int INITIAL_FRAMES = 64;
+    // slots of -Xss charged per frame on top of those it occupies in the arena
+    public static final int FRAME_HEADER_SLOTS = 4;
+
+    private long[] slots = new long[INITIAL_SLOTS];
+    private Object[] refs = new Object[INITIAL_SLOTS];
+    private JavaVFrame[] frames = new JavaVFrame[INITIAL_FRAMES];
+    private final int maxSlots = Arguments.getThreadStackSlots();
+    // number of active frames
+    private int depth;
+
+    /**
+     * Push a frame for the method of {@code entry}, which must have code. Its first
+     * {@code argumentSlots} locals are the slots on top of the caller's operand stack, which
+     * are popped from the caller. The bottom frame takes no arguments from anywhere.
+     * The frame starts at pc 0 of the method's DecodedCode.
+     */
+    public JavaVFrame push(MethodEntry entry){
+        int argumentSlots = entry.getArgumentSlots();
+        OperandStack callerStack = depth > 0 ? frames[depth - 1].getOperandStack() : null;
+        int base = callerStack != null ? callerStack.getTop() + 1 - argumentSlots : 0;
+        int limit = base + entry.getMaxLocals() + entry.getMaxStack();
+        if (charged(limit, depth + 1) > maxSlots){
+            // the caller is left as it was, its handlers may catch the error
+            throw new StackOverflowError();
+        }
+        if (limit > slots.length){
+            grow(limit);
+        }
+        if (callerStack != null){
+            callerStack.popN(argumentSlots);
+        }
+        return bind(base, entry.getMaxLocals(), limit, entry.getDecodedCode());
+    }
+
+    /**
+     * Push a frame without code for a call from the host into the guest, above everything
+     * on the current frame's operand stack. The host pushes the arguments of the call onto
+     * its operand stack, the callee's frame takes them from there as from any caller, and
+     * the callee's result is left there once it returns. The host pops the frame itself.
+     */
+    public JavaVFrame pushEntryFrame(int maxStack){
+        int base = depth > 0 ? frames[depth - 1].getOperandStack().getTop() + 1 : 0;
+        int limit = base + maxStack;
+        if (charged(limit, depth + 1) > maxSlots){
+            throw new StackOverflowError();
+        }
+        if (limit > slots.length){
+            grow(limit);
+        }
+        return bind(base, 0, limit, null);
+    }
+
+    /**
+     * Pop the current frame. Its reference slots are cleared, so the arena keeps nothing
+     * reachable that the guest no longer can.
+     */
+    public void pop(){
+        JavaVFrame frame = frames[--depth];
+        Arrays.fill(refs, frame.getBase(), frame.getLimit(), null);
+    }
+
+    /**
+     * Make room for {@code extraSlots} slots beyond the max_stack of the current frame, e.g.
+     * for the captured values a lambda call puts in place of the lambda object.
+     */
+    public void reserve(int extraSlots){
+        int limit = frames[depth - 1].getOperandStack().getTop() + 1 + extraSlots;
+        if (charged(limit, depth) > maxSlots){
+            throw new StackOverflowError();
+        }
+        if (limit > slots.length){
+            grow(limit);
+        }
+    }
+
+    public JavaVFrame peek(){
+        return frames[depth - 1];
+    }
+
+    public boolean isEmpty(){
+        return depth == 0;
+    }
+
+    public int getDepth(){
+        return depth;
+    }
+
+    private JavaVFrame bind(int base, int maxLocals, int limit, DecodedCode decodedCode){
+        if (depth == frames.length){
+            frames = Arrays.copyOf(frames, depth * 2);
+        }
+        JavaVFrame frame = frames[depth];
+        if (frame == null){
+            frame = new JavaVFrame();
+            frames[depth] = frame;
+        }
+        frame.bind(slots, refs, base, maxLocals, limit, decodedCode);
+        depth++;
+        return frame;
+    }
+
+    // slots of -Xss used by {@code frameCount} frames whose top one ends at {@code limit}
+    private static long charged(int limit, int frameCount){
+        return limit + (long) frameCount * FRAME_HEADER_SLOTS;
+    }
+
+    private void grow(int minSlots){
+        int newLength = slots.length * 2;
+        while (newLength < minSlots){
+            newLength *= 2;
+        }
+        newLength = Math.min(newLength, maxSlots);
+        slots = Arrays.copyOf(slots, newLength);
+        refs = Arrays.copyOf(refs, newLength);
+        // active frames keep their offsets, only the arrays move
+        for (int i = 0; i < depth; i++){
+            frames[i].rebind(slots, refs);
+        }
+    }
+}
@@ -1,16 +1,87 @@
 package com.avaya.jvm.hotspot.share.runtime;
 
-import lombok.Data;
+import com.avaya.jvm.hotspot.share.oops.InstanceOop;
+import com.avaya.jvm.hotspot.share.prims.JavaNativeInterface;
+import lombok.Getter;
+import lombok.Setter;
 
-import java.util.Stack;
-@Data
-public class JavaThread extends Thread{
-    private Stack<VFrame> stack = new Stack<>();
+import java.util.BitSet;
+
+/**
+ * A guest thread: its frame stack and pending exception, and the host thread that runs
+ * it, its carrier.
+ * <p>
+ * The host drives the main thread, setting it as the current thread and calling into
+ * the guest. A thread the guest creates with {@code new Thread(runnable)} gets a carrier
+ * of its own from {@link Threads#newGuestThread}, a platform or a virtual thread, which
+ * the guest sees as the Thread object. The guest's {@code Thread.start()} starts the
+ * carrier, which runs the Runnable in the interpreter as its current thread.
+ * <p>
+ * The {@code threadId} of a thread is the smallest one not in use when it is created,
+ * and is given back when it leaves {@link Threads}. Ids stay small however many threads
+ * a long-running guest creates, as long as fewer than {@code MarkWord.MAX_OWNER} are
+ * alive at once; a thread with a larger id still locks objects, but always through an
+ * inflated monitor, see {@link ObjectSynchronizer}.
+ */
+@Getter
+public class JavaThread {
+    // ids in use, guarded by itself
+    private static final BitSet threadIds = new BitSet();
+
+    // a small number from 1 identifying the thread in the mark word of the objects it locks
+    private final int threadId = allocateThreadId();
+    private final JavaStack stack = new JavaStack();
+    // the guest Runnable run() runs, null for a thread the host drives
+    private final InstanceOop task;
+    // the host thread running this thread, set when it starts
+    @Setter
+    private volatile Thread carrier;
     /**
      * The currently active exception for this thread.
      *
      * Each thread can have only one active exception at a time,
      * so this field tracks it during throw, catch, or propagation.
      */
+    @Setter
     private Throwable currentException = null;
+
+    public JavaThread(){
+        this.task = null;
+    }
+
+    public JavaThread(InstanceOop task){
+        this.task = task;
+    }
+
+    static int allocateThreadId(){
+        synchronized (threadIds){
+            int id = threadIds.nextClearBit(1);
+            threadIds.set(id);
+            return id;
+        }
+    }
+
+    static void releaseThreadId(int id){
+        synchronized (threadIds){
+            threadIds.clear(id);
+        }
+    }
+
+    /**
+     * Run the task of a thread the guest started, on its carrier. An exception it does
+     * not catch ends the thread and goes to the carrier's uncaught exception handler, as
+     * on the host.
+     */
+    void run(){
+        Threads.addThread(this);
+        Threads.setCurrentThread(this);
+        try {
+            JavaNativeInterface.callRunMethod(task);
+        } catch (Throwable e) {
+            carrier.getUncaughtExceptionHandler().uncaughtException(carrier, e);
+        } finally {
+            Threads.setCurrentThread(null);
+            Threads.removeThread(this);
+        }
+    }
 }
@@ -1,18 +1,46 @@
 package com.avaya.jvm.hotspot.share.runtime;
 
-import com.avaya.jvm.hotspot.share.oops.CodeAttribute;
+import com.avaya.jvm.hotspot.share.interpreter.DecodedCode;
 import lombok.Getter;
 import lombok.Setter;
 
+/**
+ * A frame of an interpreted method, a window onto its thread's {@link JavaStack}.
+ * <p>
+ * The locals start at {@code base}, the operand stack follows them and the frame ends
+ * before {@code limit}. Frames are pooled by JavaStack and rebound on every call.
+ * <p>
+ * {@code pc} is where the method resumes once the frame is current again: it is saved by
+ * the interpreter before an invoke pushes a callee.
+ * <p>
+ * {@code lock} is the object a synchronized method locked when its frame started, to be
+ * released when the frame is popped, by a return or by an exception.
+ */
 @Getter
 public class JavaVFrame extends VFrame{
+    private final LocalVariableArray locals = new LocalVariableArray();
+    private final OperandStack operandStack = new OperandStack();
+    private int base;
+    private int limit;
+    private DecodedCode decodedCode;
     @Setter
-    private LocalVariableArray locals;
-    private final OperandStack operandStack;
+    private int pc;
+    @Setter
+    private Object lock;
+
+    void bind(long[] slots, Object[] refs, int base, int maxLocals, int limit, DecodedCode decodedCode){
+        this.base = base;
+        this.limit = limit;
+        this.decodedCode = decodedCode;
+        this.pc = 0;
+        this.lock = null;
+        locals.bind(slots, refs, base);
+        operandStack.bind(slots, refs, base + maxLocals);
+    }
 
-    public JavaVFrame(CodeAttribute code){
-        this.locals = new LocalVariableArray(code.getMaxLocals());
-        this.operandStack = new OperandStack(code.getMaxStack());
+    void rebind(long[] slots, Object[] refs){
+        locals.rebind(slots, refs);
+        operandStack.rebind(slots, refs);
     }
 
 }
@@ -1,75 +1,68 @@
 package com.avaya.jvm.hotspot.share.runtime;
 
-import com.avaya.jvm.hotspot.share.utilities.ValueType;
-
 /**
  * Local variable array of a JVM frame used to store method parameters and local variables.
  * <p>
  * The size of the array is determined at compile-time and supplied with the method's code.
  * Variables are addressed by index starting from 0. For instance methods, index 0 is 'this'.
+ * <p>
+ * Like {@link OperandStack}, primitives and references are kept in two parallel untagged
+ * arrays, and a long or double is stored whole at the lower of its two indexes. The
+ * arrays belong to the thread's {@link JavaStack}, index 0 is at {@code base}.
  */
 public class LocalVariableArray {
-    private final StackValue[] locals;
+    private long[] locals;
+    private Object[] refs;
+    private int base;
+
+    void bind(long[] locals, Object[] refs, int base) {
+        this.locals = locals;
+        this.refs = refs;
+        this.base = base;
+    }
 
-    public LocalVariableArray(int maxSize) {
-        this.locals = new StackValue[maxSize];
-        for (int i = 0; i < maxSize; i++){
-            locals[i] = new StackValue();
-        }
+    void rebind(long[] locals, Object[] refs) {
+        this.locals = locals;
+        this.refs = refs;
     }
 
     public void setRef(int index, Object ref){
-        this.locals[index].setType(ValueType.T_OBJECT);
-        this.locals[index].setRef(ref);
+        this.refs[base + index] = ref;
     }
 
     public Object getRef(int index){
-        return this.locals[index].getRef();
+        return this.refs[base + index];
     }
 
     public void setInt(int index, int num){
-        this.locals[index].setType(ValueType.T_INT);
-        this.locals[index].setNum(num);
+        this.locals[base + index] = num;
     }
 
     public int getInt(int index) {
-        return this.locals[index].getNum();
+        return (int) this.locals[base + index];
     }
 
     public void setFloat(int index, float num){
-        this.locals[index].setType(ValueType.T_FLOAT);
-        this.locals[index].setNum(Float.floatToRawIntBits(num));
+        this.locals[base + index] = Float.floatToRawIntBits(num);
     }
 
     public float getFloat(int index) {
-        return Float.intBitsToFloat(this.locals[index].getNum());
+        return Float.intBitsToFloat((int) this.locals[base + index]);
     }
 
     public void setLong(int index, long num){
-        this.locals[index].setType(ValueType.T_LONG);
-        this.locals[index].setNum((int) (num & 0xFFFFFFFFL));
-        this.locals[index+1].setType(ValueType.T_LONG);
-        this.locals[index+1].setNum((int) (num >>> 32));
+        this.locals[base + index] = num;
     }
 
     public long getLong(int index) {
-        int low = this.locals[index].getNum();
-        int high = this.locals[index+1].getNum();
-        return ((long)low & 0xFFFFFFFFL) | ((long)high << 32);
+        return this.locals[base + index];
     }
 
     public void setDouble(int index, double num){
-        long bits = Double.doubleToLongBits(num);
-        this.locals[index].setType(ValueType.T_DOUBLE);
-        this.locals[index].setNum((int) (bits & 0xFFFFFFFFL));
-        this.locals[index+1].setType(ValueType.T_DOUBLE);
-        this.locals[index+1].setNum((int) (bits >>> 32));
+        this.locals[base + index] = Double.doubleToRawLongBits(num);
     }
 
     public double getDouble(int index) {
-        int low = this.locals[index].getNum();
-        int high = this.locals[index+1].getNum();
-        long bits = ((long)low & 0xFFFFFFFFL) | ((long)high << 32);
-        return Double.longBitsToDouble(bits);
+        return Double.longBitsToDouble(this.locals[base + index]);
     }
 }
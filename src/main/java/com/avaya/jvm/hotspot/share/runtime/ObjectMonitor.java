@@ -0,0 +1,223 @@
+package com.avaya.jvm.hotspot.share.runtime;
+
+import com.avaya.jvm.hotspot.share.oops.MarkWord;
+import com.avaya.jvm.hotspot.share.oops.OopDesc;
+import lombok.Getter;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The monitor of an object whose lock is inflated, see {@link ObjectSynchronizer}.
+ * <p>
+ * {@code owner} is the {@code threadId} of the owning JavaThread, 0 when free. A thread
+ * that finds it taken spins briefly, then queues on the entry list and parks; each exit
+ * unparks the head of the list, which retries. Threads in {@code wait()} are parked on
+ * the wait set until notified, then compete for the monitor again like any other.
+ * <p>
+ * {@code header} is the mark word of the object while it is inflated, with its hash and
+ * age. The hash is assigned at inflation, so the header does not change until deflation.
+ * <p>
+ * An idle monitor, with no owner, no thread entering it and no waiter, is deflated: its
+ * owner becomes DEFLATER for good, {@code deflated} is set and the object gets its
+ * header back. A thread that reaches a deflated monitor through an old mark word
+ * retries with the new one. Entering threads count themselves in {@code contentions}
+ * before they look at {@code deflated}, and the deflater sets {@code deflated} before
+ * it looks at {@code contentions}, so one of them always sees the other. A thread in
+ * {@code wait()} counts as entering from the start, notified or not.
+ */
+public class ObjectMonitor {
+
+    private static final int DEFLATER = -1;
+    private static final int SPINS = 64;
+
+    @Getter
+    private final long index;
+    @Getter
+    private final OopDesc object;
+    @Getter
+    private final long header;
+
+    private final AtomicInteger owner = new AtomicInteger();
+    // entries of the owner beyond the first, only the owner touches it
+    private int recursions;
+    private final AtomicInteger contentions = new AtomicInteger();
+    private volatile boolean deflated;
+
+    private final ConcurrentLinkedQueue<Waiter> entryList = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<Waiter> waitSet = new ConcurrentLinkedQueue<>();
+
+    private static final class Waiter {
+        private final Thread thread = Thread.currentThread();
+        private volatile boolean notified;
+    }
+
+    ObjectMonitor(long index, OopDesc object, long header, int owner, int recursions) {
+        this.index = index;
+        this.object = object;
+        this.header = header;
+        this.owner.set(owner);
+        this.recursions = recursions;
+    }
+
+    public boolean isOwnedBy(JavaThread thread){
+        return owner.get() == thread.getThreadId();
+    }
+
+    /**
+     * Enter the monitor, parking while another thread owns it. Returns false if the
+     * monitor is deflated meanwhile, the object's mark word has to be read again.
+     */
+    boolean enter(JavaThread thread){
+        int self = thread.getThreadId();
+        if (owner.get() == self){
+            recursions++;
+            return true;
+        }
+        contentions.incrementAndGet();
+        try {
+            return acquire(self);
+        } finally {
+            contentions.decrementAndGet();
+        }
+    }
+
+    private boolean acquire(int self){
+        for (int i = 0; i < SPINS; i++){
+            if (deflated){
+                return false;
+            }
+            if (owner.compareAndSet(0, self)){
+                return true;
+            }
+            Thread.onSpinWait();
+        }
+        Waiter waiter = new Waiter();
+        entryList.add(waiter);
+        try {
+            while (true) {
+                if (deflated){
+                    return false;
+                }
+                if (owner.compareAndSet(0, self)){
+                    return true;
+                }
+                LockSupport.park(this);
+            }
+        } finally {
+            entryList.remove(waiter);
+        }
+    }
+
+    void exit(JavaThread thread){
+        checkOwner(thread);
+        if (recursions > 0){
+            recursions--;
+            return;
+        }
+        release();
+    }
+
+    private void release(){
+        owner.set(0);
+        Waiter next = entryList.peek();
+        if (next != null){
+            LockSupport.unpark(next.thread);
+        }
+    }
+
+    /**
+     * {@code Object.wait}: release the monitor, however often it was entered, until
+     * notified, interrupted or {@code millis} have passed (0 for no timeout), then enter
+     * it again as often as before.
+     */
+    void wait(JavaThread thread, long millis) throws InterruptedException {
+        checkOwner(thread);
+        if (Thread.interrupted()){
+            throw new InterruptedException();
+        }
+        // counted until it owns the monitor again, so the monitor is not deflated under it
+        contentions.incrementAndGet();
+        Waiter waiter = new Waiter();
+        waitSet.add(waiter);
+        int saved = recursions;
+        recursions = 0;
+        release();
+
+        boolean interrupted = false;
+        long deadline = millis > 0 ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis) : 0;
+        while (!waiter.notified) {
+            if (millis > 0){
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0){
+                    break;
+                }
+                LockSupport.parkNanos(this, remaining);
+            } else {
+                LockSupport.park(this);
+            }
+            if (Thread.interrupted()){
+                interrupted = true;
+                break;
+            }
+        }
+
+        try {
+            // still in the wait set after a timeout or an interrupt, unless notified meanwhile
+            if (!waitSet.remove(waiter) && interrupted){
+                // a notification is not lost to an interrupt: return normally, still interrupted
+                interrupted = false;
+                Thread.currentThread().interrupt();
+            }
+            int self = thread.getThreadId();
+            while (!acquire(self)) {
+                Thread.onSpinWait();
+            }
+        } finally {
+            contentions.decrementAndGet();
+        }
+        recursions = saved;
+        if (interrupted){
+            throw new InterruptedException();
+        }
+    }
+
+    void notify(JavaThread thread, boolean all){
+        checkOwner(thread);
+        Waiter waiter;
+        while ((waiter = waitSet.poll()) != null) {
+            waiter.notified = true;
+            LockSupport.unpark(waiter.thread);
+            if (!all){
+                break;
+            }
+        }
+    }
+
+    /**
+     * Deflate the monitor if it is idle, giving the object its header back.
+     */
+    boolean tryDeflate(){
+        if (contentions.get() > 0 || !waitSet.isEmpty() || !owner.compareAndSet(0, DEFLATER)){
+            return false;
+        }
+        deflated = true;
+        if (contentions.get() > 0 || !waitSet.isEmpty()){
+            // a thread arrived meanwhile, let it have the monitor
+            deflated = false;
+            release();
+            return false;
+        }
+        // nothing else changes the mark word of an inflated object
+        object.casMark(MarkWord.monitor(index), header);
+        return true;
+    }
+
+    private void checkOwner(JavaThread thread){
+        if (owner.get() != thread.getThreadId()){
+            throw new IllegalMonitorStateException("current thread is not owner");
+        }
+    }
+}
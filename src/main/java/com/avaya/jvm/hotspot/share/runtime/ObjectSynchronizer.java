@@ -0,0 +1,201 @@
+package com.avaya.jvm.hotspot.share.runtime;
+
+import com.avaya.jvm.hotspot.share.memory.AllStatic;
+import com.avaya.jvm.hotspot.share.oops.MarkWord;
+import com.avaya.jvm.hotspot.share.oops.OopDesc;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Locking of guest objects: MONITORENTER, MONITOREXIT and {@code Object.wait/notify}.
+ * <p>
+ * An uncontended lock is thin: a CAS puts the owner's {@code threadId} into the mark word
+ * of the object, and entering it again counts up its recursions there, see
+ * {@link MarkWord}. A thread that finds the object locked by another spins briefly,
+ * then inflates the lock to an {@link ObjectMonitor}, where it parks until the owner
+ * leaves. A lock is also inflated when its recursions overflow the mark word, when the
+ * owner's id does not fit in it, and for {@code wait()}. Once a monitor is idle, its last
+ * owner deflates it and the object is thin again.
+ * <p>
+ * The mark word of an inflated object holds the index of its monitor in an array, the
+ * monitor table, where the monitor stays until deflated. Its index is then reused by a
+ * later inflation, so a monitor found through a mark word that was read before is
+ * checked to be that of the object. The table is written under the lock of the class and
+ * read without locking: a monitor is stored before its index is CASed into the mark word.
+ */
+public class ObjectSynchronizer extends AllStatic {
+
+    private static final int SPINS = 100;
+
+    // monitor index -> monitor, null where free; replaced by a larger copy when full
+    private static volatile ObjectMonitor[] monitors = new ObjectMonitor[64];
+    // indices of deflated monitors, reused first
+    private static int[] freeIndices = new int[64];
+    private static int freeCount;
+    // indices below it have been used
+    private static int usedIndices;
+    private static int monitorCount;
+    private static final AtomicLong inflations = new AtomicLong();
+    private static final AtomicLong deflations = new AtomicLong();
+
+    public static void enter(OopDesc object, JavaThread thread){
+        int self = thread.getThreadId();
+        for (int spins = 0; ; spins++) {
+            long mark = object.getMark();
+            if (MarkWord.isUnlocked(mark) && self <= MarkWord.MAX_OWNER){
+                if (object.casMark(mark, MarkWord.locked(mark, self, 0))){
+                    return;
+                }
+            } else if (MarkWord.isLocked(mark) && MarkWord.owner(mark) == self && MarkWord.recursions(mark) < MarkWord.MAX_RECURSIONS){
+                // only a hash may be assigned meanwhile, try again
+                if (object.casMark(mark, MarkWord.locked(mark, self, MarkWord.recursions(mark) + 1))){
+                    return;
+                }
+            } else if (MarkWord.hasMonitor(mark) || spins >= SPINS || MarkWord.owner(mark) == self || self > MarkWord.MAX_OWNER){
+                ObjectMonitor monitor = inflate(object);
+                if (monitor != null && monitor.enter(thread)){
+                    return;
+                }
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    public static void exit(OopDesc object, JavaThread thread){
+        int self = thread.getThreadId();
+        while (true) {
+            long mark = object.getMark();
+            if (MarkWord.isLocked(mark)){
+                if (MarkWord.owner(mark) != self){
+                    throw new IllegalMonitorStateException("current thread is not owner");
+                }
+                int recursions = MarkWord.recursions(mark);
+                long released = recursions > 0 ? MarkWord.locked(mark, self, recursions - 1) : MarkWord.unlocked(mark);
+                if (object.casMark(mark, released)){
+                    return;
+                }
+            } else if (MarkWord.hasMonitor(mark)){
+                // an owned monitor is not deflated, so the one found is the object's
+                ObjectMonitor monitor = monitorOf(object, mark);
+                if (monitor == null || !monitor.isOwnedBy(thread)){
+                    throw new IllegalMonitorStateException("current thread is not owner");
+                }
+                monitor.exit(thread);
+                if (!monitor.isOwnedBy(thread) && monitor.tryDeflate()){
+                    freeMonitor(monitor);
+                    deflations.incrementAndGet();
+                }
+                return;
+            } else {
+                throw new IllegalMonitorStateException("current thread is not owner");
+            }
+        }
+    }
+
+    // Object.wait(millis), 0 waits until notified
+    public static void wait(OopDesc object, JavaThread thread, long millis) throws InterruptedException {
+        if (millis < 0){
+            throw new IllegalArgumentException("timeout value is negative");
+        }
+        ownedMonitor(object, thread).wait(thread, millis);
+    }
+
+    // Object.notify and Object.notifyAll
+    public static void notify(OopDesc object, JavaThread thread, boolean all){
+        long mark = object.getMark();
+        if (MarkWord.isLocked(mark) && MarkWord.owner(mark) == thread.getThreadId()){
+            // only an inflated lock has waiters
+            return;
+        }
+        ownedMonitor(object, thread).notify(thread, all);
+    }
+
+    /**
+     * The identity hash of an inflated object, which its monitor keeps. Returns 0 if the
+     * monitor was deflated meanwhile, the mark word has to be read again.
+     */
+    public static int identityHash(OopDesc object, long mark){
+        ObjectMonitor monitor = monitorOf(object, mark);
+        return monitor == null ? 0 : MarkWord.hash(monitor.getHeader());
+    }
+
+    public static long getInflations(){
+        return inflations.get();
+    }
+
+    public static long getDeflations(){
+        return deflations.get();
+    }
+
+    public static synchronized int getMonitorCount(){
+        return monitorCount;
+    }
+
+    // the monitor of object named by its mark word, null if it was deflated since
+    private static ObjectMonitor monitorOf(OopDesc object, long mark){
+        ObjectMonitor[] monitors = ObjectSynchronizer.monitors;
+        int index = (int) MarkWord.monitorIndex(mark);
+        ObjectMonitor monitor = index < monitors.length ? monitors[index] : null;
+        return monitor != null && monitor.getObject() == object ? monitor : null;
+    }
+
+    private static synchronized ObjectMonitor newMonitor(OopDesc object, long header, int owner, int recursions){
+        int index = freeCount > 0 ? freeIndices[--freeCount] : usedIndices++;
+        if (index == monitors.length){
+            monitors = Arrays.copyOf(monitors, index * 2);
+        }
+        ObjectMonitor monitor = new ObjectMonitor(index, object, header, owner, recursions);
+        monitors[index] = monitor;
+        monitorCount++;
+        return monitor;
+    }
+
+    private static synchronized void freeMonitor(ObjectMonitor monitor){
+        int index = (int) monitor.getIndex();
+        monitors[index] = null;
+        if (freeCount == freeIndices.length){
+            freeIndices = Arrays.copyOf(freeIndices, freeCount * 2);
+        }
+        freeIndices[freeCount++] = index;
+        monitorCount--;
+    }
+
+    private static ObjectMonitor ownedMonitor(OopDesc object, JavaThread thread){
+        long mark = object.getMark();
+        if (!(MarkWord.isLocked(mark) && MarkWord.owner(mark) == thread.getThreadId()) && !MarkWord.hasMonitor(mark)){
+            throw new IllegalMonitorStateException("current thread is not owner");
+        }
+        ObjectMonitor monitor = inflate(object);
+        if (monitor == null || !monitor.isOwnedBy(thread)){
+            throw new IllegalMonitorStateException("current thread is not owner");
+        }
+        return monitor;
+    }
+
+    /**
+     * The monitor of {@code object}, inflating its lock if it is thin. Its owner and
+     * recursions, and its hash (assigned now if it has none), move to the monitor. Returns
+     * null if a monitor found was deflated meanwhile.
+     */
+    private static ObjectMonitor inflate(OopDesc object){
+        while (true) {
+            long mark = object.getMark();
+            if (MarkWord.hasMonitor(mark)){
+                return monitorOf(object, mark);
+            }
+            if (MarkWord.hash(mark) == 0){
+                object.identityHash();
+                continue;
+            }
+            int owner = MarkWord.owner(mark);
+            ObjectMonitor monitor = newMonitor(object, MarkWord.unlocked(mark), owner, owner != 0 ? MarkWord.recursions(mark) : 0);
+            if (object.casMark(mark, MarkWord.monitor(monitor.getIndex()))){
+                inflations.incrementAndGet();
+                return monitor;
+            }
+            freeMonitor(monitor);
+        }
+    }
+}
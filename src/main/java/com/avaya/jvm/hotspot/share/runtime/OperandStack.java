@@ -1,23 +1,39 @@
 package com.avaya.jvm.hotspot.share.runtime;
 
-import com.avaya.jvm.hotspot.share.utilities.ValueType;
-
 /**
  * Operand stack of a JVM frame used to hold intermediate values during bytecode execution.
  * <p>
  * The operand stack is a LIFO structure, with a maximum depth determined at compile-time.
  * It stores values temporarily for computations, method argument passing, and return values.
  * Type-specific push and pop operations are provided for safety.
+ * <p>
+ * Slots carry no type tag. A primitive is stored in {@code slots}, a reference in the
+ * parallel {@code refs} at the same index. A long or double occupies two slots as the JVM
+ * specification requires, the whole 64-bit value is kept in the lower one.
+ * <p>
+ * The arrays belong to the thread's {@link JavaStack}, the stack starts at {@code base}
+ * and {@code top} is an absolute index into them.
  */
 public class OperandStack {
-    private final StackValue[] stack;
-    private int top = -1;
+    private long[] slots;
+    private Object[] refs;
+    private int base;
+    private int top;
+
+    void bind(long[] slots, Object[] refs, int base) {
+        this.slots = slots;
+        this.refs = refs;
+        this.base = base;
+        this.top = base - 1;
+    }
+
+    void rebind(long[] slots, Object[] refs) {
+        this.slots = slots;
+        this.refs = refs;
+    }
 
-    public OperandStack(int maxSize) {
-        this.stack = new StackValue[maxSize];
-        for (int i = 0; i < maxSize; i++){
-            stack[i] = new StackValue();
-        }
+    int getTop(){
+        return top;
     }
 
     public void pop(){
@@ -36,131 +52,124 @@ public class OperandStack {
         top++;
     }
 
+    public void clear(){
+        top = base - 1;
+    }
+
     public void swap(){
-        ValueType t1 = stack[top].getType();
-        ValueType t2 = stack[top - 1].getType();
-        if (t1 == ValueType.T_LONG || t1 == ValueType.T_DOUBLE || t2 == ValueType.T_LONG || t2 == ValueType.T_DOUBLE) {
-            throw new IllegalStateException("swap not allowed for long/double");
-        }
-        StackValue tmp = new StackValue();
-        // store top slot
-        tmp.setType(stack[top].getType());
-        tmp.setRef(stack[top].getRef());
-        tmp.setNum(stack[top].getNum());
-
-        // copy top-1 slot to top slot
-        stack[top].setType(stack[top - 1].getType());
-        stack[top].setRef(stack[top - 1].getRef());
-        stack[top].setNum(stack[top - 1].getNum());
-
-        // copy tmp slot to top-1 slot
-        stack[top - 1].setType(tmp.getType());
-        stack[top - 1].setRef(tmp.getRef());
-        stack[top - 1].setNum(tmp.getNum());
+        long slot = slots[top];
+        slots[top] = slots[top - 1];
+        slots[top - 1] = slot;
+        Object ref = refs[top];
+        refs[top] = refs[top - 1];
+        refs[top - 1] = ref;
     }
 
     /**
      * General implementation of JVM DUP/X instructions.
+     * <p>
+     * Works on slots, not values: the verifier guarantees the forms of each instruction,
+     * so the slot counts follow from the opcode alone.
      *
-     * @param numSlots    Number of operand stack slots to duplicate (1 for DUP, 2 for DUP2)
-     * @param numElements Number of stack elements to skip down (_X1 = 1, _X2 = 2)
+     * @param numSlots  Number of operand stack slots to duplicate (1 for DUP, 2 for DUP2)
+     * @param skipSlots Number of slots below them to insert the copy under (_X1 = 1, _X2 = 2)
      */
-    public void dupSlotsAcrossElements (int numSlots, int numElements){
-        // Calculate the gap in slots to insert duplicated elements
-        int insertSlots = 0;
-        for (int i = 0; i < numElements; i++){
-            insertSlots += getElementLength(top - numSlots - insertSlots);
-        }
-
-        // Move elements above the insertion point up to make room
-        for (int i = 0; i < insertSlots + numSlots; i++ ){
-            stack[top - i + numSlots].setType(stack[top - i].getType());
-            stack[top - i + numSlots].setRef(stack[top - i].getRef());
-            stack[top - i + numSlots].setNum(stack[top - i].getNum());
-        }
+    public void dupSlots(int numSlots, int skipSlots){
+        int base = top - numSlots - skipSlots + 1;
+        // Move the skipped and duplicated slots up to make room, then copy the duplicated ones into the gap
+        System.arraycopy(slots, base, slots, base + numSlots, skipSlots + numSlots);
+        System.arraycopy(refs, base, refs, base + numSlots, skipSlots + numSlots);
         top += numSlots;
-
-        // Copy the duplicated slots into the gap
-        for (int i = 0; i < numSlots; i++ ){
-            stack[top - i - insertSlots - numSlots].setType(stack[top - i ].getType());
-            stack[top - i - insertSlots - numSlots].setRef(stack[top - i].getRef());
-            stack[top - i - insertSlots - numSlots].setNum(stack[top - i].getNum());
-        }
+        System.arraycopy(slots, top - numSlots + 1, slots, base, numSlots);
+        System.arraycopy(refs, top - numSlots + 1, refs, base, numSlots);
     }
 
     /**
-     * Return number of slots occupied by the stack element at index.
+     * Move the top {@code count} slots {@code distance} slots up, or down if negative;
+     * the top moves with them. The slots they leave are not cleared.
      */
-    private int getElementLength(int index){
-        ValueType type = stack[index].getType();
-        return (type == ValueType.T_LONG || type == ValueType.T_DOUBLE) ? 2 : 1;
+    public void slide(int count, int distance){
+        int from = top - count + 1;
+        System.arraycopy(slots, from, slots, from + distance, count);
+        System.arraycopy(refs, from, refs, from + distance, count);
+        top += distance;
+    }
+
+    // overwrite the slot depth slots below the top with a raw value, as read from a field by FieldArray
+    public void putSlot(int depth, long num, Object ref){
+        slots[top - depth] = num;
+        refs[top - depth] = ref;
     }
 
     // Reference
     public void pushRef(Object ref){
-        top++;
-        stack[top].setType(ValueType.T_OBJECT);
-        stack[top].setRef(ref);
+        refs[++top] = ref;
     }
 
     public Object popRef(){
-        return stack[top--].getRef();
+        return refs[top--];
+    }
+
+    // the reference depth slots below the top, e.g. the receiver under the arguments of a call
+    public Object peekRef(int depth){
+        return refs[top - depth];
     }
 
     // Int
     public void pushInt(int num){
-        top++;
-        stack[top].setType(ValueType.T_INT);
-        stack[top].setNum(num);
+        slots[++top] = num;
     }
 
     public int popInt(){
-        return stack[top--].getNum();
+        return (int) slots[top--];
+    }
+
+    public int peekInt(int depth){
+        return (int) slots[top - depth];
     }
 
     // Float
     public void pushFloat(float num){
-        top++;
-        stack[top].setType(ValueType.T_FLOAT);
-        stack[top].setNum(Float.floatToRawIntBits(num));
+        slots[++top] = Float.floatToRawIntBits(num);
     }
 
     public float popFloat(){
-        return Float.intBitsToFloat(stack[top--].getNum());
+        return Float.intBitsToFloat((int) slots[top--]);
+    }
+
+    public float peekFloat(int depth){
+        return Float.intBitsToFloat((int) slots[top - depth]);
     }
 
     // Long
     public void pushLong(long num){
+        slots[++top] = num;
         top++;
-        stack[top].setType(ValueType.T_LONG);
-        stack[top].setNum((int) (num & 0xFFFFFFFFL));
-        top++;
-        stack[top].setType(ValueType.T_LONG);
-        stack[top].setNum((int) (num >>> 32));
     }
 
     public long popLong(){
-        int high = stack[top--].getNum();
-        int low = stack[top--].getNum();
-        return ((long) high << 32) | ((long) low & 0xFFFFFFFFL);
+        top -= 2;
+        return slots[top + 1];
+    }
+
+    // depth is that of the lower slot, 1 for a long on top
+    public long peekLong(int depth){
+        return slots[top - depth];
     }
 
     // Double
     public void pushDouble(double num){
-        long bits = Double.doubleToLongBits(num);
-        top++;
-        stack[top].setType(ValueType.T_DOUBLE);
-        stack[top].setNum((int) (bits & 0xFFFFFFFFL));
+        slots[++top] = Double.doubleToRawLongBits(num);
         top++;
-        stack[top].setType(ValueType.T_DOUBLE);
-        stack[top].setNum((int) (bits >>> 32));
     }
 
     public double popDouble(){
-        int high = stack[top--].getNum();
-        int low = stack[top--].getNum();
-        long bits = ((long) high << 32) | ((long) low & 0xFFFFFFFFL);
-        return Double.longBitsToDouble(bits);
+        top -= 2;
+        return Double.longBitsToDouble(slots[top + 1]);
+    }
+
+    public double peekDouble(int depth){
+        return Double.longBitsToDouble(slots[top - depth]);
     }
 
 }
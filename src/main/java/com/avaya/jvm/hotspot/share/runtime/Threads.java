@@ -1,20 +1,149 @@
 package com.avaya.jvm.hotspot.share.runtime;
 
 import com.avaya.jvm.hotspot.share.memory.AllStatic;
-import lombok.Getter;
-import lombok.Setter;
+import com.avaya.jvm.hotspot.share.oops.InstanceOop;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
+import static java.lang.invoke.MethodType.methodType;
+
+/**
+ * The JavaThreads of the VM. A thread started by the guest registers itself when it
+ * starts running and leaves when its task returns; threads the host drives are added by
+ * the host. Registration is safe from any thread. A thread that leaves gives its
+ * {@code threadId} back for a new thread and is not added again.
+ * <p>
+ * Each JavaThread runs on a host thread, its carrier, which is also the Thread object
+ * the guest sees. Guest threads get platform threads, or virtual threads with
+ * {@code -XX:+UseVirtualThreads} (see {@link Arguments}), so that many guest threads
+ * blocked in sleep, join or on a monitor share a few host threads. The VM is built for
+ * Java 17, so {@code Thread.ofVirtual()} is looked up when the VM starts: on a host
+ * without it, the option falls back to platform threads with a warning.
+ */
 public class Threads extends AllStatic {
-    private static List<JavaThread> threadList = new ArrayList<>();
-    @Getter
-    @Setter
-    private static JavaThread currentThread;
+    private static final Logger logger = LoggerFactory.getLogger(Threads.class);
+
+    private static final Set<JavaThread> threadList = ConcurrentHashMap.newKeySet();
+    // each host thread running guest code runs it for its own JavaThread
+    private static final ThreadLocal<JavaThread> currentThread = new ThreadLocal<>();
+    // the JavaThread of a host thread that calls into the guest from outside it, e.g. of a JRE pool
+    private static final ThreadLocal<JavaThread> attachedThread = new ThreadLocal<>();
+    private static final Set<JavaThread> attachedThreads = ConcurrentHashMap.newKeySet();
+
+    // (String name, Runnable task) -> Thread, an unstarted virtual thread; null if the host has none
+    private static final MethodHandle newVirtualThread = lookupVirtualThreads();
+    private static volatile boolean warned;
+
+    public static JavaThread getCurrentThread() {
+        return currentThread.get();
+    }
+
+    /**
+     * Make {@code thread} the current thread of this host thread, which becomes its
+     * carrier. Null detaches the host thread.
+     */
+    public static void setCurrentThread(JavaThread thread) {
+        if (thread != null) {
+            thread.setCarrier(Thread.currentThread());
+        }
+        currentThread.set(thread);
+    }
 
     public static void addThread(JavaThread t) {
         threadList.add(t);
     }
 
+    public static void removeThread(JavaThread t) {
+        if (threadList.remove(t)) {
+            JavaThread.releaseThreadId(t.getThreadId());
+        }
+    }
+
+    /**
+     * The JavaThread for upcalls from the current host thread, which runs no guest code of
+     * its own. It is attached on the first upcall and kept for the next ones, so a JRE pool
+     * thread calling a guest lambda per element has one JavaThread, not one per call. It is
+     * removed once its host thread has ended, when another host thread attaches.
+     */
+    public static JavaThread attachCurrentThread() {
+        JavaThread thread = attachedThread.get();
+        if (thread == null) {
+            for (JavaThread attached : attachedThreads) {
+                if (!attached.getCarrier().isAlive() && attachedThreads.remove(attached)) {
+                    removeThread(attached);
+                }
+            }
+            thread = new JavaThread();
+            thread.setCarrier(Thread.currentThread());
+            attachedThread.set(thread);
+            attachedThreads.add(thread);
+            addThread(thread);
+        }
+        return thread;
+    }
+
+    // a snapshot, threads may start and end meanwhile
+    public static List<JavaThread> getThreads() {
+        return new ArrayList<>(threadList);
+    }
+
+    public static int getThreadCount() {
+        return threadList.size();
+    }
+
+    /**
+     * The Thread object of a guest {@code new Thread(task, name)}: an unstarted host
+     * thread, whose start() runs {@code task} in the interpreter on a new JavaThread.
+     * A null name is the host's default.
+     */
+    public static Thread newGuestThread(InstanceOop task, String name) {
+        JavaThread thread = new JavaThread(task);
+        if (isVirtualThreads()) {
+            // a local of type String: a conditional argument of invokeExact would be typed Object
+            String virtualName = name != null ? name : "";
+            try {
+                return (Thread) newVirtualThread.invokeExact(virtualName, (Runnable) thread::run);
+            } catch (Throwable e) {
+                throw new IllegalStateException("cannot create a virtual thread", e);
+            }
+        }
+        return name != null ? new Thread(thread::run, name) : new Thread(thread::run);
+    }
+
+    // whether guest threads run on virtual threads: asked for and supported by the host
+    public static boolean isVirtualThreads() {
+        if (!Arguments.isUseVirtualThreads()) {
+            return false;
+        }
+        if (newVirtualThread == null && !warned) {
+            warned = true;
+            logger.warn("-XX:+UseVirtualThreads is not supported by the host runtime, guest threads run on platform threads");
+        }
+        return newVirtualThread != null;
+    }
+
+    // Thread.ofVirtual().name(name).unstarted(task), if the host has virtual threads (Java 21)
+    private static MethodHandle lookupVirtualThreads() {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            Class<?> builder = Class.forName("java.lang.Thread$Builder");
+            MethodHandle ofVirtual = lookup.findStatic(Thread.class, "ofVirtual", methodType(Class.forName("java.lang.Thread$Builder$OfVirtual")));
+            MethodHandle name = lookup.findVirtual(builder, "name", methodType(builder, String.class));
+            MethodHandle unstarted = lookup.findVirtual(builder, "unstarted", methodType(Thread.class, Runnable.class));
+            // a preview API only throws when it is used
+            ofVirtual.invoke();
+            // (builder, task) -> (builder, name, task) -> (name, task)
+            MethodHandle named = MethodHandles.collectArguments(unstarted, 0, name);
+            return MethodHandles.collectArguments(named, 0, ofVirtual.asType(methodType(builder)));
+        } catch (Throwable e) {
+            return null;
+        }
+    }
 }
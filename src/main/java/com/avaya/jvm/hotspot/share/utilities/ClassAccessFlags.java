@@ -31,4 +31,8 @@ public enum ClassAccessFlags {
         return sb.isEmpty() ? "NONE" : sb.toString();
     }
 
+    public static boolean isInterface(int accessFlags){
+        return (accessFlags & JVM_ACC_INTERFACE.value) != 0;
+    }
+
 }
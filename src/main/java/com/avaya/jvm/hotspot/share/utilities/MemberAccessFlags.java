@@ -34,4 +34,20 @@ public enum MemberAccessFlags {
         }
         return sb.isEmpty() ? "NONE" : sb.toString();
     }
+
+    public static boolean isStatic(int accessFlags){
+        return (accessFlags & JVM_ACC_STATIC.value) != 0;
+    }
+
+    public static boolean isPrivate(int accessFlags){
+        return (accessFlags & JVM_ACC_PRIVATE.value) != 0;
+    }
+
+    public static boolean isAbstract(int accessFlags){
+        return (accessFlags & JVM_ACC_ABSTRACT.value) != 0;
+    }
+
+    public static boolean isSynchronized(int accessFlags){
+        return (accessFlags & JVM_ACC_SYNCHRONIZED.value) != 0;
+    }
 }
@@ -32,4 +32,32 @@ public enum ValueType {
             default -> throw new IllegalArgumentException("Invalid atype: " + atype);
         };
     }
+
+    public static ValueType fromDescriptor(String descriptor){
+        return switch (descriptor.charAt(0)) {
+            case 'B' -> T_BYTE;
+            case 'C' -> T_CHAR;
+            case 'D' -> T_DOUBLE;
+            case 'F' -> T_FLOAT;
+            case 'I' -> T_INT;
+            case 'J' -> T_LONG;
+            case 'S' -> T_SHORT;
+            case 'Z' -> T_BOOLEAN;
+            case 'L' -> T_OBJECT;
+            case '[' -> T_ARRAY;
+            case 'V' -> T_VOID;
+            default -> T_ILLEGAL;
+        };
+    }
+
+    /**
+     * Number of local variable or operand stack slots a value of {@code type} takes.
+     */
+    public static int slots(ValueType type){
+        return switch (type) {
+            case T_LONG, T_DOUBLE -> 2;
+            case T_VOID -> 0;
+            default -> 1;
+        };
+    }
 }
\ No newline at end of file
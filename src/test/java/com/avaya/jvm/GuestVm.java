@@ -0,0 +1,111 @@
+package com.avaya.jvm;
+
+import com.avaya.jvm.hotspot.share.classfile.BootClassLoader;
+import com.avaya.jvm.hotspot.share.classfile.ClassFileParser;
+import com.avaya.jvm.hotspot.share.oops.InstanceKlass;
+import com.avaya.jvm.hotspot.share.oops.MethodInfo;
+import com.avaya.jvm.hotspot.share.prims.JavaNativeInterface;
+import com.avaya.jvm.hotspot.share.runtime.Arguments;
+import com.avaya.jvm.hotspot.share.runtime.JavaThread;
+import com.avaya.jvm.hotspot.share.runtime.Threads;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Runs guest programs for the tests as App does: the main method of a guest class is
+ * called in the VM on the current thread, attached as a JavaThread for the run. What
+ * the program prints is returned, to be compared with what the same class prints when
+ * the host runs it.
+ * <p>
+ * The guest programs are in {@code com.avaya.jvm.guest}. The VM does not run static
+ * initializers, so they set their static fields in main. VM options apply to one run,
+ * the defaults are restored afterwards.
+ */
+public final class GuestVm {
+
+    private static final String[] DEFAULTS = {"-Xss1m", "-XX:+UseIntrinsics", "-XX:-UseOffHeapArrays",
+            "-XX:OffHeapArrayMinBytes=1k", "-XX:-UseVirtualThreads", "-XX:-ProfileInlineCaches"};
+
+    static {
+        // the guest programs are compiled with the tests
+        BootClassLoader.setSearchPath("target/classes/", "target/test-classes/");
+    }
+
+    private GuestVm() {
+    }
+
+    // the main method of guest in the VM, with the VM options
+    public static String run(Class<?> guest, String... options) throws Throwable {
+        return run(klass(guest), options);
+    }
+
+    // the main method of a class in the VM, e.g. a fresh copy
+    public static String run(InstanceKlass klass, String... options) throws Throwable {
+        Arguments.parse(options);
+        JavaThread thread = new JavaThread();
+        Threads.addThread(thread);
+        Threads.setCurrentThread(thread);
+        try {
+            MethodInfo main = JavaNativeInterface.getMain(klass);
+            return capture(() -> JavaNativeInterface.callStaticMethod(main));
+        } finally {
+            Threads.setCurrentThread(null);
+            Threads.removeThread(thread);
+            resetOptions();
+        }
+    }
+
+    // the VM options of the tests, after a test that set its own
+    public static void resetOptions() {
+        Arguments.parse(DEFAULTS);
+    }
+
+    // the main method of guest on the host, the expected output
+    public static String runOnHost(Class<?> guest) throws Throwable {
+        Method main = guest.getMethod("main", String[].class);
+        return capture(() -> {
+            try {
+                main.invoke(null, (Object) new String[0]);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        });
+    }
+
+    // the loaded, linked class of a guest program
+    public static InstanceKlass klass(Class<?> guest) throws Exception {
+        return BootClassLoader.loadKlass(guest.getName());
+    }
+
+    // a copy of the class of a guest program, not in the boot loader, whose constant pool
+    // is resolved afresh, e.g. under other VM options; what it refers to, itself included,
+    // is loaded as usual
+    public static InstanceKlass freshKlass(Class<?> guest) throws Exception {
+        InstanceKlass klass = ClassFileParser.parseClassFile(Files.readAllBytes(
+                Path.of("target/test-classes/" + guest.getName().replace('.', '/') + ".class")));
+        klass.link();
+        return klass;
+    }
+
+    private interface Body {
+        void run() throws Throwable;
+    }
+
+    private static synchronized String capture(Body body) throws Throwable {
+        PrintStream out = System.out;
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(bytes, true, StandardCharsets.UTF_8));
+        try {
+            body.run();
+        } finally {
+            System.setOut(out);
+        }
+        return bytes.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,83 @@
+package com.avaya.jvm.guest;
+
+/**
+ * Stores into reference arrays whose static type is wider than their class, by AASTORE
+ * and System.arraycopy, which throw ArrayStoreException for elements of other classes.
+ */
+public class ArrayStores {
+
+    interface Shape {
+    }
+
+    static class Square implements Shape {
+    }
+
+    static class Circle implements Shape {
+    }
+
+    public static void main(String[] args) {
+        Object[] strings = new String[2];
+        strings[0] = "fits";
+        try {
+            strings[1] = Integer.valueOf(1);
+        } catch (ArrayStoreException e) {
+            System.out.println(e.getMessage());
+        }
+
+        Shape[] shapes = new Square[2];
+        shapes[0] = new Square();
+        try {
+            shapes[1] = new Circle();
+        } catch (ArrayStoreException e) {
+            System.out.println(e.getMessage());
+        }
+        Object[] any = new Shape[3];
+        any[0] = new Circle();
+        any[1] = null;
+        try {
+            any[2] = new int[1];
+        } catch (ArrayStoreException e) {
+            System.out.println(e.getMessage());
+        }
+
+        Object[][] rows = new int[2][][];
+        rows[0] = new int[1][];
+        try {
+            rows[1] = new long[1][];
+        } catch (ArrayStoreException e) {
+            System.out.println(e.getMessage());
+        }
+        Object[] cloneables = new Cloneable[1];
+        cloneables[0] = new int[2];
+
+        try {
+            System.out.println(strings[2]);
+        } catch (ArrayIndexOutOfBoundsException e) {
+            System.out.println(e.getMessage());
+        }
+        try {
+            strings[-1] = "";
+        } catch (ArrayIndexOutOfBoundsException e) {
+            System.out.println(e.getMessage());
+        }
+
+        // the elements ahead of the first that does not fit are copied
+        Object[] mixed = {new Square(), new Square(), new Circle(), new Square()};
+        Square[] squares = new Square[4];
+        try {
+            System.arraycopy(mixed, 0, squares, 0, 4);
+        } catch (ArrayStoreException e) {
+            System.out.println(e.getMessage());
+        }
+        System.out.println((squares[1] != null) + " " + (squares[2] == null) + " " + (squares[3] == null));
+        Shape[] copied = new Shape[4];
+        System.arraycopy(mixed, 0, copied, 0, 4);
+        System.arraycopy(squares, 0, copied, 1, 2);
+        System.out.println((copied[1] == mixed[0]) + " " + (copied[3] == mixed[3]));
+        try {
+            System.arraycopy(new Object[]{new String[0], new int[0]}, 0, new Object[2][], 0, 2);
+        } catch (ArrayStoreException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.avaya.jvm.guest;
+
+import java.io.Serializable;
+
+/**
+ * Arrays of every element type: boolean arrays, arrays of arrays and of JRE objects, and
+ * instanceof and checkcast of array classes, with covariance of guest element classes.
+ */
+public class ArrayTypes {
+
+    public interface Shape {
+    }
+
+    public static class Base implements Shape {
+    }
+
+    public static class Sub extends Base {
+    }
+
+    public static void main(String[] args) {
+        boolean[] flags = new boolean[3];
+        flags[1] = true;
+        System.out.println(flags[0] + " " + flags[1] + " " + flags.length);
+
+        int[][] rows = new int[3][];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = new int[i + 1];
+            rows[i][i] = i * 10;
+        }
+        System.out.println(rows[2].length + " " + rows[2][2] + " " + rows[1][0]);
+        String[][] names = {{"a", "b"}, {"c"}};
+        System.out.println(names[0][1] + names[1][0] + " " + names[1].length);
+
+        Object[] subs = new Sub[2];
+        subs[0] = new Sub();
+        Object bases = new Base[1];
+        Object ints = rows[0];
+        System.out.println((subs instanceof Base[]) + " " + (subs instanceof Shape[]) + " " + (subs instanceof Object[])
+                + " " + (bases instanceof Sub[]) + " " + (ints instanceof Object) + " " + (ints instanceof int[])
+                + " " + (ints instanceof long[]));
+        System.out.println((rows instanceof Object[]) + " " + (rows instanceof int[][]) + " " + (names instanceof Object[][])
+                + " " + (names instanceof CharSequence[][]) + " " + (rows instanceof Cloneable) + " " + (rows instanceof Serializable));
+        Base[] narrowed = (Base[]) subs;
+        System.out.println(narrowed.length + " " + (narrowed[0] instanceof Sub) + " " + (narrowed[1] == null));
+    }
+}
@@ -0,0 +1,85 @@
+package com.avaya.jvm.guest;
+
+/**
+ * Primitive arrays large enough to be kept off the heap with -XX:+UseOffHeapArrays.
+ */
+public class BigArrays {
+
+    public static void main(String[] args) {
+        int[] ints = new int[1000];
+        for (int i = 0; i < ints.length; i++) {
+            ints[i] = i * i;
+        }
+        long intSum = 0;
+        for (int value : ints) {
+            intSum += value;
+        }
+        System.out.println(intSum + " " + ints[999] + " " + ints.length);
+
+        long[] longs = new long[600];
+        double[] doubles = new double[600];
+        for (int i = 0; i < longs.length; i++) {
+            longs[i] = (long) i << 40;
+            doubles[i] = i / 4.0;
+        }
+        System.out.println(longs[599] + " " + doubles[599] + " " + doubles[1]);
+
+        byte[] bytes = new byte[4096];
+        char[] chars = new char[2048];
+        short[] shorts = new short[2048];
+        float[] floats = new float[1024];
+        boolean[] flags = new boolean[4096];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) i;
+            flags[i] = i % 3 == 0;
+        }
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = (char) ('a' + i % 26);
+            shorts[i] = (short) (i * 40);
+        }
+        for (int i = 0; i < floats.length; i++) {
+            floats[i] = i * 1.5f;
+        }
+        System.out.println(bytes[255] + " " + bytes[4095] + " " + chars[27] + " " + shorts[2047] + " " + floats[1023] + " " + flags[3] + " " + flags[4]);
+
+        // new arrays start zeroed
+        int[] fresh = new int[2000];
+        long zeros = 0;
+        for (int value : fresh) {
+            zeros += value;
+        }
+        System.out.println(zeros);
+
+        // copies between and within off-heap arrays, overlapping ranges included
+        int[] copy = new int[1000];
+        System.arraycopy(ints, 0, copy, 0, ints.length);
+        System.arraycopy(copy, 0, copy, 1, 998);
+        System.arraycopy(ints, 500, ints, 400, 200);
+        System.out.println(copy[0] + " " + copy[1] + " " + copy[999] + " " + ints[400] + " " + ints[599] + " " + ints[600]);
+        int[] small = {1, 2, 3};
+        System.arraycopy(small, 0, ints, 10, 3);
+        System.arraycopy(ints, 20, small, 0, 3);
+        System.out.println(ints[10] + " " + ints[12] + " " + small[0] + " " + small[2]);
+
+        int[] cloned = ints.clone();
+        cloned[0] = -1;
+        System.out.println(cloned[0] + " " + ints[0] + " " + cloned[999]);
+
+        try {
+            ints[1000] = 1;
+            System.out.println("no exception");
+        } catch (ArrayIndexOutOfBoundsException e) {
+            System.out.println("out of bounds");
+        }
+
+        int[][] matrix = new int[64][64];
+        for (int i = 0; i < 64; i++) {
+            matrix[i][63 - i] = i;
+        }
+        int trace = 0;
+        for (int i = 0; i < 64; i++) {
+            trace += matrix[i][63 - i] + matrix[i][i];
+        }
+        System.out.println(trace);
+    }
+}
@@ -0,0 +1,67 @@
+package com.avaya.jvm.guest;
+
+/**
+ * Call sites seeing one, a few and more receiver classes than an inline cache holds.
+ * Each of mono, poly, mega and named has a single virtual or interface call.
+ */
+public class CallSites {
+
+    public static class Cat extends Dispatch.Animal {
+        public String sound() {
+            return "meow";
+        }
+    }
+
+    public static void main(String[] args) {
+        Dispatch.Animal[] dogs = {new Dispatch.Dog(), new Dispatch.Dog(), new Dispatch.Dog()};
+        Dispatch.Animal[] pets = {new Dispatch.Dog(), new Dispatch.Puppy(), new Dispatch.Dog()};
+        Dispatch.Animal[] zoo = {new Dispatch.Animal(), new Dispatch.Dog(), new Dispatch.Puppy(),
+                new Dispatch.Parrot(), new Cat(), new Dispatch.Dog()};
+        Dispatch.Named[] named = {new Dispatch.Parrot(), new Dispatch.Robot(), new Dispatch.Whole()};
+        System.out.println(mono(dogs));
+        System.out.println(poly(pets));
+        System.out.println(mega(zoo));
+        System.out.println(named(named));
+    }
+
+    static int mono(Dispatch.Animal[] animals) {
+        int sounds = 0;
+        for (Dispatch.Animal animal : animals) {
+            if (animal.sound() != null) {
+                sounds++;
+            }
+        }
+        return sounds;
+    }
+
+    static int poly(Dispatch.Animal[] animals) {
+        int sounds = 0;
+        for (Dispatch.Animal animal : animals) {
+            if (animal.sound() != null) {
+                sounds++;
+            }
+        }
+        return sounds;
+    }
+
+    static int mega(Dispatch.Animal[] animals) {
+        int sounds = 0;
+        for (Dispatch.Animal animal : animals) {
+            if (animal.sound() != null) {
+                sounds++;
+            }
+        }
+        return sounds;
+    }
+
+    static int named(Dispatch.Named[] named) {
+        int names = 0;
+        for (Dispatch.Named n : named) {
+            if (n.name() != null) {
+                names++;
+            }
+        }
+        return names;
+    }
+
+}
@@ -0,0 +1,53 @@
+package com.avaya.jvm.guest;
+
+/**
+ * Calls deep enough to grow the frame arena, with arguments of every slot size and an
+ * exception unwinding through frames.
+ */
+public class Calls {
+
+    public static void main(String[] args) {
+        System.out.println(sum(3000));
+        System.out.println(isEven(2001));
+        System.out.println(mix(1L << 40, 7, 0.5));
+        System.out.println(fib(20));
+        try {
+            down(50);
+        } catch (IllegalStateException e) {
+            System.out.println("caught " + e.getMessage());
+        }
+        System.out.println(sum(10));
+    }
+
+    public static int add(int a, int b) {
+        return a + b;
+    }
+
+    public static long mix(long a, int b, double c) {
+        long local = a + b;
+        return local + (long) (c * 10);
+    }
+
+    static int sum(int n) {
+        return n == 0 ? 0 : n + sum(n - 1);
+    }
+
+    static boolean isEven(int n) {
+        return n == 0 || isOdd(n - 1);
+    }
+
+    static boolean isOdd(int n) {
+        return n != 0 && isEven(n - 1);
+    }
+
+    static int fib(int n) {
+        return n < 2 ? n : fib(n - 1) + fib(n - 2);
+    }
+
+    static void down(int n) {
+        if (n == 0) {
+            throw new IllegalStateException("at the bottom");
+        }
+        down(n - 1);
+    }
+}
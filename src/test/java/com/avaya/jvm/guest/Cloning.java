@@ -0,0 +1,72 @@
+package com.avaya.jvm.guest;
+
+/**
+ * Object.clone through super.clone(), of a class with packed fields and references, of a
+ * subclass of a Cloneable class and of a class that is not Cloneable.
+ */
+public class Cloning {
+
+    public static class Sheep implements Cloneable {
+        public byte age;
+        public boolean shorn;
+        public long wool;
+        public String name;
+        public int[] lambs;
+
+        public Sheep copy() {
+            try {
+                return (Sheep) super.clone();
+            } catch (CloneNotSupportedException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        public String toString() {
+            return name + " " + age + " " + shorn + " " + wool + " " + lambs.length;
+        }
+    }
+
+    public static class Ram extends Sheep {
+        public char horns;
+
+        public String toString() {
+            return super.toString() + " " + horns;
+        }
+    }
+
+    public static class Goat {
+        public Object copy() throws CloneNotSupportedException {
+            return super.clone();
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Sheep dolly = new Sheep();
+        dolly.age = 6;
+        dolly.wool = 1L << 40;
+        dolly.name = "dolly";
+        dolly.lambs = new int[]{1, 2};
+        Sheep copy = dolly.copy();
+        copy.age = 7;
+        copy.shorn = true;
+        copy.lambs[0] = 9;
+        System.out.println(dolly.toString() + " / " + copy.toString());
+        System.out.println((copy != dolly) + " " + (copy.lambs == dolly.lambs));
+
+        Ram ram = new Ram();
+        ram.name = "ram";
+        ram.lambs = new int[0];
+        ram.horns = 'y';
+        Sheep ramCopy = ram.copy();
+        System.out.println(ramCopy.toString() + " " + (ramCopy instanceof Ram));
+
+        synchronized (copy) {
+            System.out.println("the copy is unlocked");
+        }
+        try {
+            new Goat().copy();
+        } catch (CloneNotSupportedException e) {
+            System.out.println("not cloneable " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.avaya.jvm.guest;
+
+/**
+ * String concatenations with arguments of every type, including the longest values of
+ * each and strings built by a guest toString.
+ */
+public class Concat {
+
+    public static class Point {
+        private final int x;
+        private final int y;
+
+        public Point(int x, int y) {
+            this.x = x;
+            this.y = y;
+        }
+
+        public String toString() {
+            return "(" + x + ", " + y + ")";
+        }
+    }
+
+    public static void main(String[] args) {
+        int i = Integer.MIN_VALUE;
+        long l = Long.MIN_VALUE;
+        float f = -Float.MIN_NORMAL;
+        double d = -Double.MIN_NORMAL;
+        System.out.println("i=" + i + " l=" + l + " f=" + f + " d=" + d);
+        System.out.println(0 + "," + 9 + "," + 10L + "," + -1 + "," + Long.MAX_VALUE);
+        byte b = -128;
+        short s = 12345;
+        char c = 'x';
+        boolean t = true;
+        System.out.println(b + " " + s + " " + c + " " + t + " " + !t);
+        Object nothing = null;
+        // the VM appends a guest object with the host's Object.toString, see OopDesc
+        System.out.println(new Point(3, -4).toString() + " and " + nothing + " " + 1.5 + 2.5f);
+    }
+}
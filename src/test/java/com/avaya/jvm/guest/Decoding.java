@@ -0,0 +1,55 @@
+package com.avaya.jvm.guest;
+
+/**
+ * Methods whose bytecodes take the folding and patching paths of the decoder: a WIDE
+ * IINC, both switch instructions and backward branches. main prints what they return.
+ */
+public class Decoding {
+
+    // the constant does not fit a byte, so javac emits WIDE IINC
+    static int bump(int x) {
+        x += 1000;
+        return x;
+    }
+
+    // close cases compile to tableswitch
+    static int dense(int k) {
+        switch (k) {
+            case 1: return 10;
+            case 2: return 20;
+            case 3: return 30;
+            default: return -1;
+        }
+    }
+
+    // far apart cases compile to lookupswitch
+    static int sparse(int k) {
+        switch (k) {
+            case 100000: return 3;
+            case -500: return 1;
+            case 7: return 2;
+            default: return 0;
+        }
+    }
+
+    static int sum(int n) {
+        int total = 0;
+        for (int i = 0; i < n; i++) {
+            total += i;
+        }
+        return total;
+    }
+
+    public static void main(String[] args) {
+        System.out.println(bump(-1000));
+        System.out.println(bump(5));
+        for (int k = 0; k <= 4; k++) {
+            System.out.println(dense(k));
+        }
+        System.out.println(sparse(-500));
+        System.out.println(sparse(7));
+        System.out.println(sparse(100000));
+        System.out.println(sparse(8));
+        System.out.println(sum(100));
+    }
+}
@@ -0,0 +1,89 @@
+package com.avaya.jvm.guest;
+
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntFunction;
+import java.util.function.LongUnaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * Guest lambdas of JRE functional interfaces called by guest code, which the VM runs
+ * without their host proxy: captured values, primitives, constructor and method
+ * references, and lambdas the proxy still calls, for a default method or a result that
+ * needs boxing.
+ */
+public class DirectLambdas {
+
+    public static class Counter {
+        int count;
+
+        Counter() {
+            this(1);
+        }
+
+        Counter(int count) {
+            this.count = count;
+        }
+
+        int count() {
+            return count;
+        }
+
+        String describe(String prefix) {
+            return prefix + count;
+        }
+    }
+
+    // a lambda calling itself through the field
+    static class Recursive {
+        Function<Integer, Integer> body;
+    }
+
+    // whether the lambda body was called through a HostLambda, which the host never uses
+    static boolean viaProxy() {
+        for (StackTraceElement element : new Throwable().getStackTrace()) {
+            if (element.getClassName().endsWith(".HostLambda")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static void main(String[] args) {
+        int bias = 10;
+        long scale = 3;
+        Runnable check = () -> System.out.println("run " + viaProxy() + " " + bias);
+        check.run();
+        IntBinaryOperator add = (a, b) -> a + b + bias;
+        System.out.println(add.applyAsInt(1, 2));
+        LongUnaryOperator times = v -> v * scale;
+        System.out.println(times.applyAsLong(5));
+        Function<String, String> greet = s -> s + bias;
+        System.out.println(greet.apply("x"));
+
+        IntFunction<Counter> make = Counter::new;
+        Supplier<Counter> fresh = Counter::new;
+        System.out.println(make.apply(4).count + " " + fresh.get().count);
+        Supplier<Counter> shared = () -> new Counter(bias);
+        System.out.println(shared.get().count);
+        BiFunction<Counter, String, String> describe = Counter::describe;
+        System.out.println(describe.apply(make.apply(2), "n="));
+        Function<Counter, Boolean> direct = c -> viaProxy();
+        System.out.println(direct.apply(fresh.get()));
+
+        // int results boxed for the interface method, and a default method
+        Supplier<Integer> boxed = make.apply(6)::count;
+        System.out.println(boxed.get());
+        System.out.println(greet.andThen(s -> s + "!").apply("y"));
+
+        // deeper than the host stack allows for nested interpreter loops
+        int[] depth = {0};
+        Recursive down = new Recursive();
+        down.body = n -> {
+            depth[0]++;
+            return n == 0 ? 0 : down.body.apply(n - 1) + 1;
+        };
+        System.out.println(down.body.apply(3000) + " " + depth[0]);
+    }
+}
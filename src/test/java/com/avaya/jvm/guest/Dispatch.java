@@ -0,0 +1,179 @@
+package com.avaya.jvm.guest;
+
+/**
+ * A class hierarchy with overriding, private and static methods, super calls, interfaces
+ * extending interfaces and default methods, called through every static type, and
+ * overrides of Object's methods called through Object.
+ */
+public class Dispatch {
+
+    public static class Animal {
+        public String name() {
+            return "animal";
+        }
+
+        public String sound() {
+            return "...";
+        }
+
+        public String reveal() {
+            return secret();
+        }
+
+        private String secret() {
+            return "animal secret";
+        }
+
+        public static String kind() {
+            return "static";
+        }
+    }
+
+    public static class Dog extends Animal {
+        public String sound() {
+            return "woof";
+        }
+
+        public String fetch() {
+            return "ball";
+        }
+
+        private String secret() {
+            return "dog secret";
+        }
+    }
+
+    public static class Puppy extends Dog {
+        public String sound() {
+            return "yip";
+        }
+
+        public String name() {
+            return "puppy of " + super.name();
+        }
+    }
+
+    public interface Named {
+        String name();
+
+        default String greet() {
+            return "hi " + name();
+        }
+    }
+
+    public interface Loud extends Named {
+        String shout();
+
+        default String greet() {
+            return "HEY " + name();
+        }
+    }
+
+    public interface Quiet {
+        default String whisper() {
+            return "psst";
+        }
+    }
+
+    public static class Parrot extends Animal implements Loud, Quiet {
+        public String shout() {
+            return "SQUAWK";
+        }
+    }
+
+    public static class Robot implements Named {
+        public String name() {
+            return "robot";
+        }
+
+        public String greet() {
+            return "beep " + name();
+        }
+    }
+
+    public abstract static class Half implements Loud {
+        public String name() {
+            return "half";
+        }
+    }
+
+    public static class Whole extends Half {
+        public String shout() {
+            return "whole!";
+        }
+    }
+
+    public static class Hermit {
+        private String whisper() {
+            return "hermit secret";
+        }
+
+        public String mutter() {
+            return whisper();
+        }
+    }
+
+    // the private whisper of Hermit does not implement Quiet.whisper
+    public static class Monk extends Hermit implements Quiet {
+    }
+
+    public static class Tag {
+        final String text;
+
+        Tag(String text) {
+            this.text = text;
+        }
+
+        public String toString() {
+            return "tag " + text;
+        }
+
+        public boolean equals(Object other) {
+            return other instanceof Tag && ((Tag) other).text.equals(text);
+        }
+
+        public int hashCode() {
+            return text.hashCode();
+        }
+    }
+
+    public static class Label extends Tag {
+        Label(String text) {
+            super(text);
+        }
+
+        public String toString() {
+            return "label, " + super.toString();
+        }
+    }
+
+    public static void main(String[] args) {
+        Animal[] animals = {new Animal(), new Dog(), new Puppy(), new Parrot()};
+        for (Animal animal : animals) {
+            System.out.println(animal.name() + " " + animal.sound() + " " + animal.reveal());
+        }
+        Dog dog = new Puppy();
+        System.out.println(dog.fetch() + " " + Animal.kind());
+
+        Named[] named = {new Parrot(), new Robot(), new Whole()};
+        for (Named n : named) {
+            System.out.println(n.name() + " / " + n.greet());
+        }
+        Loud[] loud = {new Parrot(), new Whole()};
+        for (Loud l : loud) {
+            System.out.println(l.shout() + " " + l.greet());
+        }
+        Quiet quiet = new Parrot();
+        System.out.println(quiet.whisper());
+        Quiet monk = new Monk();
+        System.out.println(monk.whisper() + " " + ((Monk) monk).mutter());
+
+        Object tag = new Tag("a");
+        Object label = new Label("a");
+        System.out.println(tag.toString() + " / " + label.toString());
+        System.out.println(tag.equals(label) + " " + tag.equals(new Tag("b")) + " " + (label.hashCode() == "a".hashCode()));
+        // no overrides: Object's own
+        Object robot = new Robot();
+        System.out.println(robot.equals(robot) + " " + robot.equals(new Robot()) + " " + (robot.hashCode() == System.identityHashCode(robot)));
+    }
+}
@@ -0,0 +1,85 @@
+package com.avaya.jvm.guest;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A class overriding equals and hashCode, compared by guest code and kept in JRE hash
+ * collections, which call the overrides back in the VM, one keeping Object's and one
+ * whose overrides call Object's through super.
+ */
+public class Equality {
+
+    public static class Point {
+        final int x;
+        final int y;
+
+        Point(int x, int y) {
+            this.x = x;
+            this.y = y;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Point)) {
+                return false;
+            }
+            Point point = (Point) other;
+            return x == point.x && y == point.y;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * x + y;
+        }
+    }
+
+    public static class Plain {
+        final int x;
+
+        Plain(int x) {
+            this.x = x;
+        }
+    }
+
+    public static class Same {
+        @Override
+        public boolean equals(Object other) {
+            return super.equals(other);
+        }
+
+        @Override
+        public int hashCode() {
+            return super.hashCode();
+        }
+    }
+
+    public static void main(String[] args) {
+        Point a = new Point(1, 2);
+        Point b = new Point(1, 2);
+        System.out.println(a.equals(b) + " " + (a.hashCode() == b.hashCode()) + " " + a.equals(new Point(2, 1)));
+
+        Set<Point> set = new HashSet<>();
+        set.add(a);
+        set.add(b);
+        System.out.println(set.size() + " " + set.contains(a) + " " + set.contains(new Point(1, 2)));
+        Map<Point, String> map = new HashMap<>();
+        map.put(a, "a");
+        map.put(b, "b");
+        System.out.println(map.size() + " " + map.get(a) + " " + map.get(new Point(1, 2)));
+
+        Plain plain = new Plain(1);
+        Set<Plain> plains = new HashSet<>();
+        plains.add(plain);
+        plains.add(new Plain(1));
+        System.out.println(plains.size() + " " + plains.contains(plain) + " " + plains.contains(new Plain(1)));
+        Same same = new Same();
+        Set<Same> sames = new HashSet<>();
+        sames.add(same);
+        sames.add(new Same());
+        System.out.println(sames.size() + " " + sames.contains(same) + " " + same.equals(new Same())
+                + " " + (same.hashCode() == System.identityHashCode(same)));
+    }
+}
@@ -0,0 +1,56 @@
+package com.avaya.jvm.guest;
+
+/**
+ * Instance fields of every kind, inherited and hidden ones included, and static fields.
+ * main prints them at their default values and again after writing them.
+ */
+public class Fields {
+
+    public static class Base {
+        int id;
+        long big;
+    }
+
+    public static class Derived extends Base {
+        double ratio;
+        char letter;
+        // hides Base.id
+        int id;
+        String name;
+    }
+
+    static int count;
+    static long total;
+    static String label;
+
+    static void print(Derived d) {
+        System.out.println(d.id);
+        System.out.println(((Base) d).id);
+        System.out.println(d.big);
+        System.out.println(d.ratio);
+        System.out.println(d.letter == 0);
+        System.out.println(d.name);
+    }
+
+    public static void main(String[] args) {
+        Derived d = new Derived();
+        print(d);
+        d.id = 7;
+        ((Base) d).id = 3;
+        d.big = Long.MAX_VALUE - 1;
+        d.ratio = 0.25;
+        d.letter = 'x';
+        d.name = "derived";
+        print(d);
+        System.out.println(d.letter);
+
+        count = 2;
+        total = 1L << 40;
+        label = "static";
+        count++;
+        total += count;
+        System.out.println(count);
+        System.out.println(total);
+        System.out.println(label);
+    }
+}
@@ -0,0 +1,95 @@
+package com.avaya.jvm.guest;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Lambdas and method references of guest functional interfaces: capturing and not,
+ * static and instance methods, and constructor references, including one of an inner
+ * class capturing its outer object; and constructor references of JRE interfaces.
+ */
+public class GuestLambdas {
+
+    public interface Maker {
+        Box make();
+    }
+
+    public interface Factory {
+        Box make(int value);
+    }
+
+    public interface Pair<T> {
+        T of(long first, String second);
+    }
+
+    public interface Op {
+        int apply(int a, int b);
+    }
+
+    public static class Box {
+        final int value;
+        final String label;
+
+        Box() {
+            this(-1);
+        }
+
+        Box(int value) {
+            this(value, "box");
+        }
+
+        Box(long value, String label) {
+            this.value = (int) value;
+            this.label = label;
+        }
+
+        int doubled() {
+            return value * 2;
+        }
+
+        String show() {
+            return label + ":" + value;
+        }
+    }
+
+    int base;
+
+    class Inner extends Box {
+        Inner(int value) {
+            super(value + base);
+        }
+    }
+
+    static int sub(int a, int b) {
+        return a - b;
+    }
+
+    public static void main(String[] args) {
+        int bias = 100;
+        Op add = (a, b) -> a + b + bias;
+        Op minus = GuestLambdas::sub;
+        System.out.println(add.apply(1, 2) + " " + minus.apply(5, 3));
+
+        Maker empty = Box::new;
+        Factory single = Box::new;
+        Pair<Box> pair = Box::new;
+        System.out.println(empty.make().show() + " " + single.make(7).show() + " " + pair.of(9L, "pair").show());
+        Box made = single.make(21);
+        System.out.println(made.doubled() + " " + (made != single.make(21)));
+
+        Supplier<Box> supplied = Box::new;
+        Function<Integer, Box> boxed = Box::new;
+        System.out.println(supplied.get().show() + " " + boxed.apply(8).show());
+
+        GuestLambdas outer = new GuestLambdas();
+        outer.base = 1000;
+        Factory inner = value -> outer.new Inner(value);
+        Factory innerRef = outer::inner;
+        System.out.println(inner.make(5).show() + " " + innerRef.make(6).show());
+    }
+
+    Box inner(int value) {
+        Factory factory = Inner::new;
+        return factory.make(value);
+    }
+}
@@ -0,0 +1,139 @@
+package com.avaya.jvm.guest;
+
+/**
+ * A producer and a consumer handing values over through a one-slot buffer with
+ * wait/notifyAll, plus recursive locking and monitor misuse.
+ */
+public class Handoff {
+
+    static final int COUNT = 2000;
+
+    public static class Slot {
+        private int value;
+        private boolean full;
+
+        public synchronized void put(int value) throws InterruptedException {
+            while (full) {
+                wait();
+            }
+            this.value = value;
+            full = true;
+            notifyAll();
+        }
+
+        public synchronized void fail() {
+            throw new IllegalStateException("failed with the lock");
+        }
+
+        public synchronized int take() throws InterruptedException {
+            while (!full) {
+                wait();
+            }
+            full = false;
+            notifyAll();
+            return value;
+        }
+    }
+
+    public static class Producer implements Runnable {
+        private final Slot slot;
+
+        Producer(Slot slot) {
+            this.slot = slot;
+        }
+
+        public void run() {
+            try {
+                for (int i = 1; i <= COUNT; i++) {
+                    slot.put(i);
+                }
+                slot.put(-1);
+            } catch (InterruptedException e) {
+                System.out.println("producer interrupted");
+            }
+        }
+    }
+
+    public static class Counter implements Runnable {
+        static Object lock;
+        static int count;
+        static int total;
+
+        static synchronized void add(int n) {
+            total += n;
+        }
+
+        public void run() {
+            for (int i = 0; i < 5000; i++) {
+                synchronized (lock) {
+                    count++;
+                }
+                add(2);
+            }
+        }
+    }
+
+    static int depth(Object lock, int n) {
+        synchronized (lock) {
+            return n == 0 ? 0 : 1 + depth(lock, n - 1);
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        Slot slot = new Slot();
+        Thread producer = new Thread(new Producer(slot));
+        producer.start();
+        long sum = 0;
+        int taken = 0;
+        for (int value = slot.take(); value != -1; value = slot.take()) {
+            sum += value;
+            taken++;
+        }
+        producer.join();
+        System.out.println(taken + " " + sum);
+
+        Counter.lock = new Object();
+        Counter.count = 0;
+        Counter.total = 0;
+        Thread[] counters = new Thread[4];
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = new Thread(new Counter());
+            counters[i].start();
+        }
+        for (Thread counter : counters) {
+            counter.join();
+        }
+        System.out.println(Counter.count + " " + Counter.total);
+
+        // a synchronized method that throws releases its lock
+        try {
+            slot.fail();
+        } catch (IllegalStateException e) {
+            System.out.println(e.getMessage());
+        }
+        Thread late = new Thread(new Producer(slot));
+        late.start();
+        System.out.println(slot.take());
+        late.interrupt();
+        late.join();
+
+        Object lock = new Object();
+        int hash = System.identityHashCode(lock);
+        System.out.println(depth(lock, 300) + " " + (hash == System.identityHashCode(lock)));
+        synchronized (lock) {
+            lock.wait(5);
+            lock.notify();
+            System.out.println("timed out " + (hash == System.identityHashCode(lock)));
+        }
+        try {
+            lock.notifyAll();
+        } catch (IllegalMonitorStateException e) {
+            System.out.println("notify without the lock");
+        }
+        try {
+            lock.wait();
+        } catch (IllegalMonitorStateException e) {
+            System.out.println("wait without the lock");
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.avaya.jvm.guest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Calls of JRE methods of every kind: static and instance ones, through a JRE interface,
+ * constructors, every primitive return type, and a JRE exception caught by guest code.
+ */
+public class HostCalls {
+
+    public static void main(String[] args) {
+        System.out.println(Math.max(3, 4));
+        System.out.println(Long.toHexString(1L << 40));
+        System.out.println(Math.sqrt(2.0));
+        System.out.println(Float.intBitsToFloat(0x3f800000));
+        System.out.println(Short.reverseBytes((short) 0x0102));
+        System.out.println(Byte.toUnsignedInt((byte) -1));
+
+        String text = "guest";
+        System.out.println(text.length());
+        System.out.println(text.charAt(1));
+        System.out.println(text.isEmpty());
+        System.out.println(text.substring(2, 4));
+
+        StringBuilder builder = new StringBuilder("a");
+        builder.append(1).append('c').append(2.5);
+        System.out.println(builder.toString());
+
+        List<String> list = new ArrayList<>();
+        list.add("x");
+        list.add("y");
+        System.out.println(list.size());
+        System.out.println(list.get(1));
+
+        try {
+            Integer.parseInt("not a number");
+        } catch (NumberFormatException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+}
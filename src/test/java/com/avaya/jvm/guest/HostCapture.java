@@ -0,0 +1,28 @@
+package com.avaya.jvm.guest;
+
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Method references to JRE methods: bound to a JRE object, and bound to a guest object,
+ * which the VM cannot hand to the host method and rejects when the call site is linked.
+ */
+public class HostCapture {
+
+    public static class Box {
+        int value = 3;
+    }
+
+    public static void main(String[] args) {
+        String text = "abc";
+        IntSupplier length = text::length;
+        System.out.println(length.getAsInt());
+        Box box = new Box();
+        try {
+            Supplier<String> shown = box::toString;
+            System.out.println(shown.get() != null);
+        } catch (BootstrapMethodError e) {
+            System.out.println("rejected");
+        }
+    }
+}
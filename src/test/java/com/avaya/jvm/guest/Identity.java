@@ -0,0 +1,52 @@
+package com.avaya.jvm.guest;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Identity hashes and locks of guest objects and arrays: a hash stays the same while
+ * the object is locked, and two objects are never equal, even in a host HashSet.
+ */
+public class Identity {
+
+    int value;
+    Identity next;
+
+    public static void main(String[] args) {
+        Identity first = new Identity();
+        Identity second = new Identity();
+        int[] array = new int[4];
+
+        int hash = System.identityHashCode(first);
+        synchronized (first) {
+            first.value = 1;
+            System.out.println((System.identityHashCode(first) == hash) + " " + first.value);
+        }
+        System.out.println(System.identityHashCode(first) == hash);
+
+        synchronized (array) {
+            array[0] = System.identityHashCode(array);
+        }
+        synchronized (array) {
+            System.out.println(array[0] == System.identityHashCode(array));
+        }
+        synchronized (second) {
+            synchronized (first) {
+                second.value = first.value + 1;
+            }
+        }
+        System.out.println(first.equals(first) + " " + first.equals(second) + " " + second.value
+                + " " + new int[1].equals(new int[1]));
+
+        // equal fields do not make equal objects, and a cycle has a hash
+        Identity other = new Identity();
+        other.value = first.value;
+        first.next = first;
+        Set<Object> set = new HashSet<>();
+        set.add(first);
+        set.add(other);
+        set.add(first);
+        System.out.println(set.size() + " " + (first.hashCode() == System.identityHashCode(first))
+                + " " + set.contains(other) + " " + (first.next.hashCode() == other.hashCode()));
+    }
+}
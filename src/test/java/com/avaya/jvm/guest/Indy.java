@@ -0,0 +1,56 @@
+package com.avaya.jvm.guest;
+
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.IntBinaryOperator;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * invokedynamic call sites: lambdas with and without captured values, method and
+ * constructor references, and string concatenation of every value type.
+ */
+public class Indy {
+
+    static String greet(String name) {
+        return "hello " + name;
+    }
+
+    public static void main(String[] args) {
+        Supplier<String> constant = () -> "constant";
+        System.out.println(constant.get());
+
+        int base = 40;
+        String suffix = "!";
+        IntBinaryOperator add = (a, b) -> a + b + base;
+        Function<String, String> shout = s -> s.toUpperCase() + suffix;
+        System.out.println(add.applyAsInt(1, 1));
+        System.out.println(shout.apply("loud"));
+
+        Function<String, String> greet = Indy::greet;
+        ToIntFunction<String> length = String::length;
+        Function<String, StringBuilder> builder = StringBuilder::new;
+        BiFunction<String, Integer, Character> charAt = String::charAt;
+        System.out.println(greet.apply("guest"));
+        System.out.println(length.applyAsInt("four"));
+        System.out.println(builder.apply("abc").reverse());
+        System.out.println(charAt.apply("xyz", 1));
+
+        // the same site links once and runs on every iteration
+        int total = 0;
+        for (int i = 0; i < 5; i++) {
+            int step = i;
+            IntBinaryOperator scaled = (a, b) -> a * step + b;
+            total = scaled.applyAsInt(total, i);
+        }
+        System.out.println(total);
+
+        long big = 1L << 40;
+        double ratio = 0.5;
+        char letter = 'q';
+        boolean flag = true;
+        Object nothing = null;
+        System.out.println("big=" + big + " ratio=" + ratio + " letter=" + letter + " flag=" + flag + " " + nothing);
+        System.out.println(base + suffix + 'c' + 1.5f);
+    }
+}
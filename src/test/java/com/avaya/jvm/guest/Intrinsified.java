@@ -0,0 +1,81 @@
+package com.avaya.jvm.guest;
+
+import java.util.Arrays;
+
+/**
+ * Calls of the JRE methods the VM has intrinsics for, edge cases and exceptions
+ * included, to compare runs with intrinsics on and off. The calls are all in main, so a
+ * fresh copy of the class binds each of them for its run; the helpers printing arrays
+ * call no JRE methods.
+ */
+public class Intrinsified {
+
+    public static void main(String[] args) {
+        System.out.println(Math.abs(-7) + " " + Math.abs(Integer.MIN_VALUE) + " " + Math.abs(-7L) + " " + Math.abs(-0.0));
+        System.out.println(Math.max(3, 9) + " " + Math.min(3, 9) + " " + Math.max(3L, 9L) + " " + Math.min(3L, 9L));
+        System.out.println(Math.max(-0.0, 0.0) + " " + Math.min(-0.0, 0.0) + " " + Math.max(1.0, Double.NaN));
+        System.out.println(Math.sqrt(2.0) + " " + Math.sqrt(-1.0) + " " + Math.pow(2.0, 10.0) + " " + Math.pow(0.0, -1.0));
+
+        String text = "intrinsic";
+        System.out.println(text.length() + " " + text.charAt(4) + " " + text.equals("intrinsic") + " " + text.equals(null)
+                + " " + text.equals(new StringBuilder(text)));
+        try {
+            text.charAt(text.length());
+        } catch (StringIndexOutOfBoundsException e) {
+            System.out.println(e.getMessage());
+        }
+
+        Integer cached = Integer.valueOf(100);
+        System.out.println((cached == Integer.valueOf(100)) + " " + Integer.valueOf(-5).intValue());
+
+        StringBuilder builder = new StringBuilder();
+        builder.append("s").append((Object) null).append(42).append('c').append(true).append(7L).append(0.5);
+        System.out.println(builder);
+
+        Object object = new Object();
+        System.out.println((System.identityHashCode(object) == System.identityHashCode(object)) + " "
+                + System.identityHashCode(null) + " " + (System.nanoTime() <= System.nanoTime())
+                + " " + (System.currentTimeMillis() > 0));
+
+        int[] numbers = {5, 3, 8, 1};
+        int[] copied = new int[6];
+        System.arraycopy(numbers, 1, copied, 2, 3);
+        System.arraycopy(copied, 2, copied, 3, 3);
+        System.out.println(show(copied));
+        try {
+            System.arraycopy(numbers, 2, copied, 0, 3);
+        } catch (ArrayIndexOutOfBoundsException e) {
+            System.out.println(e.getClass().getSimpleName());
+        }
+        try {
+            System.arraycopy(numbers, 0, new long[4], 0, 1);
+        } catch (ArrayStoreException e) {
+            System.out.println(e.getClass().getSimpleName());
+        }
+
+        Arrays.fill(copied, 9);
+        Arrays.fill(numbers, 1, 3, -1);
+        System.out.println(show(copied) + " " + show(numbers) + " " + show(Arrays.copyOf(numbers, 6)));
+        String[] words = {"pear", "fig", "apple", "kiwi"};
+        Arrays.sort(words, (a, b) -> a.length() - b.length());
+        System.out.println(show(words) + " " + show(Arrays.copyOf(words, 2)));
+        int[] cloned = numbers.clone();
+        System.out.println((cloned != numbers) + " " + show(cloned));
+    }
+
+    private static String show(int[] values) {
+        String shown = "[";
+        for (int i = 0; i < values.length; i++) {
+            shown = i == 0 ? shown + values[i] : shown + ", " + values[i];
+        }
+        return shown + "]";
+    }
+
+    private static String show(String[] values) {
+        String shown = "[";
+        for (int i = 0; i < values.length; i++) {
+            shown = i == 0 ? shown + values[i] : shown + ", " + values[i];
+        }
+        return shown + "]";
+    }
+}
@@ -0,0 +1,131 @@
+package com.avaya.jvm.guest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiFunction;
+import java.util.function.BooleanSupplier;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Function;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntFunction;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Guest lambdas and method references of JRE functional interfaces, called by JRE code:
+ * sorting, composed functions, boxing and widening, constructor references, and tasks
+ * run by the threads of a JRE thread pool.
+ */
+public class JreLambdas {
+
+    public static class Point {
+        int x;
+        int y;
+
+        Point(int x, int y) {
+            this.x = x;
+            this.y = y;
+        }
+
+        Point(int x) {
+            this(x, -x);
+        }
+
+        int dist() {
+            return x * x + y * y;
+        }
+
+        String show() {
+            return "(" + x + "," + y + ")";
+        }
+    }
+
+    static int counter;
+
+    static int twice(int value) {
+        return value * 2;
+    }
+
+    static void bump() {
+        counter++;
+    }
+
+    public static void main(String[] args) throws Exception {
+        counter = 0;
+        Point[] points = {new Point(3, 1), new Point(1, 2), new Point(2, 0)};
+        int bias = 10;
+        Arrays.sort(points, (p, q) -> (p.x + bias) - (q.x + bias));
+        for (Point p : points) {
+            System.out.println(p.show());
+        }
+        List<Point> list = new ArrayList<>();
+        for (Point p : points) {
+            list.add(p);
+        }
+        list.sort(Comparator.comparingInt(Point::dist).reversed());
+        for (Point p : list) {
+            System.out.println(p.show());
+        }
+
+        Function<Point, String> show = p -> p.show() + bias;
+        System.out.println(show.apply(points[0]));
+        System.out.println(show.andThen(s -> s + "!").apply(points[1]));
+        Function<Integer, Integer> twice = JreLambdas::twice;
+        System.out.println(twice.apply(21));
+        IntBinaryOperator add = (a, b) -> a + b + bias;
+        System.out.println(add.applyAsInt(1, 2));
+        LongSupplier widened = () -> bias;
+        System.out.println(widened.getAsLong());
+        DoubleUnaryOperator half = v -> v / 2 + bias;
+        System.out.println(half.applyAsDouble(3.0));
+
+        Runnable bump = JreLambdas::bump;
+        bump.run();
+        bump.run();
+        BooleanSupplier bumped = () -> counter > 1;
+        System.out.println(counter + " " + bumped.getAsBoolean());
+        System.out.println(bump.equals(bump) + " " + (bump.hashCode() == bump.hashCode()));
+
+        Supplier<Point> make = () -> new Point(7, 8);
+        IntFunction<Point> one = Point::new;
+        BiFunction<Integer, Integer, Point> two = Point::new;
+        ToIntFunction<Point> dist = Point::dist;
+        System.out.println(make.get().show() + " " + one.apply(5).show() + " " + two.apply(4, 6).show() + " " + dist.applyAsInt(points[2]));
+        Predicate<Point> near = p -> p.dist() < 5;
+        System.out.println(near.test(points[0]) + " " + near.negate().test(points[0]));
+
+        Map<String, Integer> map = new TreeMap<>();
+        map.put("a", 1);
+        map.put("b", 2);
+        map.forEach((k, v) -> System.out.println(k + "=" + (v + bias)));
+        System.out.println(map.computeIfAbsent("c", k -> k.length() + bias));
+
+        // called on pool threads the VM did not start
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        Object lock = new Object();
+        Future<?>[] futures = new Future<?>[8];
+        for (int i = 0; i < futures.length; i++) {
+            int step = i;
+            futures[i] = pool.submit(() -> {
+                synchronized (lock) {
+                    counter += step;
+                }
+            });
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        Future<Integer> doubled = pool.submit(() -> counter * 2);
+        System.out.println(counter + " " + doubled.get());
+        pool.shutdown();
+    }
+}
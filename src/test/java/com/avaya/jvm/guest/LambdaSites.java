@@ -0,0 +1,93 @@
+package com.avaya.jvm.guest;
+
+import java.util.function.Supplier;
+
+/**
+ * Lambdas and method references of guest functional interfaces: capturing and not,
+ * static and instance methods, bound and unbound receivers; a method reference that
+ * needs boxing, which stays on the host; and a lambda of a JRE interface.
+ */
+public class LambdaSites {
+
+    public interface Op {
+        int apply(int a, int b);
+    }
+
+    public interface Wide {
+        long apply(long a, double b);
+    }
+
+    public interface Show {
+        String show(Box box);
+    }
+
+    public interface Doubler {
+        int doubled();
+    }
+
+    public interface Boxed {
+        Integer apply(int a, int b);
+    }
+
+    public static class Box {
+        final int value;
+        final String label;
+
+        Box(int value, String label) {
+            this.value = value;
+            this.label = label;
+        }
+
+        int doubled() {
+            return value * 2;
+        }
+
+        String show() {
+            return label + ":" + value;
+        }
+    }
+
+    public static class Crate extends Box {
+        Crate(int value) {
+            super(value, "crate");
+        }
+
+        @Override
+        int doubled() {
+            return value * 3;
+        }
+    }
+
+    static int sub(int a, int b) {
+        return a - b;
+    }
+
+    static Op plain() {
+        return (a, b) -> a * b;
+    }
+
+    public static void main(String[] args) {
+        int bias = 100;
+        Op add = (a, b) -> a + b + bias;
+        Op minus = LambdaSites::sub;
+        System.out.println(add.apply(1, 2) + " " + minus.apply(5, 3));
+        System.out.println((plain() == plain()) + " " + plain().apply(6, 7));
+
+        long offset = 1L << 33;
+        String tag = "w";
+        Wide wide = (a, b) -> a + (long) b + offset + tag.length();
+        System.out.println(wide.apply(3L, 2.5));
+
+        Box box = new Box(7, "box");
+        Box crate = new Crate(7);
+        Show show = Box::show;
+        Doubler bound = box::doubled;
+        Doubler dispatched = crate::doubled;
+        System.out.println(show.show(box) + " " + show.show(crate) + " " + bound.doubled() + " " + dispatched.doubled());
+
+        // sub returns an int, which the host boxes
+        Boxed boxed = LambdaSites::sub;
+        Supplier<String> supplier = () -> tag + bias;
+        System.out.println(boxed.apply(9, 4) + " " + supplier.get());
+    }
+}
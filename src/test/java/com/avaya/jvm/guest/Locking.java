@@ -0,0 +1,72 @@
+package com.avaya.jvm.guest;
+
+/**
+ * Recursive locking of a guest object on one thread, timed waits, and monitor misuse;
+ * and the same on host objects, which the VM locks through its monitor table.
+ */
+public class Locking {
+
+    static int depth(Object lock, int n) {
+        synchronized (lock) {
+            return n == 0 ? 0 : 1 + depth(lock, n - 1);
+        }
+    }
+
+    static int fail(Object lock) {
+        synchronized (lock) {
+            throw new IllegalStateException("failed with the lock");
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        Locking lock = new Locking();
+        int hash = System.identityHashCode(lock);
+        System.out.println(depth(lock, 300) + " " + (hash == System.identityHashCode(lock)));
+
+        // a block that throws releases its lock
+        try {
+            fail(lock);
+        } catch (IllegalStateException e) {
+            System.out.println(e.getMessage());
+        }
+        synchronized (lock) {
+            lock.wait(5);
+            lock.notify();
+            synchronized (lock) {
+                lock.wait(1);
+                lock.notifyAll();
+            }
+            System.out.println("timed out " + (hash == System.identityHashCode(lock)));
+        }
+        try {
+            lock.notifyAll();
+        } catch (IllegalMonitorStateException e) {
+            System.out.println("notify without the lock");
+        }
+        try {
+            lock.wait();
+        } catch (IllegalMonitorStateException e) {
+            System.out.println("wait without the lock");
+        }
+
+        Object hostLock = new Object();
+        String key = String.valueOf(42);
+        System.out.println(depth(hostLock, 100) + " " + depth(key, 100));
+        synchronized (hostLock) {
+            hostLock.wait(1);
+            hostLock.notifyAll();
+        }
+        try {
+            hostLock.notify();
+        } catch (IllegalMonitorStateException e) {
+            System.out.println("notify without the host lock");
+        }
+        int locked = 0;
+        for (int i = 0; i < 100; i++) {
+            synchronized (String.valueOf(i)) {
+                locked++;
+            }
+        }
+        System.out.println(locked);
+    }
+}
@@ -0,0 +1,81 @@
+package com.avaya.jvm.guest;
+
+/**
+ * Multi-dimensional arrays from MULTIANEWARRAY, of primitives and of guest objects.
+ */
+public class Matrices {
+
+    public static class Cell {
+        int value;
+
+        Cell(int value) {
+            this.value = value;
+        }
+    }
+
+    public static void main(String[] args) {
+        int[][][] cube = new int[3][4][5];
+        for (int i = 0; i < 3; i++) {
+            for (int j = 0; j < 4; j++) {
+                for (int k = 0; k < 5; k++) {
+                    cube[i][j][k] = i * 100 + j * 10 + k;
+                }
+            }
+        }
+        int sum = 0;
+        for (int[][] plane : cube) {
+            for (int[] row : plane) {
+                sum += row[0] + row[row.length - 1];
+            }
+        }
+        System.out.println(sum + " " + cube[2][3][4] + " " + cube.length + " " + cube[1].length + " " + cube[1][2].length);
+
+        // each row is an array of its own length, even when they share storage
+        try {
+            cube[0][0][5] = 1;
+            System.out.println("no exception");
+        } catch (ArrayIndexOutOfBoundsException e) {
+            System.out.println("out of bounds " + cube[0][1][0]);
+        }
+
+        // a row can be replaced, the others are not affected
+        cube[1][1] = new int[]{7, 7};
+        cube[1][2][0] = -1;
+        System.out.println(cube[1][1].length + " " + cube[1][1][1] + " " + cube[1][2][0] + " " + cube[1][3][0]);
+
+        long[][] longs = new long[2][3];
+        longs[1][2] = Long.MAX_VALUE;
+        double[][] doubles = new double[2][2];
+        doubles[0][1] = 0.5;
+        char[][] chars = new char[2][3];
+        chars[1][0] = 'x';
+        boolean[][] flags = new boolean[2][2];
+        flags[1][1] = true;
+        System.out.println(longs[1][2] + " " + longs[0][2] + " " + doubles[0][1] + " " + doubles[1][0]
+                + " " + chars[1][0] + " " + (int) chars[0][0] + " " + flags[1][1] + " " + flags[0][1]);
+
+        // dimensions not given are left null
+        int[][] ragged = new int[3][];
+        System.out.println((ragged[0] == null) + " " + ragged.length);
+        int[][][] partial = new int[2][3][];
+        System.out.println((partial[1][2] == null) + " " + partial[1].length);
+
+        Cell[][] grid = new Cell[2][3];
+        System.out.println(grid[1][2] == null);
+        grid[1][2] = new Cell(42);
+        grid[0][0] = grid[1][2];
+        grid[0][0].value++;
+        System.out.println(grid[1][2].value + " " + grid[0].length + " " + (grid[0][1] == null));
+
+        int[][] empty = new int[0][5];
+        int[][] flat = new int[4][0];
+        System.out.println(empty.length + " " + flat.length + " " + flat[3].length);
+
+        try {
+            int[][] negative = new int[2][-1];
+            System.out.println(negative.length);
+        } catch (NegativeArraySizeException e) {
+            System.out.println("negative size");
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.avaya.jvm.guest;
+
+/**
+ * Static synchronized methods and class literals of a class whose static initializer must
+ * not run on the host while the VM runs the program: it counts its runs in {@link Inits}.
+ * Both lock the same monitor, so the methods may notify on the class literal.
+ */
+public class Mirrors {
+
+    public static class Inits {
+        public static int count;
+    }
+
+    public static class Lazy {
+        static {
+            Inits.count++;
+        }
+
+        private static int value;
+
+        public static synchronized int next() {
+            return ++value;
+        }
+
+        public static synchronized int nextTwice() {
+            next();
+            return next();
+        }
+
+        public static synchronized String notifyClass() {
+            Lazy.class.notifyAll();
+            return "notified";
+        }
+    }
+
+    public static void main(String[] args) {
+        System.out.println(Lazy.next());
+        System.out.println(Lazy.nextTwice());
+        synchronized (Lazy.class) {
+            System.out.println(Lazy.nextTwice());
+            Lazy.class.notify();
+        }
+        System.out.println(Lazy.notifyClass());
+        System.out.println(Lazy.class.getName());
+    }
+}
@@ -0,0 +1,189 @@
+package com.avaya.jvm.guest;
+
+/**
+ * One or more instructions of each group the interpreter has handlers for: constants,
+ * loads and stores, arithmetic and bit operations of every type, conversions,
+ * comparisons and branches, both switches, arrays, fields, calls and exceptions. Each
+ * result is printed on a line of its own.
+ */
+public class Opcodes {
+
+    static int counter;
+    int total;
+
+    public static void main(String[] args) {
+        arithmetic();
+        conversions();
+        comparisons();
+        switches();
+        arrays();
+        fields();
+        exceptions();
+    }
+
+    static void arithmetic() {
+        int a = 1200;
+        int b = -7;
+        System.out.println(a + b);
+        System.out.println(a - b);
+        System.out.println(a * b);
+        System.out.println(a / b);
+        System.out.println(a % b);
+        System.out.println(-a);
+        System.out.println(a << 3);
+        System.out.println(b >> 1);
+        System.out.println(b >>> 28);
+        System.out.println(a & b);
+        System.out.println(a | b);
+        System.out.println(a ^ b);
+        long c = 1L << 40;
+        long d = -3;
+        System.out.println(c + d);
+        System.out.println(c * d);
+        System.out.println(c / d);
+        System.out.println(c % 1000);
+        System.out.println(d >> 1);
+        System.out.println(d >>> 60);
+        System.out.println(c ^ d);
+        float e = 3.5f;
+        float f = -1.25f;
+        System.out.println(e + f);
+        System.out.println(e * f);
+        System.out.println(e / f);
+        System.out.println(e % f);
+        System.out.println(-e);
+        double g = 2.75;
+        double h = 0.5;
+        System.out.println(g - h);
+        System.out.println(g / h);
+        System.out.println(g % h);
+        System.out.println(-g);
+        int i = 0;
+        i += 300;
+        i++;
+        i -= 2;
+        System.out.println(i);
+    }
+
+    static void conversions() {
+        int i = -100000;
+        long l = 123456789012L;
+        float f = 1.0e10f;
+        double d = -2.5e-3;
+        System.out.println((long) i);
+        System.out.println((float) i);
+        System.out.println((double) i);
+        System.out.println((int) l);
+        System.out.println((float) l);
+        System.out.println((double) l);
+        System.out.println((int) f);
+        System.out.println((long) f);
+        System.out.println((double) f);
+        System.out.println((int) d);
+        System.out.println((long) d);
+        System.out.println((float) d);
+        System.out.println((byte) i);
+        System.out.println((char) (i & 0x7f));
+        System.out.println((short) i);
+    }
+
+    static void comparisons() {
+        int a = 10;
+        int b = 20;
+        System.out.println(a < b);
+        System.out.println(a >= b);
+        System.out.println(a == 10);
+        System.out.println(b != 0);
+        long la = 100;
+        long lb = 200;
+        System.out.println(la > lb);
+        float fa = 1.5f;
+        System.out.println(fa < 2.0f);
+        double da = 0.0 / 0.0;
+        System.out.println(da > 1.0);
+        System.out.println(da < 1.0);
+        Object o = null;
+        System.out.println(o == null);
+        Object p = "text";
+        System.out.println(p != null);
+        int sum = 0;
+        for (int i = 0; i < 10; i++) {
+            if (i % 3 == 0) {
+                continue;
+            }
+            sum += i;
+        }
+        System.out.println(sum);
+    }
+
+    static void switches() {
+        for (int i = 0; i < 6; i++) {
+            switch (i) {
+                case 1, 2 -> System.out.println(10 + i);
+                case 4 -> System.out.println(40);
+                default -> System.out.println(-i);
+            }
+        }
+        int[] keys = {-1000, 7, 1500, 99999};
+        for (int k = 0; k < keys.length; k++) {
+            switch (keys[k]) {
+                case -1000 -> System.out.println(1);
+                case 1500 -> System.out.println(2);
+                case 99999 -> System.out.println(3);
+                default -> System.out.println(0);
+            }
+        }
+    }
+
+    static void arrays() {
+        byte[] b = {1, -2, 33};
+        short[] s = {10, -20};
+        char[] c = {'a', 'z'};
+        int[] i = new int[3];
+        long[] l = {1000, -2000};
+        float[] f = {1.5f};
+        double[] d = new double[2];
+        String[] strings = new String[2];
+        i[2] = b[1] + s[1];
+        d[1] = l[1] * f[0];
+        strings[0] = "one";
+        System.out.println(b[2]);
+        System.out.println(c[1]);
+        System.out.println(i[2]);
+        System.out.println(d[1]);
+        System.out.println(strings[0]);
+        System.out.println(strings[1] == null);
+        System.out.println(i.length);
+    }
+
+    static void fields() {
+        counter = 5;
+        counter += 2;
+        Opcodes opcodes = new Opcodes();
+        opcodes.total = counter * 1000;
+        opcodes.add(34);
+        System.out.println(counter);
+        System.out.println(opcodes.total);
+    }
+
+    void add(int value) {
+        total += value;
+    }
+
+    static void exceptions() {
+        try {
+            fail(3);
+        } catch (IllegalStateException e) {
+            System.out.println(e.getMessage());
+        } finally {
+            System.out.println("finally");
+        }
+    }
+
+    static void fail(int depth) {
+        if (depth == 0) {
+            throw new IllegalStateException("thrown");
+        }
+        fail(depth - 1);
+    }
+}
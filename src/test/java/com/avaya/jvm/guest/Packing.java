@@ -0,0 +1,100 @@
+package com.avaya.jvm.guest;
+
+/**
+ * Narrow fields packed into shared words: a subclass filling the last word of its
+ * superclass, and threads each storing into their own byte of one word.
+ */
+public class Packing implements Runnable {
+
+    public static class Base {
+        int id;
+        byte tag;
+    }
+
+    public static class Packed extends Base {
+        long stamp;
+        double ratio;
+        boolean flag;
+        byte small;
+        char letter;
+        short count;
+        float weight;
+        Object name;
+    }
+
+    public static class Bytes {
+        byte a;
+        byte b;
+        byte c;
+        byte d;
+    }
+
+    static final int ROUNDS = 20000;
+
+    static Bytes shared;
+    static int[] torn;
+
+    final int which;
+
+    Packing(int which) {
+        this.which = which;
+    }
+
+    public void run() {
+        Bytes bytes = shared;
+        int errors = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            byte value = (byte) (i + which);
+            if (which == 0) {
+                bytes.a = value;
+                errors += bytes.a != value ? 1 : 0;
+            } else if (which == 1) {
+                bytes.b = value;
+                errors += bytes.b != value ? 1 : 0;
+            } else if (which == 2) {
+                bytes.c = value;
+                errors += bytes.c != value ? 1 : 0;
+            } else {
+                bytes.d = value;
+                errors += bytes.d != value ? 1 : 0;
+            }
+        }
+        torn[which] = errors;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        Packed packed = new Packed();
+        System.out.println(packed.id + " " + packed.tag + " " + packed.stamp + " " + packed.ratio + " " + packed.flag
+                + " " + packed.small + " " + (int) packed.letter + " " + packed.count + " " + packed.weight + " " + packed.name);
+        packed.id = -1;
+        packed.tag = -2;
+        packed.stamp = Long.MIN_VALUE + 3;
+        packed.ratio = -0.125;
+        packed.flag = true;
+        packed.small = 127;
+        packed.letter = Character.MAX_VALUE;
+        packed.count = Short.MIN_VALUE;
+        packed.weight = 2.5f;
+        packed.name = "packed";
+        System.out.println(packed.id + " " + packed.tag + " " + packed.stamp + " " + packed.ratio + " " + packed.flag
+                + " " + packed.small + " " + (int) packed.letter + " " + packed.count + " " + packed.weight + " " + packed.name);
+        packed.small = (byte) (packed.small + 1);
+        packed.count--;
+        packed.letter++;
+        System.out.println(packed.tag + " " + packed.small + " " + (int) packed.letter + " " + packed.count + " " + packed.flag);
+
+        shared = new Bytes();
+        torn = new int[4];
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(new Packing(i));
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        System.out.println("torn " + (torn[0] + torn[1] + torn[2] + torn[3]));
+        // the last value each thread stored
+        System.out.println(shared.a + " " + shared.b + " " + shared.c + " " + shared.d);
+    }
+}
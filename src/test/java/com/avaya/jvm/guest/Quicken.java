@@ -0,0 +1,55 @@
+package com.avaya.jvm.guest;
+
+/**
+ * Straight-line field accesses and invokes of every kind, so that every such instruction
+ * of the methods main calls is executed, and quickened.
+ */
+public class Quicken {
+    int i;
+    long l;
+    double d;
+    String s;
+    byte b;
+    static int counter;
+    static String label;
+
+    public interface Shape {
+        int area();
+    }
+
+    public static class Square implements Shape {
+        int side;
+
+        public int area() {
+            return side * side;
+        }
+    }
+
+    public static void main(String[] args) {
+        counter = 0;
+        label = "q";
+        Quicken q = new Quicken();
+        for (int n = 0; n < 3; n++) {
+            q.update(n);
+        }
+        Square square = new Square();
+        square.side = 4;
+        Shape shape = square;
+        System.out.println(q.i + " " + q.l + " " + q.d + " " + q.s + " " + q.b + " " + counter + " " + label);
+        System.out.println(shape.area() + " " + Math.max(3, 4));
+    }
+
+    void update(int n) {
+        i += n;
+        l += n * 10L;
+        d += 0.5;
+        s = label + n;
+        b = (byte) (b + 100);
+        counter++;
+        helper();
+    }
+
+    private void helper() {
+        counter += 2;
+    }
+}
@@ -0,0 +1,46 @@
+package com.avaya.jvm.guest;
+
+/**
+ * Unbounded recursion, caught as StackOverflowError, after which the thread calls on as
+ * before. {@link #spin} has no arguments, no locals and an empty operand stack.
+ */
+public class Recursion {
+    static int depth;
+
+    public static void main(String[] args) {
+        depth = 0;
+        try {
+            count();
+        } catch (StackOverflowError e) {
+            System.out.println("overflow after more than 100 frames: " + (depth > 100));
+        }
+        try {
+            spin();
+        } catch (StackOverflowError e) {
+            System.out.println("spin overflowed");
+        }
+        System.out.println(wide(0, 0L, 0.0));
+        System.out.println(sum(100));
+    }
+
+    static void count() {
+        depth++;
+        count();
+    }
+
+    public static void spin() {
+        spin();
+    }
+
+    static long wide(int a, long b, double c) {
+        try {
+            return wide(a + 1, b + 2, c + 3);
+        } catch (StackOverflowError e) {
+            return a > 0 ? 1 : 0;
+        }
+    }
+
+    static int sum(int n) {
+        return n == 0 ? 0 : n + sum(n - 1);
+    }
+}
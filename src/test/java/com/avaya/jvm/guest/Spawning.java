@@ -0,0 +1,95 @@
+package com.avaya.jvm.guest;
+
+/**
+ * Guest threads started from a Runnable class, from lambdas and method references, and
+ * from a guest interface extending Runnable, sharing state under locks.
+ */
+public class Spawning implements Runnable {
+
+    public interface Job extends Runnable {
+    }
+
+    static int total;
+    static String seen;
+
+    final int mode;
+
+    Spawning(int mode) {
+        this.mode = mode;
+    }
+
+    static synchronized void add(int value) {
+        total += value;
+    }
+
+    static void work() {
+        add(100);
+    }
+
+    public void run() {
+        if (mode == 1) {
+            throw new IllegalStateException("boom");
+        }
+        if (mode == 2) {
+            seen = Thread.currentThread().getName();
+            return;
+        }
+        for (int i = 0; i < 1000; i++) {
+            synchronized (Spawning.class) {
+                total++;
+            }
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        total = 0;
+        Thread named = new Thread(new Spawning(2), "named");
+        named.start();
+        named.join();
+        System.out.println(seen + " " + named.getName() + " " + named.isAlive());
+
+        Thread failing = new Thread(new Spawning(1), "failing");
+        failing.setUncaughtExceptionHandler((thread, e) -> System.out.println("uncaught in " + thread.getName() + ": " + e.getMessage()));
+        failing.start();
+        failing.join();
+
+        Thread[] lambdas = new Thread[4];
+        for (int i = 0; i < lambdas.length; i++) {
+            int step = i + 1;
+            Object tag = new Object();
+            lambdas[i] = new Thread(() -> {
+                add(step);
+                if (tag != null) {
+                    add(step * 10);
+                }
+            }, "lambda" + i);
+        }
+        Thread plain = new Thread(() -> add(1000));
+        Thread reference = new Thread(Spawning::work);
+        Job job = () -> add(5000);
+        Thread fromJob = new Thread(job);
+        Thread[] counters = new Thread[8];
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = new Thread(new Spawning(0), "counter" + i);
+        }
+        for (Thread thread : lambdas) {
+            thread.start();
+        }
+        plain.start();
+        reference.start();
+        fromJob.start();
+        for (Thread thread : counters) {
+            thread.start();
+        }
+        for (Thread thread : lambdas) {
+            thread.join();
+        }
+        plain.join();
+        reference.join();
+        fromJob.join();
+        for (Thread thread : counters) {
+            thread.join();
+        }
+        System.out.println(total + " " + lambdas[2].getName() + " " + counters[7].getName());
+    }
+}
@@ -0,0 +1,110 @@
+package com.avaya.jvm.hotspot.share.interpreter;
+
+import com.avaya.jvm.GuestVm;
+import com.avaya.jvm.guest.Decoding;
+import com.avaya.jvm.hotspot.share.oops.AttributeInfo;
+import com.avaya.jvm.hotspot.share.oops.CodeAttribute;
+import com.avaya.jvm.hotspot.share.oops.InstanceKlass;
+import com.avaya.jvm.hotspot.share.oops.MethodInfo;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BytecodeDecoderTest {
+
+    private static final int ILOAD_0 = Bytecodes.ILOAD_0.getOpcode();
+
+    // the decoded body of a method of Decoding
+    private static DecodedCode decoded(String name) throws Exception {
+        InstanceKlass klass = GuestVm.klass(Decoding.class);
+        for (MethodInfo method : klass.getMethods()) {
+            if (method.getName().equals(name)) {
+                for (AttributeInfo attr : method.getAttributes()) {
+                    if (attr instanceof CodeAttribute code) {
+                        return code.getDecodedCode();
+                    }
+                }
+            }
+        }
+        throw new AssertionError("no code for " + name);
+    }
+
+    @Test
+    void decodedMethodsComputeWhatTheHostDoes() throws Throwable {
+        assertEquals(GuestVm.runOnHost(Decoding.class), GuestVm.run(Decoding.class));
+    }
+
+    @Test
+    void wideIincIsFoldedWithASignExtendedConstant() throws Exception {
+        DecodedCode bump = decoded("bump");
+        int[] code = bump.getCode();
+
+        // wide iinc 0 1000 is 6 bytes, iload_0 and ireturn one each
+        assertArrayEquals(new int[]{Bytecodes.IINC.getOpcode(), 0, 1000,
+                ILOAD_0, Bytecodes.IRETURN.getOpcode()}, code);
+        assertEquals(0, bump.pcAt(0));
+        assertEquals(3, bump.pcAt(6));
+        assertEquals(4, bump.pcAt(7));
+        assertEquals(0, bump.bciAt(2));
+        assertEquals(6, bump.bciAt(3));
+        assertThrows(IllegalStateException.class, () -> bump.pcAt(1));
+    }
+
+    @Test
+    void tableswitchTargetsArePcs() throws Exception {
+        DecodedCode dense = decoded("dense");
+        int[] code = dense.getCode();
+
+        assertEquals(ILOAD_0, code[0]);
+        assertEquals(Bytecodes.TABLESWITCH.getOpcode(), code[1]);
+        // default, low, high, then one target per case, with no padding in between
+        assertEquals(1, code[3]);
+        assertEquals(3, code[4]);
+        for (int i = 0; i < 3; i++) {
+            // every case pushes its constant and returns
+            int target = code[5 + i];
+            assertEquals(Bytecodes.BIPUSH.getOpcode(), code[target]);
+            assertEquals(10 * (i + 1), code[target + 1]);
+            assertEquals(Bytecodes.IRETURN.getOpcode(), code[target + 2]);
+        }
+        assertEquals(Bytecodes.ICONST_M1.getOpcode(), code[code[2]]);
+    }
+
+    @Test
+    void lookupswitchPairsAreSortedByMatch() throws Exception {
+        DecodedCode sparse = decoded("sparse");
+        int[] code = sparse.getCode();
+
+        assertEquals(Bytecodes.LOOKUPSWITCH.getOpcode(), code[1]);
+        assertEquals(3, code[3]);
+        assertEquals(-500, code[4]);
+        assertEquals(7, code[6]);
+        assertEquals(100000, code[8]);
+        // the pair of -500 leads to the code returning 1
+        assertEquals(Bytecodes.ICONST_1.getOpcode(), code[code[5]]);
+        assertEquals(Bytecodes.ICONST_2.getOpcode(), code[code[7]]);
+        assertEquals(Bytecodes.ICONST_3.getOpcode(), code[code[9]]);
+        assertEquals(Bytecodes.ICONST_0.getOpcode(), code[code[2]]);
+    }
+
+    @Test
+    void pcAndBciMapsAgreeOnEveryInstruction() throws Exception {
+        for (String name : new String[]{"bump", "dense", "sparse", "sum", "main"}) {
+            DecodedCode decoded = decoded(name);
+            int[] pcAt = decoded.getPcAt();
+            int starts = 0;
+            for (int bci = 0; bci < pcAt.length; bci++) {
+                if (pcAt[bci] >= 0) {
+                    assertEquals(bci, decoded.bciAt(decoded.pcAt(bci)), name + " at bci " + bci);
+                    starts++;
+                }
+            }
+            // each pc belongs to the instruction that starts at or before it
+            int[] code = decoded.getCode();
+            for (int pc = 1; pc < code.length; pc++) {
+                assertTrue(decoded.bciAt(pc) >= decoded.bciAt(pc - 1), name + " at pc " + pc);
+            }
+            assertTrue(starts > 0);
+        }
+    }
+}
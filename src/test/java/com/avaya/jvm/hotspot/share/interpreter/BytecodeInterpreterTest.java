@@ -0,0 +1,15 @@
+package com.avaya.jvm.hotspot.share.interpreter;
+
+import com.avaya.jvm.GuestVm;
+import com.avaya.jvm.guest.Opcodes;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BytecodeInterpreterTest {
+
+    @Test
+    void everyHandlerComputesWhatTheHostDoes() throws Throwable {
+        assertEquals(GuestVm.runOnHost(Opcodes.class), GuestVm.run(Opcodes.class));
+    }
+}
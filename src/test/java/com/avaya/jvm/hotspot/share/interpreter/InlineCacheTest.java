@@ -0,0 +1,118 @@
+package com.avaya.jvm.hotspot.share.interpreter;
+
+import com.avaya.jvm.GuestVm;
+import com.avaya.jvm.guest.CallSites;
+import com.avaya.jvm.guest.Dispatch;
+import com.avaya.jvm.hotspot.share.oops.InstanceKlass;
+import com.avaya.jvm.hotspot.share.oops.MethodInfo;
+import com.avaya.jvm.hotspot.share.runtime.Arguments;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InlineCacheTest {
+
+    private static final String SOUND = "()Ljava/lang/String;";
+
+    @AfterEach
+    void resetOptions() {
+        GuestVm.resetOptions();
+    }
+
+    // the one inline cache of a CallSites method
+    private static InlineCache site(String name, String descriptor) throws Exception {
+        InlineCache[] inlineCaches = GuestVm.klass(CallSites.class).findMethod(name, descriptor)
+                .getEntry().getDecodedCode().getInlineCaches();
+        assertEquals(1, inlineCaches.length);
+        return inlineCaches[0];
+    }
+
+    @Test
+    void siteGoesFromCleanToMegamorphic() throws Exception {
+        MethodInfo sound = GuestVm.klass(Dispatch.Animal.class).findMethod("sound", SOUND);
+        InlineCache inlineCache = new InlineCache(sound, 0);
+        assertEquals("clean", inlineCache.getState());
+
+        InstanceKlass dog = GuestVm.klass(Dispatch.Dog.class);
+        assertSame(dog.findMethod("sound", SOUND), inlineCache.lookup(dog, sound));
+        assertEquals("monomorphic", inlineCache.getState());
+
+        InstanceKlass puppy = GuestVm.klass(Dispatch.Puppy.class);
+        assertSame(puppy.findMethod("sound", SOUND), inlineCache.lookup(puppy, sound));
+        assertEquals("polymorphic(2)", inlineCache.getState());
+
+        inlineCache.lookup(GuestVm.klass(Dispatch.Animal.class), sound);
+        inlineCache.lookup(GuestVm.klass(Dispatch.Parrot.class), sound);
+        assertEquals("polymorphic(" + InlineCache.MAX_ARITY + ")", inlineCache.getState());
+
+        InstanceKlass cat = GuestVm.klass(CallSites.Cat.class);
+        assertSame(cat.findMethod("sound", SOUND), inlineCache.lookup(cat, sound));
+        assertEquals("megamorphic", inlineCache.getState());
+        // still selects the right target, through the vtable
+        assertSame(dog.findMethod("sound", SOUND), inlineCache.lookup(dog, sound));
+        assertSame(cat.findMethod("sound", SOUND), inlineCache.lookup(cat, sound));
+    }
+
+    @Test
+    void callsAreNotCountedByDefault() throws Exception {
+        MethodInfo sound = GuestVm.klass(Dispatch.Animal.class).findMethod("sound", SOUND);
+        InstanceKlass dog = GuestVm.klass(Dispatch.Dog.class);
+        InlineCache inlineCache = new InlineCache(sound, 0);
+
+        inlineCache.lookup(dog, sound);
+        inlineCache.lookup(dog, sound);
+
+        assertEquals("monomorphic", inlineCache.getState());
+        assertEquals(0, inlineCache.getMisses());
+        assertEquals(0, inlineCache.getHits());
+    }
+
+    @Test
+    void hitsAndMissesAreCounted() throws Exception {
+        Arguments.parse(new String[]{"-XX:+ProfileInlineCaches"});
+        MethodInfo sound = GuestVm.klass(Dispatch.Animal.class).findMethod("sound", SOUND);
+        InstanceKlass dog = GuestVm.klass(Dispatch.Dog.class);
+        InstanceKlass puppy = GuestVm.klass(Dispatch.Puppy.class);
+        InlineCache inlineCache = new InlineCache(sound, 0);
+
+        inlineCache.lookup(dog, sound);
+        inlineCache.lookup(dog, sound);
+        inlineCache.lookup(puppy, sound);
+        inlineCache.lookup(dog, sound);
+        inlineCache.lookup(puppy, sound);
+
+        assertEquals(2, inlineCache.getMisses());
+        assertEquals(3, inlineCache.getHits());
+        assertEquals(0, inlineCache.getMegamorphicCalls());
+    }
+
+    @Test
+    void megamorphicCallsBypassTheEntries() throws Exception {
+        Arguments.parse(new String[]{"-XX:+ProfileInlineCaches"});
+        MethodInfo sound = GuestVm.klass(Dispatch.Animal.class).findMethod("sound", SOUND);
+        InlineCache inlineCache = new InlineCache(sound, 0);
+        Class<?>[] receivers = {Dispatch.Animal.class, Dispatch.Dog.class, Dispatch.Puppy.class,
+                Dispatch.Parrot.class, CallSites.Cat.class};
+        for (Class<?> receiver : receivers) {
+            inlineCache.lookup(GuestVm.klass(receiver), sound);
+        }
+        inlineCache.lookup(GuestVm.klass(Dispatch.Dog.class), sound);
+
+        assertEquals(receivers.length, inlineCache.getMisses());
+        assertEquals(0, inlineCache.getHits());
+        assertEquals(1, inlineCache.getMegamorphicCalls());
+    }
+
+    @Test
+    void guestCallSitesRecordTheirReceivers() throws Throwable {
+        assertEquals(GuestVm.runOnHost(CallSites.class), GuestVm.run(CallSites.class, "-XX:+ProfileInlineCaches"));
+
+        InlineCache mono = site("mono", "([Lcom/avaya/jvm/guest/Dispatch$Animal;)I");
+        assertEquals("monomorphic", mono.getState());
+        assertTrue(mono.getHits() >= 2, mono.toString());
+        assertEquals("polymorphic(2)", site("poly", "([Lcom/avaya/jvm/guest/Dispatch$Animal;)I").getState());
+        assertEquals("megamorphic", site("mega", "([Lcom/avaya/jvm/guest/Dispatch$Animal;)I").getState());
+        assertEquals("polymorphic(3)", site("named", "([Lcom/avaya/jvm/guest/Dispatch$Named;)I").getState());
+    }
+}
@@ -0,0 +1,89 @@
+package com.avaya.jvm.hotspot.share.interpreter;
+
+import com.avaya.jvm.GuestVm;
+import com.avaya.jvm.guest.Quicken;
+import com.avaya.jvm.hotspot.share.oops.ConstantPoolCache;
+import com.avaya.jvm.hotspot.share.oops.InstanceKlass;
+import com.avaya.jvm.hotspot.share.oops.ResolvedFieldEntry;
+import com.avaya.jvm.hotspot.share.utilities.ValueType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuickeningTest {
+
+    private static final Set<Bytecodes> SLOW = EnumSet.of(Bytecodes.GETSTATIC, Bytecodes.PUTSTATIC,
+            Bytecodes.GETFIELD, Bytecodes.PUTFIELD, Bytecodes.INVOKEVIRTUAL, Bytecodes.INVOKESPECIAL,
+            Bytecodes.INVOKESTATIC, Bytecodes.INVOKEINTERFACE);
+
+    // the opcodes at the start of each instruction of a method
+    private static List<Bytecodes> instructions(InstanceKlass klass, String name, String descriptor) {
+        DecodedCode decodedCode = klass.findMethod(name, descriptor).getEntry().getDecodedCode();
+        int[] code = decodedCode.getCode();
+        List<Bytecodes> opcodes = new ArrayList<>();
+        for (int pc = 0; pc < code.length; pc++) {
+            if (decodedCode.getPcAt()[decodedCode.bciAt(pc)] == pc) {
+                opcodes.add(Bytecodes.fromOpcode(code[pc]));
+            }
+        }
+        return opcodes;
+    }
+
+    @Test
+    void quickenedCodeRunsAsOnTheHost() throws Throwable {
+        String expected = GuestVm.runOnHost(Quicken.class);
+
+        // the second run executes the rewritten instructions only
+        assertEquals(expected, GuestVm.run(Quicken.class));
+        assertEquals(expected, GuestVm.run(Quicken.class));
+    }
+
+    @Test
+    void executedInstructionsAreRewritten() throws Throwable {
+        GuestVm.run(Quicken.class);
+        InstanceKlass klass = GuestVm.klass(Quicken.class);
+
+        List<Bytecodes> main = instructions(klass, "main", "([Ljava/lang/String;)V");
+        List<Bytecodes> update = instructions(klass, "update", "(I)V");
+        List<Bytecodes> area = instructions(GuestVm.klass(Quicken.Square.class), "area", "()I");
+        for (List<Bytecodes> method : List.of(main, update, area)) {
+            assertTrue(method.stream().noneMatch(SLOW::contains), method.toString());
+        }
+        assertTrue(main.containsAll(List.of(Bytecodes.FAST_PUTSTATIC, Bytecodes.FAST_GETSTATIC, Bytecodes.FAST_INVOKESPECIAL,
+                Bytecodes.FAST_INVOKEVIRTUAL, Bytecodes.FAST_INVOKEINTERFACE, Bytecodes.FAST_INVOKESTATIC, Bytecodes.FAST_PUTFIELD)));
+        assertTrue(update.containsAll(List.of(Bytecodes.FAST_GETFIELD, Bytecodes.FAST_PUTFIELD)));
+        assertTrue(area.contains(Bytecodes.FAST_GETFIELD));
+    }
+
+    @Test
+    void rewrittenInstructionsUseTheResolvedEntries() throws Throwable {
+        GuestVm.run(Quicken.class);
+        InstanceKlass klass = GuestVm.klass(Quicken.class);
+        DecodedCode decodedCode = klass.findMethod("update", "(I)V").getEntry().getDecodedCode();
+        ConstantPoolCache cache = klass.getConstantPool().getCache();
+
+        List<String> fields = new ArrayList<>();
+        int[] code = decodedCode.getCode();
+        for (int pc = 0; pc < code.length; pc++) {
+            if (decodedCode.getPcAt()[decodedCode.bciAt(pc)] != pc) {
+                continue;
+            }
+            Bytecodes bytecode = Bytecodes.fromOpcode(code[pc]);
+            if (bytecode == Bytecodes.FAST_GETFIELD || bytecode == Bytecodes.FAST_PUTFIELD) {
+                ResolvedFieldEntry entry = cache.getFieldEntry(code[pc + 1]);
+                assertNotNull(entry);
+                assertFalse(entry.isHost());
+                fields.add(entry.getName() + ":" + entry.getType());
+            } else if (bytecode == Bytecodes.FAST_INVOKESPECIAL) {
+                assertEquals("helper", cache.getMethodEntry(code[pc + 1]).getMethod().getName());
+            }
+        }
+        assertTrue(fields.containsAll(List.of("i:" + ValueType.T_INT, "l:" + ValueType.T_LONG, "d:" + ValueType.T_DOUBLE,
+                "s:" + ValueType.T_OBJECT, "b:" + ValueType.T_BYTE)), fields.toString());
+    }
+}
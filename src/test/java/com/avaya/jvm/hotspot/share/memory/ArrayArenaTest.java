@@ -0,0 +1,107 @@
+package com.avaya.jvm.hotspot.share.memory;
+
+import com.avaya.jvm.GuestVm;
+import com.avaya.jvm.guest.BigArrays;
+import com.avaya.jvm.hotspot.share.oops.DoubleArrayOop;
+import com.avaya.jvm.hotspot.share.oops.IntArrayOop;
+import com.avaya.jvm.hotspot.share.runtime.Arguments;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArrayArenaTest {
+
+    @AfterEach
+    void resetOptions() {
+        GuestVm.resetOptions();
+    }
+
+    @Test
+    void onlyArraysOfTheMinimumSizeGoOffHeap() {
+        assertFalse(ArrayArena.isOffHeap(1024, Integer.BYTES));
+
+        Arguments.parse(new String[]{"-XX:+UseOffHeapArrays", "-XX:OffHeapArrayMinBytes=64"});
+        assertTrue(ArrayArena.isOffHeap(16, Integer.BYTES));
+        assertTrue(ArrayArena.isOffHeap(8, Long.BYTES));
+        assertFalse(ArrayArena.isOffHeap(15, Integer.BYTES));
+        assertFalse(ArrayArena.isOffHeap(-1, Integer.BYTES));
+        // larger than a direct buffer can be
+        assertFalse(ArrayArena.isOffHeap(Integer.MAX_VALUE, Long.BYTES));
+    }
+
+    @Test
+    void allocationsAreZeroedAndCounted() {
+        long allocated = ArrayArena.getAllocatedBytes();
+        ByteBuffer small = ArrayArena.allocate(100, Integer.BYTES);
+        ByteBuffer large = ArrayArena.allocate(512 * 1024, Integer.BYTES);
+
+        assertTrue(small.isDirect());
+        assertEquals(400, small.capacity());
+        assertEquals(2 * 1024 * 1024, large.capacity());
+        for (int i = 0; i < small.capacity(); i++) {
+            assertEquals(0, small.get(i));
+        }
+        assertEquals(allocated + 400 + 2 * 1024 * 1024, ArrayArena.getAllocatedBytes());
+        assertTrue(ArrayArena.getReservedBytes() >= ArrayArena.getAllocatedBytes());
+    }
+
+    @Test
+    void carvedArraysDoNotOverlap() {
+        ByteBuffer first = ArrayArena.allocate(3, Integer.BYTES);
+        ByteBuffer second = ArrayArena.allocate(3, Integer.BYTES);
+        for (int i = 0; i < 3; i++) {
+            first.putInt(i * Integer.BYTES, -1);
+        }
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, second.getInt(i * Integer.BYTES));
+        }
+    }
+
+    @Test
+    void offHeapArraysCopyToAndFromHostArrays() {
+        Arguments.parse(new String[]{"-XX:+UseOffHeapArrays", "-XX:OffHeapArrayMinBytes=64"});
+        long allocated = ArrayArena.getAllocatedBytes();
+        IntArrayOop offHeap = new IntArrayOop(100);
+        IntArrayOop onHeap = new IntArrayOop(10);
+        assertEquals(allocated + 400, ArrayArena.getAllocatedBytes());
+
+        for (int i = 0; i < 10; i++) {
+            onHeap.set(i, i + 1);
+        }
+        onHeap.copyTo(0, offHeap, 90, 10);
+        offHeap.copyTo(90, offHeap, 91, 9);
+        offHeap.copyTo(95, onHeap, 0, 5);
+        assertEquals(1, offHeap.get(91));
+        assertEquals(9, offHeap.get(99));
+        assertEquals(5, onHeap.get(0));
+        assertEquals(9, onHeap.get(4));
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> offHeap.get(100));
+
+        // a slice is a view of the same memory
+        IntArrayOop slice = offHeap.slice(90, 10);
+        slice.set(0, 42);
+        assertEquals(42, offHeap.get(90));
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> slice.get(10));
+
+        DoubleArrayOop doubles = new DoubleArrayOop(16);
+        doubles.set(15, 0.25);
+        assertEquals(0.25, doubles.get(15));
+        assertEquals(0.0, doubles.get(0));
+    }
+
+    @Test
+    void offHeapArraysRunAsOnTheHost() throws Throwable {
+        String expected = GuestVm.runOnHost(BigArrays.class);
+
+        long allocated = ArrayArena.getAllocatedBytes();
+        assertEquals(expected, GuestVm.run(BigArrays.class, "-XX:+UseOffHeapArrays", "-XX:OffHeapArrayMinBytes=64"));
+        assertTrue(ArrayArena.getAllocatedBytes() - allocated >= 1000 * Integer.BYTES + 600 * (Long.BYTES + Double.BYTES));
+
+        allocated = ArrayArena.getAllocatedBytes();
+        assertEquals(expected, GuestVm.run(BigArrays.class));
+        assertEquals(allocated, ArrayArena.getAllocatedBytes());
+    }
+}
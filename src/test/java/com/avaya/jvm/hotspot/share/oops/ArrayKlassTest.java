@@ -0,0 +1,167 @@
+package com.avaya.jvm.hotspot.share.oops;
+
+import com.avaya.jvm.GuestVm;
+import com.avaya.jvm.guest.ArrayStores;
+import com.avaya.jvm.guest.ArrayTypes;
+import com.avaya.jvm.guest.Matrices;
+import com.avaya.jvm.hotspot.share.memory.ArrayArena;
+import com.avaya.jvm.hotspot.share.runtime.Arguments;
+import com.avaya.jvm.hotspot.share.utilities.ValueType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArrayKlassTest {
+
+    @AfterEach
+    void resetOptions() {
+        GuestVm.resetOptions();
+    }
+
+    @Test
+    void primitiveRowsAreSlicesOfTheirOwnLength() throws Exception {
+        ObjectArrayOop cube = (ObjectArrayOop) ArrayKlass.forName("[[[I").multiAllocate(new int[]{2, 3, 4});
+        assertEquals("[[[I", cube.getKlass().getName());
+        assertEquals(2, cube.getLength());
+
+        ObjectArrayOop plane = (ObjectArrayOop) cube.get(1);
+        assertEquals("[[I", plane.getKlass().getName());
+        assertEquals(3, plane.getLength());
+        IntArrayOop first = (IntArrayOop) plane.get(0);
+        IntArrayOop second = (IntArrayOop) plane.get(1);
+        assertSame(ArrayKlass.forType(ValueType.T_INT), first.getKlass());
+        assertEquals(4, first.getLength());
+
+        first.set(3, 7);
+        assertEquals(0, second.get(0));
+        assertEquals(7, first.get(3));
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> first.get(4));
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> second.set(-1, 1));
+    }
+
+    @Test
+    void storesAreCheckedAgainstTheElementClassAsOnTheHost() throws Throwable {
+        assertEquals(GuestVm.runOnHost(ArrayStores.class), GuestVm.run(ArrayStores.class));
+    }
+
+    @Test
+    void referenceArraysAcceptInstancesOfTheirElementClass() throws Exception {
+        ArrayKlass strings = ArrayKlass.forName("[Ljava/lang/String;");
+        ArrayKlass rows = ArrayKlass.forName("[[I");
+        assertTrue(strings.accepts(null));
+        assertTrue(strings.accepts("text"));
+        assertFalse(strings.accepts(1));
+        assertTrue(rows.accepts(new IntArrayOop(2)));
+        assertFalse(rows.accepts(new LongArrayOop(2)));
+        assertTrue(ArrayKlass.forName("[Ljava/lang/Object;").accepts(new LongArrayOop(2)));
+
+        ObjectArrayOop array = new ObjectArrayOop(strings, 2);
+        ArrayStoreException stored = assertThrows(ArrayStoreException.class, () -> array.set(0, 1));
+        assertEquals("java.lang.Integer", stored.getMessage());
+        ArrayIndexOutOfBoundsException outside = assertThrows(ArrayIndexOutOfBoundsException.class, () -> array.get(2));
+        assertEquals("Index 2 out of bounds for length 2", outside.getMessage());
+    }
+
+    @Test
+    void primitiveRowsShareOneStore() throws Exception {
+        // 8 rows of 32 bytes, each below the off-heap minimum, the store of 256 bytes above it
+        Arguments.parse(new String[]{"-XX:+UseOffHeapArrays", "-XX:OffHeapArrayMinBytes=64"});
+        long allocated = ArrayArena.getAllocatedBytes();
+        ObjectArrayOop matrix = (ObjectArrayOop) ArrayKlass.forName("[[I").multiAllocate(new int[]{8, 8});
+        assertEquals(allocated + 8 * 8 * Integer.BYTES, ArrayArena.getAllocatedBytes());
+
+        for (int i = 0; i < 8; i++) {
+            ((IntArrayOop) matrix.get(i)).set(7, i);
+        }
+        for (int i = 0; i < 8; i++) {
+            assertEquals(i, ((IntArrayOop) matrix.get(i)).get(7));
+            assertEquals(0, ((IntArrayOop) matrix.get(i)).get(0));
+        }
+    }
+
+    @Test
+    void dimensionsNotGivenAreNull() throws Exception {
+        ObjectArrayOop partial = (ObjectArrayOop) ArrayKlass.forName("[[[J").multiAllocate(new int[]{2, 3});
+        ObjectArrayOop plane = (ObjectArrayOop) partial.get(0);
+        assertEquals(3, plane.getLength());
+        assertNull(plane.get(2));
+
+        ObjectArrayOop grid = (ObjectArrayOop) ArrayKlass.forName("[[Lcom/avaya/jvm/guest/Matrices$Cell;").multiAllocate(new int[]{2, 5});
+        ObjectArrayOop row = (ObjectArrayOop) grid.get(1);
+        assertEquals("[Lcom/avaya/jvm/guest/Matrices$Cell;", row.getKlass().getName());
+        assertSame(GuestVm.klass(Matrices.Cell.class), row.getKlass().getElementKlass());
+        assertEquals(5, row.getLength());
+        assertNull(row.get(4));
+    }
+
+    @Test
+    void emptyAndNegativeDimensions() throws Exception {
+        ArrayKlass klass = ArrayKlass.forName("[[D");
+        assertEquals(0, klass.multiAllocate(new int[]{0, 5}).getLength());
+        ObjectArrayOop flat = (ObjectArrayOop) klass.multiAllocate(new int[]{3, 0});
+        assertEquals(0, ((DoubleArrayOop) flat.get(2)).getLength());
+        assertThrows(NegativeArraySizeException.class, () -> klass.multiAllocate(new int[]{2, -1}));
+        assertThrows(NegativeArraySizeException.class, () -> klass.multiAllocate(new int[]{-1, 2}));
+    }
+
+    @Test
+    void multiDimensionalArraysRunAsOnTheHost() throws Throwable {
+        String expected = GuestVm.runOnHost(Matrices.class);
+        assertEquals(expected, GuestVm.run(Matrices.class));
+        assertEquals(expected, GuestVm.run(Matrices.class, "-XX:+UseOffHeapArrays", "-XX:OffHeapArrayMinBytes=16"));
+    }
+
+    @Test
+    void thereIsOneKlassPerName() throws Exception {
+        assertSame(ArrayKlass.forType(ValueType.T_INT), ArrayKlass.forName("[I"));
+        assertSame(ArrayKlass.forName("[[Ljava/lang/String;"), ArrayKlass.forName("[[Ljava/lang/String;"));
+        assertNull(ArrayKlass.forType(ValueType.T_OBJECT));
+    }
+
+    @Test
+    void elementsAreDescribedByTypeAndKlass() throws Exception {
+        ArrayKlass subs = ArrayKlass.forName("[[Lcom/avaya/jvm/guest/ArrayTypes$Sub;");
+        ArrayKlass lower = ArrayKlass.forName("[Lcom/avaya/jvm/guest/ArrayTypes$Sub;");
+
+        assertEquals(2, subs.getDimension());
+        assertEquals(ValueType.T_ARRAY, subs.getElementType());
+        assertSame(lower, subs.getElementKlass());
+        assertEquals(ValueType.T_OBJECT, lower.getElementType());
+        assertSame(GuestVm.klass(ArrayTypes.Sub.class), lower.getElementKlass());
+        assertNull(ArrayKlass.forName("[Ljava/lang/String;").getElementKlass());
+        assertNull(ArrayKlass.forType(ValueType.T_BOOLEAN).getElementKlass());
+    }
+
+    @Test
+    void referenceArraysAreCovariant() throws Exception {
+        ArrayKlass subs = ArrayKlass.forName("[Lcom/avaya/jvm/guest/ArrayTypes$Sub;");
+        ArrayKlass bases = ArrayKlass.forName("[Lcom/avaya/jvm/guest/ArrayTypes$Base;");
+        ArrayKlass shapes = ArrayKlass.forName("[Lcom/avaya/jvm/guest/ArrayTypes$Shape;");
+
+        assertTrue(subs.isSubtypeOf(bases));
+        assertTrue(subs.isSubtypeOf(shapes));
+        assertFalse(bases.isSubtypeOf(subs));
+        assertTrue(ArrayKlass.forName("[[I").isSubtypeOf(ArrayKlass.forName("[Ljava/lang/Object;")));
+        assertTrue(ArrayKlass.forName("[Ljava/lang/String;").isSubtypeOf(ArrayKlass.forName("[Ljava/lang/CharSequence;")));
+        assertFalse(ArrayKlass.forType(ValueType.T_INT).isSubtypeOf(ArrayKlass.forName("[Ljava/lang/Object;")));
+        assertFalse(ArrayKlass.forType(ValueType.T_INT).isSubtypeOf(ArrayKlass.forType(ValueType.T_LONG)));
+    }
+
+    @Test
+    void copiesKeepTheKlassAndTheElements() throws Exception {
+        ObjectArrayOop names = new ObjectArrayOop(ArrayKlass.forName("[Ljava/lang/String;"), 2);
+        names.set(0, "a");
+        names.set(1, "b");
+
+        ObjectArrayOop longer = names.copyOf(3);
+        assertSame(names.getKlass(), longer.getKlass());
+        assertArrayEquals(new Object[]{"a", "b", null}, longer.getValues());
+        assertNotSame(names.getValues(), names.copyOf(2).getValues());
+    }
+
+    @Test
+    void arrayTypesRunAsOnTheHost() throws Throwable {
+        assertEquals(GuestVm.runOnHost(ArrayTypes.class), GuestVm.run(ArrayTypes.class));
+    }
+}
@@ -0,0 +1,144 @@
+package com.avaya.jvm.hotspot.share.oops;
+
+import com.avaya.jvm.GuestVm;
+import com.avaya.jvm.guest.Fields;
+import com.avaya.jvm.guest.Packing;
+import com.avaya.jvm.hotspot.share.utilities.ValueType;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static com.avaya.jvm.hotspot.share.utilities.ValueType.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class FieldLayoutTest {
+
+    @Test
+    void fieldsArePlacedLargestFirst() {
+        FieldLayout layout = FieldLayout.of(FieldLayout.EMPTY,
+                new ValueType[]{T_BYTE, T_INT, T_SHORT, T_LONG, T_BOOLEAN, T_CHAR, T_OBJECT, T_DOUBLE, T_ARRAY});
+
+        assertArrayEquals(new int[]{24, 16, 20, 0, 25, 22, 0, 8, 1}, layout.getOffsets());
+        assertEquals(26, layout.getPrimitiveBytes());
+        assertEquals(7, layout.getPrimitiveWords());
+        assertEquals(2, layout.getReferenceCount());
+    }
+
+    @Test
+    void narrowFieldsShareWords() {
+        FieldLayout bytes = FieldLayout.of(FieldLayout.EMPTY, new ValueType[]{T_BYTE, T_BOOLEAN, T_BYTE, T_BYTE});
+        assertArrayEquals(new int[]{0, 1, 2, 3}, bytes.getOffsets());
+        assertEquals(1, bytes.getPrimitiveWords());
+
+        FieldLayout chars = FieldLayout.of(FieldLayout.EMPTY, new ValueType[]{T_CHAR, T_SHORT, T_BYTE});
+        assertArrayEquals(new int[]{0, 2, 4}, chars.getOffsets());
+        assertEquals(2, chars.getPrimitiveWords());
+    }
+
+    @Test
+    void subclassFieldsFillTheLastWordOfTheSuperclass() {
+        FieldLayout base = FieldLayout.of(FieldLayout.EMPTY, new ValueType[]{T_INT, T_BYTE});
+        FieldLayout sub = FieldLayout.of(base, new ValueType[]{T_LONG, T_SHORT, T_BYTE, T_CHAR});
+
+        // the byte fits at 5, the short then at 6, the long starts the next word
+        assertArrayEquals(new int[]{0, 4, 8, 6, 5, 16}, sub.getOffsets());
+        assertEquals(5, sub.getPrimitiveWords());
+        assertArrayEquals(base.getOffsets(), Arrays.copyOf(sub.getOffsets(), 2));
+    }
+
+    @Test
+    void inheritedFieldsKeepTheirOffsets() throws Exception {
+        FieldLayout base = GuestVm.klass(Packing.Base.class).getInstanceLayout();
+        FieldLayout packed = GuestVm.klass(Packing.Packed.class).getInstanceLayout();
+
+        int inherited = base.getTypes().length;
+        assertArrayEquals(base.getOffsets(), Arrays.copyOf(packed.getOffsets(), inherited));
+        // boolean and char fill the word of Base's byte, then long, double, float, short, byte
+        assertEquals(8, packed.getPrimitiveWords());
+        assertEquals(1, packed.getReferenceCount());
+    }
+
+    @Test
+    void storesKeepTheOtherFieldsOfTheirWord() {
+        int[] words = new int[2];
+        FieldArray.putRaw(words, T_BYTE, 0, -1);
+        FieldArray.putRaw(words, T_BOOLEAN, 1, 3);
+        FieldArray.putRaw(words, T_CHAR, 2, 0x12345);
+        FieldArray.putRaw(words, T_SHORT, 4, -2);
+        FieldArray.putRaw(words, T_BYTE, 6, 0x180);
+
+        assertEquals(-1, FieldArray.getRaw(words, T_BYTE, 0));
+        assertEquals(1, FieldArray.getRaw(words, T_BOOLEAN, 1));
+        assertEquals(0x2345, FieldArray.getRaw(words, T_CHAR, 2));
+        assertEquals(-2, FieldArray.getRaw(words, T_SHORT, 4));
+        assertEquals(-128, FieldArray.getRaw(words, T_BYTE, 6));
+        assertEquals(0, FieldArray.getRaw(words, T_BYTE, 7));
+    }
+
+    @Test
+    void concurrentStoresToOneWordAreNotLost() throws InterruptedException {
+        int[] words = new int[1];
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            int offset = t;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i <= 100_000; i++) {
+                    FieldArray.putRaw(words, T_BYTE, offset, i + offset);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        for (int offset = 0; offset < threads.length; offset++) {
+            assertEquals((byte) (100_000 + offset), FieldArray.getRaw(words, T_BYTE, offset));
+        }
+    }
+
+    @Test
+    void packedFieldsRunAsOnTheHost() throws Throwable {
+        assertEquals(GuestVm.runOnHost(Packing.class), GuestVm.run(Packing.class));
+    }
+
+    @Test
+    void inheritedFieldsKeepTheirOffsetInSubclasses() throws Exception {
+        InstanceKlass base = GuestVm.klass(Fields.Base.class);
+        InstanceKlass derived = GuestVm.klass(Fields.Derived.class);
+
+        assertArrayEquals(new ValueType[]{T_INT, T_LONG}, base.getInstanceLayout().getTypes());
+        assertArrayEquals(new ValueType[]{T_INT, T_LONG, T_DOUBLE, T_CHAR, T_INT, T_OBJECT}, derived.getInstanceLayout().getTypes());
+        assertSame(base.findField("big", "J"), derived.findField("big", "J"));
+        // the long first, then the int; the double only has to start a word
+        assertEquals(0, derived.findField("big", "J").getOffset());
+        assertEquals(12, derived.findField("ratio", "D").getOffset());
+        assertEquals(0, derived.findField("name", "Ljava/lang/String;").getOffset());
+    }
+
+    @Test
+    void aHidingFieldGetsAnOffsetOfItsOwn() throws Exception {
+        FieldInfo baseId = GuestVm.klass(Fields.Base.class).findField("id", "I");
+        FieldInfo derivedId = GuestVm.klass(Fields.Derived.class).findField("id", "I");
+
+        assertNotSame(baseId, derivedId);
+        assertEquals(8, baseId.getOffset());
+        assertEquals(20, derivedId.getOffset());
+    }
+
+    @Test
+    void staticFieldsAreLaidOutInTheirOwnArray() throws Exception {
+        InstanceKlass fields = GuestVm.klass(Fields.class);
+
+        assertEquals(0, fields.getInstanceLayout().getTypes().length);
+        assertEquals(3, fields.getStaticFields().getPrimitives().length);
+        assertEquals(1, fields.getStaticFields().getReferences().length);
+        assertEquals(8, fields.findField("count", "I").getOffset());
+        assertEquals(0, fields.findField("total", "J").getOffset());
+        assertEquals(0, fields.findField("label", "Ljava/lang/String;").getOffset());
+    }
+
+    @Test
+    void fieldsStartAtTheirDefaultValueAndRunAsOnTheHost() throws Throwable {
+        assertEquals(GuestVm.runOnHost(Fields.class), GuestVm.run(Fields.class));
+    }
+}
@@ -0,0 +1,72 @@
+package com.avaya.jvm.hotspot.share.oops;
+
+import com.avaya.jvm.GuestVm;
+import com.avaya.jvm.guest.Cloning;
+import com.avaya.jvm.guest.Equality;
+import com.avaya.jvm.hotspot.share.runtime.JavaThread;
+import com.avaya.jvm.hotspot.share.runtime.ObjectSynchronizer;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InstanceOopTest {
+
+    @Test
+    void onlyCloneableClassesAreCloneable() throws Exception {
+        assertTrue(GuestVm.klass(Cloning.Sheep.class).isCloneable());
+        assertTrue(GuestVm.klass(Cloning.Ram.class).isCloneable());
+        assertFalse(GuestVm.klass(Cloning.Goat.class).isCloneable());
+    }
+
+    @Test
+    void aShallowCopyHasTheFieldsAndAFreshMarkWord() throws Exception {
+        InstanceKlass klass = GuestVm.klass(Cloning.Sheep.class);
+        InstanceOop sheep = new InstanceOop(klass);
+        sheep.getPrimitives()[0] = 42;
+        sheep.getReferences()[0] = "dolly";
+        sheep.identityHash();
+        JavaThread thread = new JavaThread();
+        ObjectSynchronizer.enter(sheep, thread);
+
+        InstanceOop copy = sheep.shallowCopy();
+
+        assertSame(klass, copy.getKlass());
+        assertArrayEquals(sheep.getPrimitives(), copy.getPrimitives());
+        assertArrayEquals(sheep.getReferences(), copy.getReferences());
+        assertNotSame(sheep.getPrimitives(), copy.getPrimitives());
+        assertEquals(MarkWord.PROTOTYPE, copy.getMark());
+        ObjectSynchronizer.exit(sheep, thread);
+    }
+
+    @Test
+    void cloneRunsAsOnTheHost() throws Throwable {
+        assertEquals(GuestVm.runOnHost(Cloning.class), GuestVm.run(Cloning.class));
+    }
+
+    @Test
+    void jreCollectionsCallTheOverridesOfGuestObjects() throws Throwable {
+        assertEquals(GuestVm.runOnHost(Equality.class), GuestVm.run(Equality.class));
+    }
+
+    @Test
+    void equalsAndHashCodeRunTheOverrides() throws Exception {
+        InstanceOop point = new InstanceOop(GuestVm.klass(Equality.Point.class));
+        InstanceOop twin = point.shallowCopy();
+
+        // both are (0, 0)
+        assertEquals(point, twin);
+        assertEquals(0, point.hashCode());
+        assertNotEquals(0, point.identityHash());
+    }
+
+    @Test
+    void withoutOverridesEqualsIsIdentityAndHashCodeTheIdentityHash() throws Exception {
+        InstanceOop plain = new InstanceOop(GuestVm.klass(Equality.Plain.class));
+        InstanceOop twin = plain.shallowCopy();
+
+        assertEquals(plain, plain);
+        assertNotEquals(plain, twin);
+        assertEquals(plain.identityHash(), plain.hashCode());
+        assertEquals(MarkWord.hash(plain.getMark()), plain.hashCode());
+    }
+}
@@ -0,0 +1,81 @@
+package com.avaya.jvm.hotspot.share.oops;
+
+import com.avaya.jvm.GuestVm;
+import com.avaya.jvm.guest.Dispatch;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KlassItableTest {
+
+    private static MethodInfo method(Class<?> guest, String name) throws Exception {
+        return GuestVm.klass(guest).findMethod(name, "()Ljava/lang/String;");
+    }
+
+    @Test
+    void classesGetAnEntryPerInterfaceTheyImplement() throws Exception {
+        InstanceKlass parrot = GuestVm.klass(Dispatch.Parrot.class);
+        Set<InstanceKlass> interfaces = Arrays.stream(parrot.getItable())
+                .map(KlassItable.Entry::getInterfaceKlass).collect(Collectors.toSet());
+
+        assertEquals(Set.of(GuestVm.klass(Dispatch.Loud.class), GuestVm.klass(Dispatch.Named.class),
+                GuestVm.klass(Dispatch.Quiet.class)), interfaces);
+        assertEquals(0, GuestVm.klass(Dispatch.Named.class).getItable().length);
+    }
+
+    @Test
+    void interfaceMethodsAreNumberedByTheirInterface() throws Exception {
+        MethodInfo name = method(Dispatch.Named.class, "name");
+        MethodInfo greet = method(Dispatch.Named.class, "greet");
+
+        assertEquals(2, GuestVm.klass(Dispatch.Named.class).getItableMethodCount());
+        assertNotEquals(name.getItableIndex(), greet.getItableIndex());
+        assertEquals(-1, name.getVtableIndex());
+    }
+
+    @Test
+    void classMethodsComeBeforeDefaultMethods() throws Exception {
+        MethodInfo greet = method(Dispatch.Named.class, "greet");
+
+        assertSame(method(Dispatch.Robot.class, "greet"), GuestVm.klass(Dispatch.Robot.class).selectMethod(greet));
+        // inherited from a superclass that does not implement the interface
+        assertSame(method(Dispatch.Animal.class, "name"),
+                GuestVm.klass(Dispatch.Parrot.class).selectMethod(method(Dispatch.Named.class, "name")));
+    }
+
+    @Test
+    void theMostSpecificDefaultMethodIsSelected() throws Exception {
+        MethodInfo namedGreet = method(Dispatch.Named.class, "greet");
+        MethodInfo loudGreet = method(Dispatch.Loud.class, "greet");
+
+        assertSame(loudGreet, GuestVm.klass(Dispatch.Parrot.class).selectMethod(namedGreet));
+        assertSame(loudGreet, GuestVm.klass(Dispatch.Whole.class).selectMethod(namedGreet));
+        assertSame(method(Dispatch.Quiet.class, "whisper"),
+                GuestVm.klass(Dispatch.Parrot.class).selectMethod(method(Dispatch.Quiet.class, "whisper")));
+    }
+
+    @Test
+    void privateMethodsOfSuperclassesAreNotSelected() throws Exception {
+        MethodInfo whisper = method(Dispatch.Quiet.class, "whisper");
+
+        assertSame(whisper, GuestVm.klass(Dispatch.Monk.class).selectMethod(whisper));
+    }
+
+    @Test
+    void methodsWithoutImplementationThrowAbstractMethodError() throws Exception {
+        MethodInfo shout = method(Dispatch.Loud.class, "shout");
+
+        assertNull(GuestVm.klass(Dispatch.Half.class).itableLookup(GuestVm.klass(Dispatch.Loud.class), shout.getItableIndex()));
+        assertThrows(AbstractMethodError.class, () -> GuestVm.klass(Dispatch.Half.class).selectMethod(shout));
+        assertSame(method(Dispatch.Whole.class, "shout"), GuestVm.klass(Dispatch.Whole.class).selectMethod(shout));
+    }
+
+    @Test
+    void unimplementedInterfacesAreNotFound() throws Exception {
+        assertNull(GuestVm.klass(Dispatch.Robot.class).itableLookup(GuestVm.klass(Dispatch.Quiet.class), 0));
+    }
+}
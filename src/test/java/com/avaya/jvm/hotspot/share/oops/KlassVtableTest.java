@@ -0,0 +1,83 @@
+package com.avaya.jvm.hotspot.share.oops;
+
+import com.avaya.jvm.GuestVm;
+import com.avaya.jvm.guest.Dispatch;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KlassVtableTest {
+
+    private static MethodInfo method(Class<?> guest, String name) throws Exception {
+        return GuestVm.klass(guest).findMethod(name, "()Ljava/lang/String;");
+    }
+
+    @Test
+    void overridingMethodsKeepTheIndexOfTheirSuperclass() throws Exception {
+        MethodInfo animalSound = method(Dispatch.Animal.class, "sound");
+        MethodInfo dogSound = method(Dispatch.Dog.class, "sound");
+        MethodInfo puppySound = method(Dispatch.Puppy.class, "sound");
+
+        assertEquals(animalSound.getVtableIndex(), dogSound.getVtableIndex());
+        assertEquals(animalSound.getVtableIndex(), puppySound.getVtableIndex());
+        assertSame(puppySound, GuestVm.klass(Dispatch.Puppy.class).getVtable()[animalSound.getVtableIndex()]);
+    }
+
+    @Test
+    void newMethodsAreAppendedAfterTheInheritedOnes() throws Exception {
+        MethodInfo[] animal = GuestVm.klass(Dispatch.Animal.class).getVtable();
+        MethodInfo[] dog = GuestVm.klass(Dispatch.Dog.class).getVtable();
+        MethodInfo fetch = method(Dispatch.Dog.class, "fetch");
+
+        assertEquals(animal.length + 1, dog.length);
+        assertEquals(animal.length, fetch.getVtableIndex());
+        // inherited and not overridden: the same method at the same index
+        int reveal = method(Dispatch.Animal.class, "reveal").getVtableIndex();
+        assertSame(animal[reveal], dog[reveal]);
+    }
+
+    @Test
+    void privateStaticAndInitializationMethodsHaveNoEntry() throws Exception {
+        InstanceKlass animal = GuestVm.klass(Dispatch.Animal.class);
+        List<String> names = Arrays.stream(animal.getVtable()).map(MethodInfo::getName).toList();
+
+        assertEquals(List.of("equals", "hashCode", "toString", "name", "sound", "reveal"), names);
+        assertEquals(-1, method(Dispatch.Animal.class, "secret").getVtableIndex());
+        assertEquals(-1, method(Dispatch.Animal.class, "kind").getVtableIndex());
+        assertEquals(-1, animal.findMethod("<init>", "()V").getVtableIndex());
+        // a private method is not overridden: calls to it select the resolved method
+        MethodInfo secret = method(Dispatch.Animal.class, "secret");
+        assertSame(secret, GuestVm.klass(Dispatch.Dog.class).selectMethod(secret));
+    }
+
+    @Test
+    void everyVtableStartsWithTheMethodsOfObject() throws Exception {
+        MethodInfo equals = KlassVtable.objectMethod("equals", "(Ljava/lang/Object;)Z");
+        MethodInfo toString = KlassVtable.objectMethod("toString", "()Ljava/lang/String;");
+        MethodInfo[] animal = GuestVm.klass(Dispatch.Animal.class).getVtable();
+        MethodInfo[] label = GuestVm.klass(Dispatch.Label.class).getVtable();
+
+        assertSame(equals, animal[equals.getVtableIndex()]);
+        assertSame(toString, animal[toString.getVtableIndex()]);
+        assertFalse(toString.getEntry().hasCode());
+        assertSame(method(Dispatch.Label.class, "toString"), label[toString.getVtableIndex()]);
+        assertSame(GuestVm.klass(Dispatch.Tag.class).findMethod("equals", "(Ljava/lang/Object;)Z"), label[equals.getVtableIndex()]);
+        assertNull(KlassVtable.objectMethod("wait", "()V"));
+    }
+
+    @Test
+    void selectionFollowsTheReceiverClass() throws Exception {
+        MethodInfo animalName = method(Dispatch.Animal.class, "name");
+
+        assertSame(animalName, GuestVm.klass(Dispatch.Dog.class).selectMethod(animalName));
+        assertSame(method(Dispatch.Puppy.class, "name"), GuestVm.klass(Dispatch.Puppy.class).selectMethod(animalName));
+    }
+
+    @Test
+    void dispatchRunsAsOnTheHost() throws Throwable {
+        assertEquals(GuestVm.runOnHost(Dispatch.class), GuestVm.run(Dispatch.class));
+    }
+}
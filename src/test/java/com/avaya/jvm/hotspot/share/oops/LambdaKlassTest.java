@@ -0,0 +1,83 @@
+package com.avaya.jvm.hotspot.share.oops;
+
+import com.avaya.jvm.GuestVm;
+import com.avaya.jvm.guest.LambdaSites;
+import com.avaya.jvm.hotspot.share.utilities.ValueType;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LambdaKlassTest {
+
+    @BeforeAll
+    static void link() throws Throwable {
+        GuestVm.run(LambdaSites.class);
+    }
+
+    // the linked call site of LambdaSites with the name and type
+    private static ResolvedIndyEntry site(String name, String descriptor) throws Exception {
+        ConstantPool constantPool = GuestVm.klass(LambdaSites.class).getConstantPool();
+        for (int i = 1; i < constantPool.getEntries().size(); i++) {
+            if (constantPool.getEntries().get(i) instanceof ConstantInvokeDynamicInfo dynamicInfo) {
+                ConstantNameAndTypeInfo nameAndType = (ConstantNameAndTypeInfo) constantPool.getEntries().get(dynamicInfo.getNameAndTypeIndex());
+                if (nameAndType.resolveName(constantPool).equals(name)
+                        && nameAndType.resolveDescriptor(constantPool).getRaw().equals(descriptor)) {
+                    return constantPool.getCache().getIndyEntry(i);
+                }
+            }
+        }
+        throw new AssertionError(name + descriptor + " is not a call site");
+    }
+
+    @Test
+    void lambdasOfGuestInterfacesRunAsOnTheHost() throws Throwable {
+        assertEquals(GuestVm.runOnHost(LambdaSites.class), GuestVm.run(LambdaSites.class));
+    }
+
+    @Test
+    void capturedValuesAreFieldsOfTheLambdaClass() throws Exception {
+        LambdaKlass wide = site("apply", "(JLjava/lang/String;)Lcom/avaya/jvm/guest/LambdaSites$Wide;").getLambdaKlass();
+
+        assertArrayEquals(new ValueType[]{ValueType.T_LONG, ValueType.T_OBJECT}, wide.getInstanceLayout().getTypes());
+        assertEquals(3, wide.getCapturedSlots());
+        assertEquals(4, wide.getInterfaceArgumentSlots());
+        assertNull(wide.getSingleton());
+        assertEquals("lambda$main$2", wide.getImplementation().getName());
+        assertSame(GuestVm.klass(LambdaSites.Wide.class), wide.getTransitiveInterfaces()[0]);
+    }
+
+    @Test
+    void lambdasCapturingNothingAreShared() throws Exception {
+        LambdaKlass plain = site("apply", "()Lcom/avaya/jvm/guest/LambdaSites$Op;").getLambdaKlass();
+
+        assertNotNull(plain.getSingleton());
+        assertEquals(0, plain.getCapturedSlots());
+    }
+
+    @Test
+    void methodReferencesOfInstanceMethodsSelectByReceiver() throws Exception {
+        LambdaKlass unbound = site("show", "()Lcom/avaya/jvm/guest/LambdaSites$Show;").getLambdaKlass();
+        LambdaKlass bound = site("doubled", "(Lcom/avaya/jvm/guest/LambdaSites$Box;)Lcom/avaya/jvm/guest/LambdaSites$Doubler;").getLambdaKlass();
+
+        assertTrue(unbound.isDispatched());
+        assertTrue(bound.isDispatched());
+        assertArrayEquals(new ValueType[]{ValueType.T_OBJECT}, bound.getInstanceLayout().getTypes());
+    }
+
+    @Test
+    void sitesThatNeedBoxingStayOnTheHost() throws Exception {
+        ResolvedIndyEntry boxed = site("apply", "()Lcom/avaya/jvm/guest/LambdaSites$Boxed;");
+
+        assertNull(boxed.getLambdaKlass());
+        assertNotNull(boxed.getTarget());
+    }
+
+    @Test
+    void lambdasOfJreInterfacesGetALambdaClassToo() throws Exception {
+        LambdaKlass supplier = site("get", "(Ljava/lang/String;I)Ljava/util/function/Supplier;").getLambdaKlass();
+
+        assertNotNull(supplier);
+        assertArrayEquals(new ValueType[]{ValueType.T_OBJECT, ValueType.T_INT}, supplier.getInstanceLayout().getTypes());
+    }
+}
@@ -0,0 +1,77 @@
+package com.avaya.jvm.hotspot.share.oops;
+
+import com.avaya.jvm.GuestVm;
+import com.avaya.jvm.guest.Identity;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MarkWordTest {
+
+    @Test
+    void aNewObjectIsUnlockedWithoutHashOrAge() {
+        long mark = MarkWord.PROTOTYPE;
+
+        assertTrue(MarkWord.isUnlocked(mark));
+        assertFalse(MarkWord.isLocked(mark));
+        assertFalse(MarkWord.hasMonitor(mark));
+        assertEquals(0, MarkWord.hash(mark));
+        assertEquals(0, MarkWord.age(mark));
+        assertEquals(0, MarkWord.owner(mark));
+    }
+
+    @Test
+    void hashAndAgeAreKeptWhileLocked() {
+        long mark = MarkWord.withAge(MarkWord.withHash(MarkWord.PROTOTYPE, Integer.MAX_VALUE), 5);
+
+        long locked = MarkWord.locked(mark, MarkWord.MAX_OWNER, MarkWord.MAX_RECURSIONS);
+        assertTrue(MarkWord.isLocked(locked));
+        assertEquals(MarkWord.MAX_OWNER, MarkWord.owner(locked));
+        assertEquals(MarkWord.MAX_RECURSIONS, MarkWord.recursions(locked));
+        assertEquals(Integer.MAX_VALUE, MarkWord.hash(locked));
+        assertEquals(5, MarkWord.age(locked));
+
+        assertEquals(mark, MarkWord.unlocked(locked));
+    }
+
+    @Test
+    void ownersAndRecursionsOutOfRangeAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> MarkWord.locked(MarkWord.PROTOTYPE, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> MarkWord.locked(MarkWord.PROTOTYPE, MarkWord.MAX_OWNER + 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> MarkWord.locked(MarkWord.PROTOTYPE, 1, MarkWord.MAX_RECURSIONS + 1));
+    }
+
+    @Test
+    void theAgeStopsAtItsMaximum() {
+        long mark = MarkWord.withAge(MarkWord.PROTOTYPE, MarkWord.MAX_AGE - 1);
+
+        mark = MarkWord.incrementAge(mark);
+        assertEquals(MarkWord.MAX_AGE, MarkWord.age(mark));
+        assertEquals(mark, MarkWord.incrementAge(mark));
+    }
+
+    @Test
+    void anInflatedMarkHoldsTheMonitorIndex() {
+        long mark = MarkWord.monitor(1L << 40);
+
+        assertTrue(MarkWord.hasMonitor(mark));
+        assertFalse(MarkWord.isLocked(mark));
+        assertEquals(1L << 40, MarkWord.monitorIndex(mark));
+    }
+
+    @Test
+    void theIdentityHashIsAssignedOnce() throws Exception {
+        InstanceOop object = new InstanceOop(GuestVm.klass(Identity.class));
+
+        int hash = object.identityHash();
+        assertNotEquals(0, hash);
+        assertEquals(hash, MarkWord.hash(object.getMark()));
+        assertTrue(object.casMark(object.getMark(), MarkWord.locked(object.getMark(), 1, 0)));
+        assertEquals(hash, object.identityHash());
+    }
+
+    @Test
+    void locksAndHashesRunAsOnTheHost() throws Throwable {
+        assertEquals(GuestVm.runOnHost(Identity.class), GuestVm.run(Identity.class));
+    }
+}
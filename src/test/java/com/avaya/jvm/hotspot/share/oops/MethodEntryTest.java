@@ -0,0 +1,58 @@
+package com.avaya.jvm.hotspot.share.oops;
+
+import com.avaya.jvm.GuestVm;
+import com.avaya.jvm.guest.Calls;
+import com.avaya.jvm.guest.Dispatch;
+import com.avaya.jvm.guest.Recursion;
+import com.avaya.jvm.hotspot.share.utilities.ValueType;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MethodEntryTest {
+
+    private static MethodInfo method(Class<?> guest, String name, String descriptor) throws Exception {
+        return GuestVm.klass(guest).findMethod(name, descriptor);
+    }
+
+    @Test
+    void wideArgumentsTakeTwoSlots() throws Exception {
+        MethodEntry mix = method(Calls.class, "mix", "(JID)J").getEntry();
+
+        assertEquals(5, mix.getArgumentSlots());
+        assertArrayEquals(new ValueType[]{ValueType.T_LONG, ValueType.T_INT, ValueType.T_DOUBLE}, mix.getArgumentTypes());
+        assertEquals(ValueType.T_LONG, mix.getReturnType());
+    }
+
+    @Test
+    void theReceiverTakesASlotButHasNoType() throws Exception {
+        MethodEntry name = method(Dispatch.Animal.class, "name", "()Ljava/lang/String;").getEntry();
+
+        assertEquals(1, name.getArgumentSlots());
+        assertEquals(0, name.getArgumentTypes().length);
+        assertEquals(ValueType.T_OBJECT, name.getReturnType());
+        assertEquals(ValueType.T_VOID, method(Recursion.class, "count", "()V").getEntry().getReturnType());
+    }
+
+    @Test
+    void theEntryCarriesTheDecodedCodeAndFrameSize() throws Exception {
+        MethodInfo add = method(Calls.class, "add", "(II)I");
+        CodeAttribute code = (CodeAttribute) add.getAttributes().stream()
+                .filter(CodeAttribute.class::isInstance).findFirst().orElseThrow();
+        MethodEntry entry = add.getEntry();
+
+        assertTrue(entry.hasCode());
+        assertSame(code.getDecodedCode(), entry.getDecodedCode());
+        assertEquals(code.getMaxLocals(), entry.getMaxLocals());
+        assertEquals(code.getMaxStack(), entry.getMaxStack());
+    }
+
+    @Test
+    void abstractMethodsHaveNoCode() throws Exception {
+        MethodEntry name = method(Dispatch.Named.class, "name", "()Ljava/lang/String;").getEntry();
+
+        assertFalse(name.hasCode());
+        assertEquals(1, name.getArgumentSlots());
+        assertEquals(0, name.getMaxLocals() + name.getMaxStack());
+    }
+}
@@ -0,0 +1,57 @@
+package com.avaya.jvm.hotspot.share.prims;
+
+import com.avaya.jvm.GuestVm;
+import com.avaya.jvm.guest.DirectLambdas;
+import com.avaya.jvm.guest.GuestLambdas;
+import com.avaya.jvm.guest.HostCapture;
+import com.avaya.jvm.guest.JreLambdas;
+import com.avaya.jvm.hotspot.share.runtime.Threads;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.lang.reflect.Proxy;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HostLambdaTest {
+
+    @Test
+    @Timeout(60)
+    void jreCodeCallsGuestLambdasAsOnTheHost() throws Throwable {
+        int threads = Threads.getThreadCount();
+        assertEquals(GuestVm.runOnHost(JreLambdas.class), GuestVm.run(JreLambdas.class));
+        // each of the two pool threads was attached once, for all of its calls
+        assertTrue(Threads.getThreadCount() <= threads + 2);
+    }
+
+    @Test
+    void lambdasOfGuestInterfacesRunAsOnTheHost() throws Throwable {
+        assertEquals(GuestVm.runOnHost(GuestLambdas.class), GuestVm.run(GuestLambdas.class));
+    }
+
+    @Test
+    void guestCallsOfJreInterfacesRunTheLambdaWithoutItsProxy() throws Throwable {
+        String expected = "run false 10\n13\n15\nx10\n4 1\n10\nn=2\nfalse\n6\ny10!\n3000 3001\n";
+        assertEquals(expected, GuestVm.runOnHost(DirectLambdas.class).replace("\r\n", "\n"));
+        assertEquals(expected, GuestVm.run(DirectLambdas.class).replace("\r\n", "\n"));
+    }
+
+    @Test
+    void jreMethodReferencesMayNotCaptureGuestObjects() throws Throwable {
+        // the host binds box::toString; the VM cannot pass it a guest object
+        assertEquals("3\ntrue\n", GuestVm.runOnHost(HostCapture.class).replace("\r\n", "\n"));
+        assertEquals("3\nrejected\n", GuestVm.run(HostCapture.class).replace("\r\n", "\n"));
+    }
+
+    @Test
+    void onlyHostLambdasAreUnwrapped() {
+        Runnable hostLambda = () -> { };
+        Runnable otherProxy = (Runnable) Proxy.newProxyInstance(Runnable.class.getClassLoader(),
+                new Class<?>[]{Runnable.class}, (proxy, method, args) -> null);
+
+        assertNull(HostLambda.unwrap(null));
+        assertNull(HostLambda.unwrap("text"));
+        assertNull(HostLambda.unwrap(hostLambda));
+        assertNull(HostLambda.unwrap(otherProxy));
+    }
+}
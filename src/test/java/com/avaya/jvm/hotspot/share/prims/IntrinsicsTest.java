@@ -0,0 +1,56 @@
+package com.avaya.jvm.hotspot.share.prims;
+
+import com.avaya.jvm.GuestVm;
+import com.avaya.jvm.guest.Intrinsified;
+import com.avaya.jvm.hotspot.share.oops.ConstantMethodrefInfo;
+import com.avaya.jvm.hotspot.share.oops.ConstantPool;
+import com.avaya.jvm.hotspot.share.oops.InstanceKlass;
+import com.avaya.jvm.hotspot.share.oops.ResolvedMethodEntry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntrinsicsTest {
+
+    // the resolved entry of the class's methodref to className.methodName descriptor
+    private static ResolvedMethodEntry entry(InstanceKlass klass, String className, String methodName, String descriptor) {
+        ConstantPool constantPool = klass.getConstantPool();
+        for (int i = 1; i < constantPool.getEntries().size(); i++) {
+            if (constantPool.getEntries().get(i) instanceof ConstantMethodrefInfo methodref
+                    && methodref.resolveClassName(constantPool).equals(className)
+                    && methodref.resolveMethodName(constantPool).equals(methodName)
+                    && methodref.resolveMethodDescriptor(constantPool).getRaw().equals(descriptor)) {
+                return constantPool.getCache().getMethodEntry(i);
+            }
+        }
+        throw new AssertionError(className + "." + methodName + descriptor + " is not called");
+    }
+
+    @Test
+    void guestCodeRunsAsOnTheHostWithIntrinsics() throws Throwable {
+        InstanceKlass klass = GuestVm.freshKlass(Intrinsified.class);
+        assertEquals(GuestVm.runOnHost(Intrinsified.class), GuestVm.run(klass, "-XX:+UseIntrinsics"));
+
+        assertNotNull(entry(klass, "java/lang/Math", "max", "(II)I").getIntrinsic());
+        assertNotNull(entry(klass, "java/lang/String", "charAt", "(I)C").getIntrinsic());
+        assertNotNull(entry(klass, "java/lang/StringBuilder", "append", "(C)Ljava/lang/StringBuilder;").getIntrinsic());
+        assertNotNull(entry(klass, "java/lang/System", "arraycopy", "(Ljava/lang/Object;ILjava/lang/Object;II)V").getIntrinsic());
+    }
+
+    @Test
+    void guestCodeRunsAsOnTheHostWithoutIntrinsics() throws Throwable {
+        InstanceKlass klass = GuestVm.freshKlass(Intrinsified.class);
+        assertEquals(GuestVm.runOnHost(Intrinsified.class), GuestVm.run(klass, "-XX:-UseIntrinsics"));
+
+        // the host methods are called, except for the natives of the VM
+        ResolvedMethodEntry max = entry(klass, "java/lang/Math", "max", "(II)I");
+        assertNull(max.getIntrinsic());
+        assertNotNull(max.getNativeBinding());
+        assertNull(entry(klass, "java/lang/String", "charAt", "(I)C").getIntrinsic());
+        assertNull(entry(klass, "java/lang/StringBuilder", "append", "(C)Ljava/lang/StringBuilder;").getIntrinsic());
+        assertNotNull(entry(klass, "java/lang/System", "arraycopy", "(Ljava/lang/Object;ILjava/lang/Object;II)V").getIntrinsic());
+        assertNotNull(entry(klass, "java/lang/System", "identityHashCode", "(Ljava/lang/Object;)I").getIntrinsic());
+        assertNotNull(entry(klass, "java/util/Arrays", "fill", "([II)V").getIntrinsic());
+        assertNotNull(entry(klass, "java/util/Arrays", "sort", "([Ljava/lang/Object;Ljava/util/Comparator;)V").getIntrinsic());
+    }
+}
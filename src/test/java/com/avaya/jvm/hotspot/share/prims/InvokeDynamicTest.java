@@ -0,0 +1,50 @@
+package com.avaya.jvm.hotspot.share.prims;
+
+import com.avaya.jvm.GuestVm;
+import com.avaya.jvm.guest.Indy;
+import com.avaya.jvm.hotspot.share.oops.ConstantInvokeDynamicInfo;
+import com.avaya.jvm.hotspot.share.oops.ConstantPool;
+import com.avaya.jvm.hotspot.share.oops.InstanceKlass;
+import com.avaya.jvm.hotspot.share.oops.ResolvedIndyEntry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InvokeDynamicTest {
+
+    // the linked invokedynamic entries of the class, by constant pool index
+    private static Map<Integer, ResolvedIndyEntry> linkedSites(InstanceKlass klass) {
+        ConstantPool constantPool = klass.getConstantPool();
+        Map<Integer, ResolvedIndyEntry> sites = new TreeMap<>();
+        for (int i = 1; i < constantPool.getEntries().size(); i++) {
+            if (constantPool.getEntries().get(i) instanceof ConstantInvokeDynamicInfo
+                    && constantPool.getCache().getIndyEntry(i) != null) {
+                sites.put(i, constantPool.getCache().getIndyEntry(i));
+            }
+        }
+        return sites;
+    }
+
+    @Test
+    void lambdasReferencesAndConcatRunAsOnTheHost() throws Throwable {
+        assertEquals(GuestVm.runOnHost(Indy.class), GuestVm.run(Indy.class));
+    }
+
+    @Test
+    void callSitesAreLinkedOnce() throws Throwable {
+        GuestVm.run(Indy.class);
+        Map<Integer, ResolvedIndyEntry> linked = linkedSites(GuestVm.klass(Indy.class));
+
+        // the ten sites of main, and the concat sites of greet and of the shout lambda
+        assertEquals(12, linked.size());
+        GuestVm.run(Indy.class);
+        Map<Integer, ResolvedIndyEntry> again = linkedSites(GuestVm.klass(Indy.class));
+        assertEquals(linked.keySet(), again.keySet());
+        for (Integer index : linked.keySet()) {
+            assertSame(linked.get(index), again.get(index));
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.avaya.jvm.hotspot.share.prims;
+
+import com.avaya.jvm.GuestVm;
+import com.avaya.jvm.guest.HostCalls;
+import com.avaya.jvm.hotspot.share.oops.ConstantMethodrefInfo;
+import com.avaya.jvm.hotspot.share.oops.ConstantPool;
+import com.avaya.jvm.hotspot.share.oops.InstanceKlass;
+import com.avaya.jvm.hotspot.share.oops.ResolvedMethodEntry;
+import com.avaya.jvm.hotspot.share.utilities.ValueType;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NativeMethodBindingTest {
+
+    // the resolved entry of the class's methodref to className.methodName descriptor
+    private static ResolvedMethodEntry entry(InstanceKlass klass, String className, String methodName, String descriptor) {
+        ConstantPool constantPool = klass.getConstantPool();
+        for (int i = 1; i < constantPool.getEntries().size(); i++) {
+            if (constantPool.getEntries().get(i) instanceof ConstantMethodrefInfo methodref
+                    && methodref.resolveClassName(constantPool).equals(className)
+                    && methodref.resolveMethodName(constantPool).equals(methodName)
+                    && methodref.resolveMethodDescriptor(constantPool).getRaw().equals(descriptor)) {
+                return constantPool.getCache().getMethodEntry(i);
+            }
+        }
+        throw new AssertionError(className + "." + methodName + descriptor + " is not called");
+    }
+
+    @Test
+    void jreCallsRunAsOnTheHost() throws Throwable {
+        assertEquals(GuestVm.runOnHost(HostCalls.class), GuestVm.run(HostCalls.class));
+    }
+
+    @Test
+    void bindingsAreKeptPerConstantPoolEntry() throws Throwable {
+        GuestVm.run(HostCalls.class);
+        InstanceKlass klass = GuestVm.klass(HostCalls.class);
+        ResolvedMethodEntry toHexString = entry(klass, "java/lang/Long", "toHexString", "(J)Ljava/lang/String;");
+        NativeMethodBinding binding = toHexString.getNativeBinding();
+
+        assertTrue(toHexString.isHost());
+        assertEquals("java.lang.Long.toHexString", binding.toString());
+        GuestVm.run(HostCalls.class);
+        assertSame(binding, entry(klass, "java/lang/Long", "toHexString", "(J)Ljava/lang/String;").getNativeBinding());
+    }
+
+    @Test
+    void argumentSlotsIncludeTheReceiverAndWideTypes() throws Exception {
+        NativeMethodBinding toHexString = NativeMethodBinding.bind(Long.class, "toHexString", "(J)Ljava/lang/String;");
+        NativeMethodBinding charAt = NativeMethodBinding.bind(String.class, "charAt", "(I)C");
+        NativeMethodBinding init = NativeMethodBinding.bind(StringBuilder.class, "<init>", "(Ljava/lang/String;)V");
+
+        assertEquals(2, toHexString.getArgumentSlots());
+        assertEquals(ValueType.T_OBJECT, toHexString.getReturnType());
+        assertEquals(2, charAt.getArgumentSlots());
+        assertEquals(ValueType.T_CHAR, charAt.getReturnType());
+        assertTrue(init.isConstructor());
+        assertEquals(1, init.getArgumentSlots());
+        assertFalse(charAt.isConstructor());
+    }
+
+    @Test
+    void objectMethodsAreMembersOfEveryInterface() throws Exception {
+        // javac 21 calls toString on a Runnable through an interface method reference to Runnable
+        NativeMethodBinding toString = NativeMethodBinding.bind(Runnable.class, "toString", "()Ljava/lang/String;");
+        NativeMethodBinding equals = NativeMethodBinding.bind(Runnable.class, "equals", "(Ljava/lang/Object;)Z");
+
+        assertEquals(1, toString.getArgumentSlots());
+        assertEquals(ValueType.T_OBJECT, toString.getReturnType());
+        assertEquals(2, equals.getArgumentSlots());
+        assertThrows(NoSuchMethodException.class,
+                () -> NativeMethodBinding.bind(Runnable.class, "clone", "()Ljava/lang/Object;"));
+    }
+}
@@ -0,0 +1,119 @@
+package com.avaya.jvm.hotspot.share.prims;
+
+import com.avaya.jvm.GuestVm;
+import com.avaya.jvm.guest.Concat;
+import com.avaya.jvm.hotspot.share.runtime.JavaStack;
+import com.avaya.jvm.hotspot.share.runtime.OperandStack;
+import com.avaya.jvm.hotspot.share.utilities.ValueType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.avaya.jvm.hotspot.share.utilities.ValueType.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class StringConcatPlanTest {
+
+    private static OperandStack stack(){
+        return new JavaStack().pushEntryFrame(16).getOperandStack();
+    }
+
+    private static StringConcatPlan plan(String recipe, ValueType... argumentTypes){
+        return StringConcatPlan.parse(recipe, List.of(), argumentTypes);
+    }
+
+    @Test
+    void constantsAreFoldedIntoTheText(){
+        StringConcatPlan plan = StringConcatPlan.parse("<\u0002\u0001\u0002>", List.of("a", 7), new ValueType[]{T_INT});
+        OperandStack stack = stack();
+        stack.pushInt(-1);
+
+        plan.concat(stack);
+
+        assertEquals("<a-17>", stack.popRef());
+        assertArrayEquals(new String[]{"<a", "7>"}, plan.getConstants());
+    }
+
+    @Test
+    void makeConcatJoinsTheArgumentsAlone(){
+        StringConcatPlan plan = plan(null, T_OBJECT, T_LONG, T_CHAR, T_BOOLEAN);
+        OperandStack stack = stack();
+        stack.pushInt(42);
+        stack.pushRef("x");
+        stack.pushLong(Long.MIN_VALUE);
+        stack.pushInt('c');
+        stack.pushInt(0);
+
+        plan.concat(stack);
+
+        assertEquals("x" + Long.MIN_VALUE + "cfalse", stack.popRef());
+        // the arguments, and only they, were popped
+        assertEquals(42, stack.popInt());
+    }
+
+    @Test
+    void aRecipeMustMatchItsArguments(){
+        assertThrows(IllegalArgumentException.class, () -> plan("\u0001 \u0001", T_INT));
+    }
+
+    @Test
+    void integralArgumentsAreSizedExactly(){
+        StringConcatPlan plan = plan("\u0001:\u0001:\u0001:\u0001:\u0001", T_INT, T_LONG, T_CHAR, T_BOOLEAN, T_BOOLEAN);
+        OperandStack stack = stack();
+        stack.pushInt(Integer.MIN_VALUE);
+        stack.pushLong(Long.MIN_VALUE);
+        stack.pushInt('c');
+        stack.pushInt(1);
+        stack.pushInt(0);
+
+        int length = plan.length(stack);
+        plan.concat(stack);
+
+        String result = (String) stack.popRef();
+        assertEquals(Integer.MIN_VALUE + ":" + Long.MIN_VALUE + ":c:true:false", result);
+        assertEquals(result.length(), length);
+    }
+
+    @Test
+    void floatingPointArgumentsFitTheirLongestForm(){
+        StringConcatPlan plan = plan("\u0001 \u0001", T_FLOAT, T_DOUBLE);
+        OperandStack stack = stack();
+        stack.pushFloat(-Float.MIN_NORMAL);
+        stack.pushDouble(-Double.MIN_NORMAL);
+
+        int length = plan.length(stack);
+        plan.concat(stack);
+
+        String result = (String) stack.popRef();
+        assertEquals(-Float.MIN_NORMAL + " " + -Double.MIN_NORMAL, result);
+        assertEquals(result.length(), length);
+    }
+
+    @Test
+    void objectArgumentsAreConvertedOnceAndSizedExactly(){
+        int[] calls = {0};
+        Object object = new Object() {
+            public String toString(){
+                calls[0]++;
+                return "a rather long string value";
+            }
+        };
+        StringConcatPlan plan = plan("[\u0001|\u0001]", T_OBJECT, T_OBJECT);
+        OperandStack stack = stack();
+        stack.pushRef(object);
+        stack.pushRef(null);
+
+        int length = plan.length(stack);
+        plan.concat(stack);
+
+        String result = (String) stack.popRef();
+        assertEquals("[a rather long string value|null]", result);
+        assertEquals(result.length(), length);
+        assertEquals(1, calls[0]);
+    }
+
+    @Test
+    void concatenationsRunAsOnTheHost() throws Throwable {
+        assertEquals(GuestVm.runOnHost(Concat.class), GuestVm.run(Concat.class));
+    }
+}
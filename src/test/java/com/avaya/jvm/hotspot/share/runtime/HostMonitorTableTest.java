@@ -0,0 +1,149 @@
+package com.avaya.jvm.hotspot.share.runtime;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HostMonitorTableTest {
+
+    // a thread entering and leaving object, which sets entered once it has the lock
+    private static Thread enterer(Object object, AtomicBoolean entered) {
+        Thread thread = new Thread(() -> {
+            HostMonitorTable.enter(object);
+            entered.set(true);
+            HostMonitorTable.exit(object);
+        });
+        thread.start();
+        return thread;
+    }
+
+    @Test
+    @Timeout(10)
+    void equalObjectsHaveMonitorsOfTheirOwn() throws InterruptedException {
+        String first = new String("a");
+        String second = new String("a");
+        int size = HostMonitorTable.size();
+
+        HostMonitorTable.enter(first);
+        assertEquals(size + 1, HostMonitorTable.size());
+        // not held through the equal string
+        assertThrows(IllegalMonitorStateException.class, () -> HostMonitorTable.exit(second));
+        AtomicBoolean secondEntered = new AtomicBoolean();
+        enterer(second, secondEntered).join();
+        assertTrue(secondEntered.get());
+        AtomicBoolean firstEntered = new AtomicBoolean();
+        Thread blocked = enterer(first, firstEntered);
+        blocked.join(200);
+        assertFalse(firstEntered.get());
+
+        HostMonitorTable.enter(second);
+        assertEquals(size + 2, HostMonitorTable.size());
+        HostMonitorTable.exit(second);
+        HostMonitorTable.exit(first);
+        blocked.join();
+        assertTrue(firstEntered.get());
+        assertEquals(size, HostMonitorTable.size());
+    }
+
+    @Test
+    void reentrantEntriesAreReleasedByTheLastExit() {
+        Object object = new Object();
+        int size = HostMonitorTable.size();
+
+        HostMonitorTable.enter(object);
+        HostMonitorTable.enter(object);
+        HostMonitorTable.enter(object);
+        assertEquals(size + 1, HostMonitorTable.size());
+
+        HostMonitorTable.exit(object);
+        HostMonitorTable.exit(object);
+        assertEquals(size + 1, HostMonitorTable.size());
+        HostMonitorTable.exit(object);
+        assertEquals(size, HostMonitorTable.size());
+        assertThrows(IllegalMonitorStateException.class, () -> HostMonitorTable.exit(object));
+    }
+
+    @Test
+    void waitAndNotifyNeedTheLock() {
+        Object object = new Object();
+
+        assertThrows(IllegalMonitorStateException.class, () -> HostMonitorTable.wait(object, 1));
+        assertThrows(IllegalMonitorStateException.class, () -> HostMonitorTable.notify(object, false));
+        HostMonitorTable.enter(object);
+        assertThrows(IllegalArgumentException.class, () -> HostMonitorTable.wait(object, -1));
+        HostMonitorTable.exit(object);
+    }
+
+    @Test
+    @Timeout(10)
+    void aWaiterIsNotifiedAndGetsTheLockBack() throws InterruptedException {
+        Object object = new Object();
+        int size = HostMonitorTable.size();
+        CountDownLatch waiting = new CountDownLatch(1);
+        AtomicBoolean notified = new AtomicBoolean();
+        Thread waiter = new Thread(() -> {
+            HostMonitorTable.enter(object);
+            try {
+                waiting.countDown();
+                while (!notified.get()) {
+                    HostMonitorTable.wait(object, 0);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                HostMonitorTable.exit(object);
+            }
+        });
+        waiter.start();
+        waiting.await();
+
+        // the waiter released the lock while it waits
+        HostMonitorTable.enter(object);
+        notified.set(true);
+        HostMonitorTable.notify(object, true);
+        HostMonitorTable.exit(object);
+        waiter.join();
+
+        assertTrue(notified.get());
+        assertEquals(size, HostMonitorTable.size());
+    }
+
+    @Test
+    void aTimedWaitReturnsWithTheLockHeld() throws InterruptedException {
+        Object object = new Object();
+
+        HostMonitorTable.enter(object);
+        HostMonitorTable.wait(object, 10);
+        HostMonitorTable.notify(object, false);
+        HostMonitorTable.exit(object);
+    }
+
+    // locks objects without ever leaving them, and drops the objects
+    private static void abandon(int count) {
+        for (int i = 0; i < count; i++) {
+            HostMonitorTable.enter(new Object());
+        }
+    }
+
+    @Test
+    @Timeout(60)
+    void entriesOfCollectedObjectsArePurged() throws InterruptedException {
+        int size = HostMonitorTable.size();
+        abandon(1000);
+        assertEquals(size + 1000, HostMonitorTable.size());
+
+        // each enter expunges the entries whose objects the collector has cleared
+        Object probe = new Object();
+        while (HostMonitorTable.size() > size) {
+            System.gc();
+            Thread.sleep(10);
+            HostMonitorTable.enter(probe);
+            HostMonitorTable.exit(probe);
+        }
+        assertEquals(size, HostMonitorTable.size());
+    }
+}
@@ -0,0 +1,146 @@
+package com.avaya.jvm.hotspot.share.runtime;
+
+import com.avaya.jvm.GuestVm;
+import com.avaya.jvm.guest.Calls;
+import com.avaya.jvm.guest.Recursion;
+import com.avaya.jvm.hotspot.share.oops.MethodEntry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JavaStackTest {
+
+    private static MethodEntry entry(String name, String descriptor) throws Exception {
+        return GuestVm.klass(Calls.class).findMethod(name, descriptor).getEntry();
+    }
+
+    @Test
+    void argumentsBecomeTheCalleesLocalsInPlace() throws Exception {
+        JavaStack stack = new JavaStack();
+        JavaVFrame caller = stack.push(entry("main", "([Ljava/lang/String;)V"));
+        caller.getOperandStack().pushRef("below");
+        caller.getOperandStack().pushInt(1);
+        caller.getOperandStack().pushInt(2);
+
+        JavaVFrame callee = stack.push(entry("add", "(II)I"));
+
+        assertEquals(2, stack.getDepth());
+        assertEquals(1, callee.getLocals().getInt(0));
+        assertEquals(2, callee.getLocals().getInt(1));
+        assertEquals(caller.getOperandStack().getTop() + 1, callee.getBase());
+        assertEquals("below", caller.getOperandStack().popRef());
+    }
+
+    @Test
+    void wideArgumentsTakeTwoSlots() throws Exception {
+        JavaStack stack = new JavaStack();
+        JavaVFrame caller = stack.push(entry("main", "([Ljava/lang/String;)V"));
+        caller.getOperandStack().pushLong(1L << 40);
+        caller.getOperandStack().pushInt(7);
+        caller.getOperandStack().pushDouble(0.5);
+
+        JavaVFrame callee = stack.push(entry("mix", "(JID)J"));
+
+        assertEquals(1L << 40, callee.getLocals().getLong(0));
+        assertEquals(7, callee.getLocals().getInt(2));
+        assertEquals(0.5, callee.getLocals().getDouble(3));
+    }
+
+    @Test
+    void framesAreReusedPerDepth() throws Exception {
+        JavaStack stack = new JavaStack();
+        stack.push(entry("main", "([Ljava/lang/String;)V"));
+        JavaVFrame first = stack.push(entry("sum", "(I)I"));
+        stack.pop();
+        JavaVFrame second = stack.push(entry("fib", "(I)I"));
+
+        assertSame(first, second);
+    }
+
+    @Test
+    void popClearsTheReferencesOfTheFrame() throws Exception {
+        JavaStack stack = new JavaStack();
+        JavaVFrame caller = stack.push(entry("main", "([Ljava/lang/String;)V"));
+        JavaVFrame callee = stack.push(entry("sum", "(I)I"));
+        callee.getOperandStack().pushRef(new Object());
+        stack.pop();
+
+        caller.getOperandStack().fakePush();
+        assertNull(caller.getOperandStack().popRef());
+    }
+
+    @Test
+    void growingTheArenaKeepsTheFramesBelow() throws Exception {
+        JavaStack stack = new JavaStack();
+        MethodEntry sum = entry("sum", "(I)I");
+        JavaVFrame bottom = stack.push(entry("main", "([Ljava/lang/String;)V"));
+        bottom.getOperandStack().pushInt(-1);
+        for (int depth = 0; depth < 2000; depth++) {
+            stack.peek().getOperandStack().pushInt(depth);
+            stack.push(sum);
+        }
+
+        assertEquals(2001, stack.getDepth());
+        assertEquals(1999, stack.peek().getLocals().getInt(0));
+        for (int depth = 1999; depth >= 0; depth--) {
+            assertEquals(depth, stack.peek().getLocals().getInt(0));
+            stack.pop();
+        }
+        assertEquals(-1, bottom.getOperandStack().popInt());
+    }
+
+    @Test
+    void entryFrameStartsAboveTheCallersOperandStack() throws Exception {
+        JavaStack stack = new JavaStack();
+        JavaVFrame caller = stack.push(entry("main", "([Ljava/lang/String;)V"));
+        caller.getOperandStack().pushInt(42);
+
+        JavaVFrame entryFrame = stack.pushEntryFrame(2);
+        entryFrame.getOperandStack().pushInt(3);
+        entryFrame.getOperandStack().pushInt(4);
+        JavaVFrame callee = stack.push(entry("add", "(II)I"));
+
+        assertEquals(caller.getOperandStack().getTop() + 1, entryFrame.getBase());
+        assertEquals(3, callee.getLocals().getInt(0));
+        stack.pop();
+        stack.pop();
+        assertEquals(42, caller.getOperandStack().popInt());
+    }
+
+    @Test
+    void framesWithoutSlotsAreChargedAgainstTheStackSize() throws Exception {
+        Arguments.parse(new String[]{"-Xss64k"});
+        JavaStack stack;
+        try {
+            stack = new JavaStack();
+        } finally {
+            Arguments.parse(new String[]{"-Xss1m"});
+        }
+        MethodEntry spin = GuestVm.klass(Recursion.class).findMethod("spin", "()V").getEntry();
+        assertEquals(0, spin.getMaxLocals() + spin.getMaxStack());
+
+        assertThrows(StackOverflowError.class, () -> {
+            while (true) {
+                stack.push(spin);
+            }
+        });
+        int maxFrames = 64 * 1024 / Arguments.SLOT_SIZE / JavaStack.FRAME_HEADER_SLOTS;
+        assertEquals(maxFrames, stack.getDepth());
+    }
+
+    @Test
+    void overflowIsThrownIntoTheGuest() throws Throwable {
+        String expected = GuestVm.runOnHost(Recursion.class);
+
+        assertEquals(expected, GuestVm.run(Recursion.class, "-Xss64k"));
+        assertEquals(expected, GuestVm.run(Recursion.class));
+    }
+
+    @Test
+    void guestCallsRunAsOnTheHost() throws Throwable {
+        String expected = GuestVm.runOnHost(Calls.class);
+
+        assertTrue(expected.contains("caught at the bottom"));
+        assertEquals(expected, GuestVm.run(Calls.class));
+    }
+}
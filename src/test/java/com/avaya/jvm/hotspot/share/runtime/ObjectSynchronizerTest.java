@@ -0,0 +1,267 @@
+package com.avaya.jvm.hotspot.share.runtime;
+
+import com.avaya.jvm.GuestVm;
+import com.avaya.jvm.guest.Handoff;
+import com.avaya.jvm.guest.Locking;
+import com.avaya.jvm.guest.Mirrors;
+import com.avaya.jvm.hotspot.share.oops.IntArrayOop;
+import com.avaya.jvm.hotspot.share.oops.MarkWord;
+import com.avaya.jvm.hotspot.share.oops.OopDesc;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ObjectSynchronizerTest {
+
+    // the lock of object on a thread of its own, released once release is counted down
+    private static Thread holder(OopDesc object, CountDownLatch locked, CountDownLatch release) {
+        Thread thread = new Thread(() -> {
+            JavaThread javaThread = new JavaThread();
+            ObjectSynchronizer.enter(object, javaThread);
+            locked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            ObjectSynchronizer.exit(object, javaThread);
+        });
+        thread.start();
+        return thread;
+    }
+
+    private static void awaitMonitor(OopDesc object) {
+        while (!MarkWord.hasMonitor(object.getMark())) {
+            Thread.onSpinWait();
+        }
+    }
+
+    @Test
+    void thinLockKeepsOwnerAndRecursionsInTheMarkWord() {
+        OopDesc object = new IntArrayOop(1);
+        JavaThread thread = new JavaThread();
+        long inflations = ObjectSynchronizer.getInflations();
+
+        ObjectSynchronizer.enter(object, thread);
+        long mark = object.getMark();
+        assertTrue(MarkWord.isLocked(mark));
+        assertEquals(thread.getThreadId(), MarkWord.owner(mark));
+        assertEquals(0, MarkWord.recursions(mark));
+
+        ObjectSynchronizer.enter(object, thread);
+        ObjectSynchronizer.enter(object, thread);
+        assertEquals(2, MarkWord.recursions(object.getMark()));
+
+        ObjectSynchronizer.exit(object, thread);
+        assertEquals(1, MarkWord.recursions(object.getMark()));
+        ObjectSynchronizer.exit(object, thread);
+        ObjectSynchronizer.exit(object, thread);
+        assertTrue(MarkWord.isUnlocked(object.getMark()));
+        assertEquals(inflations, ObjectSynchronizer.getInflations());
+    }
+
+    @Test
+    void theHashSurvivesLockingAndInflation() throws InterruptedException {
+        OopDesc object = new IntArrayOop(1);
+        JavaThread thread = new JavaThread();
+        int hash = object.identityHash();
+
+        ObjectSynchronizer.enter(object, thread);
+        assertEquals(hash, object.identityHash());
+        ObjectSynchronizer.wait(object, thread, 1);
+        assertTrue(MarkWord.hasMonitor(object.getMark()));
+        assertEquals(hash, object.identityHash());
+        ObjectSynchronizer.exit(object, thread);
+        assertEquals(hash, object.identityHash());
+    }
+
+    @Test
+    void deflatedMonitorsGiveTheirIndexToTheNextInflation() throws InterruptedException {
+        JavaThread thread = new JavaThread();
+        OopDesc first = new IntArrayOop(1);
+        ObjectSynchronizer.enter(first, thread);
+        ObjectSynchronizer.wait(first, thread, 1);
+        long stale = first.getMark();
+        ObjectSynchronizer.exit(first, thread);
+
+        for (int i = 0; i < 100; i++){
+            OopDesc object = new IntArrayOop(1);
+            ObjectSynchronizer.enter(object, thread);
+            ObjectSynchronizer.wait(object, thread, 1);
+            assertEquals(MarkWord.monitorIndex(stale), MarkWord.monitorIndex(object.getMark()));
+            // the monitor at the index of the old mark word is not that of the first object
+            assertEquals(0, ObjectSynchronizer.identityHash(first, stale));
+            assertEquals(object.identityHash(), ObjectSynchronizer.identityHash(object, stale));
+            ObjectSynchronizer.exit(object, thread);
+            assertTrue(MarkWord.isUnlocked(object.getMark()));
+        }
+    }
+
+    @Test
+    void theIdOfAThreadThatLeftIsReused() {
+        JavaThread first = new JavaThread();
+        Threads.addThread(first);
+        Threads.removeThread(first);
+
+        JavaThread next = new JavaThread();
+        assertEquals(first.getThreadId(), next.getThreadId());
+        Threads.addThread(next);
+        Threads.removeThread(next);
+    }
+
+    @Test
+    void threadsWhoseIdDoesNotFitTheMarkWordLockThroughAMonitor() {
+        // take every free id up to the largest a mark word holds
+        List<Integer> taken = new ArrayList<>();
+        int id;
+        do {
+            id = JavaThread.allocateThreadId();
+            taken.add(id);
+        } while (id < MarkWord.MAX_OWNER);
+        try {
+            OopDesc object = new IntArrayOop(1);
+            JavaThread beyond = new JavaThread();
+            assertEquals(MarkWord.MAX_OWNER + 1, beyond.getThreadId());
+            ObjectSynchronizer.enter(object, beyond);
+            ObjectSynchronizer.enter(object, beyond);
+            assertTrue(MarkWord.hasMonitor(object.getMark()));
+            ObjectSynchronizer.exit(object, beyond);
+            ObjectSynchronizer.exit(object, beyond);
+            assertTrue(MarkWord.isUnlocked(object.getMark()));
+            JavaThread.releaseThreadId(beyond.getThreadId());
+
+            JavaThread.releaseThreadId(MarkWord.MAX_OWNER);
+            JavaThread last = new JavaThread();
+            assertEquals(MarkWord.MAX_OWNER, last.getThreadId());
+            ObjectSynchronizer.enter(object, last);
+            assertEquals(MarkWord.MAX_OWNER, MarkWord.owner(object.getMark()));
+            ObjectSynchronizer.exit(object, last);
+            assertTrue(MarkWord.isUnlocked(object.getMark()));
+        } finally {
+            for (int takenId : taken) {
+                JavaThread.releaseThreadId(takenId);
+            }
+        }
+    }
+
+    @Test
+    void onlyTheOwnerMayExitWaitOrNotify() {
+        OopDesc object = new IntArrayOop(1);
+        JavaThread owner = new JavaThread();
+        JavaThread other = new JavaThread();
+
+        assertThrows(IllegalMonitorStateException.class, () -> ObjectSynchronizer.exit(object, owner));
+        assertThrows(IllegalMonitorStateException.class, () -> ObjectSynchronizer.notify(object, owner, false));
+        assertThrows(IllegalMonitorStateException.class, () -> ObjectSynchronizer.wait(object, owner, 1));
+
+        ObjectSynchronizer.enter(object, owner);
+        assertThrows(IllegalMonitorStateException.class, () -> ObjectSynchronizer.exit(object, other));
+        assertThrows(IllegalMonitorStateException.class, () -> ObjectSynchronizer.notify(object, other, true));
+        assertThrows(IllegalArgumentException.class, () -> ObjectSynchronizer.wait(object, owner, -1));
+        ObjectSynchronizer.exit(object, owner);
+        assertTrue(MarkWord.isUnlocked(object.getMark()));
+    }
+
+    @Test
+    @Timeout(30)
+    void contentionInflatesAndTheIdleMonitorDeflates() throws InterruptedException {
+        OopDesc object = new IntArrayOop(1);
+        long inflations = ObjectSynchronizer.getInflations();
+        long deflations = ObjectSynchronizer.getDeflations();
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = holder(object, locked, release);
+        locked.await();
+
+        AtomicBoolean entered = new AtomicBoolean();
+        Thread contender = new Thread(() -> {
+            JavaThread javaThread = new JavaThread();
+            ObjectSynchronizer.enter(object, javaThread);
+            entered.set(true);
+            ObjectSynchronizer.exit(object, javaThread);
+        });
+        contender.start();
+        awaitMonitor(object);
+        assertFalse(entered.get());
+
+        release.countDown();
+        holder.join();
+        contender.join();
+        assertTrue(entered.get());
+        assertTrue(MarkWord.isUnlocked(object.getMark()));
+        assertTrue(ObjectSynchronizer.getInflations() > inflations);
+        assertTrue(ObjectSynchronizer.getDeflations() > deflations);
+    }
+
+    @Test
+    void waitKeepsTheRecursionsOfTheLock() throws InterruptedException {
+        OopDesc object = new IntArrayOop(1);
+        JavaThread thread = new JavaThread();
+
+        ObjectSynchronizer.enter(object, thread);
+        ObjectSynchronizer.enter(object, thread);
+        ObjectSynchronizer.wait(object, thread, 1);
+        ObjectSynchronizer.exit(object, thread);
+        // still owned once
+        ObjectSynchronizer.notify(object, thread, true);
+        ObjectSynchronizer.exit(object, thread);
+        assertTrue(MarkWord.isUnlocked(object.getMark()));
+        assertThrows(IllegalMonitorStateException.class, () -> ObjectSynchronizer.exit(object, thread));
+    }
+
+    @Test
+    @Timeout(30)
+    void notifyWakesAWaiter() throws InterruptedException {
+        OopDesc object = new IntArrayOop(1);
+        CountDownLatch waiting = new CountDownLatch(1);
+        AtomicBoolean woken = new AtomicBoolean();
+        Thread waiter = new Thread(() -> {
+            JavaThread javaThread = new JavaThread();
+            ObjectSynchronizer.enter(object, javaThread);
+            waiting.countDown();
+            try {
+                ObjectSynchronizer.wait(object, javaThread, 0);
+                woken.set(true);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            ObjectSynchronizer.exit(object, javaThread);
+        });
+        waiter.start();
+        waiting.await();
+
+        // granted once the waiter has released the lock in wait
+        JavaThread thread = new JavaThread();
+        ObjectSynchronizer.enter(object, thread);
+        ObjectSynchronizer.notify(object, thread, false);
+        ObjectSynchronizer.exit(object, thread);
+        waiter.join();
+        assertTrue(woken.get());
+        assertTrue(MarkWord.isUnlocked(object.getMark()));
+    }
+
+    @Test
+    void lockingGuestCodeRunsAsOnTheHost() throws Throwable {
+        assertEquals(GuestVm.runOnHost(Locking.class), GuestVm.run(Locking.class));
+    }
+
+    @Test
+    @Timeout(60)
+    void synchronizedGuestCodeRunsAsOnTheHost() throws Throwable {
+        assertEquals(GuestVm.runOnHost(Handoff.class), GuestVm.run(Handoff.class));
+    }
+
+    @Test
+    void classLiteralsAndStaticSynchronizedMethodsShareAnUninitializedMirror() throws Throwable {
+        // only run in the VM: the host would run the static initializer
+        assertEquals("1\n3\n5\nnotified\n" + Mirrors.Lazy.class.getName() + "\n", GuestVm.run(Mirrors.class).replace("\r\n", "\n"));
+        assertEquals(0, Mirrors.Inits.count);
+        assertSame(GuestVm.klass(Mirrors.Lazy.class).getMirror(), GuestVm.klass(Mirrors.Lazy.class).getMirror());
+    }
+}
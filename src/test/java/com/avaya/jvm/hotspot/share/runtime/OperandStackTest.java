@@ -0,0 +1,82 @@
+package com.avaya.jvm.hotspot.share.runtime;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OperandStackTest {
+
+    // a stack over arrays of its own, as JavaStack binds it to its arena
+    private static OperandStack stack(int maxSize) {
+        OperandStack stack = new OperandStack();
+        stack.bind(new long[maxSize], new Object[maxSize], 0);
+        return stack;
+    }
+
+    @Test
+    void longsAndDoublesTakeTwoSlotsAndKeepTheirBits() {
+        OperandStack stack = stack(6);
+        double nan = Double.longBitsToDouble(0x7ff8_0000_0000_1234L);
+
+        stack.pushInt(-1);
+        stack.pushLong(Long.MIN_VALUE);
+        stack.pushDouble(nan);
+        // pop2 drops the double, both of its slots
+        stack.pop2();
+        assertEquals(Long.MIN_VALUE, stack.popLong());
+        assertEquals(-1, stack.popInt());
+
+        stack.pushDouble(nan);
+        stack.pushFloat(-0.0f);
+        assertEquals(Float.floatToRawIntBits(-0.0f), Float.floatToRawIntBits(stack.popFloat()));
+        assertEquals(Double.doubleToRawLongBits(nan), Double.doubleToRawLongBits(stack.popDouble()));
+    }
+
+    @Test
+    void referencesAndPrimitivesShareTheSlots() {
+        OperandStack stack = stack(2);
+
+        stack.pushRef("a");
+        stack.pushInt(5);
+        stack.swap();
+        assertEquals("a", stack.popRef());
+        assertEquals(5, stack.popInt());
+    }
+
+    @Test
+    void dupCopiesTheTopSlotsOnTop() {
+        OperandStack stack = stack(5);
+        stack.pushInt(1);
+        stack.pushInt(2);
+        stack.pushInt(3);
+
+        // DUP2: ..., 2, 3 -> ..., 2, 3, 2, 3
+        stack.dupSlots(2, 0);
+        assertEquals(3, stack.popInt());
+        assertEquals(2, stack.popInt());
+        assertEquals(3, stack.popInt());
+        assertEquals(2, stack.popInt());
+        assertEquals(1, stack.popInt());
+    }
+
+    @Test
+    void dupXInsertsTheCopyUnderTheSkippedSlots() {
+        OperandStack stack = stack(6);
+
+        // DUP_X1: ..., a, b -> ..., b, a, b
+        stack.pushRef("a");
+        stack.pushRef("b");
+        stack.dupSlots(1, 1);
+        assertEquals("b", stack.popRef());
+        assertEquals("a", stack.popRef());
+        assertEquals("b", stack.popRef());
+
+        // DUP2_X2 on two longs: ..., l1, l2 -> ..., l2, l1, l2
+        stack.pushLong(1L << 40);
+        stack.pushLong(-2L);
+        stack.dupSlots(2, 2);
+        assertEquals(-2L, stack.popLong());
+        assertEquals(1L << 40, stack.popLong());
+        assertEquals(-2L, stack.popLong());
+    }
+}
@@ -0,0 +1,130 @@
+package com.avaya.jvm.hotspot.share.runtime;
+
+import com.avaya.jvm.GuestVm;
+import com.avaya.jvm.guest.Spawning;
+import com.avaya.jvm.hotspot.share.oops.InstanceOop;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class ThreadsTest {
+
+    // Thread.ofVirtual() is final from Java 21, the CI runs the tests on 17 and 21
+    private static final boolean VIRTUAL_THREADS = Runtime.version().feature() >= 21;
+
+    private static boolean isVirtual(Thread thread) throws Exception {
+        return (Boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+    }
+
+    @Test
+    @Timeout(60)
+    void guestThreadsRunAsOnTheHost() throws Throwable {
+        int threads = Threads.getThreadCount();
+        assertEquals(GuestVm.runOnHost(Spawning.class), GuestVm.run(Spawning.class));
+        // every guest thread detached when it ended
+        assertEquals(threads, Threads.getThreadCount());
+        assertEquals(0, HostMonitorTable.size());
+    }
+
+    @Test
+    @Timeout(30)
+    void aGuestThreadRunsItsTaskOnAJavaThreadOfItsOwn() throws Exception {
+        int threads = Threads.getThreadCount();
+        InstanceOop task = new InstanceOop(GuestVm.klass(Spawning.class));
+        Thread thread = Threads.newGuestThread(task, "worker");
+        assertEquals("worker", thread.getName());
+        assertEquals(Thread.State.NEW, thread.getState());
+        assertEquals(threads, Threads.getThreadCount());
+
+        thread.start();
+        thread.join();
+        assertFalse(thread.isAlive());
+        assertEquals(threads, Threads.getThreadCount());
+        // the calling host thread is not attached by it
+        assertNull(Threads.getCurrentThread());
+    }
+
+    @Test
+    void anUnnamedGuestThreadHasTheHostDefaultName() throws Exception {
+        Thread thread = Threads.newGuestThread(new InstanceOop(GuestVm.klass(Spawning.class)), null);
+        assertTrue(thread.getName().startsWith("Thread-"), thread.getName());
+    }
+
+    @Test
+    void attachingMakesTheHostThreadTheCarrier() {
+        JavaThread thread = new JavaThread();
+        Threads.setCurrentThread(thread);
+        try {
+            assertSame(thread, Threads.getCurrentThread());
+            assertSame(Thread.currentThread(), thread.getCarrier());
+        } finally {
+            Threads.setCurrentThread(null);
+        }
+        assertNull(Threads.getCurrentThread());
+    }
+
+    @Test
+    void aHostThreadIsAttachedOnceAndRemovedWhenItEnds() throws InterruptedException {
+        JavaThread[] attached = new JavaThread[2];
+        Thread host = new Thread(() -> {
+            attached[0] = Threads.attachCurrentThread();
+            attached[1] = Threads.attachCurrentThread();
+        });
+        host.start();
+        host.join();
+        assertSame(attached[0], attached[1]);
+        assertTrue(Threads.getThreads().contains(attached[0]));
+
+        Thread next = new Thread(Threads::attachCurrentThread);
+        next.start();
+        next.join();
+        assertFalse(Threads.getThreads().contains(attached[0]));
+    }
+
+    @Test
+    @Timeout(60)
+    void guestThreadsRunAsOnTheHostWithVirtualThreads() throws Throwable {
+        int threads = Threads.getThreadCount();
+        // on a host without virtual threads the option falls back to platform threads
+        assertEquals(GuestVm.runOnHost(Spawning.class), GuestVm.run(Spawning.class, "-XX:+UseVirtualThreads"));
+        assertEquals(threads, Threads.getThreadCount());
+    }
+
+    @Test
+    @Timeout(30)
+    void guestThreadsAreVirtualOnAJava21Host() throws Exception {
+        assumeTrue(VIRTUAL_THREADS, "the host has no virtual threads");
+        Arguments.parse(new String[]{"-XX:+UseVirtualThreads"});
+        try {
+            assertTrue(Threads.isVirtualThreads());
+            int threads = Threads.getThreadCount();
+            Thread thread = Threads.newGuestThread(new InstanceOop(GuestVm.klass(Spawning.class)), "virtual");
+            assertTrue(isVirtual(thread));
+            assertEquals("virtual", thread.getName());
+
+            thread.start();
+            thread.join();
+            assertEquals(threads, Threads.getThreadCount());
+        } finally {
+            GuestVm.resetOptions();
+        }
+    }
+
+    @Test
+    void platformThreadsUnlessVirtualThreadsAreAskedFor() throws Exception {
+        assertFalse(Threads.isVirtualThreads());
+        Thread thread = Threads.newGuestThread(new InstanceOop(GuestVm.klass(Spawning.class)), "platform");
+        if (VIRTUAL_THREADS) {
+            assertFalse(isVirtual(thread));
+        }
+
+        Arguments.parse(new String[]{"-XX:+UseVirtualThreads"});
+        try {
+            assertEquals(VIRTUAL_THREADS, Threads.isVirtualThreads());
+        } finally {
+            GuestVm.resetOptions();
+        }
+    }
+}